@@ -0,0 +1,476 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor that generates a <code>GeneratedPropertyExtractor</code>
+ * for each class that is annotated with <code>GeneratePropertyExtractor</code>.
+ * The generated extractors access the mutable Java Bean properties of the 
+ * classes with direct calls to their getter and setter methods. They are 
+ * registered in a <code>META-INF/services</code> file, so that they can be
+ * found by the <code>PropertyExtractors</code> at runtime.
+ */
+@SupportedAnnotationTypes(PropertyExtractorProcessor.ANNOTATION_NAME)
+public final class PropertyExtractorProcessor extends AbstractProcessor
+{
+    /**
+     * The fully qualified name of the annotation
+     */
+    static final String ANNOTATION_NAME = 
+        "de.javagl.autogui.model.properties.GeneratePropertyExtractor";
+    
+    /**
+     * The fully qualified name of the interface of the generated classes
+     */
+    private static final String SERVICE_NAME = 
+        "de.javagl.autogui.model.properties.GeneratedPropertyExtractor";
+    
+    /**
+     * The name of the service file that the generated classes are
+     * registered in
+     */
+    private static final String SERVICE_FILE_NAME = 
+        "META-INF/services/" + SERVICE_NAME;
+    
+    /**
+     * The suffix for the names of the generated classes
+     */
+    private static final String CLASS_NAME_SUFFIX = 
+        "_GeneratedPropertyExtractor";
+    
+    /**
+     * The fully qualified names of the classes that have been generated
+     */
+    private final Set<String> generatedClassNames = 
+        new LinkedHashSet<String>();
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(
+        Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        if (roundEnv.processingOver())
+        {
+            if (!generatedClassNames.isEmpty())
+            {
+                writeServiceFile();
+            }
+            return false;
+        }
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement annotation = elements.getTypeElement(ANNOTATION_NAME);
+        if (annotation == null)
+        {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+        {
+            if (element.getKind() != ElementKind.CLASS ||
+                element.getModifiers().contains(Modifier.PRIVATE))
+            {
+                error(element, "Only non-private classes may be annotated "
+                    + "with " + ANNOTATION_NAME);
+                continue;
+            }
+            generate((TypeElement)element);
+        }
+        return true;
+    }
+    
+    /**
+     * Generate the property extractor for the given type
+     * 
+     * @param typeElement The type element
+     */
+    private void generate(TypeElement typeElement)
+    {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        
+        PackageElement packageElement = elements.getPackageOf(typeElement);
+        String packageName = packageElement.isUnnamed() ? 
+            "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(typeElement).toString();
+        String flatName = packageName.isEmpty() ? 
+            binaryName : binaryName.substring(packageName.length() + 1);
+        String className = flatName.replace('$', '_') + CLASS_NAME_SUFFIX;
+        String qualifiedClassName = packageName.isEmpty() ?
+            className : packageName + "." + className;
+        String typeName = types.erasure(typeElement.asType()).toString();
+        
+        Map<String, ExecutableElement> readMethods = 
+            new TreeMap<String, ExecutableElement>();
+        Map<String, ExecutableElement> writeMethods = 
+            new TreeMap<String, ExecutableElement>();
+        collectMethods(typeElement, readMethods, writeMethods);
+        
+        try
+        {
+            JavaFileObject sourceFile = processingEnv.getFiler()
+                .createSourceFile(qualifiedClassName, typeElement);
+            try (PrintWriter pw = new PrintWriter(sourceFile.openWriter()))
+            {
+                if (!packageName.isEmpty())
+                {
+                    pw.println("package " + packageName + ";");
+                    pw.println();
+                }
+                pw.println("/**");
+                pw.println(" * A generated property extractor for "
+                    + "{@link " + typeName + "}");
+                pw.println(" */");
+                pw.println("public final class " + className + " implements "
+                    + SERVICE_NAME);
+                pw.println("{");
+                pw.println("    private static final java.util.List<"
+                    + "de.javagl.autogui.model.properties.PropertyAccessor> "
+                    + "PROPERTY_ACCESSORS = createPropertyAccessors();");
+                pw.println();
+                pw.println("    @SuppressWarnings({\"unchecked\", "
+                    + "\"rawtypes\"})");
+                pw.println("    private static java.util.List<"
+                    + "de.javagl.autogui.model.properties.PropertyAccessor> "
+                    + "createPropertyAccessors()");
+                pw.println("    {");
+                pw.println("        java.util.List<"
+                    + "de.javagl.autogui.model.properties.PropertyAccessor> "
+                    + "propertyAccessors = new java.util.ArrayList<"
+                    + "de.javagl.autogui.model.properties.PropertyAccessor>();");
+                for (Entry<String, ExecutableElement> entry : 
+                    readMethods.entrySet())
+                {
+                    String propertyName = entry.getKey();
+                    ExecutableElement readMethod = entry.getValue();
+                    ExecutableElement writeMethod = 
+                        writeMethods.get(propertyName);
+                    if (writeMethod == null)
+                    {
+                        continue;
+                    }
+                    TypeMirror propertyType = readMethod.getReturnType();
+                    TypeMirror parameterType = 
+                        writeMethod.getParameters().get(0).asType();
+                    if (!types.isSameType(propertyType, parameterType))
+                    {
+                        continue;
+                    }
+                    writePropertyAccessor(pw, typeName, propertyName, 
+                        propertyType, readMethod, writeMethod);
+                }
+                pw.println("        return java.util.Collections."
+                    + "unmodifiableList(propertyAccessors);");
+                pw.println("    }");
+                pw.println();
+                pw.println("    @Override");
+                pw.println("    public Class<?> getType()");
+                pw.println("    {");
+                pw.println("        return " + typeName + ".class;");
+                pw.println("    }");
+                pw.println();
+                pw.println("    @Override");
+                pw.println("    public java.util.List<"
+                    + "de.javagl.autogui.model.properties.PropertyAccessor> "
+                    + "getPropertyAccessors(Class<?> type)");
+                pw.println("    {");
+                pw.println("        if (type == " + typeName + ".class)");
+                pw.println("        {");
+                pw.println("            return PROPERTY_ACCESSORS;");
+                pw.println("        }");
+                pw.println("        return java.util.Collections.emptyList();");
+                pw.println("    }");
+                pw.println("}");
+            }
+            generatedClassNames.add(qualifiedClassName);
+        }
+        catch (IOException e)
+        {
+            error(typeElement, "Could not generate " + qualifiedClassName 
+                + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Write the code that creates the property accessor for the 
+     * specified property
+     * 
+     * @param pw The writer
+     * @param typeName The name of the bean type
+     * @param propertyName The property name
+     * @param genericPropertyType The property type
+     * @param readMethod The read method
+     * @param writeMethod The write method
+     */
+    private void writePropertyAccessor(PrintWriter pw, 
+        String typeName, String propertyName, TypeMirror genericPropertyType,
+        ExecutableElement readMethod, ExecutableElement writeMethod)
+    {
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror propertyType = types.erasure(genericPropertyType);
+        String factoryMethodName = "create";
+        String typeArgument = ", " + propertyType + ".class";
+        if (isParameterized(genericPropertyType))
+        {
+            typeArgument += ", " + typeExpression(genericPropertyType);
+        }
+        String value = "(" + boxedTypeName(propertyType) + ") value";
+        if (propertyType.getKind() == TypeKind.INT)
+        {
+            factoryMethodName = "createInt";
+            typeArgument = "";
+            value = "value";
+        }
+        else if (propertyType.getKind() == TypeKind.DOUBLE)
+        {
+            factoryMethodName = "createDouble";
+            typeArgument = "";
+            value = "value";
+        }
+        String bean = "((" + typeName + ") bean)";
+        pw.println("        propertyAccessors.add(de.javagl.autogui.model."
+            + "properties.PropertyAccessors." + factoryMethodName + "(\"" 
+            + propertyName + "\"" + typeArgument + ",");
+        pw.println("            bean -> " + bean + "." 
+            + readMethod.getSimpleName() + "(),");
+        pw.println("            (bean, value) -> " + bean + "." 
+            + writeMethod.getSimpleName() + "(" + value + ")));");
+    }
+    
+    /**
+     * Returns whether the given type is a declared type with type arguments
+     * 
+     * @param type The type
+     * @return Whether the type is parameterized
+     */
+    private static boolean isParameterized(TypeMirror type)
+    {
+        return type.getKind() == TypeKind.DECLARED &&
+            !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+    
+    /**
+     * Returns a Java expression that creates the 
+     * <code>java.lang.reflect.Type</code> for the given type, as it would
+     * be obtained via reflection. Parameterized types are created with
+     * <code>PropertyAccessors#createParameterizedType</code>. Type 
+     * variables and wildcards are represented by <code>Object</code>, 
+     * and all other types by their erasure, because the type arguments
+     * are only used for determining the element types of collections.
+     * 
+     * @param type The type
+     * @return The expression
+     */
+    private String typeExpression(TypeMirror type)
+    {
+        TypeKind kind = type.getKind();
+        if (kind == TypeKind.TYPEVAR || kind == TypeKind.WILDCARD)
+        {
+            return "java.lang.Object.class";
+        }
+        Types types = processingEnv.getTypeUtils();
+        String rawType = types.erasure(type) + ".class";
+        if (!isParameterized(type))
+        {
+            return rawType;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("de.javagl.autogui.model.properties.PropertyAccessors.");
+        sb.append("createParameterizedType(").append(rawType);
+        for (TypeMirror typeArgument : 
+            ((DeclaredType) type).getTypeArguments())
+        {
+            sb.append(", ").append(typeExpression(typeArgument));
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+    
+    /**
+     * Collect the public, non-static read- and write methods of the 
+     * given type, including the inherited ones, and store them 
+     * in the given maps, with the property names as their keys
+     * 
+     * @param typeElement The type element
+     * @param readMethods The read methods
+     * @param writeMethods The write methods
+     */
+    private void collectMethods(TypeElement typeElement, 
+        Map<String, ExecutableElement> readMethods,
+        Map<String, ExecutableElement> writeMethods)
+    {
+        Elements elements = processingEnv.getElementUtils();
+        for (Element member : elements.getAllMembers(typeElement))
+        {
+            if (member.getKind() != ElementKind.METHOD)
+            {
+                continue;
+            }
+            Set<Modifier> modifiers = member.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || 
+                modifiers.contains(Modifier.STATIC))
+            {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement)member;
+            String name = method.getSimpleName().toString();
+            TypeKind returnKind = method.getReturnType().getKind();
+            int parameterCount = method.getParameters().size();
+            if (parameterCount == 0 && returnKind != TypeKind.VOID)
+            {
+                if (name.startsWith("get") && name.length() > 3 &&
+                    !name.equals("getClass"))
+                {
+                    readMethods.put(propertyName(name, 3), method);
+                }
+                else if (name.startsWith("is") && name.length() > 2 &&
+                    returnKind == TypeKind.BOOLEAN)
+                {
+                    readMethods.put(propertyName(name, 2), method);
+                }
+            }
+            else if (parameterCount == 1 && returnKind == TypeKind.VOID)
+            {
+                if (name.startsWith("set") && name.length() > 3)
+                {
+                    writeMethods.put(propertyName(name, 3), method);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the property name for the given method name, with the given
+     * prefix length, following the rules of 
+     * <code>java.beans.Introspector#decapitalize</code>
+     * 
+     * @param methodName The method name
+     * @param prefixLength The prefix length
+     * @return The property name
+     */
+    private static String propertyName(String methodName, int prefixLength)
+    {
+        String name = methodName.substring(prefixLength);
+        if (name.length() > 1 && 
+            Character.isUpperCase(name.charAt(0)) &&
+            Character.isUpperCase(name.charAt(1)))
+        {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+    
+    /**
+     * Returns the name of the boxed type for the given type
+     * 
+     * @param type The type
+     * @return The name of the boxed type
+     */
+    private String boxedTypeName(TypeMirror type)
+    {
+        if (type.getKind().isPrimitive())
+        {
+            Types types = processingEnv.getTypeUtils();
+            return types.boxedClass((PrimitiveType)type)
+                .getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+    
+    /**
+     * Write the service file containing the names of the classes that
+     * have been generated in this compilation. Entries of an existing
+     * service file are not retained, so that classes that have been 
+     * removed or renamed are not registered any more.
+     */
+    private void writeServiceFile()
+    {
+        try
+        {
+            FileObject serviceFile = processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE_NAME);
+            try (Writer writer = serviceFile.openWriter())
+            {
+                for (String className : generatedClassNames)
+                {
+                    writer.write(className + "\n");
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, 
+                "Could not write " + SERVICE_FILE_NAME + ": " 
+                + e.getMessage());
+        }
+    }
+    
+    /**
+     * Print the given error message for the given element
+     * 
+     * @param element The element
+     * @param message The message
+     */
+    private void error(Element element, String message)
+    {
+        processingEnv.getMessager().printMessage(
+            Diagnostic.Kind.ERROR, message, element);
+    }
+}
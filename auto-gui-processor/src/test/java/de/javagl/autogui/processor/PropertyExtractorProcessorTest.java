@@ -0,0 +1,232 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Test;
+
+import de.javagl.autogui.model.properties.DoublePropertyAccessor;
+import de.javagl.autogui.model.properties.GeneratedPropertyExtractor;
+import de.javagl.autogui.model.properties.IntPropertyAccessor;
+import de.javagl.autogui.model.properties.PropertyAccessor;
+import de.javagl.autogui.model.properties.PropertyExtractors;
+
+/**
+ * Tests for the {@link PropertyExtractorProcessor}
+ */
+@SuppressWarnings("javadoc")
+public class PropertyExtractorProcessorTest
+{
+    /**
+     * The source code of an annotated bean class
+     */
+    private static final String BEAN_SOURCE = String.join("\n",
+        "package example;",
+        "",
+        "@de.javagl.autogui.model.properties.GeneratePropertyExtractor",
+        "public class ExampleBean",
+        "{",
+        "    private String name;",
+        "    private int count;",
+        "    private double weight;",
+        "    private boolean active;",
+        "    private java.util.List<String> names;",
+        "    private java.util.Map<String, java.util.List<Integer>> values;",
+        "    public String getName() { return name; }",
+        "    public void setName(String name) { this.name = name; }",
+        "    public int getCount() { return count; }",
+        "    public void setCount(int count) { this.count = count; }",
+        "    public double getWeight() { return weight; }",
+        "    public void setWeight(double weight) { this.weight = weight; }",
+        "    public boolean isActive() { return active; }",
+        "    public void setActive(boolean active) { this.active = active; }",
+        "    public java.util.List<String> getNames() { return names; }",
+        "    public void setNames(java.util.List<String> names) ",
+        "    { this.names = names; }",
+        "    public java.util.Map<String, java.util.List<Integer>> ",
+        "        getValues() { return values; }",
+        "    public void setValues(",
+        "        java.util.Map<String, java.util.List<Integer>> values) ",
+        "    { this.values = values; }",
+        "    public String getReadOnly() { return \"readOnly\"; }",
+        "}");
+    
+    @Test
+    public void testGeneratedExtractorIsRegisteredAndUsed() throws Exception
+    {
+        Path directory = Files.createTempDirectory("processor");
+        List<String> diagnostics = compile(directory, BEAN_SOURCE);
+        assertTrue(diagnostics.toString(), diagnostics.isEmpty());
+        
+        Path serviceFile = directory.resolve("META-INF").resolve("services")
+            .resolve(GeneratedPropertyExtractor.class.getName());
+        assertEquals(
+            Collections.singletonList(
+                "example.ExampleBean_GeneratedPropertyExtractor"),
+            Files.readAllLines(serviceFile, StandardCharsets.UTF_8));
+        
+        URL url = directory.toUri().toURL();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { url },
+            PropertyExtractorProcessorTest.class.getClassLoader()))
+        {
+            Class<?> beanClass = classLoader.loadClass("example.ExampleBean");
+            GeneratedPropertyExtractor generated = null;
+            for (GeneratedPropertyExtractor extractor : 
+                ServiceLoader.load(
+                    GeneratedPropertyExtractor.class, classLoader))
+            {
+                if (extractor.getType() == beanClass)
+                {
+                    generated = extractor;
+                }
+            }
+            assertNotNull(generated);
+            
+            List<PropertyAccessor> propertyAccessors = 
+                generated.getPropertyAccessors(beanClass);
+            assertSame(propertyAccessors, PropertyExtractors.createForBeans()
+                .getPropertyAccessors(beanClass));
+            
+            Map<String, PropertyAccessor> accessors = 
+                new LinkedHashMap<String, PropertyAccessor>();
+            for (PropertyAccessor accessor : propertyAccessors)
+            {
+                accessors.put(accessor.getName(), accessor);
+            }
+            assertEquals(Arrays.asList(
+                "active", "count", "name", "names", "values", "weight"),
+                new ArrayList<String>(accessors.keySet()));
+            assertEquals(boolean.class, accessors.get("active").getType());
+            assertEquals(String.class, accessors.get("name").getType());
+            assertEquals(String.class, 
+                accessors.get("name").getGenericType());
+            assertEquals(beanClass.getMethod("getNames").getGenericReturnType(),
+                accessors.get("names").getGenericType());
+            assertEquals(
+                beanClass.getMethod("getValues").getGenericReturnType(),
+                accessors.get("values").getGenericType());
+            
+            Object bean = beanClass.newInstance();
+            IntPropertyAccessor count = 
+                (IntPropertyAccessor) accessors.get("count");
+            count.setInt(bean, 12);
+            assertEquals(12, count.getInt(bean));
+            DoublePropertyAccessor weight = 
+                (DoublePropertyAccessor) accessors.get("weight");
+            weight.setDouble(bean, 1.5);
+            assertEquals(1.5, weight.getDouble(bean), 0.0);
+            PropertyAccessor name = accessors.get("name");
+            name.getWriteMethod().accept(bean, "example");
+            assertEquals("example", name.getReadMethod().apply(bean));
+            PropertyAccessor active = accessors.get("active");
+            active.getWriteMethod().accept(bean, true);
+            assertEquals(Boolean.TRUE, active.getReadMethod().apply(bean));
+        }
+    }
+    
+    @Test
+    public void testStaleServiceEntriesAreRemoved() throws IOException
+    {
+        Path directory = Files.createTempDirectory("processor");
+        Path serviceFile = directory.resolve("META-INF").resolve("services")
+            .resolve(GeneratedPropertyExtractor.class.getName());
+        Files.createDirectories(serviceFile.getParent());
+        Files.write(serviceFile, Collections.singletonList(
+            "example.RemovedBean_GeneratedPropertyExtractor"), 
+            StandardCharsets.UTF_8);
+        
+        List<String> diagnostics = compile(directory, BEAN_SOURCE);
+        assertTrue(diagnostics.toString(), diagnostics.isEmpty());
+        assertEquals(
+            Collections.singletonList(
+                "example.ExampleBean_GeneratedPropertyExtractor"),
+            Files.readAllLines(serviceFile, StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    public void testAnnotatedInterfaceCausesError() throws IOException
+    {
+        Path directory = Files.createTempDirectory("processor");
+        List<String> diagnostics = compile(directory, String.join("\n",
+            "package example;",
+            "@de.javagl.autogui.model.properties.GeneratePropertyExtractor",
+            "public interface ExampleBean { }"));
+        assertFalse(diagnostics.isEmpty());
+        assertTrue(diagnostics.get(0), diagnostics.get(0).contains(
+            PropertyExtractorProcessor.ANNOTATION_NAME));
+    }
+    
+    /**
+     * Compile the given source code of the <code>example.ExampleBean</code>
+     * class with the {@link PropertyExtractorProcessor}, writing the 
+     * output into the given directory, and return the messages of all 
+     * diagnostics that are errors
+     * 
+     * @param directory The output directory
+     * @param source The source code
+     * @return The error messages
+     * @throws IOException If an IO error occurs
+     */
+    private static List<String> compile(Path directory, String source)
+        throws IOException
+    {
+        Path sourceFile = directory.resolve("example").resolve(
+            "ExampleBean.java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+        
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> errors = new ArrayList<String>();
+        try (StandardJavaFileManager fileManager = 
+            compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8))
+        {
+            Iterable<? extends JavaFileObject> compilationUnits = 
+                fileManager.getJavaFileObjects(sourceFile.toFile());
+            List<String> options = Arrays.asList(
+                "-d", directory.toString(), 
+                "-classpath", System.getProperty("java.class.path"));
+            CompilationTask task = compiler.getTask(null, fileManager, 
+                diagnostic -> 
+                {
+                    if (diagnostic.getKind() == 
+                        javax.tools.Diagnostic.Kind.ERROR)
+                    {
+                        errors.add(diagnostic.getMessage(null));
+                    }
+                }, 
+                options, null, compilationUnits);
+            task.setProcessors(Collections.singletonList(
+                new PropertyExtractorProcessor()));
+            task.call();
+        }
+        return errors;
+    }
+}
@@ -167,6 +167,43 @@ public class Converters
         return fromFunctions(sourceType, targetType, forward, backward);
     }
 
+    /**
+     * Creates a {@link Converter} that caches the results of the given
+     * {@link Converter}. For both directions, the results for the most 
+     * recently used values are kept in a cache with the given maximum
+     * size. This is intended for converters that are expensive to 
+     * compute. The values are compared with <code>equals</code>, so
+     * the given converter should only depend on the values that it
+     * converts. Only the results for immutable values (the wrapper 
+     * types of primitive types, <code>String</code> and enum constants)
+     * are cached, and only if the results are immutable as well.
+     * 
+     * @param <S> The source type
+     * @param <T> The target type
+     * @param converter The {@link Converter}
+     * @param maximumSize The maximum number of cached results for
+     * each direction
+     * @return The {@link Converter}
+     * @throws NullPointerException If the converter is <code>null</code>
+     * @throws IllegalArgumentException If the maximum size is not 
+     * positive
+     */
+    public static <S, T> Converter<S, T> caching(
+        Converter<S, T> converter, int maximumSize)
+    {
+        Objects.requireNonNull(converter, 
+            "The converter is null");
+        if (maximumSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The maximum size must be positive, but is " + maximumSize);
+        }
+        return fromFunctions(
+            converter.getSourceType(), converter.getTargetType(), 
+            Functions.caching(converter.forward(), maximumSize), 
+            Functions.caching(converter.backward(), maximumSize));
+    }
+
     /**
      * Private constructor to prevent instantiation
      */
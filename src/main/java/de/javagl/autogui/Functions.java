@@ -26,8 +26,12 @@
  */
 package de.javagl.autogui;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
+import de.javagl.autogui.model.ValueModelsInternal;
+
 /**
  * Utility methods to create {@link Function} instances
  */
@@ -66,6 +70,71 @@ class Functions
         };
     }
     
+    /**
+     * Creates a {@link Function} that caches the results of the given
+     * function. The results for the most recently used arguments are
+     * kept in a cache with the given maximum size. The arguments are
+     * compared with <code>equals</code>, so the given function should
+     * only depend on the value of its argument. Only results that are
+     * {@link ValueModelsInternal#isImmutable(Object) immutable}, for 
+     * arguments that are immutable, are cached. Other arguments, like 
+     * lists or beans, may be modified in place, and are always passed to
+     * the given function. Other results could be modified by the caller,
+     * and are not shared between calls. The returned function is 
+     * thread-safe.
+     * 
+     * @param <S> The argument type 
+     * @param <T> The result type
+     * 
+     * @param function The function
+     * @param maximumSize The maximum number of cached results
+     * @return The {@link Function}
+     */
+    static <S, T> Function<S, T> caching(
+        Function<S, ? extends T> function, int maximumSize)
+    {
+        Map<S, T> cache = new LinkedHashMap<S, T>(16, 0.75f, true)
+        {
+            /**
+             * Serial UID
+             */
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<S, T> eldest)
+            {
+                return size() > maximumSize;
+            }
+        };
+        return new Function<S, T>()
+        {
+            @Override
+            public T apply(S s)
+            {
+                if (!ValueModelsInternal.isImmutable(s))
+                {
+                    return function.apply(s);
+                }
+                synchronized (cache)
+                {
+                    if (cache.containsKey(s))
+                    {
+                        return cache.get(s);
+                    }
+                }
+                T t = function.apply(s);
+                if (ValueModelsInternal.isImmutable(t))
+                {
+                    synchronized (cache)
+                    {
+                        cache.put(s, t);
+                    }
+                }
+                return t;
+            }
+        };
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
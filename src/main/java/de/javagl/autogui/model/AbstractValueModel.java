@@ -26,9 +26,7 @@
  */
 package de.javagl.autogui.model;
 
-import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Abstract implementation of a {@link ValueModel}, only maintaining the
@@ -44,10 +42,11 @@ public abstract class AbstractValueModel<T> implements ValueModel<T>
     private final Class<?> valueType;
     
     /**
-     * The list of {@link ValueListener} instances that will be informed 
-     * in {@link #fireValueChanged}
+     * The {@link Listeners listener list} of {@link ValueListener} 
+     * instances that will be informed in {@link #fireValueChanged}.
+     * This is only modified while holding the monitor of this object.
      */
-    private final List<ValueListener<T>> valueListeners;
+    private volatile Object valueListeners;
 
     /**
      * Creates a new value model
@@ -59,7 +58,6 @@ public abstract class AbstractValueModel<T> implements ValueModel<T>
     {
         this.valueType = Objects.requireNonNull(valueType,
             "The valueType may not be null");
-        this.valueListeners = new CopyOnWriteArrayList<ValueListener<T>>();
     }
     
     @Override
@@ -71,29 +69,101 @@ public abstract class AbstractValueModel<T> implements ValueModel<T>
     /**
      * Will be called when the value of this {@link ValueModel} changed
      * to the given value, and the {@link ValueListener} instances should be
-     * informed.
+     * informed.<br>
+     * <br>
+     * If a {@link ValueModels#beginBatch() batch} is active, then the
+     * notification is deferred until the batch is committed.
      * 
      * @param oldValue The old value
      * @param newValue The new value
      */
     protected final void fireValueChanged(T oldValue, T newValue)
     {
-        for (ValueListener<T> valueListener : valueListeners)
+        Object currentValueListeners = valueListeners;
+        int n = Listeners.size(currentValueListeners);
+        if (n == 0)
         {
-            valueListener.valueChanged(oldValue, newValue);
+            return;
         }
+        ValueModelBatch batch = ValueModelBatch.current();
+        if (batch == null)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                ValueListener<T> valueListener = 
+                    Listeners.get(currentValueListeners, i);
+                valueListener.valueChanged(oldValue, newValue);
+            }
+            return;
+        }
+        boolean deferred = false;
+        for (int i = 0; i < n; i++)
+        {
+            ValueListener<T> valueListener = 
+                Listeners.get(currentValueListeners, i);
+            if (valueListener instanceof ImmediateValueListener<?>)
+            {
+                valueListener.valueChanged(oldValue, newValue);
+            }
+            else
+            {
+                deferred = true;
+            }
+        }
+        if (deferred)
+        {
+            batch.defer(this, oldValue, newValue);
+        }
+    }
+    
+    /**
+     * Will be called when a batch is committed, to inform all 
+     * {@link ValueListener} instances that have not been informed
+     * immediately about the change of the value during the batch.
+     * 
+     * @param oldValue The value before the batch
+     * @param newValue The value after the batch
+     */
+    final void fireDeferredValueChanged(T oldValue, T newValue)
+    {
+        Object currentValueListeners = valueListeners;
+        int n = Listeners.size(currentValueListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ValueListener<T> valueListener = 
+                Listeners.get(currentValueListeners, i);
+            if (!(valueListener instanceof ImmediateValueListener<?>))
+            {
+                valueListener.valueChanged(oldValue, newValue);
+            }
+        }
+    }
+    
+    /**
+     * Returns whether any {@link ValueListener} instances are attached
+     * to this model. This may be used by implementations to avoid 
+     * computing the arguments for {@link #fireValueChanged} when
+     * nobody will receive them.
+     * 
+     * @return Whether there are {@link ValueListener} instances
+     */
+    protected final boolean hasValueListeners()
+    {
+        return valueListeners != null;
     }
     
     @Override
-    public final void addValueListener(ValueListener<T> valueListener)
+    public final synchronized void addValueListener(
+        ValueListener<T> valueListener)
     {
-        valueListeners.add(valueListener);
+        valueListeners = Listeners.add(valueListeners, valueListener);
     }
 
     @Override
-    public final void removeValueListener(ValueListener<?> valueListener)
+    public final synchronized void removeValueListener(
+        ValueListener<?> valueListener)
     {
-        valueListeners.remove(valueListener);
+        valueListeners = Listeners.remove(valueListeners, valueListener);
     }
 
     
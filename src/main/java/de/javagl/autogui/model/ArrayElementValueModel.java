@@ -28,14 +28,16 @@ package de.javagl.autogui.model;
 
 /**
  * Implementation of a {@link ValueModel} that represents one element of
- * the array of an {@link ArrayValueModel}
+ * the array of an {@link ArrayValueModel}. The {@link ArrayValueModel}
+ * is responsible for calling {@link #elementChanged(Object, Object)}
+ * when the element that this model stands for changed.
  *
  * @param <A> The array type
  * @param <E> The element/component type
  */
 class ArrayElementValueModel<A, E> 
     extends AbstractValueModel<E> 
-    implements ValueModel<E>, Detachable
+    implements ValueModel<E>
 {
     /**
      * The {@link ArrayValueModel} that this model refers to
@@ -43,17 +45,10 @@ class ArrayElementValueModel<A, E>
     private final ArrayValueModel<A, E> arrayValueModel;
     
     /**
-     * The index in the array that this element stands for
+     * The index in the array that this element stands for. This may
+     * change when elements are inserted, removed or moved in the array.
      */
-    private final int index;
-    
-    /**
-     * The {@link ArrayListener} that will be attached to the
-     * {@link ArrayValueModel} and forward change notifications
-     * from the {@link ArrayValueModel} to the listeners of
-     * this model.
-     */
-    private final ArrayListener<A, E> arrayListener; 
+    private int index;
     
     /**
      * Default constructor
@@ -74,25 +69,30 @@ class ArrayElementValueModel<A, E>
                 "The index may not be negative, but is " + index);
         }
         this.index = index;
-        
-        arrayListener = new ArrayListener<A, E>()
-        {
-            @Override
-            public void arrayElementChanged(int i, E oldElement, E newElement)
-            {
-                if (i == index)
-                {
-                    fireValueChanged(oldElement, newElement);
-                }
-            }
-        };
-        arrayValueModel.addArrayListener(arrayListener);
     }
     
-    @Override
-    public void detach()
+    /**
+     * Set the index in the array that this element stands for. This is
+     * called by the {@link ArrayValueModel} when elements are inserted,
+     * removed or moved in the array.
+     * 
+     * @param index The index
+     */
+    void setIndex(int index)
+    {
+        this.index = index;
+    }
+    
+    /**
+     * Will be called by the {@link ArrayValueModel} when the element that
+     * this model stands for changed, to inform the listeners of this model
+     * 
+     * @param oldElement The old element
+     * @param newElement The new element
+     */
+    void elementChanged(E oldElement, E newElement)
     {
-        arrayValueModel.removeArrayListener(arrayListener);
+        fireValueChanged(oldElement, newElement);
     }
     
 
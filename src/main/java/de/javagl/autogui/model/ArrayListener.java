@@ -26,9 +26,20 @@
  */
 package de.javagl.autogui.model;
 
+import java.lang.reflect.Array;
+import java.util.Objects;
+
 /**
  * Interface for classes that want to be informed about changes in an
- * {@link ArrayValueModel}.
+ * {@link ArrayValueModel}.<br>
+ * <br>
+ * Changes that affect many elements are reported with a single call to
+ * one of the bulk notification methods, instead of one call to 
+ * {@link #arrayElementChanged(int, Object, Object)} for each element.
+ * The default implementations of the bulk notification methods forward
+ * the changes to {@link #arrayElementChanged(int, Object, Object)}, so
+ * that implementations that only override this method are informed 
+ * about all changes of elements.
  *
  * @param <A> The array type
  * @param <E> The element/component type
@@ -43,4 +54,166 @@ public interface ArrayListener<A, E>
      * @param newElement The new element
      */
     void arrayElementChanged(int index, E oldElement, E newElement);
+    
+    /**
+     * Will be called when the elements in the specified range of the
+     * given array changed.<br>
+     * <br>
+     * The default implementation calls 
+     * {@link #arrayElementChanged(int, Object, Object)} for each index 
+     * in the given range where the old and the new element are not equal.
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @param oldElements An array that contains the old elements of
+     * the range, starting at index 0
+     * @param array The array, containing the new elements of the range
+     */
+    default void arrayRangeChanged(
+        int fromIndex, int toIndex, A oldElements, A array)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            Object oldElement = Array.get(oldElements, i - fromIndex);
+            Object newElement = Array.get(array, i);
+            if (!Objects.equals(oldElement, newElement))
+            {
+                @SuppressWarnings("unchecked")
+                E typedOldElement = (E) oldElement;
+                @SuppressWarnings("unchecked")
+                E typedNewElement = (E) newElement;
+                arrayElementChanged(i, typedOldElement, typedNewElement);
+            }
+        }
+    }
+    
+    /**
+     * Will be called when the length of the array changed. The length
+     * is <code>-1</code> if the respective array is <code>null</code>.
+     * This method is only called directly before 
+     * {@link #arrayReplaced(Object, Object)}.<br>
+     * <br>
+     * The default implementation does nothing, because the changes of
+     * the elements are reported by {@link #arrayReplaced(Object, Object)}.
+     * 
+     * @param oldLength The old length
+     * @param newLength The new length
+     */
+    default void arrayLengthChanged(int oldLength, int newLength)
+    {
+        // Empty default implementation
+    }
+    
+    /**
+     * Will be called when elements have been inserted into the array. 
+     * The elements that have previously been at the given start index 
+     * and after it have been moved back by 
+     * <code>toIndex - fromIndex</code> positions.<br>
+     * <br>
+     * The default implementation calls 
+     * {@link #arrayReplaced(Object, Object)}.
+     * 
+     * @param fromIndex The index of the first inserted element, inclusive
+     * @param toIndex The index of the last inserted element, exclusive
+     * @param oldArray The old array. This may be <code>null</code>.
+     * @param newArray The new array
+     */
+    default void arrayElementsInserted(
+        int fromIndex, int toIndex, A oldArray, A newArray)
+    {
+        arrayReplaced(oldArray, newArray);
+    }
+    
+    /**
+     * Will be called when elements have been removed from the array. 
+     * The elements that have previously been at the given end index
+     * and after it have been moved forward by 
+     * <code>toIndex - fromIndex</code> positions.<br>
+     * <br>
+     * The default implementation calls 
+     * {@link #arrayReplaced(Object, Object)}.
+     * 
+     * @param fromIndex The index of the first removed element, inclusive
+     * @param toIndex The index of the last removed element, exclusive
+     * @param oldArray The old array
+     * @param newArray The new array
+     */
+    default void arrayElementsRemoved(
+        int fromIndex, int toIndex, A oldArray, A newArray)
+    {
+        arrayReplaced(oldArray, newArray);
+    }
+    
+    /**
+     * Will be called when an element has been moved from one index to
+     * another. The elements between the given indices have been moved
+     * by one position, towards the given source index.<br>
+     * <br>
+     * The default implementation calls 
+     * {@link #arrayRangeChanged(int, int, Object, Object)} for the range
+     * between the given indices.
+     * 
+     * @param fromIndex The index that the element was moved from
+     * @param toIndex The index that the element was moved to
+     * @param array The array, after the element was moved
+     */
+    default void arrayElementMoved(int fromIndex, int toIndex, A array)
+    {
+        int min = Math.min(fromIndex, toIndex);
+        int max = Math.max(fromIndex, toIndex) + 1;
+        int length = max - min;
+        Object oldElements = Array.newInstance(
+            array.getClass().getComponentType(), length);
+        Object movedElement = Array.get(array, toIndex);
+        if (fromIndex < toIndex)
+        {
+            System.arraycopy(array, min, oldElements, 1, length - 1);
+            Array.set(oldElements, 0, movedElement);
+        }
+        else
+        {
+            System.arraycopy(array, min + 1, oldElements, 0, length - 1);
+            Array.set(oldElements, length - 1, movedElement);
+        }
+        @SuppressWarnings("unchecked")
+        A typedOldElements = (A) oldElements;
+        arrayRangeChanged(min, max, typedOldElements, array);
+    }
+    
+    /**
+     * Will be called when the array was replaced with a new array. If the 
+     * length changed, then {@link #arrayLengthChanged(int, int)} will be 
+     * called before this method.<br>
+     * <br>
+     * The default implementation calls 
+     * {@link #arrayElementChanged(int, Object, Object)} for each index 
+     * of the new array where the elements of the old and the new array 
+     * are not equal. Implementations that do not need the individual 
+     * elements should override this method.
+     * 
+     * @param oldArray The old array. This may be <code>null</code>.
+     * @param newArray The new array. This may be <code>null</code>.
+     */
+    default void arrayReplaced(A oldArray, A newArray)
+    {
+        if (newArray == null)
+        {
+            return;
+        }
+        int oldLength = oldArray == null ? 0 : Array.getLength(oldArray);
+        int newLength = Array.getLength(newArray);
+        for (int i = 0; i < newLength; i++)
+        {
+            Object oldElement = i < oldLength ? Array.get(oldArray, i) : null;
+            Object newElement = Array.get(newArray, i);
+            if (!Objects.equals(oldElement, newElement))
+            {
+                @SuppressWarnings("unchecked")
+                E typedOldElement = (E) oldElement;
+                @SuppressWarnings("unchecked")
+                E typedNewElement = (E) newElement;
+                arrayElementChanged(i, typedOldElement, typedNewElement);
+            }
+        }
+    }
 }
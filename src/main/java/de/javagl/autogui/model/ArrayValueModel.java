@@ -26,6 +26,9 @@
  */
 package de.javagl.autogui.model;
 
+import java.lang.reflect.Array;
+import java.util.Objects;
+
 /**
  * Interface for a {@link ValueModel} where the value is an array. It offers
  * methods for setting and getting the array elements and maintains 
@@ -99,6 +102,199 @@ public interface ArrayValueModel<A, E> extends ValueModel<A>
      * smaller than the {@link #getArrayLength() array length}
      */
     void setElementValue(int index, E elementValue);
+    
+    /**
+     * Set the values for the array, starting at the specified index, to 
+     * the elements of the given array. The {@link ArrayListener} instances 
+     * will be informed with a single call to
+     * {@link ArrayListener#arrayRangeChanged(int, int, Object, Object)}.
+     * <br>
+     * <br>
+     * The default implementation passes a copy of the array that contains
+     * the new elements to {@link #setValue(Object)}, so that the 
+     * {@link ArrayListener} instances are informed with a call to
+     * {@link ArrayListener#arrayReplaced(Object, Object)}.
+     * 
+     * @param index The index
+     * @param elementValues The array containing the new element values
+     * @throws NullPointerException If the given array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the index is negative, or the 
+     * given array does not fit into the array of this model at the given 
+     * index
+     */
+    default void setElementValues(int index, A elementValues)
+    {
+        Objects.requireNonNull(elementValues, 
+            "The elementValues may not be null");
+        int count = Array.getLength(elementValues);
+        int length = getArrayLength();
+        if (index < 0 || index + count > length)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not set " + count + " elements at index " + index 
+                + " in an array with length " + length);
+        }
+        Object newArray = Array.newInstance(getElementValueType(), length);
+        System.arraycopy(getValue(), 0, newArray, 0, length);
+        System.arraycopy(elementValues, 0, newArray, index, count);
+        @SuppressWarnings("unchecked")
+        A typedNewArray = (A) newArray;
+        setValue(typedNewArray);
+    }
+    
+    /**
+     * Insert the given element at the given index. The array of this
+     * model will be replaced by a new array that contains the new element,
+     * and the {@link ArrayListener} instances will be informed with a 
+     * single call to 
+     * {@link ArrayListener#arrayElementsInserted(int, int, Object, Object)}.
+     * If the array is <code>null</code>, then it will be treated like an
+     * empty array.<br>
+     * <br>
+     * The default implementation passes the new array to 
+     * {@link #setValue(Object)}, so that the {@link ArrayListener} 
+     * instances are informed with a call to 
+     * {@link ArrayListener#arrayReplaced(Object, Object)}.
+     * 
+     * @param index The index
+     * @param elementValue The element value
+     * @throws IndexOutOfBoundsException If the index is negative or larger
+     * than the {@link #getArrayLength() array length}
+     */
+    default void insertElement(int index, E elementValue)
+    {
+        A oldArray = getValue();
+        int oldLength = Math.max(0, getArrayLength());
+        if (index < 0 || index > oldLength)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not insert an element at index " + index 
+                + " in an array with length " + oldLength);
+        }
+        Object newArray = 
+            Array.newInstance(getElementValueType(), oldLength + 1);
+        if (oldArray != null)
+        {
+            System.arraycopy(oldArray, 0, newArray, 0, index);
+            System.arraycopy(
+                oldArray, index, newArray, index + 1, oldLength - index);
+        }
+        if (elementValue != null)
+        {
+            Array.set(newArray, index, elementValue);
+        }
+        @SuppressWarnings("unchecked")
+        A typedNewArray = (A) newArray;
+        setValue(typedNewArray);
+    }
+    
+    /**
+     * Remove the elements in the specified range. The array of this
+     * model will be replaced by a new array that does not contain 
+     * these elements, and the {@link ArrayListener} instances will be
+     * informed with a single call to 
+     * {@link ArrayListener#arrayElementsRemoved(int, int, Object, Object)}.
+     * <br>
+     * <br>
+     * The default implementation passes the new array to 
+     * {@link #setValue(Object)}, so that the {@link ArrayListener} 
+     * instances are informed with a call to 
+     * {@link ArrayListener#arrayReplaced(Object, Object)}.
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @throws IllegalStateException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the start index is negative, 
+     * the end index is larger than the {@link #getArrayLength() array 
+     * length}, or the start index is larger than the end index
+     */
+    default void removeElements(int fromIndex, int toIndex)
+    {
+        A oldArray = getValue();
+        if (oldArray == null)
+        {
+            throw new IllegalStateException(
+                "The array that this ValueModel refers to is null");
+        }
+        int oldLength = getArrayLength();
+        if (fromIndex < 0 || toIndex > oldLength || fromIndex > toIndex)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not remove the elements from " + fromIndex + " to " 
+                + toIndex + " in an array with length " + oldLength);
+        }
+        if (fromIndex == toIndex)
+        {
+            return;
+        }
+        int count = toIndex - fromIndex;
+        Object newArray = 
+            Array.newInstance(getElementValueType(), oldLength - count);
+        System.arraycopy(oldArray, 0, newArray, 0, fromIndex);
+        System.arraycopy(
+            oldArray, toIndex, newArray, fromIndex, oldLength - toIndex);
+        @SuppressWarnings("unchecked")
+        A typedNewArray = (A) newArray;
+        setValue(typedNewArray);
+    }
+    
+    /**
+     * Move the element at the given source index to the given target 
+     * index, shifting the elements in between by one position. The 
+     * {@link ArrayListener} instances will be informed with a single
+     * call to 
+     * {@link ArrayListener#arrayElementMoved(int, int, Object)}.<br>
+     * <br>
+     * The default implementation passes the new array to 
+     * {@link #setValue(Object)}, so that the {@link ArrayListener} 
+     * instances are informed with a call to 
+     * {@link ArrayListener#arrayReplaced(Object, Object)}.
+     * 
+     * @param fromIndex The source index
+     * @param toIndex The target index
+     * @throws IllegalStateException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If one of the indices is negative
+     * or not smaller than the {@link #getArrayLength() array length}
+     */
+    default void moveElement(int fromIndex, int toIndex)
+    {
+        A oldArray = getValue();
+        if (oldArray == null)
+        {
+            throw new IllegalStateException(
+                "The array that this ValueModel refers to is null");
+        }
+        int length = getArrayLength();
+        if (fromIndex < 0 || fromIndex >= length || 
+            toIndex < 0 || toIndex >= length)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not move an element from " + fromIndex + " to " 
+                + toIndex + " in an array with length " + length);
+        }
+        if (fromIndex == toIndex)
+        {
+            return;
+        }
+        Object newArray = Array.newInstance(getElementValueType(), length);
+        System.arraycopy(oldArray, 0, newArray, 0, length);
+        if (fromIndex < toIndex)
+        {
+            System.arraycopy(
+                oldArray, fromIndex + 1, newArray, fromIndex, 
+                toIndex - fromIndex);
+        }
+        else
+        {
+            System.arraycopy(
+                oldArray, toIndex, newArray, toIndex + 1, 
+                fromIndex - toIndex);
+        }
+        System.arraycopy(oldArray, fromIndex, newArray, toIndex, 1);
+        @SuppressWarnings("unchecked")
+        A typedNewArray = (A) newArray;
+        setValue(typedNewArray);
+    }
 
     /**
      * Add the given {@link ArrayListener} to be informed about changes
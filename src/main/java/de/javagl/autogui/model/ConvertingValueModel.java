@@ -67,11 +67,27 @@ class ConvertingValueModel<S, T> extends AbstractValueModel<T>
      * The current value
      */
     private T currentValue;
+    
+    /**
+     * The most recent conversion of an immutable delegate value into an
+     * immutable value. This is <code>null</code> if there was no such 
+     * conversion yet, or if it was invalidated by a change of the 
+     * delegate.
+     */
+    private volatile Conversion<S, T> conversion;
 
     /**
      * The listener that will listen for changes in the delegate
      */
-    private final ValueListener<S> convertingListener;
+    private final ImmediateValueListener<S> convertingListener;
+    
+    /**
+     * The listener that is actually attached to the delegate. This is 
+     * either the {@link #convertingListener}, or a listener that only 
+     * keeps a weak reference to it, if the model was created in the
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode}
+     */
+    private final ValueListener<S> delegateListener;
     
     /**
      * Creates a new instance
@@ -93,6 +109,7 @@ class ConvertingValueModel<S, T> extends AbstractValueModel<T>
         
         this.convertingListener = (oldS, newS) ->
         {
+            conversion = null;
             T oldValue = currentValue;
             T newValue = getValue();
             currentValue = newValue;
@@ -101,23 +118,61 @@ class ConvertingValueModel<S, T> extends AbstractValueModel<T>
                 fireValueChanged(oldValue, newValue);
             }
         };
-        delegate.addValueListener(convertingListener);
+        if (ValueModelsInternal.isWeakListenerMode())
+        {
+            this.delegateListener = 
+                ValueModels.addWeakValueListener(delegate, convertingListener);
+        }
+        else
+        {
+            delegate.addValueListener(convertingListener);
+            this.delegateListener = convertingListener;
+        }
     }
     
     @Override
     public void detach()
     {
-        delegate.removeValueListener(convertingListener);
+        delegate.removeValueListener(delegateListener);
     }
 
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * The result of the conversion is cached if the delegate value and
+     * the result are {@link ValueModelsInternal#isImmutable(Object) 
+     * immutable}. The conversion is only performed again when the 
+     * delegate value changed, as indicated by a notification from the 
+     * delegate, or by the delegate value no longer being equal to the 
+     * one that was converted. Other values, like lists or beans, may be 
+     * modified in place, without changing their identity or equality, 
+     * and are converted each time.
+     */
     @Override
     public final T getValue()
     {
         S delegateValue = delegate.getValue();
+        Conversion<S, T> c = conversion;
+        if (c != null && Objects.equals(c.source, delegateValue))
+        {
+            return c.target;
+        }
         T value = converter.forward().apply(delegateValue);
+        if (ValueModelsInternal.isImmutable(delegateValue) &&
+            ValueModelsInternal.isImmutable(value))
+        {
+            conversion = new Conversion<S, T>(delegateValue, value);
+        }
+        else
+        {
+            conversion = null;
+        }
         
-        logger.log(level, "Converted delegate value " 
-            + delegateValue + " to " + value);
+        if (logger.isLoggable(level))
+        {
+            logger.log(level, "Converted delegate value " 
+                + delegateValue + " to " + value);
+        }
         
         return value;
     }
@@ -127,8 +182,11 @@ class ConvertingValueModel<S, T> extends AbstractValueModel<T>
     {
         S newDelegateValue = converter.backward().apply(newValue);
         
-        logger.log(level, "Converted value " 
-            + newValue + " to " + newDelegateValue);
+        if (logger.isLoggable(level))
+        {
+            logger.log(level, "Converted value " 
+                + newValue + " to " + newDelegateValue);
+        }
         
         delegate.setValue(newDelegateValue);
     }
@@ -140,5 +198,36 @@ class ConvertingValueModel<S, T> extends AbstractValueModel<T>
             + "delegate=" + delegate + ","
             + "converter=" + converter + "]";
     }
+    
+    /**
+     * A pair of a delegate value and the value that it was converted to
+     * 
+     * @param <S> The source (delegate) value type
+     * @param <T> The value type
+     */
+    private static final class Conversion<S, T>
+    {
+        /**
+         * The delegate value
+         */
+        private final S source;
+        
+        /**
+         * The converted value
+         */
+        private final T target;
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param source The delegate value
+         * @param target The converted value
+         */
+        Conversion(S source, T target)
+        {
+            this.source = source;
+            this.target = target;
+        }
+    }
 
 }
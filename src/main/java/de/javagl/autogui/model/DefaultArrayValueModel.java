@@ -30,7 +30,6 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Default implementation of an {@link ArrayValueModel}. It is backed by
@@ -39,7 +38,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * <br>
  * The methods that are specific for the {@link ArrayValueModel} interface
  * are implemented based on generic array access methods that operate on
- * the value of the internal {@link ValueModel}.
+ * the value of the internal {@link ValueModel}. Subclasses for arrays with
+ * primitive component types may override these methods to access the 
+ * array directly.
  *
  * @param <A> The array type
  * @param <E> The element/component type
@@ -48,10 +49,11 @@ class DefaultArrayValueModel<A, E>
     implements ArrayValueModel<A, E>, Detachable
 {
     /**
-     * The list of {@link ArrayListener} instances that will be informed 
-     * in {@link #fireArrayElementChanged}
+     * The {@link Listeners listener list} of {@link ArrayListener} 
+     * instances that will be informed in {@link #fireArrayElementChanged}.
+     * This is only modified while holding the monitor of this object.
      */
-    private final List<ArrayListener<A, E>> arrayListeners;
+    private volatile Object arrayListeners;
     
     /**
      * The internal {@link ValueModel}
@@ -64,11 +66,34 @@ class DefaultArrayValueModel<A, E>
      */
     private final ValueListener<A> internalValueModelListener;
     
+    /**
+     * Whether the value of the internal {@link ValueModel} is currently
+     * being set by this model. Changes that are caused by this model
+     * are reported by this model directly, and not by the 
+     * {@link #internalValueModelListener}.
+     */
+    private boolean settingInternalValue;
+    
+    /**
+     * The update of the element models that has to be performed for 
+     * the value that is currently being set by this model, or 
+     * <code>null</code>. See {@link #setInternalValue(Object, Runnable)}.
+     */
+    private Runnable pendingElementValueModelsUpdate;
+    
     /**
      * One {@link ValueModel} for each array element
      */
     private final List<ValueModel<E>> elementValueModels;
     
+    /**
+     * The {@link ArrayElementValueModel} for each array element. This
+     * is the element model itself, or the model that backs the element 
+     * model when the elements are arrays. It is used for passing 
+     * change notifications directly to the model of the affected index.
+     */
+    private final List<ArrayElementValueModel<A, E>> arrayElementValueModels;
+    
     /**
      * Creates a new value model
      * 
@@ -90,27 +115,41 @@ class DefaultArrayValueModel<A, E>
             throw new IllegalArgumentException(
                 "The type " + valueType + " is not an array type");
         }
-        this.arrayListeners =
-            new CopyOnWriteArrayList<ArrayListener<A, E>>();
         this.elementValueModels = new ArrayList<ValueModel<E>>();
+        this.arrayElementValueModels = 
+            new ArrayList<ArrayElementValueModel<A, E>>();
         updateElementValueModels(getValue());
         
-        internalValueModelListener = new ValueListener<A>()
+        internalValueModelListener = new ImmediateValueListener<A>()
         {
             @Override
             public void valueChanged(A oldValue, A newValue)
             {
-                updateElementValueModels(newValue);
+                if (settingInternalValue)
+                {
+                    updatePendingElementValueModels();
+                }
+                else
+                {
+                    fireArrayReplaced(oldValue, newValue);
+                }
             }
         };
         
         internalValueModel.addValueListener(internalValueModelListener);
     }
     
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This will also detach the element models that have been created
+     * until now, including the nested models of multi-dimensional arrays.
+     */
     @Override
     public void detach()
     {
         internalValueModel.removeValueListener(internalValueModelListener);
+        removeElementValueModels(0);
     }
 
     /**
@@ -123,39 +162,101 @@ class DefaultArrayValueModel<A, E>
     {
         if (newValue == null)
         {
-            elementValueModels.clear();
+            removeElementValueModels(0);
             return;
         }
         int length = getArrayLength(newValue);
-        while (elementValueModels.size() > length)
+        removeElementValueModels(length);
+        while (elementValueModels.size() < length)
+        {
+            int index = elementValueModels.size();
+            ArrayElementValueModel<A, E> arrayElementValueModel = 
+                new ArrayElementValueModel<A, E>(this, index);
+            arrayElementValueModels.add(arrayElementValueModel);
+            elementValueModels.add(
+                createElementValueModel(arrayElementValueModel));
+        }
+    }
+    
+    /**
+     * Remove all element models with an index that is not smaller than
+     * the given length, detaching them if necessary
+     * 
+     * @param length The length
+     */
+    private void removeElementValueModels(int length)
+    {
+        if (elementValueModels.size() > length)
+        {
+            removeElementValueModels(length, elementValueModels.size());
+        }
+    }
+    
+    /**
+     * Remove the element models in the given range, detaching them if 
+     * necessary, and update the indices of the element models after
+     * this range
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     */
+    private void removeElementValueModels(int fromIndex, int toIndex)
+    {
+        for (int i = toIndex - 1; i >= fromIndex; i--)
         {
-            int lastIndex = elementValueModels.size()-1;
-            ValueModel<E> lastElement = elementValueModels.get(lastIndex);
-            if (lastElement instanceof Detachable)
+            ValueModel<E> element = elementValueModels.remove(i);
+            if (element instanceof Detachable)
             {
-                Detachable lastDetachableElement = (Detachable)lastElement;
-                lastDetachableElement.detach();
+                Detachable detachableElement = (Detachable)element;
+                detachableElement.detach();
             }
-            elementValueModels.remove(lastIndex);
+            arrayElementValueModels.remove(i);
         }
-        while (elementValueModels.size() < length)
+        updateElementIndices(fromIndex, arrayElementValueModels.size());
+    }
+    
+    /**
+     * Insert a new element model at the given index, and update the 
+     * indices of the element models after this index
+     * 
+     * @param index The index
+     */
+    private void insertElementValueModel(int index)
+    {
+        ArrayElementValueModel<A, E> arrayElementValueModel = 
+            new ArrayElementValueModel<A, E>(this, index);
+        arrayElementValueModels.add(index, arrayElementValueModel);
+        elementValueModels.add(index, 
+            createElementValueModel(arrayElementValueModel));
+        updateElementIndices(index + 1, arrayElementValueModels.size());
+    }
+    
+    /**
+     * Update the indices of the {@link ArrayElementValueModel} instances
+     * in the given range, so that they match their position in the list
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     */
+    private void updateElementIndices(int fromIndex, int toIndex)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
         {
-            int index = elementValueModels.size();
-            elementValueModels.add(createElementValueModel(index));
+            arrayElementValueModels.get(i).setIndex(i);
         }
     }
     
     /**
-     * Create a {@link ValueModel} for the specified array element
+     * Create a {@link ValueModel} for the array element that is 
+     * represented by the given {@link ArrayElementValueModel}
      * 
-     * @param index The index
+     * @param arrayElementValueModel The {@link ArrayElementValueModel}
      * @return The {@link ValueModel}
      */
-    private ValueModel<E> createElementValueModel(int index)
+    private ValueModel<E> createElementValueModel(
+        ArrayElementValueModel<A, E> arrayElementValueModel)
     {
         Class<?> elementValueType = getElementValueType();
-        ArrayElementValueModel<A, E> arrayElementValueModel = 
-            new ArrayElementValueModel<A, E>(this, index);
         if (elementValueType.isArray())
         {
             return ValueModelsInternal.createArrayValueModel(
@@ -194,7 +295,7 @@ class DefaultArrayValueModel<A, E>
      * @return The array length
      * @throws IllegalArgumentException If the object is not an array
      */
-    protected final int getArrayLength(A array)
+    protected int getArrayLength(A array)
     {
         if (array == null)
         {
@@ -219,7 +320,7 @@ class DefaultArrayValueModel<A, E>
      * @throws IllegalArgumentException If the object is not an array
      * @throws IndexOutOfBoundsException If the index is invalid
      */
-    protected final E getElementValue(A array, int index)
+    protected E getElementValue(A array, int index)
     {
         if (array == null)
         {
@@ -238,12 +339,266 @@ class DefaultArrayValueModel<A, E>
         A array = getValue();
         E oldValue = getElementValue(index);
         validate(array, index);
-        Array.set(array, index, newValue);
+        writeElementValue(array, index, newValue);
         if (!Objects.equals(oldValue, newValue))
         {
             fireArrayElementChanged(index, oldValue, newValue);
         }
     }
+    
+    /**
+     * Write the given value into the given array, at the given index
+     * 
+     * @param array The array
+     * @param index The index
+     * @param value The value
+     * @throws IllegalArgumentException If the object is not an array,
+     * or the value can not be stored in the array
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    protected void writeElementValue(A array, int index, E value)
+    {
+        Array.set(array, index, value);
+    }
+
+    @Override
+    public final void setElementValues(int index, A elementValues)
+    {
+        Objects.requireNonNull(elementValues, 
+            "The elementValues may not be null");
+        A array = getValue();
+        int count = getArrayLength(elementValues);
+        validateRange(array, index, count);
+        if (count == 0)
+        {
+            return;
+        }
+        int toIndex = index + count;
+        A oldElements = null;
+        if (isObserved(index, toIndex))
+        {
+            oldElements = createArray(count);
+            System.arraycopy(array, index, oldElements, 0, count);
+        }
+        System.arraycopy(elementValues, 0, array, index, count);
+        if (oldElements != null)
+        {
+            fireArrayRangeChanged(index, toIndex, oldElements);
+        }
+    }
+    
+    @Override
+    public final void insertElement(int index, E elementValue)
+    {
+        A oldArray = getValue();
+        int oldLength = Math.max(0, getArrayLength(oldArray));
+        if (index < 0 || index > oldLength)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not insert an element at index " + index 
+                + " in an array with length " + oldLength);
+        }
+        updateElementValueModels(oldArray);
+        A newArray = createArray(oldLength + 1);
+        if (oldArray != null)
+        {
+            System.arraycopy(oldArray, 0, newArray, 0, index);
+            System.arraycopy(
+                oldArray, index, newArray, index + 1, oldLength - index);
+        }
+        if (elementValue != null)
+        {
+            writeElementValue(newArray, index, elementValue);
+        }
+        setInternalValue(newArray, () -> insertElementValueModel(index));
+        Object currentArrayListeners = arrayListeners;
+        int n = Listeners.size(currentArrayListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ArrayListener<A, E> arrayListener = 
+                Listeners.get(currentArrayListeners, i);
+            arrayListener.arrayElementsInserted(
+                index, index + 1, oldArray, newArray);
+        }
+    }
+    
+    @Override
+    public final void removeElements(int fromIndex, int toIndex)
+    {
+        A oldArray = getNonNullValue();
+        int oldLength = getArrayLength(oldArray);
+        if (fromIndex < 0 || toIndex > oldLength || fromIndex > toIndex)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not remove the elements from " + fromIndex + " to " 
+                + toIndex + " in an array with length " + oldLength);
+        }
+        if (fromIndex == toIndex)
+        {
+            return;
+        }
+        updateElementValueModels(oldArray);
+        int count = toIndex - fromIndex;
+        A newArray = createArray(oldLength - count);
+        System.arraycopy(oldArray, 0, newArray, 0, fromIndex);
+        System.arraycopy(
+            oldArray, toIndex, newArray, fromIndex, oldLength - toIndex);
+        setInternalValue(newArray, 
+            () -> removeElementValueModels(fromIndex, toIndex));
+        Object currentArrayListeners = arrayListeners;
+        int n = Listeners.size(currentArrayListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ArrayListener<A, E> arrayListener = 
+                Listeners.get(currentArrayListeners, i);
+            arrayListener.arrayElementsRemoved(
+                fromIndex, toIndex, oldArray, newArray);
+        }
+    }
+    
+    @Override
+    public final void moveElement(int fromIndex, int toIndex)
+    {
+        A array = getNonNullValue();
+        int length = getArrayLength(array);
+        if (fromIndex < 0 || fromIndex >= length || 
+            toIndex < 0 || toIndex >= length)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not move an element from " + fromIndex + " to " 
+                + toIndex + " in an array with length " + length);
+        }
+        if (fromIndex == toIndex)
+        {
+            return;
+        }
+        updateElementValueModels(array);
+        A element = createArray(1);
+        System.arraycopy(array, fromIndex, element, 0, 1);
+        if (fromIndex < toIndex)
+        {
+            System.arraycopy(
+                array, fromIndex + 1, array, fromIndex, toIndex - fromIndex);
+        }
+        else
+        {
+            System.arraycopy(
+                array, toIndex, array, toIndex + 1, fromIndex - toIndex);
+        }
+        System.arraycopy(element, 0, array, toIndex, 1);
+        
+        elementValueModels.add(toIndex, elementValueModels.remove(fromIndex));
+        arrayElementValueModels.add(
+            toIndex, arrayElementValueModels.remove(fromIndex));
+        updateElementIndices(
+            Math.min(fromIndex, toIndex), Math.max(fromIndex, toIndex) + 1);
+        Object currentArrayListeners = arrayListeners;
+        int n = Listeners.size(currentArrayListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ArrayListener<A, E> arrayListener = 
+                Listeners.get(currentArrayListeners, i);
+            arrayListener.arrayElementMoved(fromIndex, toIndex, array);
+        }
+    }
+    
+    /**
+     * Create a new array with the element type of this model
+     * 
+     * @param length The length
+     * @return The new array
+     */
+    private A createArray(int length)
+    {
+        Object array = Array.newInstance(getElementValueType(), length);
+        @SuppressWarnings("unchecked")
+        A result = (A) array;
+        return result;
+    }
+    
+    /**
+     * Collect the elements of the given array in the given range, for
+     * those indices where an {@link ArrayElementValueModel} exists that
+     * has listeners. The result will contain the elements at the 
+     * positions of the respective indices, relative to the given start
+     * index, and <code>null</code> otherwise. 
+     * 
+     * @param array The array. May be <code>null</code>.
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @return The elements
+     */
+    private Object[] collectObservedElements(
+        A array, int fromIndex, int toIndex)
+    {
+        Object[] elements = new Object[toIndex - fromIndex];
+        int length = getArrayLength(array);
+        int maxIndex = Math.min(toIndex, 
+            Math.min(length, arrayElementValueModels.size()));
+        for (int i = fromIndex; i < maxIndex; i++)
+        {
+            if (arrayElementValueModels.get(i).hasValueListeners())
+            {
+                elements[i - fromIndex] = getElementValue(array, i);
+            }
+        }
+        return elements;
+    }
+    
+    /**
+     * Inform each {@link ArrayElementValueModel} in the given range that 
+     * has listeners about a change of its element, if the element in the
+     * given old elements is not equal to the element in the given array.
+     * 
+     * @param oldElements The old elements, as obtained with
+     * {@link #collectObservedElements(Object, int, int)}
+     * @param array The array. May be <code>null</code>.
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     */
+    private void fireObservedElementsChanged(
+        Object[] oldElements, A array, int fromIndex, int toIndex)
+    {
+        int maxIndex = Math.min(toIndex, arrayElementValueModels.size());
+        for (int i = fromIndex; i < maxIndex; i++)
+        {
+            ArrayElementValueModel<A, E> arrayElementValueModel = 
+                arrayElementValueModels.get(i);
+            if (!arrayElementValueModel.hasValueListeners())
+            {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            E oldElement = (E) oldElements[i - fromIndex];
+            E newElement = null;
+            if (i < getArrayLength(array))
+            {
+                newElement = getElementValue(array, i);
+            }
+            if (!Objects.equals(oldElement, newElement))
+            {
+                arrayElementValueModel.elementChanged(oldElement, newElement);
+            }
+        }
+    }
+
+    /**
+     * Returns the current array, making sure that it is not 
+     * <code>null</code>
+     * 
+     * @return The array
+     * @throws IllegalStateException If the array is <code>null</code>
+     */
+    protected final A getNonNullValue()
+    {
+        A array = getValue();
+        if (array == null)
+        {
+            throw new IllegalStateException(
+                "The array that this ValueModel refers to is null");
+        }
+        return array;
+    }
 
     /**
      * Make sure that the given index is valid for the given array object.
@@ -254,14 +609,14 @@ class DefaultArrayValueModel<A, E>
      * @throws IllegalStateException If the given index is not smaller than
      * the length of the array
      */
-    private static void validate(Object array, int index)
+    protected final void validate(A array, int index)
     {
         if (array == null)
         {
             throw new IllegalStateException(
                 "The array that this ValueModel refers to is null");
         }
-        int length = Array.getLength(array);
+        int length = getArrayLength(array);
         if (index >= length)
         {
             throw new IllegalStateException(
@@ -270,10 +625,112 @@ class DefaultArrayValueModel<A, E>
         }
     }
     
+    /**
+     * Make sure that the given number of elements, starting at the given
+     * index, is a valid range of the given array object.
+     * 
+     * @param array The array object
+     * @param index The start index
+     * @param count The number of elements
+     * @throws IllegalStateException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the range is not valid for
+     * the array
+     */
+    protected final void validateRange(A array, int index, int count)
+    {
+        if (array == null)
+        {
+            throw new IllegalStateException(
+                "The array that this ValueModel refers to is null");
+        }
+        int length = getArrayLength(array);
+        if (index < 0 || count < 0 || index + count > length)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not set " + count + " elements at index " + index 
+                + " in an array with length " + length);
+        }
+    }
+    
+    /**
+     * Returns whether a change of the elements in the given range has
+     * to be reported, meaning that there are {@link ArrayListener} 
+     * instances, or an {@link ArrayElementValueModel} in this range 
+     * that has listeners. If this returns <code>false</code>, then
+     * callers do not have to collect the old elements for a call to
+     * {@link #fireArrayRangeChanged(int, int, Object)}.
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @return Whether the range is observed
+     */
+    protected final boolean isObserved(int fromIndex, int toIndex)
+    {
+        if (Listeners.size(arrayListeners) > 0)
+        {
+            return true;
+        }
+        int maxIndex = Math.min(toIndex, arrayElementValueModels.size());
+        for (int i = fromIndex; i < maxIndex; i++)
+        {
+            if (arrayElementValueModels.get(i).hasValueListeners())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Will be called when the elements of the array in this 
+     * {@link ArrayValueModel} in the given range have been written, and 
+     * the {@link ArrayListener} instances should be informed with a single
+     * {@link ArrayListener#arrayRangeChanged} call. The 
+     * {@link ArrayElementValueModel} instances in this range that have 
+     * listeners are informed directly, if their element changed.
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @param oldElements An array containing the old elements of the 
+     * range, starting at index 0
+     */
+    protected final void fireArrayRangeChanged(
+        int fromIndex, int toIndex, A oldElements)
+    {
+        A array = getValue();
+        int maxIndex = Math.min(toIndex, arrayElementValueModels.size());
+        for (int i = fromIndex; i < maxIndex; i++)
+        {
+            ArrayElementValueModel<A, E> arrayElementValueModel = 
+                arrayElementValueModels.get(i);
+            if (!arrayElementValueModel.hasValueListeners())
+            {
+                continue;
+            }
+            E oldElement = getElementValue(oldElements, i - fromIndex);
+            E newElement = getElementValue(array, i);
+            if (!Objects.equals(oldElement, newElement))
+            {
+                arrayElementValueModel.elementChanged(oldElement, newElement);
+            }
+        }
+        Object currentArrayListeners = arrayListeners;
+        int n = Listeners.size(currentArrayListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ArrayListener<A, E> arrayListener = 
+                Listeners.get(currentArrayListeners, i);
+            arrayListener.arrayRangeChanged(
+                fromIndex, toIndex, oldElements, array);
+        }
+    }
+    
     /**
      * Will be called when the value of an element of the array in this
      * {@link ArrayValueModel} changed to the given value, and the 
-     * {@link ArrayListener} instances should be informed.
+     * {@link ArrayListener} instances should be informed. The 
+     * {@link ArrayElementValueModel} for the given index (if it was 
+     * already created) is informed directly.
      * 
      * @param index The index
      * @param oldValue The old value
@@ -282,24 +739,33 @@ class DefaultArrayValueModel<A, E>
     protected final void fireArrayElementChanged(
         int index, E oldValue, E newValue)
     {
-        for (ArrayListener<A, E> arrayValueListener : arrayListeners)
+        if (index < arrayElementValueModels.size())
+        {
+            arrayElementValueModels.get(index).elementChanged(
+                oldValue, newValue);
+        }
+        Object currentArrayListeners = arrayListeners;
+        int n = Listeners.size(currentArrayListeners);
+        for (int i = 0; i < n; i++)
         {
+            ArrayListener<A, E> arrayValueListener = 
+                Listeners.get(currentArrayListeners, i);
             arrayValueListener.arrayElementChanged(index, oldValue, newValue);
         }
     }
     
     @Override
-    public final void addArrayListener(
+    public final synchronized void addArrayListener(
         ArrayListener<A, E> arrayListener)
     {
-        arrayListeners.add(arrayListener);
+        arrayListeners = Listeners.add(arrayListeners, arrayListener);
     }
 
     @Override
-    public final void removeArrayListener(
+    public final synchronized void removeArrayListener(
         ArrayListener<A, E> arrayListener)
     {
-        arrayListeners.remove(arrayListener);
+        arrayListeners = Listeners.remove(arrayListeners, arrayListener);
     }
 
     @Override
@@ -312,24 +778,88 @@ class DefaultArrayValueModel<A, E>
     public void setValue(A newValue)
     {
         A oldValue = getValue();
-        
-        internalValueModel.setValue(newValue);
-        
+        setInternalValue(newValue, () -> updateElementValueModels(newValue));
+        fireArrayReplaced(oldValue, newValue);
+    }
+    
+    /**
+     * Set the given value in the internal {@link ValueModel}, without 
+     * reporting this change with the {@link #internalValueModelListener}.
+     * <br>
+     * <br>
+     * The given update of the element models is performed by the 
+     * {@link #internalValueModelListener}, which is the first listener
+     * that is informed about the change, or after the value was set, if 
+     * the internal model did not report the change. So the element models 
+     * are updated before any {@link ValueListener} is informed, regardless
+     * of whether the notification is sent immediately or at the end of a
+     * {@link ValueModels#beginBatch() batch}. The callers inform the 
+     * {@link ArrayListener} instances afterwards.
+     * 
+     * @param newValue The new value
+     * @param elementValueModelsUpdate The update of the element models
+     */
+    private void setInternalValue(A newValue, 
+        Runnable elementValueModelsUpdate)
+    {
+        pendingElementValueModelsUpdate = elementValueModelsUpdate;
+        settingInternalValue = true;
+        try
+        {
+            internalValueModel.setValue(newValue);
+        }
+        finally
+        {
+            settingInternalValue = false;
+            updatePendingElementValueModels();
+        }
+    }
+    
+    /**
+     * Perform the {@link #pendingElementValueModelsUpdate}, if there is one
+     */
+    private void updatePendingElementValueModels()
+    {
+        Runnable elementValueModelsUpdate = pendingElementValueModelsUpdate;
+        if (elementValueModelsUpdate != null)
+        {
+            pendingElementValueModelsUpdate = null;
+            elementValueModelsUpdate.run();
+        }
+    }
+    
+    /**
+     * Update the element models for the given new array, and inform the 
+     * element models and the {@link ArrayListener} instances about the 
+     * replacement of the given old array with the given new one
+     * 
+     * @param oldValue The old array
+     * @param newValue The new array
+     */
+    private void fireArrayReplaced(A oldValue, A newValue)
+    {
+        updateElementValueModels(newValue);
+        if (oldValue == newValue)
+        {
+            return;
+        }
         int oldLength = getArrayLength(oldValue);
         int newLength = getArrayLength(newValue);
-        for (int i=0; i<newLength; i++)
+        int observedLength = Math.max(0, newLength);
+        Object[] oldElements = 
+            collectObservedElements(oldValue, 0, observedLength);
+        fireObservedElementsChanged(oldElements, newValue, 0, observedLength);
+        Object currentArrayListeners = arrayListeners;
+        int n = Listeners.size(currentArrayListeners);
+        for (int i = 0; i < n; i++)
         {
-            E oldElementValue = null;
-            if (i < oldLength)
-            {
-                oldElementValue = getElementValue(oldValue, i);
-            }
-            E newElementValue = getElementValue(newValue, i);
-            
-            if (!Objects.equals(oldElementValue, newElementValue))
+            ArrayListener<A, E> arrayListener = 
+                Listeners.get(currentArrayListeners, i);
+            if (oldLength != newLength)
             {
-                fireArrayElementChanged(i, oldElementValue, newElementValue);
+                arrayListener.arrayLengthChanged(oldLength, newLength);
             }
+            arrayListener.arrayReplaced(oldValue, newValue);
         }
     }
 
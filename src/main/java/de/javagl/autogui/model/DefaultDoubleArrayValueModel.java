@@ -0,0 +1,137 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Implementation of a {@link DoubleArrayValueModel}. It accesses the 
+ * elements of the array directly, instead of using reflection.
+ */
+final class DefaultDoubleArrayValueModel 
+    extends DefaultArrayValueModel<double[], Double>
+    implements DoubleArrayValueModel
+{
+    /**
+     * Creates a new value model
+     * 
+     * @param internalValueModel The internal {@link ValueModel} that provides
+     * the array
+     * @throws NullPointerException If the internalValueModel is 
+     * <code>null</code>
+     */
+    DefaultDoubleArrayValueModel(ValueModel<double[]> internalValueModel)
+    {
+        super(internalValueModel);
+    }
+    
+    @Override
+    protected int getArrayLength(double[] array)
+    {
+        if (array == null)
+        {
+            return -1;
+        }
+        return array.length;
+    }
+    
+    @Override
+    protected Double getElementValue(double[] array, int index)
+    {
+        if (array == null)
+        {
+            return null;
+        }
+        validate(array, index);
+        return array[index];
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * A <code>null</code> value will be written as <code>0.0</code>.
+     */
+    @Override
+    protected void writeElementValue(double[] array, int index, Double value)
+    {
+        array[index] = value == null ? 0.0 : value;
+    }
+    
+    @Override
+    public double getDouble(int index)
+    {
+        double[] array = getValue();
+        validate(array, index);
+        return array[index];
+    }
+
+    @Override
+    public void setDouble(int index, double newValue)
+    {
+        double[] array = getValue();
+        validate(array, index);
+        double oldValue = array[index];
+        array[index] = newValue;
+        if (Double.doubleToLongBits(oldValue) != 
+            Double.doubleToLongBits(newValue))
+        {
+            if (isObserved(index, index + 1))
+            {
+                fireArrayElementChanged(index, oldValue, newValue);
+            }
+        }
+    }
+
+    @Override
+    public void setElements(int index, double[] source, int sourceIndex, 
+        int length)
+    {
+        Objects.requireNonNull(source, "The source may not be null");
+        double[] array = getValue();
+        validateRange(array, index, length);
+        int toIndex = index + length;
+        double[] oldElements = null;
+        if (length > 0 && isObserved(index, toIndex))
+        {
+            oldElements = Arrays.copyOfRange(array, index, toIndex);
+        }
+        System.arraycopy(source, sourceIndex, array, index, length);
+        if (oldElements != null)
+        {
+            fireArrayRangeChanged(index, toIndex, oldElements);
+        }
+    }
+
+    @Override
+    public void copyElements(int fromIndex, double[] target, int targetIndex,
+        int length)
+    {
+        System.arraycopy(
+            getNonNullValue(), fromIndex, target, targetIndex, length);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+/**
+ * Default implementation of an {@link DoubleValueModel}. The value is stored
+ * as a primitive <code>double</code>. The {@link ValueListener} instances 
+ * will only receive boxed values when there are any. Until a value is 
+ * set, the value of the model is <code>null</code>, and the primitive
+ * value is 0.0.
+ */
+class DefaultDoubleValueModel extends AbstractValueModel<Double> 
+    implements DoubleValueModel
+{
+    /**
+     * The value
+     */
+    private double value;
+    
+    /**
+     * Whether a value has been set. Until then, the value is 
+     * <code>null</code>, like the value of other models that are
+     * created for a type, and the primitive value is 0.0.
+     */
+    private boolean hasValue;
+    
+    /**
+     * The {@link Listeners listener list} of {@link DoubleValueListener} 
+     * instances. This is only modified while holding the monitor of 
+     * this object.
+     */
+    private volatile Object doubleValueListeners;
+    
+    /**
+     * Default constructor
+     */
+    DefaultDoubleValueModel()
+    {
+        super(double.class);
+    }
+
+    @Override
+    public Double getValue()
+    {
+        if (!hasValue)
+        {
+            return null;
+        }
+        return value;
+    }
+
+    @Override
+    public void setValue(Double newValue)
+    {
+        if (newValue == null)
+        {
+            clearValue();
+        }
+        else
+        {
+            setDouble(newValue);
+        }
+    }
+    
+    /**
+     * Set the value to <code>null</code>. Afterwards, the primitive 
+     * value is 0.0.
+     */
+    private void clearValue()
+    {
+        if (!hasValue)
+        {
+            return;
+        }
+        double oldValue = value;
+        this.value = 0.0;
+        this.hasValue = false;
+        if (Double.compare(oldValue, 0.0) != 0)
+        {
+            fireDoubleValueChanged(oldValue, 0.0);
+        }
+        if (hasValueListeners())
+        {
+            fireValueChanged(oldValue, null);
+        }
+    }
+    
+    @Override
+    public double getDouble()
+    {
+        return value;
+    }
+    
+    @Override
+    public void setDouble(double newValue)
+    {
+        boolean hadValue = hasValue;
+        double oldValue = value;
+        this.value = newValue;
+        this.hasValue = true;
+        boolean changed = Double.compare(oldValue, newValue) != 0;
+        if (changed)
+        {
+            fireDoubleValueChanged(oldValue, newValue);
+        }
+        if ((changed || !hadValue) && hasValueListeners())
+        {
+            fireValueChanged(hadValue ? (Double) oldValue : null, newValue);
+        }
+    }
+    
+    /**
+     * Inform the {@link DoubleValueListener} instances about a change
+     * 
+     * @param oldValue The old value
+     * @param newValue The new value
+     */
+    private void fireDoubleValueChanged(double oldValue, double newValue)
+    {
+        Object currentDoubleValueListeners = doubleValueListeners;
+        int n = Listeners.size(currentDoubleValueListeners);
+        for (int i = 0; i < n; i++)
+        {
+            DoubleValueListener doubleValueListener = 
+                Listeners.get(currentDoubleValueListeners, i);
+            doubleValueListener.valueChanged(oldValue, newValue);
+        }
+    }
+    
+    @Override
+    public synchronized void addDoubleValueListener(
+        DoubleValueListener doubleValueListener)
+    {
+        doubleValueListeners = 
+            Listeners.add(doubleValueListeners, doubleValueListener);
+    }
+    
+    @Override
+    public synchronized void removeDoubleValueListener(
+        DoubleValueListener doubleValueListener)
+    {
+        doubleValueListeners = 
+            Listeners.remove(doubleValueListeners, doubleValueListener);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "[" 
+            + "valueType=" + getValueType().getSimpleName() + "]";
+    }
+}
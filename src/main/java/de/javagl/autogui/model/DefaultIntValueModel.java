@@ -0,0 +1,176 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+/**
+ * Default implementation of an {@link IntValueModel}. The value is stored
+ * as a primitive <code>int</code>. The {@link ValueListener} instances 
+ * will only receive boxed values when there are any. Until a value is 
+ * set, the value of the model is <code>null</code>, and the primitive
+ * value is 0.
+ */
+class DefaultIntValueModel extends AbstractValueModel<Integer> 
+    implements IntValueModel
+{
+    /**
+     * The value
+     */
+    private int value;
+    
+    /**
+     * Whether a value has been set. Until then, the value is 
+     * <code>null</code>, like the value of other models that are
+     * created for a type, and the primitive value is 0.
+     */
+    private boolean hasValue;
+    
+    /**
+     * The {@link Listeners listener list} of {@link IntValueListener} 
+     * instances. This is only modified while holding the monitor of 
+     * this object.
+     */
+    private volatile Object intValueListeners;
+    
+    /**
+     * Default constructor
+     */
+    DefaultIntValueModel()
+    {
+        super(int.class);
+    }
+
+    @Override
+    public Integer getValue()
+    {
+        if (!hasValue)
+        {
+            return null;
+        }
+        return value;
+    }
+
+    @Override
+    public void setValue(Integer newValue)
+    {
+        if (newValue == null)
+        {
+            clearValue();
+        }
+        else
+        {
+            setInt(newValue);
+        }
+    }
+    
+    /**
+     * Set the value to <code>null</code>. Afterwards, the primitive 
+     * value is 0.
+     */
+    private void clearValue()
+    {
+        if (!hasValue)
+        {
+            return;
+        }
+        int oldValue = value;
+        this.value = 0;
+        this.hasValue = false;
+        if (oldValue != 0)
+        {
+            fireIntValueChanged(oldValue, 0);
+        }
+        if (hasValueListeners())
+        {
+            fireValueChanged(oldValue, null);
+        }
+    }
+    
+    @Override
+    public int getInt()
+    {
+        return value;
+    }
+    
+    @Override
+    public void setInt(int newValue)
+    {
+        boolean hadValue = hasValue;
+        int oldValue = value;
+        this.value = newValue;
+        this.hasValue = true;
+        boolean changed = oldValue != newValue;
+        if (changed)
+        {
+            fireIntValueChanged(oldValue, newValue);
+        }
+        if ((changed || !hadValue) && hasValueListeners())
+        {
+            fireValueChanged(hadValue ? (Integer) oldValue : null, newValue);
+        }
+    }
+    
+    /**
+     * Inform the {@link IntValueListener} instances about a change
+     * 
+     * @param oldValue The old value
+     * @param newValue The new value
+     */
+    private void fireIntValueChanged(int oldValue, int newValue)
+    {
+        Object currentIntValueListeners = intValueListeners;
+        int n = Listeners.size(currentIntValueListeners);
+        for (int i = 0; i < n; i++)
+        {
+            IntValueListener intValueListener = 
+                Listeners.get(currentIntValueListeners, i);
+            intValueListener.valueChanged(oldValue, newValue);
+        }
+    }
+    
+    @Override
+    public synchronized void addIntValueListener(
+        IntValueListener intValueListener)
+    {
+        intValueListeners = 
+            Listeners.add(intValueListeners, intValueListener);
+    }
+    
+    @Override
+    public synchronized void removeIntValueListener(
+        IntValueListener intValueListener)
+    {
+        intValueListeners = 
+            Listeners.remove(intValueListeners, intValueListener);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "[" 
+            + "valueType=" + getValueType().getSimpleName() + "]";
+    }
+}
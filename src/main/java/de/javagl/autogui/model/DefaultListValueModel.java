@@ -0,0 +1,508 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Default implementation of a {@link ListValueModel}. It is backed by
+ * an internal {@link ValueModel} that provides the actual list, and is
+ * used for the implementation of the {@link ValueModel} methods.<br>
+ * <br>
+ * All modifications are applied to the list directly. The list is never
+ * copied. The element models are created lazily, when they are requested,
+ * and are kept at the indices of their elements when elements are 
+ * inserted or removed.
+ *
+ * @param <E> The element type
+ */
+class DefaultListValueModel<E> implements ListValueModel<E>, Detachable
+{
+    /**
+     * The {@link Listeners listener list} of {@link ListListener} 
+     * instances that will be informed about changes in the list. This 
+     * is only modified while holding the monitor of this object.
+     */
+    private volatile Object listListeners;
+    
+    /**
+     * The internal {@link ValueModel}
+     */
+    private final ValueModel<List<E>> internalValueModel;
+    
+    /**
+     * The type of the list elements
+     */
+    private final Class<?> elementValueType;
+    
+    /**
+     * The listener that will be attached to the internal {@link ValueModel}
+     * and has to be detached when this instance is no longer used
+     */
+    private final ValueListener<List<E>> internalValueModelListener;
+    
+    /**
+     * Whether the value of the internal {@link ValueModel} is currently
+     * being set by this model. Changes that are caused by this model
+     * are reported by this model directly, and not by the 
+     * {@link #internalValueModelListener}.
+     */
+    private boolean settingInternalValue;
+    
+    /**
+     * The {@link ListElementValueModel} for each list element. Entries 
+     * may be <code>null</code> if the model for the respective index
+     * has not been requested yet. 
+     */
+    private final List<ListElementValueModel<E>> elementValueModels;
+    
+    /**
+     * Creates a new value model
+     * 
+     * @param internalValueModel The internal {@link ValueModel} that provides
+     * the list
+     * @param elementValueType The type of the list elements
+     * @throws NullPointerException If any argument is <code>null</code>
+     * @throws IllegalArgumentException If the {@link ValueModel#getValueType()
+     * value type of the internal value model} is not a <code>List</code> 
+     * type
+     */
+    DefaultListValueModel(ValueModel<List<E>> internalValueModel, 
+        Class<?> elementValueType)
+    {
+        this.internalValueModel = Objects.requireNonNull(internalValueModel,
+            "The internalValueModel may not be null");
+        this.elementValueType = Objects.requireNonNull(elementValueType,
+            "The elementValueType may not be null");
+        
+        Class<?> valueType = internalValueModel.getValueType();
+        if (!List.class.isAssignableFrom(valueType))
+        {
+            throw new IllegalArgumentException(
+                "The type " + valueType + " is not a List type");
+        }
+        this.elementValueModels = new ArrayList<ListElementValueModel<E>>();
+        
+        internalValueModelListener = new ImmediateValueListener<List<E>>()
+        {
+            @Override
+            public void valueChanged(List<E> oldValue, List<E> newValue)
+            {
+                if (!settingInternalValue)
+                {
+                    fireListReplaced(oldValue, newValue);
+                }
+            }
+        };
+        internalValueModel.addValueListener(internalValueModelListener);
+    }
+    
+    @Override
+    public void detach()
+    {
+        internalValueModel.removeValueListener(internalValueModelListener);
+    }
+    
+    @Override
+    public int getListSize()
+    {
+        return getListSize(getValue());
+    }
+    
+    /**
+     * Returns the size of the given list, or -1 if the given list is 
+     * <code>null</code>
+     * 
+     * @param list The list
+     * @return The size
+     */
+    private static int getListSize(List<?> list)
+    {
+        if (list == null)
+        {
+            return -1;
+        }
+        return list.size();
+    }
+    
+    @Override
+    public Class<?> getElementValueType()
+    {
+        return elementValueType;
+    }
+    
+    @Override
+    public ValueModel<E> getElementValueModel(int index)
+    {
+        int size = Math.max(0, getListSize());
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index: " + index + ", size: " + size);
+        }
+        trimElementValueModels(size);
+        while (elementValueModels.size() <= index)
+        {
+            elementValueModels.add(null);
+        }
+        ListElementValueModel<E> elementValueModel = 
+            elementValueModels.get(index);
+        if (elementValueModel == null)
+        {
+            elementValueModel = new ListElementValueModel<E>(this, index);
+            elementValueModels.set(index, elementValueModel);
+        }
+        return elementValueModel;
+    }
+    
+    /**
+     * Remove all element models with an index that is not smaller than
+     * the given size
+     * 
+     * @param size The size
+     */
+    private void trimElementValueModels(int size)
+    {
+        if (elementValueModels.size() > size)
+        {
+            elementValueModels.subList(size, elementValueModels.size()).clear();
+        }
+    }
+    
+    /**
+     * Update the indices of the element models, starting at the given
+     * index, so that they match their position in the list
+     * 
+     * @param fromIndex The start index, inclusive
+     */
+    private void updateElementIndices(int fromIndex)
+    {
+        for (int i = fromIndex; i < elementValueModels.size(); i++)
+        {
+            ListElementValueModel<E> elementValueModel = 
+                elementValueModels.get(i);
+            if (elementValueModel != null)
+            {
+                elementValueModel.setIndex(i);
+            }
+        }
+    }
+
+    @Override
+    public E getElementValue(int index)
+    {
+        return getNonNullValue().get(index);
+    }
+
+    @Override
+    public void setElementValue(int index, E elementValue)
+    {
+        E oldValue = getNonNullValue().set(index, elementValue);
+        if (!Objects.equals(oldValue, elementValue))
+        {
+            fireListElementChanged(index, oldValue, elementValue);
+        }
+    }
+
+    @Override
+    public void insertElement(int index, E elementValue)
+    {
+        List<E> list = getValue();
+        int size = Math.max(0, getListSize(list));
+        if (index < 0 || index > size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not insert an element at index " + index 
+                + " in a list with size " + size);
+        }
+        if (list == null)
+        {
+            list = createList();
+            list.add(elementValue);
+            setInternalValue(list);
+            fireListReplaced(null, list);
+            return;
+        }
+        list.add(index, elementValue);
+        trimElementValueModels(size);
+        if (index < elementValueModels.size())
+        {
+            elementValueModels.add(index, null);
+            updateElementIndices(index + 1);
+        }
+        Object currentListListeners = listListeners;
+        int n = Listeners.size(currentListListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ListListener<E> listListener = 
+                Listeners.get(currentListListeners, i);
+            listListener.listElementsInserted(index, index + 1);
+        }
+    }
+
+    @Override
+    public void removeElements(int fromIndex, int toIndex)
+    {
+        List<E> list = getNonNullValue();
+        int size = list.size();
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not remove the elements from " + fromIndex + " to " 
+                + toIndex + " in a list with size " + size);
+        }
+        if (fromIndex == toIndex)
+        {
+            return;
+        }
+        list.subList(fromIndex, toIndex).clear();
+        trimElementValueModels(size);
+        if (fromIndex < elementValueModels.size())
+        {
+            int end = Math.min(toIndex, elementValueModels.size());
+            elementValueModels.subList(fromIndex, end).clear();
+            updateElementIndices(fromIndex);
+        }
+        Object currentListListeners = listListeners;
+        int n = Listeners.size(currentListListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ListListener<E> listListener = 
+                Listeners.get(currentListListeners, i);
+            listListener.listElementsRemoved(fromIndex, toIndex);
+        }
+    }
+    
+    /**
+     * Creates a new, empty list that can be assigned to the internal 
+     * {@link ValueModel}. If an <code>ArrayList</code> can be assigned
+     * to the {@link ValueModel#getValueType() value type} of the internal
+     * model, then an <code>ArrayList</code> is returned. Otherwise, the
+     * value type has to be a concrete class with a public default 
+     * constructor, which will be used for creating the list.
+     * 
+     * @return The new list
+     * @throws IllegalStateException If no list of the value type can 
+     * be created
+     */
+    private List<E> createList()
+    {
+        Class<?> valueType = internalValueModel.getValueType();
+        if (valueType.isAssignableFrom(ArrayList.class))
+        {
+            return new ArrayList<E>();
+        }
+        if (valueType.isInterface() || 
+            Modifier.isAbstract(valueType.getModifiers()))
+        {
+            throw new IllegalStateException(
+                "Can not insert an element into a null list, because no "
+                + "list of the type " + valueType.getName() 
+                + " can be created");
+        }
+        try
+        {
+            @SuppressWarnings("unchecked")
+            List<E> list = (List<E>) valueType.getConstructor().newInstance();
+            return list;
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException(
+                "Can not insert an element into a null list, because no "
+                + "list of the type " + valueType.getName() 
+                + " can be created", e);
+        }
+    }
+    
+    /**
+     * Returns the current list, making sure that it is not 
+     * <code>null</code>
+     * 
+     * @return The list
+     * @throws IllegalStateException If the list is <code>null</code>
+     */
+    private List<E> getNonNullValue()
+    {
+        List<E> list = getValue();
+        if (list == null)
+        {
+            throw new IllegalStateException(
+                "The list that this ValueModel refers to is null");
+        }
+        return list;
+    }
+    
+    /**
+     * Will be called when the value of an element of the list in this
+     * {@link ListValueModel} changed to the given value. The 
+     * {@link ListElementValueModel} for the given index (if it was 
+     * already created) and the {@link ListListener} instances will 
+     * be informed.
+     * 
+     * @param index The index
+     * @param oldValue The old value
+     * @param newValue The new value
+     */
+    private void fireListElementChanged(int index, E oldValue, E newValue)
+    {
+        if (index < elementValueModels.size())
+        {
+            ListElementValueModel<E> elementValueModel = 
+                elementValueModels.get(index);
+            if (elementValueModel != null)
+            {
+                elementValueModel.elementChanged(oldValue, newValue);
+            }
+        }
+        Object currentListListeners = listListeners;
+        int n = Listeners.size(currentListListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ListListener<E> listListener = 
+                Listeners.get(currentListListeners, i);
+            listListener.listElementChanged(index, oldValue, newValue);
+        }
+    }
+    
+    /**
+     * Remove the element models that are no longer valid for the new 
+     * list, and inform the element models that have listeners and the 
+     * {@link ListListener} instances about the replacement of the given 
+     * old list with the given new one. If both lists are identical, then 
+     * the old elements are not known, and all element models that have 
+     * listeners will be informed.
+     * 
+     * @param oldList The old list
+     * @param newList The new list
+     */
+    private void fireListReplaced(List<E> oldList, List<E> newList)
+    {
+        int newSize = Math.max(0, getListSize(newList));
+        trimElementValueModels(newSize);
+        int oldSize = Math.max(0, getListSize(oldList));
+        for (int i = 0; i < elementValueModels.size(); i++)
+        {
+            ListElementValueModel<E> elementValueModel = 
+                elementValueModels.get(i);
+            if (elementValueModel == null || 
+                !elementValueModel.hasValueListeners())
+            {
+                continue;
+            }
+            E oldElement = i < oldSize ? oldList.get(i) : null;
+            E newElement = newList.get(i);
+            if (oldList == newList || !Objects.equals(oldElement, newElement))
+            {
+                elementValueModel.elementChanged(oldElement, newElement);
+            }
+        }
+        Object currentListListeners = listListeners;
+        int n = Listeners.size(currentListListeners);
+        for (int i = 0; i < n; i++)
+        {
+            ListListener<E> listListener = 
+                Listeners.get(currentListListeners, i);
+            listListener.listReplaced(oldList, newList);
+        }
+    }
+
+    @Override
+    public synchronized void addListListener(ListListener<E> listListener)
+    {
+        listListeners = Listeners.add(listListeners, listListener);
+    }
+
+    @Override
+    public synchronized void removeListListener(
+        ListListener<E> listListener)
+    {
+        listListeners = Listeners.remove(listListeners, listListener);
+    }
+    
+    @Override
+    public List<E> getValue()
+    {
+        return internalValueModel.getValue();
+    }
+
+    @Override
+    public void setValue(List<E> newValue)
+    {
+        List<E> oldValue = getValue();
+        setInternalValue(newValue);
+        fireListReplaced(oldValue, newValue);
+    }
+    
+    /**
+     * Set the given value in the internal {@link ValueModel}, without 
+     * reporting this change with the {@link #internalValueModelListener}
+     * 
+     * @param newValue The new value
+     */
+    private void setInternalValue(List<E> newValue)
+    {
+        settingInternalValue = true;
+        try
+        {
+            internalValueModel.setValue(newValue);
+        }
+        finally
+        {
+            settingInternalValue = false;
+        }
+    }
+
+    @Override
+    public Class<?> getValueType()
+    {
+        return internalValueModel.getValueType();
+    }
+
+    @Override
+    public void addValueListener(ValueListener<List<E>> valueListener)
+    {
+        internalValueModel.addValueListener(valueListener);
+    }
+
+    @Override
+    public void removeValueListener(ValueListener<?> valueListener)
+    {
+        internalValueModel.removeValueListener(valueListener);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DefaultListValueModel[" 
+            + "elementValueType=" + elementValueType + ","
+            + "internalValueModel=" + internalValueModel + "]";
+    }
+}
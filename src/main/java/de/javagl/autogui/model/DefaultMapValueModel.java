@@ -0,0 +1,490 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.lang.reflect.Modifier;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Default implementation of a {@link MapValueModel}. It is backed by
+ * an internal {@link ValueModel} that provides the actual map, and is
+ * used for the implementation of the {@link ValueModel} methods.<br>
+ * <br>
+ * All modifications are applied to the map directly. The map is never
+ * copied. The element models are created lazily, when they are requested,
+ * and are stored in a hash index, so that changes in the map can be 
+ * passed to the model of the affected key directly.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+class DefaultMapValueModel<K, V> implements MapValueModel<K, V>, Detachable
+{
+    /**
+     * The {@link Listeners listener list} of {@link MapListener} 
+     * instances that will be informed about changes in the map. This 
+     * is only modified while holding the monitor of this object.
+     */
+    private volatile Object mapListeners;
+    
+    /**
+     * The internal {@link ValueModel}
+     */
+    private final ValueModel<Map<K, V>> internalValueModel;
+    
+    /**
+     * The type of the keys
+     */
+    private final Class<?> keyType;
+    
+    /**
+     * The type of the values
+     */
+    private final Class<?> elementValueType;
+    
+    /**
+     * The listener that will be attached to the internal {@link ValueModel}
+     * and has to be detached when this instance is no longer used
+     */
+    private final ValueListener<Map<K, V>> internalValueModelListener;
+    
+    /**
+     * Whether the value of the internal {@link ValueModel} is currently
+     * being set by this model. Changes that are caused by this model
+     * are reported by this model directly, and not by the 
+     * {@link #internalValueModelListener}.
+     */
+    private boolean settingInternalValue;
+    
+    /**
+     * The {@link MapElementValueModel} instances that have been created,
+     * for the respective keys
+     */
+    private final Map<K, MapElementValueModel<K, V>> elementValueModels;
+    
+    /**
+     * Creates a new value model
+     * 
+     * @param internalValueModel The internal {@link ValueModel} that provides
+     * the map
+     * @param keyType The type of the keys
+     * @param elementValueType The type of the values
+     * @throws NullPointerException If any argument is <code>null</code>
+     * @throws IllegalArgumentException If the {@link ValueModel#getValueType()
+     * value type of the internal value model} is not a <code>Map</code> 
+     * type
+     */
+    DefaultMapValueModel(ValueModel<Map<K, V>> internalValueModel, 
+        Class<?> keyType, Class<?> elementValueType)
+    {
+        this.internalValueModel = Objects.requireNonNull(internalValueModel,
+            "The internalValueModel may not be null");
+        this.keyType = Objects.requireNonNull(keyType,
+            "The keyType may not be null");
+        this.elementValueType = Objects.requireNonNull(elementValueType,
+            "The elementValueType may not be null");
+        
+        Class<?> valueType = internalValueModel.getValueType();
+        if (!Map.class.isAssignableFrom(valueType))
+        {
+            throw new IllegalArgumentException(
+                "The type " + valueType + " is not a Map type");
+        }
+        this.elementValueModels = 
+            new HashMap<K, MapElementValueModel<K, V>>();
+        
+        internalValueModelListener = new ImmediateValueListener<Map<K, V>>()
+        {
+            @Override
+            public void valueChanged(Map<K, V> oldValue, Map<K, V> newValue)
+            {
+                if (!settingInternalValue)
+                {
+                    fireMapReplaced(oldValue, newValue);
+                }
+            }
+        };
+        internalValueModel.addValueListener(internalValueModelListener);
+    }
+    
+    @Override
+    public void detach()
+    {
+        internalValueModel.removeValueListener(internalValueModelListener);
+    }
+    
+    @Override
+    public int getMapSize()
+    {
+        Map<K, V> map = getValue();
+        if (map == null)
+        {
+            return -1;
+        }
+        return map.size();
+    }
+    
+    @Override
+    public Class<?> getKeyType()
+    {
+        return keyType;
+    }
+    
+    @Override
+    public Class<?> getElementValueType()
+    {
+        return elementValueType;
+    }
+    
+    @Override
+    public boolean containsKey(K key)
+    {
+        Map<K, V> map = getValue();
+        return map != null && map.containsKey(key);
+    }
+    
+    @Override
+    public ValueModel<V> getElementValueModel(K key)
+    {
+        if (!containsKey(key))
+        {
+            elementValueModels.remove(key);
+            throw new IllegalArgumentException(
+                "The map does not contain the key " + key);
+        }
+        MapElementValueModel<K, V> elementValueModel = 
+            elementValueModels.get(key);
+        if (elementValueModel == null)
+        {
+            elementValueModel = new MapElementValueModel<K, V>(this, key);
+            elementValueModels.put(key, elementValueModel);
+        }
+        return elementValueModel;
+    }
+
+    @Override
+    public V getElementValue(K key)
+    {
+        return getNonNullValue().get(key);
+    }
+
+    @Override
+    public void putElement(K key, V value)
+    {
+        Map<K, V> map = getValue();
+        if (map == null)
+        {
+            map = createMap();
+            map.put(key, value);
+            setInternalValue(map);
+            fireMapReplaced(null, map);
+            return;
+        }
+        boolean contained = map.containsKey(key);
+        V oldValue = map.put(key, value);
+        if (!contained)
+        {
+            fireMapElementPut(key, value);
+        }
+        else if (!Objects.equals(oldValue, value))
+        {
+            fireMapElementReplaced(key, oldValue, value);
+        }
+    }
+
+    /**
+     * Creates a new, empty map that can be assigned to the internal 
+     * {@link ValueModel}. If a <code>LinkedHashMap</code> or a 
+     * <code>TreeMap</code> can be assigned to the 
+     * {@link ValueModel#getValueType() value type} of the internal model,
+     * then such a map is returned. An <code>EnumMap</code> is created for
+     * the {@link #getKeyType() key type}. Otherwise, the value type has to 
+     * be a concrete class with a public default constructor, which will 
+     * be used for creating the map.
+     * 
+     * @return The new map
+     * @throws IllegalStateException If no map of the value type can 
+     * be created
+     */
+    private Map<K, V> createMap()
+    {
+        Class<?> valueType = internalValueModel.getValueType();
+        if (valueType.isAssignableFrom(LinkedHashMap.class))
+        {
+            return new LinkedHashMap<K, V>();
+        }
+        if (valueType.isAssignableFrom(TreeMap.class))
+        {
+            return new TreeMap<K, V>();
+        }
+        if (valueType.equals(EnumMap.class))
+        {
+            if (!keyType.isEnum())
+            {
+                throw new IllegalStateException(
+                    "Can not put an element into a null map, because no "
+                    + "EnumMap can be created for the key type " 
+                    + keyType.getName());
+            }
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            Map<K, V> map = new EnumMap(keyType.asSubclass(Enum.class));
+            return map;
+        }
+        if (valueType.isInterface() || 
+            Modifier.isAbstract(valueType.getModifiers()))
+        {
+            throw new IllegalStateException(
+                "Can not put an element into a null map, because no "
+                + "map of the type " + valueType.getName() 
+                + " can be created");
+        }
+        try
+        {
+            @SuppressWarnings("unchecked")
+            Map<K, V> map = 
+                (Map<K, V>) valueType.getConstructor().newInstance();
+            return map;
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException(
+                "Can not put an element into a null map, because no "
+                + "map of the type " + valueType.getName() 
+                + " can be created", e);
+        }
+    }
+
+    @Override
+    public void removeElement(K key)
+    {
+        Map<K, V> map = getNonNullValue();
+        if (!map.containsKey(key))
+        {
+            return;
+        }
+        V oldValue = map.remove(key);
+        elementValueModels.remove(key);
+        Object currentMapListeners = mapListeners;
+        int n = Listeners.size(currentMapListeners);
+        for (int i = 0; i < n; i++)
+        {
+            MapListener<K, V> mapListener = 
+                Listeners.get(currentMapListeners, i);
+            mapListener.mapElementRemoved(key, oldValue);
+        }
+    }
+    
+    /**
+     * Returns the current map, making sure that it is not 
+     * <code>null</code>
+     * 
+     * @return The map
+     * @throws IllegalStateException If the map is <code>null</code>
+     */
+    private Map<K, V> getNonNullValue()
+    {
+        Map<K, V> map = getValue();
+        if (map == null)
+        {
+            throw new IllegalStateException(
+                "The map that this ValueModel refers to is null");
+        }
+        return map;
+    }
+    
+    /**
+     * Inform the {@link MapListener} instances that the given key has 
+     * been put into the map with the given value
+     * 
+     * @param key The key
+     * @param value The value
+     */
+    private void fireMapElementPut(K key, V value)
+    {
+        Object currentMapListeners = mapListeners;
+        int n = Listeners.size(currentMapListeners);
+        for (int i = 0; i < n; i++)
+        {
+            MapListener<K, V> mapListener = 
+                Listeners.get(currentMapListeners, i);
+            mapListener.mapElementPut(key, value);
+        }
+    }
+    
+    /**
+     * Will be called when the value for the given key changed. The 
+     * {@link MapElementValueModel} for the given key (if it was already 
+     * created) and the {@link MapListener} instances will be informed.
+     * 
+     * @param key The key
+     * @param oldValue The old value
+     * @param newValue The new value
+     */
+    private void fireMapElementReplaced(K key, V oldValue, V newValue)
+    {
+        MapElementValueModel<K, V> elementValueModel = 
+            elementValueModels.get(key);
+        if (elementValueModel != null)
+        {
+            elementValueModel.elementChanged(oldValue, newValue);
+        }
+        Object currentMapListeners = mapListeners;
+        int n = Listeners.size(currentMapListeners);
+        for (int i = 0; i < n; i++)
+        {
+            MapListener<K, V> mapListener = 
+                Listeners.get(currentMapListeners, i);
+            mapListener.mapElementReplaced(key, oldValue, newValue);
+        }
+    }
+    
+    /**
+     * Remove the element models for keys that are no longer contained
+     * in the new map, and inform the element models that have listeners 
+     * and the {@link MapListener} instances about the replacement of the 
+     * given old map with the given new one. If both maps are identical, 
+     * then the old values are not known, and all element models that have 
+     * listeners will be informed.
+     * 
+     * @param oldMap The old map
+     * @param newMap The new map
+     */
+    private void fireMapReplaced(Map<K, V> oldMap, Map<K, V> newMap)
+    {
+        Iterator<Entry<K, MapElementValueModel<K, V>>> iterator = 
+            elementValueModels.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Entry<K, MapElementValueModel<K, V>> entry = iterator.next();
+            K key = entry.getKey();
+            if (newMap == null || !newMap.containsKey(key))
+            {
+                iterator.remove();
+                continue;
+            }
+            MapElementValueModel<K, V> elementValueModel = entry.getValue();
+            if (!elementValueModel.hasValueListeners())
+            {
+                continue;
+            }
+            V oldValue = oldMap == null ? null : oldMap.get(key);
+            V newValue = newMap.get(key);
+            if (oldMap == newMap || !Objects.equals(oldValue, newValue))
+            {
+                elementValueModel.elementChanged(oldValue, newValue);
+            }
+        }
+        Object currentMapListeners = mapListeners;
+        int n = Listeners.size(currentMapListeners);
+        for (int i = 0; i < n; i++)
+        {
+            MapListener<K, V> mapListener = 
+                Listeners.get(currentMapListeners, i);
+            mapListener.mapReplaced(oldMap, newMap);
+        }
+    }
+
+    @Override
+    public synchronized void addMapListener(MapListener<K, V> mapListener)
+    {
+        mapListeners = Listeners.add(mapListeners, mapListener);
+    }
+
+    @Override
+    public synchronized void removeMapListener(
+        MapListener<K, V> mapListener)
+    {
+        mapListeners = Listeners.remove(mapListeners, mapListener);
+    }
+    
+    @Override
+    public Map<K, V> getValue()
+    {
+        return internalValueModel.getValue();
+    }
+
+    @Override
+    public void setValue(Map<K, V> newValue)
+    {
+        Map<K, V> oldValue = getValue();
+        setInternalValue(newValue);
+        fireMapReplaced(oldValue, newValue);
+    }
+    
+    /**
+     * Set the given value in the internal {@link ValueModel}, without 
+     * reporting this change with the {@link #internalValueModelListener}
+     * 
+     * @param newValue The new value
+     */
+    private void setInternalValue(Map<K, V> newValue)
+    {
+        settingInternalValue = true;
+        try
+        {
+            internalValueModel.setValue(newValue);
+        }
+        finally
+        {
+            settingInternalValue = false;
+        }
+    }
+
+    @Override
+    public Class<?> getValueType()
+    {
+        return internalValueModel.getValueType();
+    }
+
+    @Override
+    public void addValueListener(ValueListener<Map<K, V>> valueListener)
+    {
+        internalValueModel.addValueListener(valueListener);
+    }
+
+    @Override
+    public void removeValueListener(ValueListener<?> valueListener)
+    {
+        internalValueModel.removeValueListener(valueListener);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DefaultMapValueModel[" 
+            + "keyType=" + keyType + ","
+            + "elementValueType=" + elementValueType + ","
+            + "internalValueModel=" + internalValueModel + "]";
+    }
+}
@@ -26,7 +26,9 @@
  */
 package de.javagl.autogui.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import de.javagl.autogui.model.properties.PropertyExtractor;
@@ -35,13 +37,15 @@ import de.javagl.autogui.model.properties.PropertyExtractor;
  * Default implementation of a {@link StructuredArrayValueModel}. It only
  * wraps an {@link ArrayValueModel} and adds the structure information.
  * This includes wrapping the {@link #getElementValueModel(int) element value
- * models} into {@link StructuredValueModel} instances.
+ * models} into {@link StructuredValueModel} instances. These instances are
+ * cached for each index, and detached when the array shrinks or the 
+ * underlying element model changes.
  *
  * @param <A> The array type
  * @param <E> The element/component type
  */
 class DefaultStructuredArrayValueModel<A, E> 
-    implements StructuredArrayValueModel<A, E>
+    implements StructuredArrayValueModel<A, E>, Detachable
 {
     /**
      * The parent
@@ -63,6 +67,44 @@ class DefaultStructuredArrayValueModel<A, E>
      */
     private final PropertyExtractor propertyExtractor;
     
+    /**
+     * The maximum depth of the model tree
+     */
+    private final int maxDepth;
+    
+    /**
+     * Whether this model and the models that are created for it use
+     * the weak listener mode
+     */
+    private final boolean weakListenerMode;
+    
+    /**
+     * The {@link StructuredValueModel} instances for the array elements.
+     * Entries may be <code>null</code> if the model for the respective
+     * index has not been requested yet.
+     */
+    private final List<StructuredValueModel<E>> elementValueModels;
+    
+    /**
+     * The listener that will be attached to the internal value model.
+     * It detaches the element models that are no longer needed when
+     * the array shrinks, and keeps the element models at the indices
+     * of their elements when the structure of the array changes.
+     * Shrinking arrays are also detected when an element model is 
+     * requested.
+     */
+    private final ArrayListener<A, E> internalArrayListener;
+    
+    /**
+     * The number of element models that have been created
+     */
+    private long createdElementValueModelCount;
+    
+    /**
+     * The number of element models that have been detached
+     */
+    private long detachedElementValueModelCount;
+    
     /**
      * Creates a new instance
      * 
@@ -71,16 +113,191 @@ class DefaultStructuredArrayValueModel<A, E>
      * of the parent will be used. 
      * @param internalValueModel The internal {@link ArrayValueModel}
      * @param propertyExtractor The {@link PropertyExtractor}
+     * @param maxDepth The maximum depth of the model tree
      */
     DefaultStructuredArrayValueModel(StructuredValueModel<?> parent,
         String name, ArrayValueModel<A, E> internalValueModel,
-        PropertyExtractor propertyExtractor)
+        PropertyExtractor propertyExtractor, int maxDepth)
     {
         this.parent = parent;
         this.name = name;
         this.internalValueModel = internalValueModel; 
         this.propertyExtractor = propertyExtractor;
+        this.maxDepth = maxDepth;
+        this.weakListenerMode = 
+            ValueModelsInternal.isWeakListenerMode(parent);
+        this.elementValueModels = new ArrayList<StructuredValueModel<E>>();
+        this.internalArrayListener = createInternalArrayListener();
+        internalValueModel.addArrayListener(internalArrayListener);
+    }
+    
+    /**
+     * Create the {@link ArrayListener} that will be attached to the 
+     * internal value model, to update the element models
+     * 
+     * @return The {@link ArrayListener}
+     */
+    private ArrayListener<A, E> createInternalArrayListener()
+    {
+        return new ArrayListener<A, E>()
+        {
+            @Override
+            public void arrayElementChanged(
+                int index, E oldElement, E newElement)
+            {
+                // The element models are informed by the internal model
+            }
+            
+            @Override
+            public void arrayRangeChanged(
+                int fromIndex, int toIndex, A oldElements, A array)
+            {
+                // The element models are informed by the internal model
+            }
+            
+            @Override
+            public void arrayReplaced(A oldArray, A newArray)
+            {
+                // The element models are informed by the internal model
+            }
+            
+            @Override
+            public void arrayLengthChanged(int oldLength, int newLength)
+            {
+                trimElementValueModels(Math.max(0, newLength));
+            }
             
+            @Override
+            public void arrayElementsInserted(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                if (fromIndex < elementValueModels.size())
+                {
+                    elementValueModels.addAll(fromIndex, 
+                        Collections.nCopies(toIndex - fromIndex, null));
+                }
+            }
+            
+            @Override
+            public void arrayElementsRemoved(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                int end = Math.min(toIndex, elementValueModels.size());
+                for (int i = end - 1; i >= fromIndex; i--)
+                {
+                    detachElementValueModel(elementValueModels.remove(i));
+                }
+            }
+            
+            @Override
+            public void arrayElementMoved(
+                int fromIndex, int toIndex, A array)
+            {
+                int maxIndex = Math.max(fromIndex, toIndex);
+                while (elementValueModels.size() <= maxIndex)
+                {
+                    elementValueModels.add(null);
+                }
+                elementValueModels.add(
+                    toIndex, elementValueModels.remove(fromIndex));
+            }
+        };
+    }
+    
+    @Override
+    public void detach()
+    {
+        internalValueModel.removeArrayListener(internalArrayListener);
+        trimElementValueModels(0);
+    }
+    
+    /**
+     * Detach and remove all element models with an index that is not
+     * smaller than the given length
+     * 
+     * @param length The length
+     */
+    private void trimElementValueModels(int length)
+    {
+        while (elementValueModels.size() > length)
+        {
+            int lastIndex = elementValueModels.size() - 1;
+            detachElementValueModel(elementValueModels.remove(lastIndex));
+        }
+    }
+    
+    /**
+     * Detach the given element model, if it is not <code>null</code>
+     * 
+     * @param elementValueModel The element model
+     */
+    private void detachElementValueModel(
+        StructuredValueModel<E> elementValueModel)
+    {
+        if (elementValueModel instanceof Detachable)
+        {
+            Detachable detachable = (Detachable) elementValueModel;
+            detachable.detach();
+            detachedElementValueModelCount++;
+        }
+    }
+    
+    /**
+     * Returns the internal {@link ArrayValueModel}
+     * 
+     * @return The internal {@link ArrayValueModel}
+     */
+    ArrayValueModel<A, E> getInternalValueModel()
+    {
+        return internalValueModel;
+    }
+    
+    @Override
+    public int getCachedElementValueModelCount()
+    {
+        int count = 0;
+        for (StructuredValueModel<E> elementValueModel : elementValueModels)
+        {
+            if (elementValueModel != null)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @Override
+    public long getCreatedElementValueModelCount()
+    {
+        return createdElementValueModelCount;
+    }
+    
+    @Override
+    public long getDetachedElementValueModelCount()
+    {
+        return detachedElementValueModelCount;
+    }
+    
+    /**
+     * Returns the maximum depth of the model tree
+     * 
+     * @return The maximum depth
+     */
+    int getMaxDepth()
+    {
+        return maxDepth;
+    }
+    
+    /**
+     * Returns whether this model and the models that are created for
+     * it use the weak listener mode. See 
+     * {@link ValueModelsInternal#isWeakListenerMode(ValueModel)}
+     * 
+     * @return Whether the weak listener mode is used
+     */
+    boolean isWeakListenerMode()
+    {
+        return weakListenerMode;
     }
 
     @Override
@@ -94,16 +311,66 @@ class DefaultStructuredArrayValueModel<A, E>
     {
         ValueModel<E> elementValueModel =
             internalValueModel.getElementValueModel(index);
+        trimElementValueModels(
+            Math.max(0, internalValueModel.getArrayLength()));
+        while (elementValueModels.size() <= index)
+        {
+            elementValueModels.add(null);
+        }
+        StructuredValueModel<E> cached = elementValueModels.get(index);
+        if (cached != null)
+        {
+            if (getInternalValueModel(cached) == elementValueModel)
+            {
+                return cached;
+            }
+            detachElementValueModel(cached);
+        }
+        StructuredValueModel<E> result = 
+            createElementValueModel(elementValueModel);
+        elementValueModels.set(index, result);
+        createdElementValueModelCount++;
+        return result;
+    }
+    
+    /**
+     * Create the {@link StructuredValueModel} for the given element model
+     * 
+     * @param elementValueModel The element model
+     * @return The {@link StructuredValueModel}
+     */
+    private StructuredValueModel<E> createElementValueModel(
+        ValueModel<E> elementValueModel)
+    {
         if (elementValueModel instanceof ArrayValueModel<?, ?>)
         {
             @SuppressWarnings("unchecked")
             ArrayValueModel<E, Object> arrayValueModel =
                 (ArrayValueModel<E, Object>)elementValueModel;
             return new DefaultStructuredArrayValueModel<E, Object>(
-                this, null, arrayValueModel, propertyExtractor);
+                this, null, arrayValueModel, propertyExtractor, maxDepth);
         }
         return new DefaultStructuredValueModel<E>(
-            this, null, elementValueModel, propertyExtractor);
+            this, null, elementValueModel, propertyExtractor, maxDepth);
+    }
+    
+    /**
+     * Returns the internal model of the given element model, which was
+     * created with {@link #createElementValueModel(ValueModel)}
+     * 
+     * @param elementValueModel The element model
+     * @return The internal model
+     */
+    private static ValueModel<?> getInternalValueModel(
+        StructuredValueModel<?> elementValueModel)
+    {
+        if (elementValueModel instanceof DefaultStructuredArrayValueModel<?, ?>)
+        {
+            return ((DefaultStructuredArrayValueModel<?, ?>) elementValueModel)
+                .getInternalValueModel();
+        }
+        return ((DefaultStructuredValueModel<?>) elementValueModel)
+            .getInternalValueModel();
     }
 
     @Override
@@ -112,6 +379,30 @@ class DefaultStructuredArrayValueModel<A, E>
         internalValueModel.setElementValue(index, elementValue);
     }
 
+    @Override
+    public void setElementValues(int index, A elementValues)
+    {
+        internalValueModel.setElementValues(index, elementValues);
+    }
+
+    @Override
+    public void insertElement(int index, E elementValue)
+    {
+        internalValueModel.insertElement(index, elementValue);
+    }
+
+    @Override
+    public void removeElements(int fromIndex, int toIndex)
+    {
+        internalValueModel.removeElements(fromIndex, toIndex);
+    }
+
+    @Override
+    public void moveElement(int fromIndex, int toIndex)
+    {
+        internalValueModel.moveElement(fromIndex, toIndex);
+    }
+
     @Override
     public E getElementValue(int index)
     {
@@ -183,6 +474,18 @@ class DefaultStructuredArrayValueModel<A, E>
     {
         return null;
     }
+    
+    @Override
+    public boolean isExpandable()
+    {
+        return false;
+    }
+    
+    @Override
+    public void expand()
+    {
+        // Array models are never expandable
+    }
 
     @Override
     public A getValue()
@@ -226,7 +529,13 @@ class DefaultStructuredArrayValueModel<A, E>
         return "DefaultStructuredArrayValueModel[" 
             + "name=" + name + ","
             + "namePath=" + getNamePath() + "," 
-            + "internalValueModel=" + internalValueModel + "]";
+            + "internalValueModel=" + internalValueModel + ","
+            + "cachedElementValueModels=" 
+            + getCachedElementValueModelCount() + ","
+            + "createdElementValueModels=" 
+            + createdElementValueModelCount + ","
+            + "detachedElementValueModels=" 
+            + detachedElementValueModelCount + "]";
     }
     
 }
@@ -0,0 +1,415 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import de.javagl.autogui.model.properties.PropertyExtractor;
+
+/**
+ * Default implementation of a {@link StructuredListValueModel}. It only
+ * wraps a {@link ListValueModel} and adds the structure information.
+ * This includes wrapping the {@link #getElementValueModel(int) element value
+ * models} into {@link StructuredValueModel} instances. These instances are
+ * cached for each index, follow their elements when elements are inserted
+ * or removed, and are detached when their elements are removed.
+ *
+ * @param <E> The element type
+ */
+class DefaultStructuredListValueModel<E> 
+    implements StructuredListValueModel<E>, Detachable
+{
+    /**
+     * The parent
+     */
+    private final StructuredValueModel<?> parent;
+    
+    /**
+     * The name of this model inside its parent
+     */
+    private final String name;
+    
+    /**
+     * The internal {@link ListValueModel}
+     */
+    private final ListValueModel<E> internalValueModel;
+    
+    /**
+     * The {@link PropertyExtractor}
+     */
+    private final PropertyExtractor propertyExtractor;
+    
+    /**
+     * The maximum depth of the model tree
+     */
+    private final int maxDepth;
+    
+    /**
+     * Whether this model and the models that are created for it use
+     * the weak listener mode
+     */
+    private final boolean weakListenerMode;
+    
+    /**
+     * The {@link StructuredValueModel} instances for the list elements.
+     * Entries may be <code>null</code> if the model for the respective
+     * index has not been requested yet.
+     */
+    private final List<StructuredValueModel<E>> elementValueModels;
+    
+    /**
+     * The listener that will be attached to the internal value model.
+     * It keeps the element models at the indices of their elements,
+     * and detaches the element models that are no longer needed.
+     */
+    private final ListListener<E> internalListListener;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param parent The parent
+     * @param name The name. If this is <code>null</code>, then the name
+     * of the parent will be used. 
+     * @param internalValueModel The internal {@link ListValueModel}
+     * @param propertyExtractor The {@link PropertyExtractor}
+     * @param maxDepth The maximum depth of the model tree
+     */
+    DefaultStructuredListValueModel(StructuredValueModel<?> parent,
+        String name, ListValueModel<E> internalValueModel,
+        PropertyExtractor propertyExtractor, int maxDepth)
+    {
+        this.parent = parent;
+        this.name = name;
+        this.internalValueModel = internalValueModel; 
+        this.propertyExtractor = propertyExtractor;
+        this.maxDepth = maxDepth;
+        this.weakListenerMode = 
+            ValueModelsInternal.isWeakListenerMode(parent);
+        this.elementValueModels = new ArrayList<StructuredValueModel<E>>();
+        this.internalListListener = createInternalListListener();
+        internalValueModel.addListListener(internalListListener);
+    }
+    
+    /**
+     * Create the {@link ListListener} that will be attached to the 
+     * internal value model, to update the element models
+     * 
+     * @return The {@link ListListener}
+     */
+    private ListListener<E> createInternalListListener()
+    {
+        return new ListListener<E>()
+        {
+            @Override
+            public void listElementChanged(
+                int index, E oldElement, E newElement)
+            {
+                // The element models are informed by the internal model
+            }
+            
+            @Override
+            public void listElementsInserted(int fromIndex, int toIndex)
+            {
+                if (fromIndex < elementValueModels.size())
+                {
+                    elementValueModels.addAll(fromIndex, 
+                        Collections.nCopies(toIndex - fromIndex, null));
+                }
+            }
+            
+            @Override
+            public void listElementsRemoved(int fromIndex, int toIndex)
+            {
+                int end = Math.min(toIndex, elementValueModels.size());
+                for (int i = end - 1; i >= fromIndex; i--)
+                {
+                    detachElementValueModel(elementValueModels.remove(i));
+                }
+            }
+            
+            @Override
+            public void listReplaced(List<E> oldList, List<E> newList)
+            {
+                trimElementValueModels(
+                    Math.max(0, internalValueModel.getListSize()));
+            }
+        };
+    }
+    
+    @Override
+    public void detach()
+    {
+        internalValueModel.removeListListener(internalListListener);
+        trimElementValueModels(0);
+    }
+    
+    /**
+     * Detach and remove all element models with an index that is not
+     * smaller than the given size
+     * 
+     * @param size The size
+     */
+    private void trimElementValueModels(int size)
+    {
+        while (elementValueModels.size() > size)
+        {
+            int lastIndex = elementValueModels.size() - 1;
+            detachElementValueModel(elementValueModels.remove(lastIndex));
+        }
+    }
+    
+    /**
+     * Detach the given element model, if it is not <code>null</code>
+     * 
+     * @param elementValueModel The element model
+     */
+    private static void detachElementValueModel(
+        StructuredValueModel<?> elementValueModel)
+    {
+        if (elementValueModel instanceof Detachable)
+        {
+            Detachable detachable = (Detachable) elementValueModel;
+            detachable.detach();
+        }
+    }
+    
+    /**
+     * Returns the internal {@link ListValueModel}
+     * 
+     * @return The internal {@link ListValueModel}
+     */
+    ListValueModel<E> getInternalValueModel()
+    {
+        return internalValueModel;
+    }
+    
+    /**
+     * Returns the maximum depth of the model tree
+     * 
+     * @return The maximum depth
+     */
+    int getMaxDepth()
+    {
+        return maxDepth;
+    }
+    
+    /**
+     * Returns whether this model and the models that are created for
+     * it use the weak listener mode. See 
+     * {@link ValueModelsInternal#isWeakListenerMode(ValueModel)}
+     * 
+     * @return Whether the weak listener mode is used
+     */
+    boolean isWeakListenerMode()
+    {
+        return weakListenerMode;
+    }
+
+    @Override
+    public int getListSize()
+    {
+        return internalValueModel.getListSize();
+    }
+
+    @Override
+    public StructuredValueModel<E> getElementValueModel(int index)
+    {
+        ValueModel<E> elementValueModel =
+            internalValueModel.getElementValueModel(index);
+        trimElementValueModels(
+            Math.max(0, internalValueModel.getListSize()));
+        while (elementValueModels.size() <= index)
+        {
+            elementValueModels.add(null);
+        }
+        StructuredValueModel<E> cached = elementValueModels.get(index);
+        if (cached != null)
+        {
+            DefaultStructuredValueModel<E> defaultCached = 
+                (DefaultStructuredValueModel<E>) cached;
+            if (defaultCached.getInternalValueModel() == elementValueModel)
+            {
+                return cached;
+            }
+            detachElementValueModel(cached);
+        }
+        StructuredValueModel<E> result = 
+            new DefaultStructuredValueModel<E>(
+                this, null, elementValueModel, propertyExtractor, maxDepth);
+        elementValueModels.set(index, result);
+        return result;
+    }
+
+    @Override
+    public E getElementValue(int index)
+    {
+        return internalValueModel.getElementValue(index);
+    }
+
+    @Override
+    public void setElementValue(int index, E elementValue)
+    {
+        internalValueModel.setElementValue(index, elementValue);
+    }
+
+    @Override
+    public void insertElement(int index, E elementValue)
+    {
+        internalValueModel.insertElement(index, elementValue);
+    }
+
+    @Override
+    public void removeElements(int fromIndex, int toIndex)
+    {
+        internalValueModel.removeElements(fromIndex, toIndex);
+    }
+
+    @Override
+    public Class<?> getElementValueType()
+    {
+        return internalValueModel.getElementValueType();
+    }
+
+    @Override
+    public void addListListener(ListListener<E> listListener)
+    {
+        internalValueModel.addListListener(listListener);
+    }
+
+    @Override
+    public void removeListListener(ListListener<E> listListener)
+    {
+        internalValueModel.removeListListener(listListener);
+    }
+
+    @Override
+    public StructuredValueModel<?> getParent()
+    {
+        return parent;
+    }
+
+    @Override
+    public String getName()
+    {
+        if (name == null)
+        {
+            if (parent == null)
+            {
+                return null;
+            }
+            return parent.getName();
+        }
+        return name;
+    }
+    
+    @Override
+    public String getNamePath()
+    {
+        if (parent == null)
+        {
+            return getName();
+        }
+        if (name == null)
+        {
+            return parent.getNamePath();
+        }
+        return parent.getNamePath() + "." + getName();
+    }
+
+    @Override
+    public Map<String, StructuredValueModel<?>> getChildren()
+    {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public StructuredValueModel<?> getChild(String name)
+    {
+        return null;
+    }
+    
+    @Override
+    public boolean isExpandable()
+    {
+        return false;
+    }
+    
+    @Override
+    public void expand()
+    {
+        // List models are never expandable
+    }
+
+    @Override
+    public List<E> getValue()
+    {
+        return internalValueModel.getValue();
+    }
+
+    @Override
+    public void setValue(List<E> newValue)
+    {
+        internalValueModel.setValue(newValue);
+    }
+
+    @Override
+    public Class<?> getValueType()
+    {
+        return internalValueModel.getValueType();
+    }
+
+    @Override
+    public PropertyExtractor getPropertyExtractor()
+    {
+        return propertyExtractor;
+    }
+    
+    @Override
+    public void addValueListener(ValueListener<List<E>> valueListener)
+    {
+        internalValueModel.addValueListener(valueListener);
+    }
+
+    @Override
+    public void removeValueListener(ValueListener<?> valueListener)
+    {
+        internalValueModel.removeValueListener(valueListener);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DefaultStructuredListValueModel[" 
+            + "name=" + name + ","
+            + "namePath=" + getNamePath() + "," 
+            + "internalValueModel=" + internalValueModel + "]";
+    }
+    
+}
@@ -0,0 +1,405 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import de.javagl.autogui.model.properties.PropertyExtractor;
+
+/**
+ * Default implementation of a {@link StructuredMapValueModel}. It only
+ * wraps a {@link MapValueModel} and adds the structure information.
+ * This includes wrapping the {@link #getElementValueModel(Object) element 
+ * value models} into {@link StructuredValueModel} instances. These 
+ * instances are cached for each key, and are detached when their key 
+ * is removed from the map.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+class DefaultStructuredMapValueModel<K, V> 
+    implements StructuredMapValueModel<K, V>, Detachable
+{
+    /**
+     * The parent
+     */
+    private final StructuredValueModel<?> parent;
+    
+    /**
+     * The name of this model inside its parent
+     */
+    private final String name;
+    
+    /**
+     * The internal {@link MapValueModel}
+     */
+    private final MapValueModel<K, V> internalValueModel;
+    
+    /**
+     * The {@link PropertyExtractor}
+     */
+    private final PropertyExtractor propertyExtractor;
+    
+    /**
+     * The maximum depth of the model tree
+     */
+    private final int maxDepth;
+    
+    /**
+     * Whether this model and the models that are created for it use
+     * the weak listener mode
+     */
+    private final boolean weakListenerMode;
+    
+    /**
+     * The {@link StructuredValueModel} instances for the values of the
+     * map, for the keys for which they have been requested
+     */
+    private final Map<K, DefaultStructuredValueModel<V>> elementValueModels;
+    
+    /**
+     * The listener that will be attached to the internal value model.
+     * It detaches the element models for keys that have been removed.
+     */
+    private final MapListener<K, V> internalMapListener;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param parent The parent
+     * @param name The name. If this is <code>null</code>, then the name
+     * of the parent will be used. 
+     * @param internalValueModel The internal {@link MapValueModel}
+     * @param propertyExtractor The {@link PropertyExtractor}
+     * @param maxDepth The maximum depth of the model tree
+     */
+    DefaultStructuredMapValueModel(StructuredValueModel<?> parent,
+        String name, MapValueModel<K, V> internalValueModel,
+        PropertyExtractor propertyExtractor, int maxDepth)
+    {
+        this.parent = parent;
+        this.name = name;
+        this.internalValueModel = internalValueModel; 
+        this.propertyExtractor = propertyExtractor;
+        this.maxDepth = maxDepth;
+        this.weakListenerMode = 
+            ValueModelsInternal.isWeakListenerMode(parent);
+        this.elementValueModels = 
+            new HashMap<K, DefaultStructuredValueModel<V>>();
+        this.internalMapListener = createInternalMapListener();
+        internalValueModel.addMapListener(internalMapListener);
+    }
+    
+    /**
+     * Create the {@link MapListener} that will be attached to the 
+     * internal value model, to update the element models
+     * 
+     * @return The {@link MapListener}
+     */
+    private MapListener<K, V> createInternalMapListener()
+    {
+        return new MapListener<K, V>()
+        {
+            @Override
+            public void mapElementReplaced(K key, V oldValue, V newValue)
+            {
+                // The element models are informed by the internal model
+            }
+            
+            @Override
+            public void mapElementRemoved(K key, V value)
+            {
+                detachElementValueModel(elementValueModels.remove(key));
+            }
+            
+            @Override
+            public void mapReplaced(Map<K, V> oldMap, Map<K, V> newMap)
+            {
+                removeElementValueModels(newMap);
+            }
+        };
+    }
+    
+    @Override
+    public void detach()
+    {
+        internalValueModel.removeMapListener(internalMapListener);
+        removeElementValueModels(null);
+    }
+    
+    /**
+     * Detach and remove all element models for keys that are not 
+     * contained in the given map
+     * 
+     * @param map The map. If this is <code>null</code>, then all element
+     * models will be removed.
+     */
+    private void removeElementValueModels(Map<K, V> map)
+    {
+        Iterator<Map.Entry<K, DefaultStructuredValueModel<V>>> iterator = 
+            elementValueModels.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<K, DefaultStructuredValueModel<V>> entry = 
+                iterator.next();
+            if (map == null || !map.containsKey(entry.getKey()))
+            {
+                detachElementValueModel(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * Detach the given element model, if it is not <code>null</code>
+     * 
+     * @param elementValueModel The element model
+     */
+    private static void detachElementValueModel(
+        DefaultStructuredValueModel<?> elementValueModel)
+    {
+        if (elementValueModel != null)
+        {
+            elementValueModel.detach();
+        }
+    }
+    
+    /**
+     * Returns the internal {@link MapValueModel}
+     * 
+     * @return The internal {@link MapValueModel}
+     */
+    MapValueModel<K, V> getInternalValueModel()
+    {
+        return internalValueModel;
+    }
+    
+    /**
+     * Returns the maximum depth of the model tree
+     * 
+     * @return The maximum depth
+     */
+    int getMaxDepth()
+    {
+        return maxDepth;
+    }
+    
+    /**
+     * Returns whether this model and the models that are created for
+     * it use the weak listener mode. See 
+     * {@link ValueModelsInternal#isWeakListenerMode(ValueModel)}
+     * 
+     * @return Whether the weak listener mode is used
+     */
+    boolean isWeakListenerMode()
+    {
+        return weakListenerMode;
+    }
+
+    @Override
+    public int getMapSize()
+    {
+        return internalValueModel.getMapSize();
+    }
+    
+    @Override
+    public boolean containsKey(K key)
+    {
+        return internalValueModel.containsKey(key);
+    }
+
+    @Override
+    public StructuredValueModel<V> getElementValueModel(K key)
+    {
+        ValueModel<V> elementValueModel =
+            internalValueModel.getElementValueModel(key);
+        DefaultStructuredValueModel<V> cached = elementValueModels.get(key);
+        if (cached != null)
+        {
+            if (cached.getInternalValueModel() == elementValueModel)
+            {
+                return cached;
+            }
+            detachElementValueModel(cached);
+        }
+        DefaultStructuredValueModel<V> result = 
+            new DefaultStructuredValueModel<V>(
+                this, String.valueOf(key), elementValueModel, 
+                propertyExtractor, maxDepth);
+        elementValueModels.put(key, result);
+        return result;
+    }
+
+    @Override
+    public V getElementValue(K key)
+    {
+        return internalValueModel.getElementValue(key);
+    }
+
+    @Override
+    public void putElement(K key, V value)
+    {
+        internalValueModel.putElement(key, value);
+    }
+
+    @Override
+    public void removeElement(K key)
+    {
+        internalValueModel.removeElement(key);
+    }
+    
+    @Override
+    public Class<?> getKeyType()
+    {
+        return internalValueModel.getKeyType();
+    }
+
+    @Override
+    public Class<?> getElementValueType()
+    {
+        return internalValueModel.getElementValueType();
+    }
+
+    @Override
+    public void addMapListener(MapListener<K, V> mapListener)
+    {
+        internalValueModel.addMapListener(mapListener);
+    }
+
+    @Override
+    public void removeMapListener(MapListener<K, V> mapListener)
+    {
+        internalValueModel.removeMapListener(mapListener);
+    }
+
+    @Override
+    public StructuredValueModel<?> getParent()
+    {
+        return parent;
+    }
+
+    @Override
+    public String getName()
+    {
+        if (name == null)
+        {
+            if (parent == null)
+            {
+                return null;
+            }
+            return parent.getName();
+        }
+        return name;
+    }
+    
+    @Override
+    public String getNamePath()
+    {
+        if (parent == null)
+        {
+            return getName();
+        }
+        if (name == null)
+        {
+            return parent.getNamePath();
+        }
+        return parent.getNamePath() + "." + getName();
+    }
+
+    @Override
+    public Map<String, StructuredValueModel<?>> getChildren()
+    {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public StructuredValueModel<?> getChild(String name)
+    {
+        return null;
+    }
+    
+    @Override
+    public boolean isExpandable()
+    {
+        return false;
+    }
+    
+    @Override
+    public void expand()
+    {
+        // Map models are never expandable
+    }
+
+    @Override
+    public Map<K, V> getValue()
+    {
+        return internalValueModel.getValue();
+    }
+
+    @Override
+    public void setValue(Map<K, V> newValue)
+    {
+        internalValueModel.setValue(newValue);
+    }
+
+    @Override
+    public Class<?> getValueType()
+    {
+        return internalValueModel.getValueType();
+    }
+
+    @Override
+    public PropertyExtractor getPropertyExtractor()
+    {
+        return propertyExtractor;
+    }
+    
+    @Override
+    public void addValueListener(ValueListener<Map<K, V>> valueListener)
+    {
+        internalValueModel.addValueListener(valueListener);
+    }
+
+    @Override
+    public void removeValueListener(ValueListener<?> valueListener)
+    {
+        internalValueModel.removeValueListener(valueListener);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DefaultStructuredMapValueModel[" 
+            + "name=" + name + ","
+            + "namePath=" + getNamePath() + "," 
+            + "internalValueModel=" + internalValueModel + "]";
+    }
+    
+}
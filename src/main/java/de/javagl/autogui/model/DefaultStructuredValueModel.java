@@ -26,6 +26,7 @@
  */
 package de.javagl.autogui.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -39,12 +40,24 @@ import de.javagl.autogui.model.properties.PropertyExtractor;
  * Default implementation of a {@link StructuredValueModel}. The implementation
  * of the methods of the {@link ValueModel} interface are forwarding to an 
  * internal {@link ValueModel}. This class only adds the structural information
- * for the {@link StructuredValueModel} implementation.
+ * for the {@link StructuredValueModel} implementation.<br>
+ * <br>
+ * The children of this model are created lazily, when they are accessed
+ * for the first time. Children for array properties will be
+ * {@link StructuredArrayValueModel} instances, children for 
+ * <code>List</code> properties will be {@link StructuredListValueModel}
+ * instances, and children for <code>Map</code> properties will be 
+ * {@link StructuredMapValueModel} instances. No children are created for leaf types, like 
+ * primitive types, their wrapper types, <code>String</code> and enums.
+ * When the maximum depth is exceeded, or the value type already appeared 
+ * among the value types of the parents, then the model is 
+ * {@link #isExpandable() expandable}, and its children will only be 
+ * created after it was {@link #expand() expanded}.
  *
  * @param <T> The value type
  */
 class DefaultStructuredValueModel<T> 
-    implements StructuredValueModel<T>
+    implements StructuredValueModel<T>, Detachable
 {
     /**
      * The parent
@@ -62,15 +75,39 @@ class DefaultStructuredValueModel<T>
     private ValueModel<T> internalValueModel;
 
     /**
-     * The map from names to the corresponding children
+     * The map from names to the corresponding children. This is created
+     * lazily, in {@link #getChildrenMap()}
      */
-    private final Map<String, StructuredValueModel<Object>> children;
+    private Map<String, StructuredValueModel<Object>> children;
+    
+    /**
+     * The {@link Detachable} models that have been created for the 
+     * children, and that have to be detached in {@link #detach()}
+     */
+    private final List<Detachable> childValueModels;
     
     /**
      * The {@link PropertyExtractor}
      */
     private final PropertyExtractor propertyExtractor;
     
+    /**
+     * The maximum depth of the model tree
+     */
+    private final int maxDepth;
+    
+    /**
+     * Whether this model and the models that are created for it use
+     * the weak listener mode
+     */
+    private final boolean weakListenerMode;
+    
+    /**
+     * Whether this model is a placeholder for a subtree that was not
+     * created yet
+     */
+    private boolean expandable;
+    
     /**
      * Creates a structured value model instance
      * 
@@ -79,33 +116,117 @@ class DefaultStructuredValueModel<T>
      * of the parent will be used. 
      * @param internalValueModel The internal {@link ValueModel} 
      * @param propertyExtractor The {@link PropertyExtractor} to use
+     * @param maxDepth The maximum depth of the model tree. Models with
+     * a larger depth will be {@link #isExpandable() expandable}.
      * @throws NullPointerException If the internalValueModel or
      * the propertyExtractor is <code>null</code>
      */
     DefaultStructuredValueModel(StructuredValueModel<?> parent, 
         String name, ValueModel<T> internalValueModel,
-        PropertyExtractor propertyExtractor)
+        PropertyExtractor propertyExtractor, int maxDepth)
     {
         this.parent = parent;
         this.name = name;
         this.internalValueModel = Objects.requireNonNull(internalValueModel,
             "The internalValueModel may not be null");
-        this.children = 
-            new LinkedHashMap<String, StructuredValueModel<Object>>();
         this.propertyExtractor = Objects.requireNonNull(
             propertyExtractor, "The propertyExtractor may not be null");
-        createChildren();
+        this.maxDepth = maxDepth;
+        this.weakListenerMode = 
+            ValueModelsInternal.isWeakListenerMode(parent);
+        this.expandable = computeExpandable();
+        this.childValueModels = new ArrayList<Detachable>();
+    }
+    
+    /**
+     * Computes whether this model should be a placeholder. This is the
+     * case when the value type is not a 
+     * {@link ValueModelsInternal#isLeafType(Class) leaf type}, and either 
+     * the maximum depth is exceeded, or the value type is equal to the 
+     * value type of one of the parents.
+     * 
+     * @return Whether this model is expandable
+     */
+    private boolean computeExpandable()
+    {
+        Class<?> valueType = getValueType();
+        if (ValueModelsInternal.isLeafType(valueType))
+        {
+            return false;
+        }
+        int depth = 0;
+        StructuredValueModel<?> ancestor = parent;
+        while (ancestor != null)
+        {
+            if (valueType.equals(ancestor.getValueType()))
+            {
+                return true;
+            }
+            depth++;
+            ancestor = ancestor.getParent();
+        }
+        return depth > maxDepth;
+    }
+    
+    /**
+     * Returns the maximum depth of the model tree
+     * 
+     * @return The maximum depth
+     */
+    int getMaxDepth()
+    {
+        return maxDepth;
+    }
+    
+    /**
+     * Returns whether this model and the models that are created for
+     * it use the weak listener mode. See 
+     * {@link ValueModelsInternal#isWeakListenerMode(ValueModel)}
+     * 
+     * @return Whether the weak listener mode is used
+     */
+    boolean isWeakListenerMode()
+    {
+        return weakListenerMode;
+    }
+    
+    /**
+     * Returns the map from names to children, creating it if necessary
+     * 
+     * @return The children
+     */
+    private Map<String, StructuredValueModel<Object>> getChildrenMap()
+    {
+        if (expandable)
+        {
+            return Collections.emptyMap();
+        }
+        if (children == null)
+        {
+            children = createChildren();
+        }
+        return children;
     }
     
     /**
      * Create the children. For each property of the 
      * {@link #getValueType() value type}, one {@link StructuredValueModel}
-     * will be created. 
+     * will be created. If the value type is a 
+     * {@link ValueModelsInternal#isLeafType(Class) leaf type}, then the 
+     * returned map will be empty.
+     * 
+     * @return The children
      */
-    private void createChildren()
+    private Map<String, StructuredValueModel<Object>> createChildren()
     {
         Class<?> valueType = getValueType();
+        if (ValueModelsInternal.isLeafType(valueType))
+        {
+            return Collections.emptyMap();
+        }
         
+        Map<String, StructuredValueModel<Object>> newChildren = 
+            new LinkedHashMap<String, StructuredValueModel<Object>>();
         List<PropertyAccessor> propertyAccessors = 
             propertyExtractor.getPropertyAccessors(valueType);
         
@@ -115,29 +236,75 @@ class DefaultStructuredValueModel<T>
             Class<?> propertyType = propertyAccessor.getType();            
             
             PropertyValueModel<Object> propertyValueModel = 
-                new PropertyValueModel<Object>(
+                ValueModelsInternal.createPropertyValueModel(
                     this, propertyAccessor);
+            childValueModels.add(propertyValueModel);
             
             StructuredValueModel<Object> child = null;
             if (propertyType.isArray())
             {
                 ArrayValueModel<Object, Object> arrayValueModel =
-                    new DefaultArrayValueModel<Object, Object>(
+                    ValueModelsInternal.createArrayValueModel(
                         propertyValueModel);
+                if (arrayValueModel instanceof Detachable)
+                {
+                    childValueModels.add((Detachable) arrayValueModel);
+                }
                 child = new DefaultStructuredArrayValueModel<Object, Object>(
-                    this, propertyName, arrayValueModel, propertyExtractor);
+                    this, propertyName, arrayValueModel, propertyExtractor,
+                    maxDepth);
+            }
+            else if (List.class.isAssignableFrom(propertyType))
+            {
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                ValueModel<List<Object>> listPropertyValueModel = 
+                    (ValueModel) propertyValueModel;
+                ListValueModel<Object> listValueModel =
+                    ValueModelsInternal.createListValueModel(
+                        listPropertyValueModel, 
+                        propertyAccessor.getGenericType());
+                if (listValueModel instanceof Detachable)
+                {
+                    childValueModels.add((Detachable) listValueModel);
+                }
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                StructuredValueModel<Object> listChild = (StructuredValueModel)
+                    new DefaultStructuredListValueModel<Object>(
+                        this, propertyName, listValueModel, 
+                        propertyExtractor, maxDepth);
+                child = listChild;
+            }
+            else if (Map.class.isAssignableFrom(propertyType))
+            {
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                ValueModel<Map<Object, Object>> mapPropertyValueModel = 
+                    (ValueModel) propertyValueModel;
+                MapValueModel<Object, Object> mapValueModel =
+                    ValueModelsInternal.createMapValueModel(
+                        mapPropertyValueModel, 
+                        propertyAccessor.getGenericType());
+                if (mapValueModel instanceof Detachable)
+                {
+                    childValueModels.add((Detachable) mapValueModel);
+                }
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                StructuredValueModel<Object> mapChild = (StructuredValueModel)
+                    new DefaultStructuredMapValueModel<Object, Object>(
+                        this, propertyName, mapValueModel, 
+                        propertyExtractor, maxDepth);
+                child = mapChild;
             }
             else
             {
                 child = new DefaultStructuredValueModel<Object>(
                     this, propertyName, propertyValueModel,
-                    propertyExtractor);
+                    propertyExtractor, maxDepth);
             }
-            children.put(propertyName, child);
+            newChildren.put(propertyName, child);
         }
+        return newChildren;
     }
     
-
     @Override
     public StructuredValueModel<?> getParent()
     {
@@ -147,13 +314,55 @@ class DefaultStructuredValueModel<T>
     @Override
     public StructuredValueModel<?> getChild(String name)
     {
-        return children.get(name);
+        return getChildrenMap().get(name);
     }
     
     @Override
     public Map<String, StructuredValueModel<?>> getChildren()
     {
-        return Collections.unmodifiableMap(children);
+        return Collections.unmodifiableMap(getChildrenMap());
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This will detach all children that have been created until now, 
+     * and the models that back them. The children will be created again
+     * when they are accessed for the next time. 
+     */
+    @Override
+    public void detach()
+    {
+        if (children == null)
+        {
+            return;
+        }
+        for (StructuredValueModel<Object> child : children.values())
+        {
+            if (child instanceof Detachable)
+            {
+                Detachable detachableChild = (Detachable) child;
+                detachableChild.detach();
+            }
+        }
+        for (int i = childValueModels.size() - 1; i >= 0; i--)
+        {
+            childValueModels.get(i).detach();
+        }
+        childValueModels.clear();
+        children = null;
+    }
+    
+    @Override
+    public boolean isExpandable()
+    {
+        return expandable;
+    }
+    
+    @Override
+    public void expand()
+    {
+        expandable = false;
     }
     
     @Override
@@ -185,6 +394,16 @@ class DefaultStructuredValueModel<T>
     }
     
     
+    /**
+     * Returns the internal {@link ValueModel}
+     * 
+     * @return The internal {@link ValueModel}
+     */
+    ValueModel<T> getInternalValueModel()
+    {
+        return internalValueModel;
+    }
+    
     @Override
     public T getValue()
     {
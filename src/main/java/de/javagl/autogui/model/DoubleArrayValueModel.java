@@ -0,0 +1,97 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+/**
+ * An {@link ArrayValueModel} for <code>double[]</code> arrays. It offers 
+ * methods to read and write the array elements without boxing them. 
+ * Blocks of elements may be written with 
+ * {@link #setElementValues(int, Object)} or 
+ * {@link #setElements(int, double[], int, int)}, and read with 
+ * {@link #copyElements(int, double[], int, int)}.<br>
+ * <br>
+ * Since the elements are primitive values, a <code>null</code> element 
+ * that is passed to {@link #setElementValue(int, Object)} or 
+ * {@link #insertElement(int, Object)} is written as 
+ * <code>0.0</code>.
+ */
+public interface DoubleArrayValueModel extends ArrayValueModel<double[], Double>
+{
+    /**
+     * Returns the element at the given index
+     * 
+     * @param index The index
+     * @return The element
+     * @throws IllegalStateException If the array is <code>null</code>, or
+     * the index is not smaller than the {@link #getArrayLength() length}
+     */
+    double getDouble(int index);
+    
+    /**
+     * Set the element at the given index. If the element changed, then
+     * the {@link ArrayListener} instances will be informed with an
+     * {@link ArrayListener#arrayElementChanged} call.
+     * 
+     * @param index The index
+     * @param value The new value
+     * @throws IllegalStateException If the array is <code>null</code>, or
+     * the index is not smaller than the {@link #getArrayLength() length}
+     */
+    void setDouble(int index, double value);
+    
+    /**
+     * Copy the specified range of the given source array into the array
+     * of this model. The {@link ArrayListener} instances will be informed
+     * with a single {@link ArrayListener#arrayRangeChanged} call.
+     * 
+     * @param index The start index in the array of this model
+     * @param source The source array
+     * @param sourceIndex The start index in the source array
+     * @param length The number of elements to copy
+     * @throws NullPointerException If the source is <code>null</code>
+     * @throws IllegalStateException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the specified range is not
+     * valid for the array of this model or the source array
+     */
+    void setElements(int index, double[] source, int sourceIndex, 
+        int length);
+    
+    /**
+     * Copy the specified range of elements into the given target array
+     * 
+     * @param fromIndex The start index in the array of this model
+     * @param target The target array
+     * @param targetIndex The start index in the target array
+     * @param length The number of elements to copy
+     * @throws NullPointerException If the target is <code>null</code>
+     * @throws IllegalStateException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the specified range is not
+     * valid for the array of this model or the target array
+     */
+    void copyElements(int fromIndex, double[] target, int targetIndex, 
+        int length);
+}
@@ -0,0 +1,178 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import de.javagl.autogui.model.properties.DoublePropertyAccessor;
+
+/**
+ * Implementation of a {@link PropertyValueModel} for a property of type
+ * <code>double</code>, which reads and writes the property value through an 
+ * {@link DoublePropertyAccessor}.<br>
+ * <br>
+ * All changes are reported through {@link #fireValueChanged}, and the
+ * {@link DoubleValueListener} instances are informed by a {@link ValueListener}
+ * that unboxes the values. This way, they are informed once for each 
+ * change, and their notifications are coalesced in a 
+ * {@link ValueModels#beginBatch() batch}, like those of all other 
+ * {@link ValueListener} instances.
+ */
+class DoublePropertyValueModel extends PropertyValueModel<Double> 
+    implements DoubleValueModel
+{
+    /**
+     * The {@link DoublePropertyAccessor}
+     */
+    private final DoublePropertyAccessor doublePropertyAccessor;
+    
+    /**
+     * The {@link Listeners listener list} of {@link DoubleValueListener} 
+     * instances. This is only modified while holding the monitor of 
+     * this object.
+     */
+    private volatile Object doubleValueListeners;
+    
+    /**
+     * Whether {@link #setDouble(double)} is currently writing the value to the
+     * bean
+     */
+    private boolean settingDouble;
+    
+    /**
+     * Whether the bean reported the change while {@link #setDouble(double)} 
+     * was writing the value. If it did not, then the change is reported
+     * by {@link #setDouble(double)} itself.
+     */
+    private boolean settingDoubleReported;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param owner The owner
+     * @param doublePropertyAccessor The {@link DoublePropertyAccessor}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    DoublePropertyValueModel(ValueModel<?> owner, 
+        DoublePropertyAccessor doublePropertyAccessor)
+    {
+        super(owner, doublePropertyAccessor);
+        this.doublePropertyAccessor = doublePropertyAccessor;
+        
+        ImmediateValueListener<Double> reportListener = 
+            (oldValue, newValue) -> 
+        {
+            if (settingDouble)
+            {
+                settingDoubleReported = true;
+            }
+        };
+        addValueListener(reportListener);
+        addValueListener((oldValue, newValue) -> 
+        {
+            Object currentDoubleValueListeners = doubleValueListeners;
+            int n = Listeners.size(currentDoubleValueListeners);
+            if (n == 0)
+            {
+                return;
+            }
+            double oldDouble = oldValue == null ? 0.0 : oldValue;
+            double newDouble = newValue == null ? 0.0 : newValue;
+            for (int i = 0; i < n; i++)
+            {
+                DoubleValueListener doubleValueListener = 
+                    Listeners.get(currentDoubleValueListeners, i);
+                doubleValueListener.valueChanged(oldDouble, newDouble);
+            }
+        });
+    }
+    
+    @Override
+    public void setValue(Double newValue)
+    {
+        if (newValue == null)
+        {
+            super.setValue(newValue);
+        }
+        else
+        {
+            setDouble(newValue);
+        }
+    }
+    
+    @Override
+    public double getDouble()
+    {
+        Object bean = getBean();
+        if (bean == null)
+        {
+            return 0.0;
+        }
+        return doublePropertyAccessor.getDouble(bean);
+    }
+
+    @Override
+    public void setDouble(double newValue)
+    {
+        Object bean = getBean();
+        if (bean == null)
+        {
+            return;
+        }
+        double oldValue = doublePropertyAccessor.getDouble(bean);
+        settingDouble = true;
+        settingDoubleReported = false;
+        try
+        {
+            doublePropertyAccessor.setDouble(bean, newValue);
+        }
+        finally
+        {
+            settingDouble = false;
+        }
+        double actualValue = doublePropertyAccessor.getDouble(bean);
+        if (!settingDoubleReported && 
+            Double.compare(oldValue, actualValue) != 0)
+        {
+            fireValueChanged(oldValue, actualValue);
+        }
+    }
+
+    @Override
+    public synchronized void addDoubleValueListener(
+        DoubleValueListener doubleValueListener)
+    {
+        doubleValueListeners = 
+            Listeners.add(doubleValueListeners, doubleValueListener);
+    }
+
+    @Override
+    public synchronized void removeDoubleValueListener(
+        DoubleValueListener doubleValueListener)
+    {
+        doubleValueListeners = 
+            Listeners.remove(doubleValueListeners, doubleValueListener);
+    }
+}
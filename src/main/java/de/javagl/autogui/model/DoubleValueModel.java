@@ -0,0 +1,66 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+/**
+ * A {@link ValueModel} for a value of type <code>double</code>. It offers
+ * methods to read and write the value, and to listen for changes of
+ * the value, without boxing it.
+ */
+public interface DoubleValueModel extends ValueModel<Double>
+{
+    /**
+     * Returns the current value. If there is no current value (for
+     * example, when the value is a property of a <code>null</code> 
+     * object), then <code>0.0</code> will be returned.
+     * 
+     * @return The current value
+     */
+    double getDouble();
+    
+    /**
+     * Set the new value
+     * 
+     * @param newValue The new value
+     */
+    void setDouble(double newValue);
+    
+    /**
+     * Add the given {@link DoubleValueListener} to be informed when a new 
+     * value is set
+     * 
+     * @param doubleValueListener The {@link DoubleValueListener} to add
+     */
+    void addDoubleValueListener(DoubleValueListener doubleValueListener);
+
+    /**
+     * Remove the given {@link DoubleValueListener} 
+     * 
+     * @param doubleValueListener The {@link DoubleValueListener} to remove
+     */
+    void removeDoubleValueListener(DoubleValueListener doubleValueListener);
+}
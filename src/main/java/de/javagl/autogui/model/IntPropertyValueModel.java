@@ -0,0 +1,177 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import de.javagl.autogui.model.properties.IntPropertyAccessor;
+
+/**
+ * Implementation of a {@link PropertyValueModel} for a property of type
+ * <code>int</code>, which reads and writes the property value through an 
+ * {@link IntPropertyAccessor}.<br>
+ * <br>
+ * All changes are reported through {@link #fireValueChanged}, and the
+ * {@link IntValueListener} instances are informed by a {@link ValueListener}
+ * that unboxes the values. This way, they are informed once for each 
+ * change, and their notifications are coalesced in a 
+ * {@link ValueModels#beginBatch() batch}, like those of all other 
+ * {@link ValueListener} instances.
+ */
+class IntPropertyValueModel extends PropertyValueModel<Integer> 
+    implements IntValueModel
+{
+    /**
+     * The {@link IntPropertyAccessor}
+     */
+    private final IntPropertyAccessor intPropertyAccessor;
+    
+    /**
+     * The {@link Listeners listener list} of {@link IntValueListener} 
+     * instances. This is only modified while holding the monitor of 
+     * this object.
+     */
+    private volatile Object intValueListeners;
+    
+    /**
+     * Whether {@link #setInt(int)} is currently writing the value to the
+     * bean
+     */
+    private boolean settingInt;
+    
+    /**
+     * Whether the bean reported the change while {@link #setInt(int)} 
+     * was writing the value. If it did not, then the change is reported
+     * by {@link #setInt(int)} itself.
+     */
+    private boolean settingIntReported;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param owner The owner
+     * @param intPropertyAccessor The {@link IntPropertyAccessor}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    IntPropertyValueModel(ValueModel<?> owner, 
+        IntPropertyAccessor intPropertyAccessor)
+    {
+        super(owner, intPropertyAccessor);
+        this.intPropertyAccessor = intPropertyAccessor;
+        
+        ImmediateValueListener<Integer> reportListener = 
+            (oldValue, newValue) -> 
+        {
+            if (settingInt)
+            {
+                settingIntReported = true;
+            }
+        };
+        addValueListener(reportListener);
+        addValueListener((oldValue, newValue) -> 
+        {
+            Object currentIntValueListeners = intValueListeners;
+            int n = Listeners.size(currentIntValueListeners);
+            if (n == 0)
+            {
+                return;
+            }
+            int oldInt = oldValue == null ? 0 : oldValue;
+            int newInt = newValue == null ? 0 : newValue;
+            for (int i = 0; i < n; i++)
+            {
+                IntValueListener intValueListener = 
+                    Listeners.get(currentIntValueListeners, i);
+                intValueListener.valueChanged(oldInt, newInt);
+            }
+        });
+    }
+    
+    @Override
+    public void setValue(Integer newValue)
+    {
+        if (newValue == null)
+        {
+            super.setValue(newValue);
+        }
+        else
+        {
+            setInt(newValue);
+        }
+    }
+    
+    @Override
+    public int getInt()
+    {
+        Object bean = getBean();
+        if (bean == null)
+        {
+            return 0;
+        }
+        return intPropertyAccessor.getInt(bean);
+    }
+
+    @Override
+    public void setInt(int newValue)
+    {
+        Object bean = getBean();
+        if (bean == null)
+        {
+            return;
+        }
+        int oldValue = intPropertyAccessor.getInt(bean);
+        settingInt = true;
+        settingIntReported = false;
+        try
+        {
+            intPropertyAccessor.setInt(bean, newValue);
+        }
+        finally
+        {
+            settingInt = false;
+        }
+        int actualValue = intPropertyAccessor.getInt(bean);
+        if (!settingIntReported && oldValue != actualValue)
+        {
+            fireValueChanged(oldValue, actualValue);
+        }
+    }
+
+    @Override
+    public synchronized void addIntValueListener(
+        IntValueListener intValueListener)
+    {
+        intValueListeners = 
+            Listeners.add(intValueListeners, intValueListener);
+    }
+
+    @Override
+    public synchronized void removeIntValueListener(
+        IntValueListener intValueListener)
+    {
+        intValueListeners = 
+            Listeners.remove(intValueListeners, intValueListener);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+/**
+ * Implementation of a {@link ValueModel} that represents one element of
+ * the list of a {@link ListValueModel}. The {@link ListValueModel}
+ * is responsible for calling {@link #elementChanged(Object, Object)}
+ * when the element that this model stands for changed.
+ *
+ * @param <E> The element type
+ */
+class ListElementValueModel<E> 
+    extends AbstractValueModel<E> 
+    implements ValueModel<E>
+{
+    /**
+     * The {@link ListValueModel} that this model refers to
+     */
+    private final ListValueModel<E> listValueModel;
+    
+    /**
+     * The index in the list that this element stands for. This may
+     * change when elements are inserted or removed in the list.
+     */
+    private int index;
+    
+    /**
+     * Default constructor
+     * 
+     * @param listValueModel The {@link ListValueModel}
+     * @param index The index
+     * @throws NullPointerException If the listValueModel is null
+     * @throws IllegalArgumentException If the index is negative
+     */
+    ListElementValueModel(ListValueModel<E> listValueModel, int index)
+    {
+        super(listValueModel.getElementValueType());
+        this.listValueModel = listValueModel;
+        if (index < 0)
+        {
+            throw new IllegalArgumentException(
+                "The index may not be negative, but is " + index);
+        }
+        this.index = index;
+    }
+    
+    /**
+     * Set the index in the list that this element stands for. This is
+     * called by the {@link ListValueModel} when elements are inserted
+     * or removed in the list.
+     * 
+     * @param index The index
+     */
+    void setIndex(int index)
+    {
+        this.index = index;
+    }
+    
+    /**
+     * Will be called by the {@link ListValueModel} when the element that
+     * this model stands for changed, to inform the listeners of this model
+     * 
+     * @param oldElement The old element
+     * @param newElement The new element
+     */
+    void elementChanged(E oldElement, E newElement)
+    {
+        fireValueChanged(oldElement, newElement);
+    }
+    
+    @Override
+    public E getValue()
+    {
+        return listValueModel.getElementValue(index);
+    }
+
+    @Override
+    public void setValue(E newValue)
+    {
+        listValueModel.setElementValue(index, newValue);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ListElementValueModel["
+            + "index=" + index + ","
+            + "listValueModel=" + listValueModel + "]";
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.List;
+
+/**
+ * Interface for classes that want to be informed about changes in a
+ * {@link ListValueModel}.
+ *
+ * @param <E> The element type
+ */
+public interface ListListener<E>
+{
+    /**
+     * Will be called when the specified list element changed
+     * 
+     * @param index The index
+     * @param oldElement The old element
+     * @param newElement The new element
+     */
+    void listElementChanged(int index, E oldElement, E newElement);
+    
+    /**
+     * Will be called when elements have been inserted into the list. 
+     * The elements that have previously been at the given start index 
+     * and after it have been moved back by 
+     * <code>toIndex - fromIndex</code> positions.<br>
+     * <br>
+     * The default implementation does nothing.
+     * 
+     * @param fromIndex The index of the first inserted element, inclusive
+     * @param toIndex The index of the last inserted element, exclusive
+     */
+    default void listElementsInserted(int fromIndex, int toIndex)
+    {
+        // Empty default implementation
+    }
+    
+    /**
+     * Will be called when elements have been removed from the list. 
+     * The elements that have previously been at the given end index
+     * and after it have been moved forward by 
+     * <code>toIndex - fromIndex</code> positions.<br>
+     * <br>
+     * The default implementation does nothing.
+     * 
+     * @param fromIndex The index of the first removed element, inclusive
+     * @param toIndex The index of the last removed element, exclusive
+     */
+    default void listElementsRemoved(int fromIndex, int toIndex)
+    {
+        // Empty default implementation
+    }
+    
+    /**
+     * Will be called when the list was replaced with a new list, by 
+     * setting a new value in the {@link ListValueModel} or in the model
+     * that provides the list. The given lists may be identical, if the 
+     * list was only reported to have been changed in place.<br>
+     * <br>
+     * The default implementation does nothing. 
+     * 
+     * @param oldList The old list. This may be <code>null</code>.
+     * @param newList The new list. This may be <code>null</code>.
+     */
+    default void listReplaced(List<E> oldList, List<E> newList)
+    {
+        // Empty default implementation
+    }
+}
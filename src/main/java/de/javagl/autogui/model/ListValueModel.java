@@ -0,0 +1,164 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.List;
+
+/**
+ * Interface for a {@link ValueModel} where the value is a <code>List</code>.
+ * It offers methods for setting and getting the list elements and 
+ * maintains listeners that will be informed about changes in the list.
+ * Each list element may be obtained as a new {@link ValueModel}.<br>
+ * <br>
+ * In contrast to an {@link ArrayValueModel}, all modifications are 
+ * applied to the list that is the current {@link #getValue() value} 
+ * of this model, in place. The list has to support the respective 
+ * operations. 
+ * 
+ * @param <E> The element type
+ */
+public interface ListValueModel<E> extends ValueModel<List<E>> 
+{
+    /**
+     * Returns the size of the list, or <code>-1</code> if the list
+     * (that is the current {@link #getValue() value of this ValueModel})
+     * is <code>null</code>.
+     *  
+     * @return The size of the list
+     */
+    int getListSize();
+
+    /**
+     * Returns the type of the elements of the list. This is the type 
+     * that was derived from the generic type information of the list.
+     * If this information is not available, then this will be 
+     * <code>Object.class</code>.
+     * 
+     * @return The element type
+     */
+    Class<?> getElementValueType();
+    
+    /**
+     * Returns a {@link ValueModel} for the element of the list with the
+     * given index.<br>
+     * <br>
+     * Changes in the returned {@link ValueModel} will be propagated into
+     * the list that is the current {@link #getValue() value} of <i>this</i>
+     * model, and vice versa. When elements are inserted or removed with 
+     * the methods of this model, then the returned model will continue
+     * to refer to the same element, at its new index. If the element is 
+     * removed, then the returned model is no longer valid.
+     * 
+     * @param index The index
+     * @return The {@link ValueModel} for the list element
+     * @throws IndexOutOfBoundsException If the given index is negative or
+     * not smaller than the {@link #getListSize() list size} 
+     */
+    ValueModel<E> getElementValueModel(int index);
+    
+    /**
+     * Return the element of the list at the specified index.
+     * 
+     * @param index The index
+     * @return The element value
+     * @throws IllegalStateException If the list is <code>null</code>
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     * smaller than the {@link #getListSize() list size}
+     */
+    E getElementValue(int index);
+
+    /**
+     * Set the element of the list at the specified index. The 
+     * {@link ListListener} instances will be informed with a call to
+     * {@link ListListener#listElementChanged(int, Object, Object)} if
+     * the old and the new element are not equal.
+     * 
+     * @param index The index
+     * @param elementValue The new element value
+     * @throws IllegalStateException If the list is <code>null</code>
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     * smaller than the {@link #getListSize() list size}
+     * @throws UnsupportedOperationException If the list does not support
+     * this operation
+     */
+    void setElementValue(int index, E elementValue);
+    
+    /**
+     * Insert the given element into the list, at the given index. The 
+     * {@link ListListener} instances will be informed with a call to 
+     * {@link ListListener#listElementsInserted(int, int)}. If the list 
+     * is <code>null</code>, then a new list will be created that only
+     * contains the given element. This list will be an instance of the 
+     * {@link #getValueType() value type}, or an <code>ArrayList</code>
+     * if the value type is an interface like <code>List</code>. This 
+     * is reported like a call to {@link #setValue(Object)}: The 
+     * {@link ListListener} instances will only be informed with a call
+     * to {@link ListListener#listReplaced(List, List)}.
+     * 
+     * @param index The index
+     * @param elementValue The element value
+     * @throws IndexOutOfBoundsException If the index is negative or larger
+     * than the {@link #getListSize() list size}
+     * @throws UnsupportedOperationException If the list does not support
+     * this operation
+     * @throws IllegalStateException If the list is <code>null</code> and
+     * no new list of the value type can be created
+     */
+    void insertElement(int index, E elementValue);
+    
+    /**
+     * Remove the elements in the specified range from the list. The 
+     * {@link ListListener} instances will be informed with a single call 
+     * to {@link ListListener#listElementsRemoved(int, int)}.
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @throws IllegalStateException If the list is <code>null</code>
+     * @throws IndexOutOfBoundsException If the start index is negative, 
+     * the end index is larger than the {@link #getListSize() list size}, 
+     * or the start index is larger than the end index
+     * @throws UnsupportedOperationException If the list does not support
+     * this operation
+     */
+    void removeElements(int fromIndex, int toIndex);
+
+    /**
+     * Add the given {@link ListListener} to be informed about changes
+     * in this model
+     * 
+     * @param listListener The {@link ListListener} to add
+     */
+    void addListListener(ListListener<E> listListener);
+
+    /**
+     * Remove the given {@link ListListener}
+     * 
+     * @param listListener The {@link ListListener} to remove
+     */
+    void removeListListener(ListListener<E> listListener);
+    
+}
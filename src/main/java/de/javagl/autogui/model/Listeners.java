@@ -0,0 +1,179 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Package-private utility methods for compact listener lists.<br>
+ * <br>
+ * A listener list is stored as a plain <code>Object</code>. It is 
+ * <code>null</code> if there are no listeners, the listener itself
+ * if there is one listener, and an <code>Object[]</code> array if there
+ * are several listeners. The arrays are never modified. Instead, 
+ * adding or removing a listener returns a new listener list. This
+ * means that a listener list may safely be traversed while listeners
+ * are added or removed, for example, by the listeners themselves.<br>
+ * <br>
+ * The field that stores a listener list must be <code>volatile</code>,
+ * and it must only be updated while holding a lock, so that listeners 
+ * that are added or removed concurrently are not lost:
+ * <pre><code>
+ * synchronized void addSomeListener(SomeListener listener)
+ * {
+ *     listeners = Listeners.add(listeners, listener);
+ * }
+ * </code></pre>
+ * A listener list should be traversed with an index-based loop:
+ * <pre><code>
+ * Object currentListeners = listeners;
+ * int n = Listeners.size(currentListeners);
+ * for (int i = 0; i &lt; n; i++)
+ * {
+ *     SomeListener listener = Listeners.get(currentListeners, i);
+ *     ...
+ * }
+ * </code></pre>
+ */
+final class Listeners
+{
+    /**
+     * Returns a listener list that contains the listeners of the given
+     * list, followed by the given listener. If the given listener is
+     * <code>null</code>, then the given list is returned.
+     * 
+     * @param listeners The listener list
+     * @param listener The listener to add
+     * @return The new listener list
+     */
+    static Object add(Object listeners, Object listener)
+    {
+        if (listener == null)
+        {
+            return listeners;
+        }
+        if (listeners == null)
+        {
+            return listener;
+        }
+        if (listeners instanceof Object[])
+        {
+            Object[] array = (Object[]) listeners;
+            Object[] newArray = Arrays.copyOf(array, array.length + 1);
+            newArray[array.length] = listener;
+            return newArray;
+        }
+        return new Object[] { listeners, listener };
+    }
+    
+    /**
+     * Returns a listener list that contains the listeners of the given
+     * list, except for the first one that is equal to the given listener.
+     * If the given list does not contain the given listener, then the
+     * given list is returned.
+     * 
+     * @param listeners The listener list
+     * @param listener The listener to remove
+     * @return The new listener list
+     */
+    static Object remove(Object listeners, Object listener)
+    {
+        if (!(listeners instanceof Object[]))
+        {
+            if (listeners != null && listeners.equals(listener))
+            {
+                return null;
+            }
+            return listeners;
+        }
+        Object[] array = (Object[]) listeners;
+        for (int i = 0; i < array.length; i++)
+        {
+            if (Objects.equals(array[i], listener))
+            {
+                if (array.length == 2)
+                {
+                    return array[1 - i];
+                }
+                Object[] newArray = new Object[array.length - 1];
+                System.arraycopy(array, 0, newArray, 0, i);
+                System.arraycopy(
+                    array, i + 1, newArray, i, array.length - i - 1);
+                return newArray;
+            }
+        }
+        return listeners;
+    }
+    
+    /**
+     * Returns the number of listeners in the given listener list
+     * 
+     * @param listeners The listener list
+     * @return The number of listeners
+     */
+    static int size(Object listeners)
+    {
+        if (listeners == null)
+        {
+            return 0;
+        }
+        if (listeners instanceof Object[])
+        {
+            return ((Object[]) listeners).length;
+        }
+        return 1;
+    }
+    
+    /**
+     * Returns the listener with the given index from the given listener
+     * list. The caller is responsible for the index being valid, and 
+     * for the listener having the expected type.
+     * 
+     * @param <L> The listener type
+     * @param listeners The listener list
+     * @param index The index
+     * @return The listener
+     */
+    @SuppressWarnings("unchecked")
+    static <L> L get(Object listeners, int index)
+    {
+        if (listeners instanceof Object[])
+        {
+            return (L) ((Object[]) listeners)[index];
+        }
+        return (L) listeners;
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Listeners()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
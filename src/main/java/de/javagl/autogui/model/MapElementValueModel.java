@@ -0,0 +1,99 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+/**
+ * Implementation of a {@link ValueModel} that represents the value that 
+ * is associated with one key of the map of a {@link MapValueModel}. The 
+ * {@link MapValueModel} is responsible for calling 
+ * {@link #elementChanged(Object, Object)} when the value that this 
+ * model stands for changed.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+class MapElementValueModel<K, V> 
+    extends AbstractValueModel<V> 
+    implements ValueModel<V>
+{
+    /**
+     * The {@link MapValueModel} that this model refers to
+     */
+    private final MapValueModel<K, V> mapValueModel;
+    
+    /**
+     * The key that this model stands for
+     */
+    private final K key;
+    
+    /**
+     * Default constructor
+     * 
+     * @param mapValueModel The {@link MapValueModel}
+     * @param key The key
+     * @throws NullPointerException If the mapValueModel is null
+     */
+    MapElementValueModel(MapValueModel<K, V> mapValueModel, K key)
+    {
+        super(mapValueModel.getElementValueType());
+        this.mapValueModel = mapValueModel;
+        this.key = key;
+    }
+    
+    /**
+     * Will be called by the {@link MapValueModel} when the value that
+     * this model stands for changed, to inform the listeners of this model
+     * 
+     * @param oldValue The old value
+     * @param newValue The new value
+     */
+    void elementChanged(V oldValue, V newValue)
+    {
+        fireValueChanged(oldValue, newValue);
+    }
+
+    @Override
+    public V getValue()
+    {
+        return mapValueModel.getElementValue(key);
+    }
+
+    @Override
+    public void setValue(V newValue)
+    {
+        mapValueModel.putElement(key, newValue);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MapElementValueModel["
+            + "key=" + key + ","
+            + "mapValueModel=" + mapValueModel + "]";
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.Map;
+
+/**
+ * Interface for classes that want to be informed about changes in a
+ * {@link MapValueModel}.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public interface MapListener<K, V>
+{
+    /**
+     * Will be called when the value for the given key, which already 
+     * was contained in the map, was replaced with a new value
+     * 
+     * @param key The key
+     * @param oldValue The old value
+     * @param newValue The new value
+     */
+    void mapElementReplaced(K key, V oldValue, V newValue);
+    
+    /**
+     * Will be called when the given key, which was not contained in
+     * the map, was put into the map with the given value.<br>
+     * <br>
+     * The default implementation does nothing.
+     * 
+     * @param key The key
+     * @param value The value
+     */
+    default void mapElementPut(K key, V value)
+    {
+        // Empty default implementation
+    }
+    
+    /**
+     * Will be called when the given key was removed from the map.<br>
+     * <br>
+     * The default implementation does nothing.
+     * 
+     * @param key The key
+     * @param value The value that was associated with the key
+     */
+    default void mapElementRemoved(K key, V value)
+    {
+        // Empty default implementation
+    }
+    
+    /**
+     * Will be called when the map was replaced with a new map, by 
+     * setting a new value in the {@link MapValueModel} or in the model
+     * that provides the map. The given maps may be identical, if the 
+     * map was only reported to have been changed in place.<br>
+     * <br>
+     * The default implementation does nothing. 
+     * 
+     * @param oldMap The old map. This may be <code>null</code>.
+     * @param newMap The new map. This may be <code>null</code>.
+     */
+    default void mapReplaced(Map<K, V> oldMap, Map<K, V> newMap)
+    {
+        // Empty default implementation
+    }
+}
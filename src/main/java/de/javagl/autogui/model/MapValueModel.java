@@ -0,0 +1,163 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.Map;
+
+/**
+ * Interface for a {@link ValueModel} where the value is a <code>Map</code>.
+ * It offers methods for setting and getting the values that are associated
+ * with the keys of the map, and maintains listeners that will be informed 
+ * about changes in the map. The value for each key may be obtained as a 
+ * new {@link ValueModel}.<br>
+ * <br>
+ * All modifications are applied to the map that is the current 
+ * {@link #getValue() value} of this model, in place. The map has to
+ * support the respective operations.
+ * 
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public interface MapValueModel<K, V> extends ValueModel<Map<K, V>> 
+{
+    /**
+     * Returns the size of the map, or <code>-1</code> if the map
+     * (that is the current {@link #getValue() value of this ValueModel})
+     * is <code>null</code>.
+     *  
+     * @return The size of the map
+     */
+    int getMapSize();
+
+    /**
+     * Returns the type of the keys of the map. This is the type that was
+     * derived from the generic type information of the map. If this 
+     * information is not available, then this will be 
+     * <code>Object.class</code>.
+     * 
+     * @return The key type
+     */
+    Class<?> getKeyType();
+    
+    /**
+     * Returns the type of the values of the map. This is the type that 
+     * was derived from the generic type information of the map. If this 
+     * information is not available, then this will be 
+     * <code>Object.class</code>.
+     * 
+     * @return The value type
+     */
+    Class<?> getElementValueType();
+    
+    /**
+     * Returns whether the map contains the given key. If the map is 
+     * <code>null</code>, then <code>false</code> is returned.
+     * 
+     * @param key The key
+     * @return Whether the map contains the key
+     */
+    boolean containsKey(K key);
+    
+    /**
+     * Returns a {@link ValueModel} for the value that is associated with 
+     * the given key.<br>
+     * <br>
+     * Changes in the returned {@link ValueModel} will be propagated into
+     * the map that is the current {@link #getValue() value} of <i>this</i>
+     * model, and vice versa. If the key is removed from the map, then the
+     * returned model is no longer valid.
+     * 
+     * @param key The key
+     * @return The {@link ValueModel} for the value
+     * @throws IllegalArgumentException If the map does not 
+     * {@link #containsKey(Object) contain} the given key
+     */
+    ValueModel<V> getElementValueModel(K key);
+    
+    /**
+     * Return the value that is associated with the given key.
+     * 
+     * @param key The key
+     * @return The value
+     * @throws IllegalStateException If the map is <code>null</code>
+     */
+    V getElementValue(K key);
+
+    /**
+     * Associate the given value with the given key. If the key was not
+     * contained in the map, then the {@link MapListener} instances will 
+     * be informed with a call to 
+     * {@link MapListener#mapElementPut(Object, Object)}. Otherwise, they
+     * will be informed with a call to 
+     * {@link MapListener#mapElementReplaced(Object, Object, Object)} if 
+     * the old and the new value are not equal. If the map is 
+     * <code>null</code>, then a new map will be created that only 
+     * contains the given entry. This map will be an instance of the
+     * {@link #getValueType() value type}, or a <code>LinkedHashMap</code> 
+     * or <code>TreeMap</code> if the value type is an interface like
+     * <code>Map</code> or <code>SortedMap</code>. This is reported like 
+     * a call to {@link #setValue(Object)}: The {@link MapListener} 
+     * instances will only be informed with a call to 
+     * {@link MapListener#mapReplaced(Map, Map)}.
+     * 
+     * @param key The key
+     * @param value The value
+     * @throws UnsupportedOperationException If the map does not support
+     * this operation
+     * @throws IllegalStateException If the map is <code>null</code> and
+     * no new map of the value type can be created
+     */
+    void putElement(K key, V value);
+    
+    /**
+     * Remove the given key from the map. If the key was contained in the 
+     * map, then the {@link MapListener} instances will be informed with a 
+     * call to {@link MapListener#mapElementRemoved(Object, Object)}.
+     * 
+     * @param key The key
+     * @throws IllegalStateException If the map is <code>null</code>
+     * @throws UnsupportedOperationException If the map does not support
+     * this operation
+     */
+    void removeElement(K key);
+
+    /**
+     * Add the given {@link MapListener} to be informed about changes
+     * in this model
+     * 
+     * @param mapListener The {@link MapListener} to add
+     */
+    void addMapListener(MapListener<K, V> mapListener);
+
+    /**
+     * Remove the given {@link MapListener}
+     * 
+     * @param mapListener The {@link MapListener} to remove
+     */
+    void removeMapListener(MapListener<K, V> mapListener);
+    
+}
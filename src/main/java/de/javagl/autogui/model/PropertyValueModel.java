@@ -49,6 +49,15 @@ class PropertyValueModel<T> extends AbstractValueModel<T>
      */
     private final PropertyChangeListener propertyChangeListener;
     
+    /**
+     * The listener that is actually attached to the bean. This is
+     * either the {@link #propertyChangeListener}, or a listener that
+     * only keeps a weak reference to it, if the model was created in
+     * the {@link ValueModelsInternal#isWeakListenerMode(ValueModel) 
+     * weak listener mode}
+     */
+    private final PropertyChangeListener beanPropertyChangeListener;
+    
     /**
      * The owner, whose value is the current bean
      */
@@ -67,6 +76,13 @@ class PropertyValueModel<T> extends AbstractValueModel<T>
      */
     private ValueListener<?> beanListener;
     
+    /**
+     * The listener that is actually attached to the {@link #owner}. This
+     * is either the {@link #beanListener}, or a listener that only keeps 
+     * a weak reference to it, in the weak listener mode
+     */
+    private ValueListener<?> ownerListener;
+    
     /**
      * The name of the property
      */
@@ -100,31 +116,66 @@ class PropertyValueModel<T> extends AbstractValueModel<T>
             T typedNewValue = (T) newValue;
             fireValueChanged(typedOldValue, typedNewValue);
         };
-        attachListenerTo(owner);
+        boolean weakListenerMode = 
+            ValueModelsInternal.isWeakListenerMode(owner);
+        if (weakListenerMode)
+        {
+            this.beanPropertyChangeListener = 
+                new WeakPropertyChangeListener(name, propertyChangeListener);
+        }
+        else
+        {
+            this.beanPropertyChangeListener = propertyChangeListener;
+        }
+        attachListenerTo(owner, weakListenerMode);
     }
     
     /**
      * Attach a listener to the owner that will set the value of the owner
-     * as the current {@link #bean} of this model.
+     * as the current {@link #bean} of this model. In the weak listener
+     * mode, the owner will only refer to this listener weakly.
      * 
      * @param <U> The owner value type
      * @param owner The owner
+     * @param weakListenerMode Whether the weak listener mode is used
      */
-    private <U> void attachListenerTo(ValueModel<U> owner)
+    private <U> void attachListenerTo(
+        ValueModel<U> owner, boolean weakListenerMode)
     {
-        ValueListener<U> listener = (oldValue, newValue) -> 
+        ImmediateValueListener<U> listener = (oldValue, newValue) -> 
         {
             setCurrentBean(newValue);
         };
-        owner.addValueListener(listener);
+        if (weakListenerMode)
+        {
+            ownerListener = ValueModels.addWeakValueListener(owner, listener);
+        }
+        else
+        {
+            owner.addValueListener(listener);
+            ownerListener = listener;
+        }
         setCurrentBean(owner.getValue());
         beanListener = listener;
     }
     
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This will remove the listener from the owner, and the property 
+     * change listener from the current bean. Afterwards, this model
+     * no longer refers to the bean, and its value is <code>null</code>.
+     */
     @Override
     public void detach()
     {
-        owner.removeValueListener(beanListener);
+        owner.removeValueListener(ownerListener);
+        if (bean != null)
+        {
+            PropertyChangeUtils.tryRemoveNamedPropertyChangeListenerUnchecked(
+                bean, name, beanPropertyChangeListener);
+            bean = null;
+        }
     }
 
     /**
@@ -139,13 +190,13 @@ class PropertyValueModel<T> extends AbstractValueModel<T>
         if (bean != null)
         {
             PropertyChangeUtils.tryRemoveNamedPropertyChangeListenerUnchecked(
-                bean, name, propertyChangeListener);
+                bean, name, beanPropertyChangeListener);
         }
         bean = newBean;
         if (bean != null)
         {
             PropertyChangeUtils.tryAddNamedPropertyChangeListenerUnchecked(
-                bean, name, propertyChangeListener);
+                bean, name, beanPropertyChangeListener);
         }
         T newValue = getValue();
         if (!Objects.equals(oldValue, newValue))
@@ -155,6 +206,17 @@ class PropertyValueModel<T> extends AbstractValueModel<T>
     }
     
     
+    /**
+     * Returns the bean object that is currently backing this property 
+     * model. This may be <code>null</code>.
+     * 
+     * @return The current bean
+     */
+    final Object getBean()
+    {
+        return bean;
+    }
+    
     @Override
     public T getValue()
     {
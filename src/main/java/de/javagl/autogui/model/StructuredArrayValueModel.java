@@ -28,6 +28,12 @@ package de.javagl.autogui.model;
 
 /**
  * Combination of a {@link StructuredValueModel} and an {@link ArrayValueModel}
+ * <br>
+ * <br>
+ * The element models are created lazily, and cached. When the array 
+ * shrinks, then the element models for the indices that are no longer
+ * valid are detached. The number of element models may be obtained
+ * for monitoring the memory usage of large arrays.
  *
  * @param <A> The array type
  * @param <E> The element/component type
@@ -37,4 +43,27 @@ public interface StructuredArrayValueModel<A, E>
 {
     @Override
     public StructuredValueModel<E> getElementValueModel(int index);
+    
+    /**
+     * Returns the number of element models that are currently cached
+     * 
+     * @return The number of cached element models
+     */
+    int getCachedElementValueModelCount();
+    
+    /**
+     * Returns the total number of element models that have been created
+     * by this model
+     * 
+     * @return The number of created element models
+     */
+    long getCreatedElementValueModelCount();
+    
+    /**
+     * Returns the total number of element models that have been detached
+     * by this model, because the array shrank, or this model was detached
+     * 
+     * @return The number of detached element models
+     */
+    long getDetachedElementValueModelCount();
 }
@@ -76,6 +76,42 @@ public interface StructuredValueModel<T> extends ValueModel<T>
      */
     StructuredValueModel<?> getChild(String name);
     
+    /**
+     * Returns whether this model is a placeholder for a subtree that has 
+     * not been created yet. This is the case when the maximum depth of 
+     * the model tree was exceeded, or when the value type of this model 
+     * already appeared along the path from the root to this model. As 
+     * long as this method returns <code>true</code>, this model will
+     * not have any {@link #getChildren() children}.
+     * 
+     * @return Whether this model is expandable
+     */
+    boolean isExpandable();
+    
+    /**
+     * Expand this model, if it is {@link #isExpandable() expandable}, 
+     * so that its {@link #getChildren() children} are created when
+     * they are accessed for the next time.
+     */
+    void expand();
+    
+    /**
+     * Set the values of the descendants of this model that are identified
+     * by the given name paths, relative to this model, as one 
+     * {@link ValueModels#runBatched(Runnable) batch}.<br>
+     * <br>
+     * See {@link ValueModels#setValues(StructuredValueModel, Map)} for
+     * details.
+     * 
+     * @param valuesByNamePath The mapping from name paths to values
+     * @throws IllegalArgumentException If one of the name paths does not
+     * identify a descendant of this model
+     */
+    default void setValues(Map<String, ?> valuesByNamePath)
+    {
+        ValueModels.setValues(this, valuesByNamePath);
+    }
+    
     /**
      * Returns the property extractor. Only used internally.
      * 
@@ -0,0 +1,207 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Package-private class maintaining the state of a batch of changes
+ * in {@link AbstractValueModel} instances, for the current thread.<br>
+ * <br>
+ * While a batch is active, the notifications of the {@link ValueListener}
+ * instances are deferred. When the outermost batch is committed, each 
+ * model that changed during the batch informs its listeners once, with 
+ * the old value from before the first change and the new value from 
+ * the last change. If these values are equal, then the listeners are
+ * not informed.
+ */
+final class ValueModelBatch
+{
+    /**
+     * The batch that is active for the current thread
+     */
+    private static final ThreadLocal<ValueModelBatch> CURRENT = 
+        new ThreadLocal<ValueModelBatch>();
+    
+    /**
+     * The nesting depth of the batch
+     */
+    private int depth;
+    
+    /**
+     * The deferred notifications, in the order in which the models
+     * first changed
+     */
+    private final List<DeferredNotification<?>> deferredNotifications;
+    
+    /**
+     * The mapping from models to their deferred notifications
+     */
+    private final Map<AbstractValueModel<?>, DeferredNotification<?>> 
+        deferredNotificationsByModel;
+
+    /**
+     * Private constructor
+     */
+    private ValueModelBatch()
+    {
+        this.deferredNotifications = new ArrayList<DeferredNotification<?>>();
+        this.deferredNotificationsByModel = 
+            new IdentityHashMap<AbstractValueModel<?>, 
+                DeferredNotification<?>>();
+    }
+    
+    /**
+     * Returns the batch that is active for the current thread, or 
+     * <code>null</code> if no batch is active
+     * 
+     * @return The current batch
+     */
+    static ValueModelBatch current()
+    {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Begin a batch for the current thread. If a batch is already
+     * active, then the batch becomes nested.
+     */
+    static void begin()
+    {
+        ValueModelBatch batch = CURRENT.get();
+        if (batch == null)
+        {
+            batch = new ValueModelBatch();
+            CURRENT.set(batch);
+        }
+        batch.depth++;
+    }
+    
+    /**
+     * Commit the batch of the current thread. If this ends the outermost
+     * batch, then the deferred notifications are sent.
+     * 
+     * @throws IllegalStateException If no batch is active
+     */
+    static void commit()
+    {
+        ValueModelBatch batch = CURRENT.get();
+        if (batch == null)
+        {
+            throw new IllegalStateException("No batch is active");
+        }
+        batch.depth--;
+        if (batch.depth > 0)
+        {
+            return;
+        }
+        CURRENT.remove();
+        for (DeferredNotification<?> deferredNotification : 
+            batch.deferredNotifications)
+        {
+            deferredNotification.fire();
+        }
+    }
+    
+    /**
+     * Defer the notification about a change of the value of the given
+     * model, coalescing it with an earlier notification for the same
+     * model, if present
+     * 
+     * @param <T> The value type
+     * @param model The model
+     * @param oldValue The old value
+     * @param newValue The new value
+     */
+    <T> void defer(AbstractValueModel<T> model, T oldValue, T newValue)
+    {
+        @SuppressWarnings("unchecked")
+        DeferredNotification<T> deferredNotification = 
+            (DeferredNotification<T>) deferredNotificationsByModel.get(model);
+        if (deferredNotification == null)
+        {
+            deferredNotification = 
+                new DeferredNotification<T>(model, oldValue);
+            deferredNotificationsByModel.put(model, deferredNotification);
+            deferredNotifications.add(deferredNotification);
+        }
+        deferredNotification.newValue = newValue;
+    }
+    
+    /**
+     * A notification about a change of the value of a model that was 
+     * deferred
+     * 
+     * @param <T> The value type
+     */
+    private static final class DeferredNotification<T>
+    {
+        /**
+         * The model
+         */
+        private final AbstractValueModel<T> model;
+        
+        /**
+         * The value before the first change
+         */
+        private final T oldValue;
+        
+        /**
+         * The value after the last change
+         */
+        private T newValue;
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param model The model
+         * @param oldValue The old value
+         */
+        DeferredNotification(AbstractValueModel<T> model, T oldValue)
+        {
+            this.model = model;
+            this.oldValue = oldValue;
+        }
+        
+        /**
+         * Inform the listeners of the model about the change, if the 
+         * value before the first change is not equal to the value after
+         * the last change
+         */
+        void fire()
+        {
+            if (!Objects.equals(oldValue, newValue))
+            {
+                model.fireDeferredValueChanged(oldValue, newValue);
+            }
+        }
+    }
+}
@@ -26,6 +26,10 @@
  */
 package de.javagl.autogui.model;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 
 import de.javagl.autogui.Converter;
@@ -37,6 +41,380 @@ import de.javagl.autogui.model.properties.PropertyExtractors;
  */
 public class ValueModels
 {
+    /**
+     * The default maximum depth for the trees of {@link StructuredValueModel}
+     * instances. Models with a larger depth will be 
+     * {@link StructuredValueModel#isExpandable() expandable}.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 16;
+    
+    /**
+     * Add a {@link ValueListener} to the given {@link ValueModel} that 
+     * only keeps a weak reference to the given listener. When the given
+     * listener has been garbage collected, then the registered listener 
+     * will remove itself from the model the next time that it is 
+     * notified.<br>
+     * <br>
+     * The caller is responsible for keeping a reference to the given 
+     * listener for as long as it should be informed. In order to remove 
+     * the listener, the listener that is returned by this method has 
+     * to be passed to {@link ValueModel#removeValueListener(ValueListener)}.
+     * 
+     * @param <T> The value type
+     * @param valueModel The {@link ValueModel}
+     * @param valueListener The {@link ValueListener}
+     * @return The {@link ValueListener} that was added to the model
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static <T> ValueListener<T> addWeakValueListener(
+        ValueModel<T> valueModel, ValueListener<T> valueListener)
+    {
+        Objects.requireNonNull(valueModel, "The valueModel may not be null");
+        Objects.requireNonNull(valueListener, 
+            "The valueListener may not be null");
+        ValueListener<T> weakValueListener = 
+            WeakValueListener.create(valueModel, valueListener);
+        valueModel.addValueListener(weakValueListener);
+        return weakValueListener;
+    }
+    
+    /**
+     * Add an {@link IntValueListener} to the given {@link IntValueModel}
+     * that only keeps a weak reference to the given listener. See
+     * {@link #addWeakValueListener(ValueModel, ValueListener)} for 
+     * details.
+     * 
+     * @param intValueModel The {@link IntValueModel}
+     * @param intValueListener The {@link IntValueListener}
+     * @return The {@link IntValueListener} that was added to the model
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static IntValueListener addWeakIntValueListener(
+        IntValueModel intValueModel, 
+        IntValueListener intValueListener)
+    {
+        Objects.requireNonNull(intValueModel, 
+            "The intValueModel may not be null");
+        Objects.requireNonNull(intValueListener, 
+            "The intValueListener may not be null");
+        IntValueListener weakIntValueListener = 
+            new WeakIntValueListener(intValueModel, intValueListener);
+        intValueModel.addIntValueListener(weakIntValueListener);
+        return weakIntValueListener;
+    }
+    
+    /**
+     * Add an {@link DoubleValueListener} to the given {@link DoubleValueModel}
+     * that only keeps a weak reference to the given listener. See
+     * {@link #addWeakValueListener(ValueModel, ValueListener)} for 
+     * details.
+     * 
+     * @param doubleValueModel The {@link DoubleValueModel}
+     * @param doubleValueListener The {@link DoubleValueListener}
+     * @return The {@link DoubleValueListener} that was added to the model
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static DoubleValueListener addWeakDoubleValueListener(
+        DoubleValueModel doubleValueModel, 
+        DoubleValueListener doubleValueListener)
+    {
+        Objects.requireNonNull(doubleValueModel, 
+            "The doubleValueModel may not be null");
+        Objects.requireNonNull(doubleValueListener, 
+            "The doubleValueListener may not be null");
+        DoubleValueListener weakDoubleValueListener = 
+            new WeakDoubleValueListener(doubleValueModel, doubleValueListener);
+        doubleValueModel.addDoubleValueListener(weakDoubleValueListener);
+        return weakDoubleValueListener;
+    }
+    
+    /**
+     * Add an {@link ArrayListener} to the given {@link ArrayValueModel} 
+     * that only keeps a weak reference to the given listener. See
+     * {@link #addWeakValueListener(ValueModel, ValueListener)} for 
+     * details.
+     * 
+     * @param <A> The array type
+     * @param <E> The element type
+     * @param arrayValueModel The {@link ArrayValueModel}
+     * @param arrayListener The {@link ArrayListener}
+     * @return The {@link ArrayListener} that was added to the model
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static <A, E> ArrayListener<A, E> addWeakArrayListener(
+        ArrayValueModel<A, E> arrayValueModel, 
+        ArrayListener<A, E> arrayListener)
+    {
+        Objects.requireNonNull(arrayValueModel, 
+            "The arrayValueModel may not be null");
+        Objects.requireNonNull(arrayListener, 
+            "The arrayListener may not be null");
+        ArrayListener<A, E> weakArrayListener = 
+            new WeakArrayListener<A, E>(arrayValueModel, arrayListener);
+        arrayValueModel.addArrayListener(weakArrayListener);
+        return weakArrayListener;
+    }
+    
+    /**
+     * Add a {@link ListListener} to the given {@link ListValueModel} 
+     * that only keeps a weak reference to the given listener. See
+     * {@link #addWeakValueListener(ValueModel, ValueListener)} for 
+     * details.
+     * 
+     * @param <E> The element type
+     * @param listValueModel The {@link ListValueModel}
+     * @param listListener The {@link ListListener}
+     * @return The {@link ListListener} that was added to the model
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static <E> ListListener<E> addWeakListListener(
+        ListValueModel<E> listValueModel, ListListener<E> listListener)
+    {
+        Objects.requireNonNull(listValueModel, 
+            "The listValueModel may not be null");
+        Objects.requireNonNull(listListener, 
+            "The listListener may not be null");
+        ListListener<E> weakListListener = 
+            new WeakListListener<E>(listValueModel, listListener);
+        listValueModel.addListListener(weakListListener);
+        return weakListListener;
+    }
+    
+    /**
+     * Add a {@link MapListener} to the given {@link MapValueModel} 
+     * that only keeps a weak reference to the given listener. See
+     * {@link #addWeakValueListener(ValueModel, ValueListener)} for 
+     * details.
+     * 
+     * @param <K> The key type
+     * @param <V> The value type
+     * @param mapValueModel The {@link MapValueModel}
+     * @param mapListener The {@link MapListener}
+     * @return The {@link MapListener} that was added to the model
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static <K, V> MapListener<K, V> addWeakMapListener(
+        MapValueModel<K, V> mapValueModel, MapListener<K, V> mapListener)
+    {
+        Objects.requireNonNull(mapValueModel, 
+            "The mapValueModel may not be null");
+        Objects.requireNonNull(mapListener, 
+            "The mapListener may not be null");
+        MapListener<K, V> weakMapListener = 
+            new WeakMapListener<K, V>(mapValueModel, mapListener);
+        mapValueModel.addMapListener(weakMapListener);
+        return weakMapListener;
+    }
+    
+    /**
+     * Begin a batch of changes for the current thread.<br>
+     * <br>
+     * While a batch is active, the {@link ValueListener} instances of the
+     * models that are changed by the current thread are not informed 
+     * immediately. Instead, the notifications are coalesced, and when
+     * the batch is {@link #commit() committed}, each model informs its
+     * listeners once, with the value from before the first change and
+     * the value after the last change.<br>
+     * <br>
+     * Batches may be nested. The notifications are sent when the 
+     * outermost batch is committed. Each call to this method must be
+     * followed by a call to {@link #commit()}. Usually, it is easier
+     * to use {@link #runBatched(Runnable)}.
+     */
+    public static void beginBatch()
+    {
+        ValueModelBatch.begin();
+    }
+    
+    /**
+     * Commit the batch that was started with {@link #beginBatch()}. If 
+     * this ends the outermost batch, then the deferred notifications
+     * are sent.
+     * 
+     * @throws IllegalStateException If no batch is active for the 
+     * current thread
+     */
+    public static void commit()
+    {
+        ValueModelBatch.commit();
+    }
+    
+    /**
+     * Run the given runnable as one {@link #beginBatch() batch}. The 
+     * batch will be committed even when the runnable throws an exception.
+     * 
+     * @param runnable The runnable
+     * @throws NullPointerException If the runnable is <code>null</code>
+     */
+    public static void runBatched(Runnable runnable)
+    {
+        Objects.requireNonNull(runnable, "The runnable may not be null");
+        beginBatch();
+        try
+        {
+            runnable.run();
+        }
+        finally
+        {
+            commit();
+        }
+    }
+    
+    /**
+     * Set the values of the descendants of the given model that are
+     * identified by the given name paths, as one 
+     * {@link #runBatched(Runnable) batch}.<br>
+     * <br>
+     * The name paths are relative to the given model. For example, the
+     * path <code>".address.city"</code> refers to the child called 
+     * <code>"city"</code> of the child called <code>"address"</code> of 
+     * the given model. The leading <code>"."</code> is optional, and an
+     * empty path refers to the given model itself. For a root model, like 
+     * the ones that are created with {@link #createStructured(Class)}, 
+     * these are the name paths that are also used in the 
+     * <code>ValueViewBuilder</code>. Like there, the names are 
+     * case-insensitive. A child whose name matches exactly takes 
+     * precedence over one whose name only differs in case.
+     * <br>
+     * <br>
+     * All name paths are resolved before any value is set. The values
+     * are set in the iteration order of the given map.
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @param valuesByNamePath The mapping from name paths to values
+     * @throws NullPointerException If any argument is <code>null</code>
+     * @throws IllegalArgumentException If one of the name paths does not
+     * identify a descendant of the given model
+     */
+    public static void setValues(StructuredValueModel<?> structuredValueModel,
+        Map<String, ?> valuesByNamePath)
+    {
+        Objects.requireNonNull(structuredValueModel, 
+            "The structuredValueModel may not be null");
+        Objects.requireNonNull(valuesByNamePath, 
+            "The valuesByNamePath may not be null");
+        List<ValueModel<Object>> valueModels = 
+            new ArrayList<ValueModel<Object>>();
+        List<Object> values = new ArrayList<Object>();
+        for (Entry<String, ?> entry : valuesByNamePath.entrySet())
+        {
+            StructuredValueModel<?> valueModel = 
+                resolve(structuredValueModel, entry.getKey());
+            @SuppressWarnings("unchecked")
+            ValueModel<Object> objectValueModel = 
+                (ValueModel<Object>) valueModel;
+            valueModels.add(objectValueModel);
+            values.add(entry.getValue());
+        }
+        runBatched(() -> 
+        {
+            for (int i = 0; i < valueModels.size(); i++)
+            {
+                valueModels.get(i).setValue(values.get(i));
+            }
+        });
+    }
+    
+    /**
+     * Returns the descendant of the given model that is identified by
+     * the given name path
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @param namePath The name path, relative to the given model
+     * @return The descendant
+     * @throws IllegalArgumentException If the name path does not
+     * identify a descendant of the given model
+     */
+    private static StructuredValueModel<?> resolve(
+        StructuredValueModel<?> structuredValueModel, String namePath)
+    {
+        Objects.requireNonNull(namePath, "The namePath may not be null");
+        String path = namePath.startsWith(".") ? 
+            namePath.substring(1) : namePath;
+        StructuredValueModel<?> current = structuredValueModel;
+        if (path.isEmpty())
+        {
+            return current;
+        }
+        for (String name : path.split("\\.", -1))
+        {
+            current = getChildIgnoreCase(current, name);
+            if (current == null)
+            {
+                throw new IllegalArgumentException(
+                    "The name path " + namePath + " does not identify a " 
+                    + "descendant: There is no child '" + name + "'");
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Returns the child of the given model with the given name, ignoring
+     * the case of the name. If there is a child with exactly the given 
+     * name, then it is returned. Returns <code>null</code> if there is 
+     * no matching child.
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @param name The name
+     * @return The child
+     */
+    private static StructuredValueModel<?> getChildIgnoreCase(
+        StructuredValueModel<?> structuredValueModel, String name)
+    {
+        StructuredValueModel<?> child = structuredValueModel.getChild(name);
+        if (child != null)
+        {
+            return child;
+        }
+        for (Entry<String, StructuredValueModel<?>> entry : 
+            structuredValueModel.getChildren().entrySet())
+        {
+            if (entry.getKey().equalsIgnoreCase(name))
+            {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Detach all listeners that the given model attached to other objects.
+     * <br>
+     * <br>
+     * For a {@link StructuredValueModel} that was created by this library,
+     * this includes the listeners of all its descendants, and of the 
+     * models that back it. For example, the property change listeners
+     * that have been attached to beans will be removed. The given model
+     * should not be used any more afterwards.<br>
+     * <br>
+     * This should only be called for models that are no longer used by 
+     * anybody. If the given model is not a model that was created by 
+     * this library, then nothing is done.
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @throws NullPointerException If the given model is <code>null</code>
+     */
+    public static void detach(ValueModel<?> valueModel)
+    {
+        Objects.requireNonNull(valueModel, "The valueModel may not be null");
+        ValueModel<?> current = valueModel;
+        while (true)
+        {
+            if (current instanceof Detachable)
+            {
+                Detachable detachable = (Detachable) current;
+                detachable.detach();
+            }
+            ValueModel<?> unwrapped = unwrapOnce(current);
+            if (unwrapped == current)
+            {
+                return;
+            }
+            current = unwrapped;
+        }
+    }
+    
     /**
      * Creates a new {@link ValueModel} with the given initial value. The
      * initial value may not be <code>null</code>. If it has to be 
@@ -59,7 +437,8 @@ public class ValueModels
     }
     
     /**
-     * Creates a new {@link ValueModel} with the given type
+     * Creates a new {@link ValueModel} with the given type. The initial
+     * value of the model is <code>null</code>, even for primitive types.
      * 
      * @param <T> The value type
      * @param valueType The value type
@@ -68,7 +447,167 @@ public class ValueModels
      */
     public static <T> ValueModel<T> create(Class<T> valueType)
     {
-        ValueModel<T> valueModel = new DefaultValueModel<T>(valueType);
+        return createDefault(valueType);
+    }
+    
+    /**
+     * Creates a new {@link ValueModel} with the given type. If the type
+     * is <code>int.class</code> or <code>double.class</code>, then the
+     * result will be an {@link IntValueModel} or a {@link DoubleValueModel},
+     * respectively.
+     * 
+     * @param <T> The value type
+     * @param valueType The value type
+     * @return The {@link ValueModel}
+     * @throws NullPointerException If the value type is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ValueModel<T> createDefault(Class<T> valueType)
+    {
+        if (valueType == int.class)
+        {
+            return (ValueModel<T>) new DefaultIntValueModel();
+        }
+        if (valueType == double.class)
+        {
+            return (ValueModel<T>) new DefaultDoubleValueModel();
+        }
+        return new DefaultValueModel<T>(valueType);
+    }
+    
+    /**
+     * Returns the {@link IntValueModel} that backs the given 
+     * {@link ValueModel}, or <code>null</code> if the given model is
+     * not backed by an {@link IntValueModel}. This will unwrap 
+     * {@link StructuredValueModel} instances that have been created
+     * by this library.
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @return The {@link IntValueModel}, or <code>null</code>
+     */
+    public static IntValueModel asIntValueModel(ValueModel<?> valueModel)
+    {
+        ValueModel<?> unwrapped = unwrap(valueModel);
+        if (unwrapped instanceof IntValueModel)
+        {
+            return (IntValueModel) unwrapped;
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the {@link DoubleValueModel} that backs the given 
+     * {@link ValueModel}, or <code>null</code> if the given model is
+     * not backed by a {@link DoubleValueModel}. This will unwrap 
+     * {@link StructuredValueModel} instances that have been created
+     * by this library.
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @return The {@link DoubleValueModel}, or <code>null</code>
+     */
+    public static DoubleValueModel asDoubleValueModel(
+        ValueModel<?> valueModel)
+    {
+        ValueModel<?> unwrapped = unwrap(valueModel);
+        if (unwrapped instanceof DoubleValueModel)
+        {
+            return (DoubleValueModel) unwrapped;
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the {@link ArrayValueModel} of the given type that backs the 
+     * given {@link ValueModel}, or <code>null</code> if the given model is 
+     * not backed by such a model. This will unwrap 
+     * {@link StructuredValueModel} instances that have been created
+     * by this library. For example, the {@link DoubleArrayValueModel}
+     * for a structured model of a <code>double[]</code> property 
+     * may be obtained with<br>
+     * <pre><code>
+     * DoubleArrayValueModel m = ValueModels.asArrayValueModel(
+     *     structuredValueModel.getChild("values"), 
+     *     DoubleArrayValueModel.class);
+     * </code></pre>
+     * 
+     * @param <M> The model type
+     * @param valueModel The {@link ValueModel}
+     * @param arrayValueModelType The type of the {@link ArrayValueModel}
+     * @return The {@link ArrayValueModel}, or <code>null</code>
+     */
+    public static <M extends ArrayValueModel<?, ?>> M asArrayValueModel(
+        ValueModel<?> valueModel, Class<M> arrayValueModelType)
+    {
+        ValueModel<?> unwrapped = unwrap(valueModel);
+        if (arrayValueModelType.isInstance(unwrapped))
+        {
+            return arrayValueModelType.cast(unwrapped);
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the innermost internal {@link ValueModel} of the given 
+     * model, if it is a {@link DefaultStructuredValueModel}, a
+     * {@link DefaultStructuredArrayValueModel}, a
+     * {@link DefaultStructuredListValueModel} or a
+     * {@link DefaultStructuredMapValueModel}, or the given model 
+     * itself otherwise
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @return The unwrapped {@link ValueModel}
+     */
+    private static ValueModel<?> unwrap(ValueModel<?> valueModel)
+    {
+        ValueModel<?> result = valueModel;
+        while (true)
+        {
+            ValueModel<?> unwrapped = unwrapOnce(result);
+            if (unwrapped == result)
+            {
+                return result;
+            }
+            result = unwrapped;
+        }
+    }
+    
+    /**
+     * Returns the internal {@link ValueModel} of the given model, if it 
+     * is a {@link DefaultStructuredValueModel}, a
+     * {@link DefaultStructuredArrayValueModel}, a
+     * {@link DefaultStructuredListValueModel} or a
+     * {@link DefaultStructuredMapValueModel}, or the given model 
+     * itself otherwise
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @return The internal {@link ValueModel}
+     */
+    private static ValueModel<?> unwrapOnce(ValueModel<?> valueModel)
+    {
+        if (valueModel instanceof DefaultStructuredValueModel<?>)
+        {
+            DefaultStructuredValueModel<?> structuredValueModel = 
+                (DefaultStructuredValueModel<?>) valueModel;
+            return structuredValueModel.getInternalValueModel();
+        }
+        if (valueModel instanceof DefaultStructuredArrayValueModel<?, ?>)
+        {
+            DefaultStructuredArrayValueModel<?, ?> structuredValueModel = 
+                (DefaultStructuredArrayValueModel<?, ?>) valueModel;
+            return structuredValueModel.getInternalValueModel();
+        }
+        if (valueModel instanceof DefaultStructuredListValueModel<?>)
+        {
+            DefaultStructuredListValueModel<?> structuredValueModel = 
+                (DefaultStructuredListValueModel<?>) valueModel;
+            return structuredValueModel.getInternalValueModel();
+        }
+        if (valueModel instanceof DefaultStructuredMapValueModel<?, ?>)
+        {
+            DefaultStructuredMapValueModel<?, ?> structuredValueModel = 
+                (DefaultStructuredMapValueModel<?, ?>) valueModel;
+            return structuredValueModel.getInternalValueModel();
+        }
         return valueModel;
     }
 
@@ -82,9 +621,7 @@ public class ValueModels
     public static <T> StructuredValueModel<T> createStructured(
         Class<T> valueType)
     {
-        ValueModel<T> internalValueModel = ValueModels.create(valueType);
-        return new DefaultStructuredValueModel<T>(null, "", internalValueModel,
-            PropertyExtractors.createDefault());
+        return createStructured(valueType, false);
     }
     
     
@@ -99,13 +636,34 @@ public class ValueModels
      */
     public static <T> StructuredValueModel<T> createStructured(
         Class<T> valueType, boolean allProperties)
+    {
+        return createStructured(valueType, allProperties, DEFAULT_MAX_DEPTH);
+    }
+    
+    /**
+     * Create a new {@link StructuredValueModel} from the given class.<br>
+     * <br>
+     * Models in the resulting tree that have a depth that is larger than 
+     * the given maximum depth, or whose value type already appeared along 
+     * the path from the root, will be placeholders that are 
+     * {@link StructuredValueModel#isExpandable() expandable}.
+     * 
+     * @param <T> The value type
+     * @param valueType The value type
+     * @param allProperties Whether all properties should be considered
+     * (including non-public fields)
+     * @param maxDepth The maximum depth
+     * @return The {@link StructuredValueModel}
+     */
+    public static <T> StructuredValueModel<T> createStructured(
+        Class<T> valueType, boolean allProperties, int maxDepth)
     {
         ValueModel<T> internalValueModel = ValueModels.create(valueType);
         PropertyExtractor propertyExtractor = allProperties ?
             PropertyExtractors.createForAllProperties() :
             PropertyExtractors.createDefault();
         return new DefaultStructuredValueModel<T>(null, "", internalValueModel,
-            propertyExtractor);
+            propertyExtractor, maxDepth);
     }
     
     
@@ -121,7 +679,7 @@ public class ValueModels
     public static <T> ValueModel<T> create(
         Class<T> valueType, T initialValue)
     {
-        ValueModel<T> valueModel = new DefaultValueModel<T>(valueType);
+        ValueModel<T> valueModel = createDefault(valueType);
         valueModel.setValue(initialValue);
         return valueModel;
     }
@@ -26,6 +26,15 @@
  */
 package de.javagl.autogui.model;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import de.javagl.autogui.model.properties.DoublePropertyAccessor;
+import de.javagl.autogui.model.properties.IntPropertyAccessor;
+import de.javagl.autogui.model.properties.PropertyAccessor;
 import de.javagl.autogui.model.properties.PropertyExtractor;
 
 /**
@@ -34,6 +43,149 @@ import de.javagl.autogui.model.properties.PropertyExtractor;
  */
 public class ValueModelsInternal
 {
+    /**
+     * Whether the models and views that are created by the current 
+     * thread should use the weak listener mode. This is only set 
+     * during {@link #callInWeakListenerMode(boolean, Supplier)}.
+     */
+    private static final ThreadLocal<Boolean> WEAK_LISTENER_MODE = 
+        new ThreadLocal<Boolean>();
+    
+    /**
+     * Call the given supplier and return its result. If the given flag
+     * is <code>true</code>, then the models and views that are created
+     * by the current thread during this call will use the <i>weak 
+     * listener mode</i>: They will only keep weak references to the 
+     * listeners that they attach to beans and to the models that they
+     * observe, so that discarded views may be garbage collected even if
+     * the bean or model that they show is still reachable. Models that 
+     * are created later, for a parent model that uses the weak listener
+     * mode, will use it as well.<br>
+     * <br>
+     * Clients configure this with the <code>weakListeners</code> 
+     * method of the view builder.
+     * 
+     * @param <R> The result type
+     * @param weakListenerMode Whether the weak listener mode should
+     * be used
+     * @param supplier The supplier
+     * @return The result of the supplier
+     */
+    public static <R> R callInWeakListenerMode(
+        boolean weakListenerMode, Supplier<? extends R> supplier)
+    {
+        Boolean previous = WEAK_LISTENER_MODE.get();
+        WEAK_LISTENER_MODE.set(weakListenerMode);
+        try
+        {
+            return supplier.get();
+        }
+        finally
+        {
+            if (previous == null)
+            {
+                WEAK_LISTENER_MODE.remove();
+            }
+            else
+            {
+                WEAK_LISTENER_MODE.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * Returns whether the given type is a leaf type, for which a 
+     * {@link StructuredValueModel} does not have children. These are 
+     * the primitive types, their wrapper types, <code>String</code> 
+     * and enum types. Views use this to decide whether a value is 
+     * shown as a single value or as a structure.
+     * 
+     * @param type The type
+     * @return Whether the type is a leaf type
+     */
+    public static boolean isLeafType(Class<?> type)
+    {
+        return type.isPrimitive() 
+            || type.isEnum()
+            || type == String.class
+            || type == Boolean.class
+            || type == Character.class
+            || type == Byte.class
+            || type == Short.class
+            || type == Integer.class
+            || type == Long.class
+            || type == Float.class
+            || type == Double.class;
+    }
+    
+    /**
+     * Returns whether the given value is known to be immutable. This is 
+     * the case for <code>null</code>, enum constants, and values whose 
+     * type is a {@link #isLeafType(Class) leaf type}, meaning that they
+     * are <code>String</code>s or wrappers of primitive values. Results
+     * that have been computed from such values may be cached, as long as
+     * the results are immutable as well.
+     * 
+     * @param value The value
+     * @return Whether the value is immutable
+     */
+    public static boolean isImmutable(Object value)
+    {
+        return value == null
+            || value instanceof Enum<?>
+            || isLeafType(value.getClass());
+    }
+    
+    /**
+     * Returns whether the models and views that are currently created 
+     * by the current thread should use the weak listener mode. See
+     * {@link #callInWeakListenerMode(boolean, Supplier)}.
+     * 
+     * @return Whether the weak listener mode is used
+     */
+    public static boolean isWeakListenerMode()
+    {
+        return Boolean.TRUE.equals(WEAK_LISTENER_MODE.get());
+    }
+    
+    /**
+     * Returns whether a model that is created for the given parent 
+     * should use the weak listener mode. This is the case when the
+     * current thread {@link #isWeakListenerMode() uses the weak
+     * listener mode}, or when the given parent uses it.
+     * 
+     * @param parent The parent. May be <code>null</code>.
+     * @return Whether the weak listener mode should be used
+     */
+    static boolean isWeakListenerMode(ValueModel<?> parent)
+    {
+        if (isWeakListenerMode())
+        {
+            return true;
+        }
+        if (parent instanceof DefaultStructuredValueModel<?>)
+        {
+            return ((DefaultStructuredValueModel<?>) parent)
+                .isWeakListenerMode();
+        }
+        if (parent instanceof DefaultStructuredArrayValueModel<?, ?>)
+        {
+            return ((DefaultStructuredArrayValueModel<?, ?>) parent)
+                .isWeakListenerMode();
+        }
+        if (parent instanceof DefaultStructuredListValueModel<?>)
+        {
+            return ((DefaultStructuredListValueModel<?>) parent)
+                .isWeakListenerMode();
+        }
+        if (parent instanceof DefaultStructuredMapValueModel<?, ?>)
+        {
+            return ((DefaultStructuredMapValueModel<?, ?>) parent)
+                .isWeakListenerMode();
+        }
+        return false;
+    }
+    
     /**
      * Create a new {@link StructuredValueModel} from the given parameters
      * 
@@ -49,12 +201,82 @@ public class ValueModelsInternal
         ValueModel<T> internalValueModel, PropertyExtractor propertyExtractor)
     {
         return new DefaultStructuredValueModel<T>(
-            parent, name, internalValueModel, propertyExtractor);
+            parent, name, internalValueModel, propertyExtractor,
+            getMaxDepth(parent));
+    }
+    
+    /**
+     * Returns the maximum depth of the model tree that the given parent
+     * belongs to. If the parent is <code>null</code> or does not
+     * provide this information, then {@link ValueModels#DEFAULT_MAX_DEPTH}
+     * is returned.
+     * 
+     * @param parent The parent
+     * @return The maximum depth
+     */
+    private static int getMaxDepth(StructuredValueModel<?> parent)
+    {
+        if (parent instanceof DefaultStructuredValueModel<?>)
+        {
+            return ((DefaultStructuredValueModel<?>) parent).getMaxDepth();
+        }
+        if (parent instanceof DefaultStructuredArrayValueModel<?, ?>)
+        {
+            return ((DefaultStructuredArrayValueModel<?, ?>) parent)
+                .getMaxDepth();
+        }
+        if (parent instanceof DefaultStructuredListValueModel<?>)
+        {
+            return ((DefaultStructuredListValueModel<?>) parent)
+                .getMaxDepth();
+        }
+        if (parent instanceof DefaultStructuredMapValueModel<?, ?>)
+        {
+            return ((DefaultStructuredMapValueModel<?, ?>) parent)
+                .getMaxDepth();
+        }
+        return ValueModels.DEFAULT_MAX_DEPTH;
+    }
+    
+    /**
+     * Creates a {@link PropertyValueModel} for the property that is 
+     * accessed with the given {@link PropertyAccessor}, in the bean that 
+     * is the value of the given owner. If the {@link PropertyAccessor} 
+     * is an {@link IntPropertyAccessor} or a {@link DoublePropertyAccessor},
+     * then the returned model will be an {@link IntValueModel} or a
+     * {@link DoubleValueModel}, respectively.
+     * 
+     * @param owner The owner
+     * @param propertyAccessor The {@link PropertyAccessor}
+     * @return The {@link PropertyValueModel}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static PropertyValueModel<Object> createPropertyValueModel(
+        ValueModel<?> owner, PropertyAccessor propertyAccessor)
+    {
+        if (propertyAccessor instanceof IntPropertyAccessor)
+        {
+            return (PropertyValueModel) new IntPropertyValueModel(
+                owner, (IntPropertyAccessor) propertyAccessor);
+        }
+        if (propertyAccessor instanceof DoublePropertyAccessor)
+        {
+            return (PropertyValueModel) new DoublePropertyValueModel(
+                owner, (DoublePropertyAccessor) propertyAccessor);
+        }
+        return new PropertyValueModel<Object>(owner, propertyAccessor);
     }
     
     /**
      * Creates an {@link ArrayValueModel} that is backed by the given
-     * {@link ValueModel}
+     * {@link ValueModel}. If the component type of the array is 
+     * <code>int</code>, <code>long</code>, <code>float</code>, 
+     * <code>double</code>, <code>byte</code> or <code>boolean</code>, 
+     * then the returned model will be an {@link IntArrayValueModel}, 
+     * {@link LongArrayValueModel}, {@link FloatArrayValueModel}, 
+     * {@link DoubleArrayValueModel}, {@link ByteArrayValueModel} or 
+     * {@link BooleanArrayValueModel}, respectively.
      * 
      * @param <A> The array type
      * @param <E> The element/component type
@@ -64,9 +286,42 @@ public class ValueModelsInternal
      * @throws IllegalArgumentException If the {@link ValueModel#getValueType()
      * value type of the value model} is not an array type
      */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     static <A, E> ArrayValueModel<A, E> createArrayValueModel(
         ValueModel<A> valueModel)
     {
+        Class<?> componentType = valueModel.getValueType().getComponentType();
+        ValueModel rawValueModel = valueModel;
+        if (componentType == int.class)
+        {
+            return (ArrayValueModel) 
+                new DefaultIntArrayValueModel(rawValueModel);
+        }
+        if (componentType == long.class)
+        {
+            return (ArrayValueModel) 
+                new DefaultLongArrayValueModel(rawValueModel);
+        }
+        if (componentType == float.class)
+        {
+            return (ArrayValueModel) 
+                new DefaultFloatArrayValueModel(rawValueModel);
+        }
+        if (componentType == double.class)
+        {
+            return (ArrayValueModel) 
+                new DefaultDoubleArrayValueModel(rawValueModel);
+        }
+        if (componentType == byte.class)
+        {
+            return (ArrayValueModel) 
+                new DefaultByteArrayValueModel(rawValueModel);
+        }
+        if (componentType == boolean.class)
+        {
+            return (ArrayValueModel) 
+                new DefaultBooleanArrayValueModel(rawValueModel);
+        }
         return new DefaultArrayValueModel<A, E>(valueModel);
     }
     
@@ -90,9 +345,95 @@ public class ValueModelsInternal
             PropertyExtractor propertyExtractor)
     {
         return new DefaultStructuredArrayValueModel<A, E>(
-            parent, name, arrayValueModel, propertyExtractor);
+            parent, name, arrayValueModel, propertyExtractor,
+            getMaxDepth(parent));
     }
 
+    /**
+     * Creates a {@link ListValueModel} that is backed by the given
+     * {@link ValueModel}. The {@link ListValueModel#getElementValueType()
+     * element type} will be derived from the given generic type. If the
+     * given type is not a parameterized type with a type argument that
+     * is a class, then the element type will be <code>Object.class</code>.
+     * 
+     * @param <E> The element type
+     * @param valueModel The {@link ValueModel} that provides the list
+     * @param genericType The generic type of the list
+     * @return The {@link ListValueModel}
+     * @throws NullPointerException If the valueModel is <code>null</code>
+     * @throws IllegalArgumentException If the {@link ValueModel#getValueType()
+     * value type of the value model} is not a <code>List</code> type
+     */
+    static <E> ListValueModel<E> createListValueModel(
+        ValueModel<List<E>> valueModel, Type genericType)
+    {
+        Class<?> elementValueType = getTypeArgument(genericType, 0, 1);
+        return new DefaultListValueModel<E>(valueModel, elementValueType);
+    }
+    
+    /**
+     * Creates a {@link MapValueModel} that is backed by the given
+     * {@link ValueModel}. The {@link MapValueModel#getKeyType() key type}
+     * and {@link MapValueModel#getElementValueType() value type} will be 
+     * derived from the given generic type. If the given type is not a 
+     * parameterized type with type arguments that are classes, then 
+     * these types will be <code>Object.class</code>.
+     * 
+     * @param <K> The key type
+     * @param <V> The value type
+     * @param valueModel The {@link ValueModel} that provides the map
+     * @param genericType The generic type of the map
+     * @return The {@link MapValueModel}
+     * @throws NullPointerException If the valueModel is <code>null</code>
+     * @throws IllegalArgumentException If the {@link ValueModel#getValueType()
+     * value type of the value model} is not a <code>Map</code> type
+     */
+    static <K, V> MapValueModel<K, V> createMapValueModel(
+        ValueModel<Map<K, V>> valueModel, Type genericType)
+    {
+        Class<?> keyType = getTypeArgument(genericType, 0, 2);
+        Class<?> elementValueType = getTypeArgument(genericType, 1, 2);
+        return new DefaultMapValueModel<K, V>(
+            valueModel, keyType, elementValueType);
+    }
+    
+    /**
+     * Returns the raw type of the type argument with the given index of 
+     * the given generic type. If the given type is not a parameterized 
+     * type with the given number of type arguments, or the type argument
+     * is not a class or a parameterized type, then 
+     * <code>Object.class</code> is returned.
+     * 
+     * @param genericType The generic type
+     * @param index The index of the type argument
+     * @param count The expected number of type arguments
+     * @return The type argument
+     */
+    private static Class<?> getTypeArgument(
+        Type genericType, int index, int count)
+    {
+        if (!(genericType instanceof ParameterizedType))
+        {
+            return Object.class;
+        }
+        ParameterizedType parameterizedType = (ParameterizedType) genericType;
+        Type[] typeArguments = parameterizedType.getActualTypeArguments();
+        if (typeArguments.length != count)
+        {
+            return Object.class;
+        }
+        Type typeArgument = typeArguments[index];
+        if (typeArgument instanceof ParameterizedType)
+        {
+            typeArgument = ((ParameterizedType) typeArgument).getRawType();
+        }
+        if (typeArgument instanceof Class<?>)
+        {
+            return (Class<?>) typeArgument;
+        }
+        return Object.class;
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
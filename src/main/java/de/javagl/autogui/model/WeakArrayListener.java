@@ -0,0 +1,159 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Package-private implementation of an {@link ArrayListener} that only 
+ * keeps a weak reference to a delegate listener. When the delegate 
+ * listener has been garbage collected, then this listener will remove
+ * itself from the {@link ArrayValueModel} the next time that it is notified.
+ * 
+ * @param <A> The array type
+ * @param <E> The element/component type
+ */
+final class WeakArrayListener<A, E> implements ArrayListener<A, E>
+{
+    /**
+     * The {@link ArrayValueModel} that this listener is attached to
+     */
+    private final ArrayValueModel<A, E> arrayValueModel;
+    
+    /**
+     * The reference to the delegate listener
+     */
+    private final WeakReference<ArrayListener<A, E>> reference;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param arrayValueModel The {@link ArrayValueModel} that this 
+     * listener will be attached to
+     * @param delegate The delegate listener
+     */
+    WeakArrayListener(ArrayValueModel<A, E> arrayValueModel, 
+        ArrayListener<A, E> delegate)
+    {
+        this.arrayValueModel = arrayValueModel;
+        this.reference = new WeakReference<ArrayListener<A, E>>(delegate);
+    }
+    
+    /**
+     * Returns the delegate listener. If the delegate listener has been
+     * garbage collected, then this listener is removed from the model,
+     * and <code>null</code> is returned.
+     * 
+     * @return The delegate listener
+     */
+    private ArrayListener<A, E> getDelegate()
+    {
+        ArrayListener<A, E> delegate = reference.get();
+        if (delegate == null)
+        {
+            arrayValueModel.removeArrayListener(this);
+        }
+        return delegate;
+    }
+    
+    @Override
+    public void arrayElementChanged(int index, E oldElement, E newElement)
+    {
+        ArrayListener<A, E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.arrayElementChanged(index, oldElement, newElement);
+        }
+    }
+    
+    @Override
+    public void arrayRangeChanged(
+        int fromIndex, int toIndex, A oldElements, A array)
+    {
+        ArrayListener<A, E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.arrayRangeChanged(
+                fromIndex, toIndex, oldElements, array);
+        }
+    }
+    
+    @Override
+    public void arrayLengthChanged(int oldLength, int newLength)
+    {
+        ArrayListener<A, E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.arrayLengthChanged(oldLength, newLength);
+        }
+    }
+    
+    @Override
+    public void arrayElementsInserted(
+        int fromIndex, int toIndex, A oldArray, A newArray)
+    {
+        ArrayListener<A, E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.arrayElementsInserted(
+                fromIndex, toIndex, oldArray, newArray);
+        }
+    }
+    
+    @Override
+    public void arrayElementsRemoved(
+        int fromIndex, int toIndex, A oldArray, A newArray)
+    {
+        ArrayListener<A, E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.arrayElementsRemoved(
+                fromIndex, toIndex, oldArray, newArray);
+        }
+    }
+    
+    @Override
+    public void arrayElementMoved(
+        int fromIndex, int toIndex, A array)
+    {
+        ArrayListener<A, E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.arrayElementMoved(fromIndex, toIndex, array);
+        }
+    }
+    
+    @Override
+    public void arrayReplaced(A oldArray, A newArray)
+    {
+        ArrayListener<A, E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.arrayReplaced(oldArray, newArray);
+        }
+    }
+}
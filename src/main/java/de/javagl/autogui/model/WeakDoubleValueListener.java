@@ -0,0 +1,75 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Package-private implementation of an {@link DoubleValueListener} that 
+ * only keeps a weak reference to a delegate listener. When the delegate 
+ * listener has been garbage collected, then this listener will remove
+ * itself from the {@link DoubleValueModel} the next time that it is 
+ * notified.
+ */
+final class WeakDoubleValueListener implements DoubleValueListener
+{
+    /**
+     * The {@link DoubleValueModel} that this listener is attached to
+     */
+    private final DoubleValueModel doubleValueModel;
+    
+    /**
+     * The reference to the delegate listener
+     */
+    private final WeakReference<DoubleValueListener> reference;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param doubleValueModel The {@link DoubleValueModel} that this 
+     * listener will be attached to
+     * @param delegate The delegate listener
+     */
+    WeakDoubleValueListener(DoubleValueModel doubleValueModel, 
+        DoubleValueListener delegate)
+    {
+        this.doubleValueModel = doubleValueModel;
+        this.reference = new WeakReference<DoubleValueListener>(delegate);
+    }
+    
+    @Override
+    public void valueChanged(double oldValue, double newValue)
+    {
+        DoubleValueListener delegate = reference.get();
+        if (delegate == null)
+        {
+            doubleValueModel.removeDoubleValueListener(this);
+            return;
+        }
+        delegate.valueChanged(oldValue, newValue);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+/**
+ * Package-private implementation of a {@link ListListener} that only 
+ * keeps a weak reference to a delegate listener. When the delegate 
+ * listener has been garbage collected, then this listener will remove
+ * itself from the {@link ListValueModel} the next time that it is notified.
+ * 
+ * @param <E> The element type
+ */
+final class WeakListListener<E> implements ListListener<E>
+{
+    /**
+     * The {@link ListValueModel} that this listener is attached to
+     */
+    private final ListValueModel<E> listValueModel;
+    
+    /**
+     * The reference to the delegate listener
+     */
+    private final WeakReference<ListListener<E>> reference;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param listValueModel The {@link ListValueModel} that this 
+     * listener will be attached to
+     * @param delegate The delegate listener
+     */
+    WeakListListener(ListValueModel<E> listValueModel, 
+        ListListener<E> delegate)
+    {
+        this.listValueModel = listValueModel;
+        this.reference = new WeakReference<ListListener<E>>(delegate);
+    }
+    
+    /**
+     * Returns the delegate listener. If the delegate listener has been
+     * garbage collected, then this listener is removed from the model,
+     * and <code>null</code> is returned.
+     * 
+     * @return The delegate listener
+     */
+    private ListListener<E> getDelegate()
+    {
+        ListListener<E> delegate = reference.get();
+        if (delegate == null)
+        {
+            listValueModel.removeListListener(this);
+        }
+        return delegate;
+    }
+    
+    @Override
+    public void listElementChanged(int index, E oldElement, E newElement)
+    {
+        ListListener<E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.listElementChanged(index, oldElement, newElement);
+        }
+    }
+    
+    @Override
+    public void listElementsInserted(int fromIndex, int toIndex)
+    {
+        ListListener<E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.listElementsInserted(fromIndex, toIndex);
+        }
+    }
+    
+    @Override
+    public void listElementsRemoved(int fromIndex, int toIndex)
+    {
+        ListListener<E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.listElementsRemoved(fromIndex, toIndex);
+        }
+    }
+    
+    @Override
+    public void listReplaced(List<E> oldList, List<E> newList)
+    {
+        ListListener<E> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.listReplaced(oldList, newList);
+        }
+    }
+}
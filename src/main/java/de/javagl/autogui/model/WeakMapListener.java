@@ -0,0 +1,123 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
+/**
+ * Package-private implementation of a {@link MapListener} that only 
+ * keeps a weak reference to a delegate listener. When the delegate 
+ * listener has been garbage collected, then this listener will remove
+ * itself from the {@link MapValueModel} the next time that it is notified.
+ * 
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+final class WeakMapListener<K, V> implements MapListener<K, V>
+{
+    /**
+     * The {@link MapValueModel} that this listener is attached to
+     */
+    private final MapValueModel<K, V> mapValueModel;
+    
+    /**
+     * The reference to the delegate listener
+     */
+    private final WeakReference<MapListener<K, V>> reference;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param mapValueModel The {@link MapValueModel} that this 
+     * listener will be attached to
+     * @param delegate The delegate listener
+     */
+    WeakMapListener(MapValueModel<K, V> mapValueModel, 
+        MapListener<K, V> delegate)
+    {
+        this.mapValueModel = mapValueModel;
+        this.reference = new WeakReference<MapListener<K, V>>(delegate);
+    }
+    
+    /**
+     * Returns the delegate listener. If the delegate listener has been
+     * garbage collected, then this listener is removed from the model,
+     * and <code>null</code> is returned.
+     * 
+     * @return The delegate listener
+     */
+    private MapListener<K, V> getDelegate()
+    {
+        MapListener<K, V> delegate = reference.get();
+        if (delegate == null)
+        {
+            mapValueModel.removeMapListener(this);
+        }
+        return delegate;
+    }
+    
+    @Override
+    public void mapElementReplaced(K key, V oldValue, V newValue)
+    {
+        MapListener<K, V> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.mapElementReplaced(key, oldValue, newValue);
+        }
+    }
+    
+    @Override
+    public void mapElementPut(K key, V value)
+    {
+        MapListener<K, V> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.mapElementPut(key, value);
+        }
+    }
+    
+    @Override
+    public void mapElementRemoved(K key, V value)
+    {
+        MapListener<K, V> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.mapElementRemoved(key, value);
+        }
+    }
+    
+    @Override
+    public void mapReplaced(Map<K, V> oldMap, Map<K, V> newMap)
+    {
+        MapListener<K, V> delegate = getDelegate();
+        if (delegate != null)
+        {
+            delegate.mapReplaced(oldMap, newMap);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+
+import de.javagl.common.beans.PropertyChangeUtils;
+
+/**
+ * Package-private implementation of a named PropertyChangeListener 
+ * that only keeps a weak reference to a delegate listener. When the 
+ * delegate listener has been garbage collected, then this listener will
+ * remove itself from the source of the next event that it receives.
+ */
+final class WeakPropertyChangeListener implements PropertyChangeListener
+{
+    /**
+     * The name of the property that this listener is attached for
+     */
+    private final String name;
+    
+    /**
+     * The reference to the delegate listener
+     */
+    private final WeakReference<PropertyChangeListener> reference;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param name The name of the property that this listener will be
+     * attached for
+     * @param delegate The delegate listener
+     */
+    WeakPropertyChangeListener(String name, PropertyChangeListener delegate)
+    {
+        this.name = name;
+        this.reference = new WeakReference<PropertyChangeListener>(delegate);
+    }
+    
+    @Override
+    public void propertyChange(PropertyChangeEvent event)
+    {
+        PropertyChangeListener delegate = reference.get();
+        if (delegate == null)
+        {
+            PropertyChangeUtils.tryRemoveNamedPropertyChangeListenerUnchecked(
+                event.getSource(), name, this);
+            return;
+        }
+        delegate.propertyChange(event);
+    }
+}
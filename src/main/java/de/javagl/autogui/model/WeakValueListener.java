@@ -0,0 +1,123 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Package-private implementation of a {@link ValueListener} that only 
+ * keeps a weak reference to a delegate listener. When the delegate 
+ * listener has been garbage collected, then this listener will remove
+ * itself from the {@link ValueModel} the next time that it is notified.
+ * <br>
+ * <br>
+ * Instances are created with {@link #create(ValueModel, ValueListener)},
+ * which returns an {@link ImmediateValueListener} if the delegate is
+ * an {@link ImmediateValueListener}.
+ * 
+ * @param <T> The type of the value
+ */
+class WeakValueListener<T> implements ValueListener<T>
+{
+    /**
+     * A {@link WeakValueListener} for an {@link ImmediateValueListener}
+     * 
+     * @param <T> The type of the value
+     */
+    private static final class Immediate<T> extends WeakValueListener<T>
+        implements ImmediateValueListener<T>
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param valueModel The {@link ValueModel} that this listener will
+         * be attached to
+         * @param delegate The delegate listener
+         */
+        Immediate(ValueModel<T> valueModel, ValueListener<T> delegate)
+        {
+            super(valueModel, delegate);
+        }
+    }
+    
+    /**
+     * Create a new {@link WeakValueListener} for the given delegate. If
+     * the delegate is an {@link ImmediateValueListener}, then the 
+     * returned listener will also be an {@link ImmediateValueListener}.
+     * 
+     * @param <T> The type of the value
+     * @param valueModel The {@link ValueModel} that the listener will
+     * be attached to
+     * @param delegate The delegate listener
+     * @return The {@link WeakValueListener}
+     */
+    static <T> WeakValueListener<T> create(
+        ValueModel<T> valueModel, ValueListener<T> delegate)
+    {
+        if (delegate instanceof ImmediateValueListener<?>)
+        {
+            return new Immediate<T>(valueModel, delegate);
+        }
+        return new WeakValueListener<T>(valueModel, delegate);
+    }
+    
+    /**
+     * The {@link ValueModel} that this listener is attached to
+     */
+    private final ValueModel<T> valueModel;
+    
+    /**
+     * The reference to the delegate listener
+     */
+    private final WeakReference<ValueListener<T>> reference;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param valueModel The {@link ValueModel} that this listener will
+     * be attached to
+     * @param delegate The delegate listener
+     */
+    private WeakValueListener(
+        ValueModel<T> valueModel, ValueListener<T> delegate)
+    {
+        this.valueModel = valueModel;
+        this.reference = new WeakReference<ValueListener<T>>(delegate);
+    }
+    
+    @Override
+    public void valueChanged(T oldValue, T newValue)
+    {
+        ValueListener<T> delegate = reference.get();
+        if (delegate == null)
+        {
+            valueModel.removeValueListener(this);
+            return;
+        }
+        delegate.valueChanged(oldValue, newValue);
+    }
+}
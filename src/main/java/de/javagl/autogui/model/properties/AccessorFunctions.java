@@ -0,0 +1,654 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model.properties;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.javagl.reflection.Fields;
+import de.javagl.reflection.Methods;
+
+/**
+ * Methods to create {@link PropertyAccessor} instances and their read- 
+ * and write functions.<br>
+ * <br>
+ * Where possible, the functions are based on <code>MethodHandle</code>
+ * instances that are adapted to the required signature once, so that
+ * each invocation does not have to go through the reflective
+ * <code>Method#invoke</code> or <code>Field#get</code> path. When access
+ * to a member is denied, then the functions will fall back to reflection.
+ * <br>
+ * <br>
+ * For properties of type <code>int</code> or <code>double</code>, the
+ * {@link PropertyAccessor} will be an {@link IntPropertyAccessor} or 
+ * {@link DoublePropertyAccessor}, respectively, if the method handles 
+ * could be created.
+ */
+class AccessorFunctions
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(AccessorFunctions.class.getName());
+    
+    /**
+     * The lookup that is used for creating the method handles
+     */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    
+    /**
+     * The generic type of a read method handle
+     */
+    private static final MethodType READ_TYPE = 
+        MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * The generic type of a write method handle
+     */
+    private static final MethodType WRITE_TYPE = 
+        MethodType.methodType(void.class, Object.class, Object.class);
+    
+    /**
+     * The type of a read method handle for an <code>int</code> property
+     */
+    private static final MethodType INT_READ_TYPE = 
+        MethodType.methodType(int.class, Object.class);
+
+    /**
+     * The type of a write method handle for an <code>int</code> property
+     */
+    private static final MethodType INT_WRITE_TYPE = 
+        MethodType.methodType(void.class, Object.class, int.class);
+    
+    /**
+     * The type of a read method handle for a <code>double</code> property
+     */
+    private static final MethodType DOUBLE_READ_TYPE = 
+        MethodType.methodType(double.class, Object.class);
+    
+    /**
+     * The type of a write method handle for a <code>double</code> property
+     */
+    private static final MethodType DOUBLE_WRITE_TYPE = 
+        MethodType.methodType(void.class, Object.class, double.class);
+    
+    /**
+     * Create a {@link PropertyAccessor} for the Java Bean property with
+     * the given name, type, and read- and write methods.
+     * 
+     * @param name The property name
+     * @param type The property type
+     * @param readMethod The read method
+     * @param writeMethod The write method
+     * @return The {@link PropertyAccessor}
+     */
+    static PropertyAccessor createForMethods(String name, Class<?> type, 
+        Method readMethod, Method writeMethod)
+    {
+        MethodHandle readHandle = unreflect(readMethod);
+        MethodHandle writeHandle = unreflect(writeMethod);
+        Function<Object, Object> read = null;
+        if (readHandle == null)
+        {
+            read = bean -> Methods.invokeOptional(readMethod, bean);
+        }
+        else
+        {
+            read = createReadFunction(readHandle, readMethod);
+        }
+        BiConsumer<Object, Object> write = null;
+        if (writeHandle == null)
+        {
+            write = (bean, value) -> 
+                Methods.invokeOptional(writeMethod, bean, value);
+        }
+        else
+        {
+            write = createWriteConsumer(writeHandle, writeMethod);
+        }
+        return create(name, type, readMethod.getGenericReturnType(), 
+            read, write, readHandle, readMethod, writeHandle, writeMethod);
+    }
+    
+    /**
+     * Create a {@link PropertyAccessor} for the given field. The field 
+     * will be made accessible once, when the accessor is created.
+     * 
+     * @param field The field
+     * @return The {@link PropertyAccessor}
+     */
+    static PropertyAccessor createForField(Field field)
+    {
+        MethodHandle readHandle = null;
+        MethodHandle writeHandle = null;
+        if (trySetAccessible(field))
+        {
+            readHandle = unreflectGetter(field);
+            writeHandle = unreflectSetter(field);
+        }
+        Function<Object, Object> read = null;
+        if (readHandle == null)
+        {
+            read = object -> Fields.getNonAccessibleOptional(field, object);
+        }
+        else
+        {
+            read = createReadFunction(readHandle, field);
+        }
+        BiConsumer<Object, Object> write = null;
+        if (writeHandle == null)
+        {
+            write = (object, value) -> 
+                Fields.setNonAccessibleOptional(field, object, value);
+        }
+        else
+        {
+            write = createWriteConsumer(writeHandle, field);
+        }
+        return create(field.getName(), field.getType(), 
+            field.getGenericType(), read, write, 
+            readHandle, field, writeHandle, field);
+    }
+    
+    /**
+     * Create the {@link PropertyAccessor} from the given parameters. If
+     * both method handles are not <code>null</code> and the type is
+     * <code>int</code> or <code>double</code>, then a primitive 
+     * {@link PropertyAccessor} will be returned.
+     * 
+     * @param name The property name
+     * @param type The property type
+     * @param genericType The generic property type
+     * @param read The read function
+     * @param write The write function
+     * @param readHandle The optional read method handle
+     * @param readMember The member that is read
+     * @param writeHandle The optional write method handle
+     * @param writeMember The member that is written
+     * @return The {@link PropertyAccessor}
+     */
+    private static PropertyAccessor create(String name, Class<?> type,
+        Type genericType, Function<Object, Object> read, 
+        BiConsumer<Object, Object> write,
+        MethodHandle readHandle, Object readMember, 
+        MethodHandle writeHandle, Object writeMember)
+    {
+        if (readHandle != null && writeHandle != null)
+        {
+            if (type == int.class)
+            {
+                return new DefaultIntPropertyAccessor(name, read, write, 
+                    createIntReadFunction(readHandle, readMember), 
+                    createIntWriteConsumer(writeHandle, writeMember));
+            }
+            if (type == double.class)
+            {
+                return new DefaultDoublePropertyAccessor(name, read, write, 
+                    createDoubleReadFunction(readHandle, readMember), 
+                    createDoubleWriteConsumer(writeHandle, writeMember));
+            }
+        }
+        return new DefaultPropertyAccessor(
+            name, type, genericType, read, write);
+    }
+    
+    /**
+     * Create a function that reads a value using the given method handle.
+     * If the invocation causes an exception, then a warning will be 
+     * printed and <code>null</code> will be returned.
+     * 
+     * @param methodHandle The method handle
+     * @param member The member, for error reporting
+     * @return The function
+     */
+    private static Function<Object, Object> createReadFunction(
+        MethodHandle methodHandle, Object member)
+    {
+        MethodHandle readHandle = methodHandle.asType(READ_TYPE);
+        return object -> 
+        {
+            try
+            {
+                return (Object) readHandle.invokeExact(object);
+            }
+            catch (Throwable t)
+            {
+                handle(member, t);
+                return null;
+            }
+        };
+    }
+    
+    /**
+     * Create a consumer that writes a value using the given method handle.
+     * If the invocation causes an exception, then a warning will be 
+     * printed.
+     * 
+     * @param methodHandle The method handle
+     * @param member The member, for error reporting
+     * @return The consumer
+     */
+    private static BiConsumer<Object, Object> createWriteConsumer(
+        MethodHandle methodHandle, Object member)
+    {
+        MethodHandle writeHandle = methodHandle.asType(WRITE_TYPE);
+        return (object, value) -> 
+        {
+            try
+            {
+                writeHandle.invokeExact(object, value);
+            }
+            catch (Throwable t)
+            {
+                handle(member, t);
+            }
+        };
+    }
+    
+    /**
+     * Create a function that reads an <code>int</code> value using the 
+     * given method handle. If the invocation causes an exception, then 
+     * a warning will be printed and <code>0</code> will be returned.
+     * 
+     * @param methodHandle The method handle
+     * @param member The member, for error reporting
+     * @return The function
+     */
+    private static ToIntFunction<Object> createIntReadFunction(
+        MethodHandle methodHandle, Object member)
+    {
+        MethodHandle readHandle = methodHandle.asType(INT_READ_TYPE);
+        return object -> 
+        {
+            try
+            {
+                return (int) readHandle.invokeExact(object);
+            }
+            catch (Throwable t)
+            {
+                handle(member, t);
+                return 0;
+            }
+        };
+    }
+    
+    /**
+     * Create a consumer that writes an <code>int</code> value using the 
+     * given method handle. If the invocation causes an exception, then 
+     * a warning will be printed.
+     * 
+     * @param methodHandle The method handle
+     * @param member The member, for error reporting
+     * @return The consumer
+     */
+    private static ObjIntConsumer<Object> createIntWriteConsumer(
+        MethodHandle methodHandle, Object member)
+    {
+        MethodHandle writeHandle = methodHandle.asType(INT_WRITE_TYPE);
+        return (object, value) -> 
+        {
+            try
+            {
+                writeHandle.invokeExact(object, value);
+            }
+            catch (Throwable t)
+            {
+                handle(member, t);
+            }
+        };
+    }
+    
+    /**
+     * Create a function that reads a <code>double</code> value using the 
+     * given method handle. If the invocation causes an exception, then 
+     * a warning will be printed and <code>0.0</code> will be returned.
+     * 
+     * @param methodHandle The method handle
+     * @param member The member, for error reporting
+     * @return The function
+     */
+    private static ToDoubleFunction<Object> createDoubleReadFunction(
+        MethodHandle methodHandle, Object member)
+    {
+        MethodHandle readHandle = methodHandle.asType(DOUBLE_READ_TYPE);
+        return object -> 
+        {
+            try
+            {
+                return (double) readHandle.invokeExact(object);
+            }
+            catch (Throwable t)
+            {
+                handle(member, t);
+                return 0.0;
+            }
+        };
+    }
+    
+    /**
+     * Create a consumer that writes a <code>double</code> value using the 
+     * given method handle. If the invocation causes an exception, then 
+     * a warning will be printed.
+     * 
+     * @param methodHandle The method handle
+     * @param member The member, for error reporting
+     * @return The consumer
+     */
+    private static ObjDoubleConsumer<Object> createDoubleWriteConsumer(
+        MethodHandle methodHandle, Object member)
+    {
+        MethodHandle writeHandle = methodHandle.asType(DOUBLE_WRITE_TYPE);
+        return (object, value) -> 
+        {
+            try
+            {
+                writeHandle.invokeExact(object, value);
+            }
+            catch (Throwable t)
+            {
+                handle(member, t);
+            }
+        };
+    }
+    
+    /**
+     * Create a function that reads a value using the given function.
+     * If the invocation causes an exception, then a warning will be 
+     * printed and <code>null</code> will be returned.
+     * 
+     * @param function The function
+     * @param member The member, for error reporting
+     * @return The function
+     */
+    static Function<Object, Object> createReadFunction(
+        Function<Object, Object> function, Object member)
+    {
+        return object -> 
+        {
+            try
+            {
+                return function.apply(object);
+            }
+            catch (RuntimeException e)
+            {
+                handle(member, e);
+                return null;
+            }
+        };
+    }
+    
+    /**
+     * Create a consumer that writes a value using the given consumer.
+     * If the invocation causes an exception, then a warning will be 
+     * printed. This includes the exception that is caused by writing
+     * a <code>null</code> value into a primitive property.
+     * 
+     * @param consumer The consumer
+     * @param member The member, for error reporting
+     * @return The consumer
+     */
+    static BiConsumer<Object, Object> createWriteConsumer(
+        BiConsumer<Object, Object> consumer, Object member)
+    {
+        return (object, value) -> 
+        {
+            try
+            {
+                consumer.accept(object, value);
+            }
+            catch (RuntimeException e)
+            {
+                handle(member, e);
+            }
+        };
+    }
+    
+    /**
+     * Create a function that reads an <code>int</code> value using the 
+     * given function. If the invocation causes an exception, then a 
+     * warning will be printed and <code>0</code> will be returned.
+     * 
+     * @param function The function
+     * @param member The member, for error reporting
+     * @return The function
+     */
+    static ToIntFunction<Object> createIntReadFunction(
+        ToIntFunction<Object> function, Object member)
+    {
+        return object -> 
+        {
+            try
+            {
+                return function.applyAsInt(object);
+            }
+            catch (RuntimeException e)
+            {
+                handle(member, e);
+                return 0;
+            }
+        };
+    }
+    
+    /**
+     * Create a consumer that writes an <code>int</code> value using the 
+     * given consumer. If the invocation causes an exception, then a 
+     * warning will be printed.
+     * 
+     * @param consumer The consumer
+     * @param member The member, for error reporting
+     * @return The consumer
+     */
+    static ObjIntConsumer<Object> createIntWriteConsumer(
+        ObjIntConsumer<Object> consumer, Object member)
+    {
+        return (object, value) -> 
+        {
+            try
+            {
+                consumer.accept(object, value);
+            }
+            catch (RuntimeException e)
+            {
+                handle(member, e);
+            }
+        };
+    }
+    
+    /**
+     * Create a function that reads a <code>double</code> value using the 
+     * given function. If the invocation causes an exception, then a 
+     * warning will be printed and <code>0.0</code> will be returned.
+     * 
+     * @param function The function
+     * @param member The member, for error reporting
+     * @return The function
+     */
+    static ToDoubleFunction<Object> createDoubleReadFunction(
+        ToDoubleFunction<Object> function, Object member)
+    {
+        return object -> 
+        {
+            try
+            {
+                return function.applyAsDouble(object);
+            }
+            catch (RuntimeException e)
+            {
+                handle(member, e);
+                return 0.0;
+            }
+        };
+    }
+    
+    /**
+     * Create a consumer that writes a <code>double</code> value using the 
+     * given consumer. If the invocation causes an exception, then a 
+     * warning will be printed.
+     * 
+     * @param consumer The consumer
+     * @param member The member, for error reporting
+     * @return The consumer
+     */
+    static ObjDoubleConsumer<Object> createDoubleWriteConsumer(
+        ObjDoubleConsumer<Object> consumer, Object member)
+    {
+        return (object, value) -> 
+        {
+            try
+            {
+                consumer.accept(object, value);
+            }
+            catch (RuntimeException e)
+            {
+                handle(member, e);
+            }
+        };
+    }
+    
+    /**
+     * Try to make the given field accessible, and return whether this
+     * succeeded
+     * 
+     * @param field The field
+     * @return Whether the field is now accessible
+     */
+    private static boolean trySetAccessible(Field field)
+    {
+        try
+        {
+            field.setAccessible(true);
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            logger.log(Level.FINE, "Could not make " + field 
+                + " accessible, falling back to reflection", e);
+            return false;
+        }
+    }
+    
+    /**
+     * Try to create a method handle for the given method. If access to 
+     * the method is denied, then <code>null</code> is returned.
+     * 
+     * @param method The method
+     * @return The method handle, or <code>null</code>
+     */
+    private static MethodHandle unreflect(Method method)
+    {
+        try
+        {
+            return LOOKUP.unreflect(method);
+        }
+        catch (IllegalAccessException e)
+        {
+            logger.log(Level.FINE, "Could not create method handle for " 
+                + method + ", falling back to reflection", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Try to create a getter method handle for the given field. If access 
+     * to the field is denied, then <code>null</code> is returned.
+     * 
+     * @param field The field
+     * @return The method handle, or <code>null</code>
+     */
+    private static MethodHandle unreflectGetter(Field field)
+    {
+        try
+        {
+            return LOOKUP.unreflectGetter(field);
+        }
+        catch (IllegalAccessException e)
+        {
+            logger.log(Level.FINE, "Could not create getter for " 
+                + field + ", falling back to reflection", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Try to create a setter method handle for the given field. If access 
+     * to the field is denied, then <code>null</code> is returned.
+     * 
+     * @param field The field
+     * @return The method handle, or <code>null</code>
+     */
+    private static MethodHandle unreflectSetter(Field field)
+    {
+        try
+        {
+            return LOOKUP.unreflectSetter(field);
+        }
+        catch (IllegalAccessException e)
+        {
+            logger.log(Level.FINE, "Could not create setter for " 
+                + field + ", falling back to reflection", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Handle the given throwable that was caused by invoking the given
+     * member. Errors will be re-thrown. Other throwables will cause a
+     * warning to be printed.
+     * 
+     * @param member The member
+     * @param t The throwable
+     */
+    private static void handle(Object member, Throwable t)
+    {
+        if (t instanceof Error)
+        {
+            throw (Error) t;
+        }
+        logger.log(Level.WARNING, "Could not access " + member, t);
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private AccessorFunctions()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
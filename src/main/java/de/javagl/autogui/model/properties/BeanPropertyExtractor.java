@@ -29,11 +29,8 @@ package de.javagl.autogui.model.properties;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
 
 import de.javagl.common.beans.BeanUtils;
-import de.javagl.reflection.Methods;
 
 /**
  * Implementation of a {@link PropertyExtractor} that extracts Java Bean
@@ -70,19 +67,9 @@ class BeanPropertyExtractor implements PropertyExtractor
                 continue;
             }
             
-            Function<Object, Object> readMethod = (bean) -> 
-            {
-                return Methods.invokeOptional(readMethodInternal, bean);
-            };
-            BiConsumer<Object, Object> writeMethod = (bean, propertyValue) -> 
-            {
-                Methods.invokeOptional(
-                    writeMethodInternal, bean, propertyValue);
-            };
-            
             PropertyAccessor propertyAccessor = 
-                new DefaultPropertyAccessor(
-                    propertyName, propertyType, readMethod, writeMethod);
+                AccessorFunctions.createForMethods(propertyName, 
+                    propertyType, readMethodInternal, writeMethodInternal);
             propertyAccessors.add(propertyAccessor);
         }
         return propertyAccessors;
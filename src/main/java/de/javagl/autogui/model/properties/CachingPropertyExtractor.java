@@ -0,0 +1,129 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model.properties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of a {@link PropertyExtractor} that caches the 
+ * {@link PropertyAccessor} lists that are returned by a delegate, 
+ * per class.<br>
+ * <br>
+ * The lists are stored in a <code>ClassValue</code>, so that they do not 
+ * prevent the classes from being unloaded. This class is thread-safe, 
+ * provided that the delegate may be called from multiple threads.<br>
+ * <br>
+ * This class should not be considered to be part of the public API!
+ */
+public final class CachingPropertyExtractor implements PropertyExtractor
+{
+    /**
+     * The delegate
+     */
+    private final PropertyExtractor delegate;
+    
+    /**
+     * The cache for the {@link PropertyAccessor} lists
+     */
+    private final ClassValue<List<PropertyAccessor>> cache;
+    
+    /**
+     * The total number of requests
+     */
+    private final AtomicLong requestCount;
+    
+    /**
+     * The number of requests that had to be passed to the delegate
+     */
+    private final AtomicLong missCount;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param delegate The delegate
+     * @throws NullPointerException If the delegate is <code>null</code>
+     */
+    CachingPropertyExtractor(PropertyExtractor delegate)
+    {
+        this.delegate = Objects.requireNonNull(delegate, 
+            "The delegate may not be null");
+        this.requestCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+        this.cache = new ClassValue<List<PropertyAccessor>>()
+        {
+            @Override
+            protected List<PropertyAccessor> computeValue(Class<?> type)
+            {
+                missCount.incrementAndGet();
+                List<PropertyAccessor> propertyAccessors = 
+                    delegate.getPropertyAccessors(type);
+                return Collections.unmodifiableList(
+                    new ArrayList<PropertyAccessor>(propertyAccessors));
+            }
+        };
+    }
+    
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors(Class<?> type)
+    {
+        requestCount.incrementAndGet();
+        return cache.get(type);
+    }
+    
+    /**
+     * Returns the number of requests that could be answered from the cache
+     * 
+     * @return The number of cache hits
+     */
+    public long getHitCount()
+    {
+        return Math.max(0, requestCount.get() - missCount.get());
+    }
+    
+    /**
+     * Returns the number of requests that had to be passed to the delegate
+     * 
+     * @return The number of cache misses
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "CachingPropertyExtractor[" 
+            + "delegate=" + delegate + ","
+            + "hits=" + getHitCount() + "," 
+            + "misses=" + getMissCount() + "]";
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model.properties;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Default implementation of a {@link DoublePropertyAccessor}
+ */
+final class DefaultDoublePropertyAccessor implements DoublePropertyAccessor
+{
+    /**
+     * The name of the property
+     */
+    private final String name;
+    
+    /**
+     * The read method for the property
+     */
+    private final Function<Object, Object> readMethod;
+    
+    /**
+     * The write method for the property
+     */
+    private final BiConsumer<Object, Object> writeMethod;
+    
+    /**
+     * The primitive read method for the property
+     */
+    private final ToDoubleFunction<Object> doubleReadMethod;
+    
+    /**
+     * The primitive write method for the property
+     */
+    private final ObjDoubleConsumer<Object> doubleWriteMethod;
+    
+    /**
+     * Default constructor
+     * 
+     * @param name The name 
+     * @param readMethod The read method 
+     * @param writeMethod The write method
+     * @param doubleReadMethod The primitive read method 
+     * @param doubleWriteMethod The primitive write method
+     */
+    DefaultDoublePropertyAccessor(String name, 
+        Function<Object, Object> readMethod,
+        BiConsumer<Object, Object> writeMethod,
+        ToDoubleFunction<Object> doubleReadMethod,
+        ObjDoubleConsumer<Object> doubleWriteMethod)
+    {
+        this.name = Objects.requireNonNull(name, "The name may not be null");
+        this.readMethod = Objects.requireNonNull(readMethod, 
+            "The readMethod may not be null");
+        this.writeMethod = Objects.requireNonNull(writeMethod, 
+            "The writeMethod may not be null");
+        this.doubleReadMethod = Objects.requireNonNull(doubleReadMethod, 
+            "The doubleReadMethod may not be null");
+        this.doubleWriteMethod = Objects.requireNonNull(doubleWriteMethod, 
+            "The doubleWriteMethod may not be null");
+    }
+    
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public Class<?> getType()
+    {
+        return double.class;
+    }
+
+    @Override
+    public Function<Object, Object> getReadMethod()
+    {
+        return readMethod;
+    }
+
+    @Override
+    public BiConsumer<Object, Object> getWriteMethod()
+    {
+        return writeMethod;
+    }
+    
+    @Override
+    public double getDouble(Object object)
+    {
+        return doubleReadMethod.applyAsDouble(object);
+    }
+    
+    @Override
+    public void setDouble(Object object, double value)
+    {
+        doubleWriteMethod.accept(object, value);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model.properties;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Default implementation of a <code>ParameterizedType</code>. Instances 
+ * are equal to the <code>ParameterizedType</code> instances that are 
+ * obtained via reflection, if they have the same raw type, owner type
+ * and type arguments.
+ */
+final class DefaultParameterizedType implements ParameterizedType
+{
+    /**
+     * The raw type
+     */
+    private final Class<?> rawType;
+    
+    /**
+     * The actual type arguments
+     */
+    private final Type[] actualTypeArguments;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param rawType The raw type
+     * @param actualTypeArguments The actual type arguments
+     * @throws NullPointerException If any argument is <code>null</code>
+     * @throws IllegalArgumentException If the number of type arguments 
+     * does not match the number of type parameters of the raw type
+     */
+    DefaultParameterizedType(Class<?> rawType, Type ... actualTypeArguments)
+    {
+        this.rawType = Objects.requireNonNull(rawType, 
+            "The rawType may not be null");
+        Objects.requireNonNull(actualTypeArguments, 
+            "The actualTypeArguments may not be null");
+        if (actualTypeArguments.length != rawType.getTypeParameters().length)
+        {
+            throw new IllegalArgumentException("The type " + rawType 
+                + " has " + rawType.getTypeParameters().length 
+                + " type parameters, but " + actualTypeArguments.length 
+                + " type arguments have been given");
+        }
+        this.actualTypeArguments = actualTypeArguments.clone();
+        for (Type actualTypeArgument : this.actualTypeArguments)
+        {
+            Objects.requireNonNull(actualTypeArgument, 
+                "The actualTypeArguments may not contain null");
+        }
+    }
+
+    @Override
+    public Type[] getActualTypeArguments()
+    {
+        return actualTypeArguments.clone();
+    }
+
+    @Override
+    public Type getRawType()
+    {
+        return rawType;
+    }
+
+    @Override
+    public Type getOwnerType()
+    {
+        return rawType.getDeclaringClass();
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(actualTypeArguments) ^ 
+            Objects.hashCode(getOwnerType()) ^ rawType.hashCode();
+    }
+    
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof ParameterizedType))
+        {
+            return false;
+        }
+        ParameterizedType other = (ParameterizedType) object;
+        return rawType.equals(other.getRawType()) &&
+            Objects.equals(getOwnerType(), other.getOwnerType()) &&
+            Arrays.equals(actualTypeArguments, 
+                other.getActualTypeArguments());
+    }
+    
+    @Override
+    public String toString()
+    {
+        StringJoiner joiner = new StringJoiner(", ", "<", ">");
+        for (Type actualTypeArgument : actualTypeArguments)
+        {
+            joiner.add(actualTypeArgument.getTypeName());
+        }
+        return rawType.getName() + joiner;
+    }
+}
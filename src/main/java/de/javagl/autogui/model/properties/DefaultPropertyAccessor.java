@@ -26,6 +26,7 @@
  */
 package de.javagl.autogui.model.properties;
 
+import java.lang.reflect.Type;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -45,6 +46,11 @@ final class DefaultPropertyAccessor implements PropertyAccessor
      */
     private final Class<?> type;
     
+    /**
+     * The generic type of the property
+     */
+    private final Type genericType;
+    
     /**
      * The read method for the property
      */
@@ -67,9 +73,28 @@ final class DefaultPropertyAccessor implements PropertyAccessor
         String name, Class<?> type, 
         Function<Object, Object> readMethod,
         BiConsumer<Object, Object> writeMethod)
+    {
+        this(name, type, type, readMethod, writeMethod);
+    }
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param name The name 
+     * @param type The type
+     * @param genericType The generic type
+     * @param readMethod The read method 
+     * @param writeMethod The write method
+     */
+    DefaultPropertyAccessor(
+        String name, Class<?> type, Type genericType,
+        Function<Object, Object> readMethod,
+        BiConsumer<Object, Object> writeMethod)
     {
         this.name = Objects.requireNonNull(name, "The name may not be null");
         this.type = Objects.requireNonNull(type, "The type may not be null");
+        this.genericType = Objects.requireNonNull(genericType, 
+            "The genericType may not be null");
         this.readMethod = Objects.requireNonNull(readMethod, 
             "The readMethod may not be null");
         this.writeMethod = Objects.requireNonNull(writeMethod, 
@@ -87,6 +112,12 @@ final class DefaultPropertyAccessor implements PropertyAccessor
     {
         return type;
     }
+    
+    @Override
+    public Type getGenericType()
+    {
+        return genericType;
+    }
 
     @Override
     public Function<Object, Object> getReadMethod()
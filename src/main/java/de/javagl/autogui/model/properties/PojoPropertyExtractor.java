@@ -32,8 +32,6 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
 import java.util.function.Predicate;
 
 import de.javagl.reflection.Fields;
@@ -125,21 +123,8 @@ final class PojoPropertyExtractor implements PropertyExtractor
             f -> f.getDeclaringClass().equals(type));
         for (Field field : allOwnInstanceFields)
         {
-            String propertyName= field.getName();
-            Class<?> propertyType = field.getType();
-            
-            Function<Object, Object> readMethod = (bean) -> 
-            {
-                return Fields.getNonAccessibleOptional(field, bean);
-            };
-            BiConsumer<Object, Object> writeMethod = (bean, propertyValue) -> 
-            {
-                Fields.setNonAccessibleOptional(field, bean, propertyValue);
-            };
-            
             PropertyAccessor propertyAccessor = 
-                new DefaultPropertyAccessor(
-                    propertyName, propertyType, readMethod, writeMethod);
+                AccessorFunctions.createForField(field);
             propertyAccessors.add(propertyAccessor);
         }
         return propertyAccessors;
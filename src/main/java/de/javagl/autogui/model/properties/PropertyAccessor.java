@@ -26,6 +26,7 @@
  */
 package de.javagl.autogui.model.properties;
 
+import java.lang.reflect.Type;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -51,6 +52,20 @@ public interface PropertyAccessor
      */
     Class<?> getType();
     
+    /**
+     * Returns the generic type of the property. This may, for example, be 
+     * a <code>ParameterizedType</code> for properties of a type like 
+     * <code>List&lt;String&gt;</code>.<br>
+     * <br>
+     * The default implementation returns the {@link #getType() type}.
+     * 
+     * @return The generic type
+     */
+    default Type getGenericType()
+    {
+        return getType();
+    }
+    
     /**
      * Returns the read method. This method may be used to extract the
      * value of this property for a given object.
@@ -0,0 +1,185 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model.properties;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Methods to create {@link PropertyAccessor} instances. These are mainly
+ * intended for the {@link GeneratedPropertyExtractor} implementations.<br>
+ * <br>
+ * Exceptions that are thrown by the given read- and write methods are 
+ * handled like in the accessors that are created via reflection: A 
+ * warning is printed, and the read methods return the default value
+ * of the type. This includes the exception that is caused by writing
+ * a <code>null</code> value into a primitive property.<br>
+ * <br>
+ * This class should not be considered to be part of the public API!
+ */
+public class PropertyAccessors
+{
+    /**
+     * Create a new {@link PropertyAccessor} from the given parameters
+     * 
+     * @param name The name of the property
+     * @param type The type of the property
+     * @param readMethod The read method
+     * @param writeMethod The write method
+     * @return The {@link PropertyAccessor}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static PropertyAccessor create(String name, Class<?> type,
+        Function<Object, Object> readMethod, 
+        BiConsumer<Object, Object> writeMethod)
+    {
+        return create(name, type, type, readMethod, writeMethod);
+    }
+    
+    /**
+     * Create a new {@link PropertyAccessor} from the given parameters
+     * 
+     * @param name The name of the property
+     * @param type The type of the property
+     * @param genericType The generic type of the property
+     * @param readMethod The read method
+     * @param writeMethod The write method
+     * @return The {@link PropertyAccessor}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static PropertyAccessor create(String name, Class<?> type,
+        Type genericType, Function<Object, Object> readMethod, 
+        BiConsumer<Object, Object> writeMethod)
+    {
+        Objects.requireNonNull(readMethod, "The readMethod may not be null");
+        Objects.requireNonNull(writeMethod, "The writeMethod may not be null");
+        Object member = describe(name);
+        return new DefaultPropertyAccessor(name, type, genericType, 
+            AccessorFunctions.createReadFunction(readMethod, member), 
+            AccessorFunctions.createWriteConsumer(writeMethod, member));
+    }
+    
+    /**
+     * Create a <code>ParameterizedType</code> with the given raw type
+     * and type arguments. The result will be equal to a 
+     * <code>ParameterizedType</code> that is obtained via reflection
+     * for the same type.
+     * 
+     * @param rawType The raw type
+     * @param actualTypeArguments The actual type arguments
+     * @return The <code>ParameterizedType</code>
+     * @throws NullPointerException If any argument is <code>null</code>
+     * @throws IllegalArgumentException If the number of type arguments 
+     * does not match the number of type parameters of the raw type
+     */
+    public static ParameterizedType createParameterizedType(
+        Class<?> rawType, Type ... actualTypeArguments)
+    {
+        return new DefaultParameterizedType(rawType, actualTypeArguments);
+    }
+    
+    /**
+     * Create a new {@link IntPropertyAccessor} from the given parameters
+     * 
+     * @param name The name of the property
+     * @param readMethod The read method
+     * @param writeMethod The write method
+     * @return The {@link IntPropertyAccessor}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static IntPropertyAccessor createInt(String name, 
+        ToIntFunction<Object> readMethod, 
+        ObjIntConsumer<Object> writeMethod)
+    {
+        Objects.requireNonNull(readMethod, "The readMethod may not be null");
+        Objects.requireNonNull(writeMethod, "The writeMethod may not be null");
+        Object member = describe(name);
+        ToIntFunction<Object> read = 
+            AccessorFunctions.createIntReadFunction(readMethod, member);
+        ObjIntConsumer<Object> write = 
+            AccessorFunctions.createIntWriteConsumer(writeMethod, member);
+        return new DefaultIntPropertyAccessor(name, 
+            object -> read.applyAsInt(object), 
+            AccessorFunctions.createWriteConsumer((object, value) -> 
+                writeMethod.accept(object, (Integer) value), member), 
+            read, write);
+    }
+
+    /**
+     * Create a new {@link DoublePropertyAccessor} from the given parameters
+     * 
+     * @param name The name of the property
+     * @param readMethod The read method
+     * @param writeMethod The write method
+     * @return The {@link DoublePropertyAccessor}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static DoublePropertyAccessor createDouble(String name, 
+        ToDoubleFunction<Object> readMethod, 
+        ObjDoubleConsumer<Object> writeMethod)
+    {
+        Objects.requireNonNull(readMethod, "The readMethod may not be null");
+        Objects.requireNonNull(writeMethod, "The writeMethod may not be null");
+        Object member = describe(name);
+        ToDoubleFunction<Object> read = 
+            AccessorFunctions.createDoubleReadFunction(readMethod, member);
+        ObjDoubleConsumer<Object> write = 
+            AccessorFunctions.createDoubleWriteConsumer(writeMethod, member);
+        return new DefaultDoublePropertyAccessor(name, 
+            object -> read.applyAsDouble(object), 
+            AccessorFunctions.createWriteConsumer((object, value) -> 
+                writeMethod.accept(object, (Double) value), member), 
+            read, write);
+    }
+    
+    /**
+     * Returns the description of the property with the given name, 
+     * for error reporting
+     * 
+     * @param name The property name
+     * @return The description
+     */
+    private static String describe(String name)
+    {
+        return "property " + name;
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private PropertyAccessors()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -36,13 +36,33 @@ import de.javagl.autogui.model.properties.PojoPropertyExtractor.AccessLevel;
 public class PropertyExtractors
 {
     /**
-     * Create a {@link PropertyExtractor} for Java Bean properties.
+     * The shared {@link PropertyExtractor} that is returned by
+     * {@link #createDefault()}
+     */
+    private static final CachingPropertyExtractor DEFAULT =
+        new CachingPropertyExtractor(new CompoundPropertyExtractor(
+            new ServiceLoaderPropertyExtractor(new BeanPropertyExtractor()),
+            new PojoPropertyExtractor(AccessLevel.PUBLIC)));
+    
+    /**
+     * The shared {@link PropertyExtractor} that is returned by
+     * {@link #createForAllProperties()}
+     */
+    private static final CachingPropertyExtractor ALL_PROPERTIES =
+        new CachingPropertyExtractor(new CompoundPropertyExtractor(
+            new ServiceLoaderPropertyExtractor(new BeanPropertyExtractor()),
+            new PojoPropertyExtractor()));
+    
+    /**
+     * Create a {@link PropertyExtractor} for Java Bean properties. If
+     * a {@link GeneratedPropertyExtractor} is found for a type, then 
+     * it will be used instead of the introspection of the type.
      * 
      * @return The {@link PropertyExtractor}
      */
     public static PropertyExtractor createForBeans()
     {
-        return new BeanPropertyExtractor();
+        return new ServiceLoaderPropertyExtractor(new BeanPropertyExtractor());
     }
     
     /**
@@ -56,27 +76,44 @@ public class PropertyExtractors
     }
     
     /**
-     * Create a new {@link PropertyExtractor}
+     * Create a {@link CachingPropertyExtractor} that caches the results
+     * of the given delegate, per class
+     * 
+     * @param delegate The delegate
+     * @return The {@link CachingPropertyExtractor}
+     * @throws NullPointerException If the delegate is <code>null</code>
+     */
+    public static CachingPropertyExtractor createCaching(
+        PropertyExtractor delegate)
+    {
+        return new CachingPropertyExtractor(delegate);
+    }
+    
+    /**
+     * Returns the default {@link PropertyExtractor}. This is a shared
+     * {@link CachingPropertyExtractor} that covers Java Bean properties
+     * and public fields. The Java Bean properties will be obtained from
+     * a {@link GeneratedPropertyExtractor}, if one is found for a type.
      * 
      * @return The {@link PropertyExtractor}
      */
-    public static PropertyExtractor createDefault()
+    public static CachingPropertyExtractor createDefault()
     {
-        return new CompoundPropertyExtractor(
-            new BeanPropertyExtractor(),
-            new PojoPropertyExtractor(AccessLevel.PUBLIC));
+        return DEFAULT;
     }
 
     /**
-     * Create a new {@link PropertyExtractor}
+     * Returns a {@link PropertyExtractor} for all properties. This is a
+     * shared {@link CachingPropertyExtractor} that covers Java Bean 
+     * properties and fields with all access levels. The Java Bean 
+     * properties will be obtained from a {@link GeneratedPropertyExtractor},
+     * if one is found for a type.
      * 
      * @return The {@link PropertyExtractor}
      */
-    public static PropertyExtractor createForAllProperties()
+    public static CachingPropertyExtractor createForAllProperties()
     {
-        return new CompoundPropertyExtractor(
-            new BeanPropertyExtractor(),
-            new PojoPropertyExtractor());
+        return ALL_PROPERTIES;
     }
     
     
@@ -0,0 +1,212 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.model.properties;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of a {@link PropertyExtractor} that uses the 
+ * {@link GeneratedPropertyExtractor} for a type if one can be found
+ * with a <code>ServiceLoader</code>, and a delegate otherwise. <br>
+ * <br>
+ * The generated extractors are loaded only once for each class loader,
+ * and stored in a map with their types as the keys. The result of the
+ * lookup for a type is stored in a <code>ClassValue</code>.
+ */
+final class ServiceLoaderPropertyExtractor implements PropertyExtractor
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(ServiceLoaderPropertyExtractor.class.getName());
+    
+    /**
+     * A placeholder for types that do not have a generated extractor
+     */
+    private static final PropertyExtractor NONE = type -> null;
+    
+    /**
+     * The generated extractors that have been loaded from each class 
+     * loader, with their types as the keys. The maps are only softly 
+     * referenced, because the extractors refer to their class loader, 
+     * which would otherwise prevent it from being garbage collected.
+     */
+    private static final Map<ClassLoader, 
+        SoftReference<Map<Class<?>, GeneratedPropertyExtractor>>> 
+            GENERATED_EXTRACTORS = new WeakHashMap<ClassLoader, 
+                SoftReference<Map<Class<?>, GeneratedPropertyExtractor>>>();
+    
+    /**
+     * The delegate
+     */
+    private final PropertyExtractor delegate;
+    
+    /**
+     * The generated extractors, or {@link #NONE}, per type
+     */
+    private final ClassValue<PropertyExtractor> generatedExtractors;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param delegate The delegate
+     * @throws NullPointerException If the delegate is <code>null</code>
+     */
+    ServiceLoaderPropertyExtractor(PropertyExtractor delegate)
+    {
+        this.delegate = Objects.requireNonNull(delegate, 
+            "The delegate may not be null");
+        this.generatedExtractors = new ClassValue<PropertyExtractor>()
+        {
+            @Override
+            protected PropertyExtractor computeValue(Class<?> type)
+            {
+                return findGenerated(type);
+            }
+        };
+    }
+    
+    /**
+     * Find the {@link GeneratedPropertyExtractor} for the given type,
+     * returning {@link #NONE} if there is no such extractor
+     * 
+     * @param type The type
+     * @return The extractor
+     */
+    private static PropertyExtractor findGenerated(Class<?> type)
+    {
+        if (type.isPrimitive() || type.isArray())
+        {
+            return NONE;
+        }
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null)
+        {
+            return NONE;
+        }
+        GeneratedPropertyExtractor generated = 
+            getGenerated(classLoader).get(type);
+        if (generated == null)
+        {
+            return NONE;
+        }
+        return generated;
+    }
+    
+    /**
+     * Returns an unmodifiable map from types to the 
+     * {@link GeneratedPropertyExtractor} instances for these types that
+     * can be found with a <code>ServiceLoader</code> in the given class
+     * loader. The <code>ServiceLoader</code> will only be used once for
+     * each class loader (unless the map was garbage collected).
+     * 
+     * @param classLoader The class loader
+     * @return The map
+     */
+    static Map<Class<?>, GeneratedPropertyExtractor> getGenerated(
+        ClassLoader classLoader)
+    {
+        synchronized (GENERATED_EXTRACTORS)
+        {
+            SoftReference<Map<Class<?>, GeneratedPropertyExtractor>> 
+                reference = GENERATED_EXTRACTORS.get(classLoader);
+            Map<Class<?>, GeneratedPropertyExtractor> generated = 
+                reference == null ? null : reference.get();
+            if (generated == null)
+            {
+                generated = loadGenerated(classLoader);
+                GENERATED_EXTRACTORS.put(classLoader, 
+                    new SoftReference<Map<Class<?>, 
+                        GeneratedPropertyExtractor>>(generated));
+            }
+            return generated;
+        }
+    }
+    
+    /**
+     * Load all {@link GeneratedPropertyExtractor} instances with a 
+     * <code>ServiceLoader</code> from the given class loader, and return
+     * an unmodifiable map from their types to the extractors. If there
+     * are multiple extractors for one type, then the first one is used.
+     * Extractors that can not be loaded are skipped, and a warning 
+     * is logged.
+     * 
+     * @param classLoader The class loader
+     * @return The map
+     */
+    private static Map<Class<?>, GeneratedPropertyExtractor> loadGenerated(
+        ClassLoader classLoader)
+    {
+        Map<Class<?>, GeneratedPropertyExtractor> generated = 
+            new LinkedHashMap<Class<?>, GeneratedPropertyExtractor>();
+        ServiceLoader<GeneratedPropertyExtractor> serviceLoader = 
+            ServiceLoader.load(GeneratedPropertyExtractor.class, classLoader);
+        Iterator<GeneratedPropertyExtractor> iterator = 
+            serviceLoader.iterator();
+        while (true)
+        {
+            try
+            {
+                if (!iterator.hasNext())
+                {
+                    break;
+                }
+                GeneratedPropertyExtractor extractor = iterator.next();
+                generated.putIfAbsent(extractor.getType(), extractor);
+            }
+            catch (ServiceConfigurationError e)
+            {
+                logger.log(Level.WARNING, 
+                    "Could not load a generated property extractor", e);
+            }
+        }
+        return Collections.unmodifiableMap(generated);
+    }
+    
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors(Class<?> type)
+    {
+        PropertyExtractor generated = generatedExtractors.get(type);
+        if (generated != NONE)
+        {
+            return generated.getPropertyAccessors(type);
+        }
+        return delegate.getPropertyAccessors(type);
+    }
+}
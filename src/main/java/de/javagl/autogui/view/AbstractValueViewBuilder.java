@@ -26,22 +26,33 @@
  */
 package de.javagl.autogui.view;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.javagl.autogui.Converter;
 import de.javagl.autogui.model.ArrayValueModel;
+import de.javagl.autogui.model.ListValueModel;
+import de.javagl.autogui.model.MapValueModel;
 import de.javagl.autogui.model.StructuredArrayValueModel;
+import de.javagl.autogui.model.StructuredListValueModel;
+import de.javagl.autogui.model.StructuredMapValueModel;
 import de.javagl.autogui.model.StructuredValueModel;
 import de.javagl.autogui.model.ValueModel;
 import de.javagl.autogui.model.ValueModels;
@@ -79,6 +90,23 @@ public abstract class AbstractValueViewBuilder<C>
     private final Map<Class<?>, ValueViewFactory<?, ? extends C>> 
         factoriesByValueType;
     
+    /**
+     * The cache for the results of resolving a {@link ValueViewFactory}
+     * for a type, including the type hierarchy and enum types. This is 
+     * replaced with a new one when the factories for types change. 
+     * Since it is a <code>ClassValue</code>, it does not prevent the 
+     * classes and their class loaders from being garbage collected.
+     */
+    private ClassValue<Optional<ValueViewFactory<?, ? extends C>>> 
+        resolvedFactoriesByValueType;
+    
+    /**
+     * The {@link ValueViewFactory}, {@link Converter} and 
+     * {@link LabelProvider} instances that have been registered for 
+     * name path patterns
+     */
+    private final NamePathPatterns<C> namePathPatterns;
+    
     /**
      * The map from name paths to {@link Converter} instances
      */
@@ -95,6 +123,27 @@ public abstract class AbstractValueViewBuilder<C>
      */
     private Comparator<String> namePathComparator = 
         Comparators.createOrderIgnoreCase();
+    
+    /**
+     * Whether the views are created in the weak listener mode
+     */
+    private boolean weakListeners = false;
+    
+    /**
+     * The {@link ViewPlan} instances for the models that views have been
+     * created for, by the key that is computed from their name path, and
+     * by their value type. These plans are cleared when the configuration 
+     * of this builder changes.
+     */
+    private final Map<String, Map<Class<?>, ViewPlan<C>>> viewPlans;
+    
+    /**
+     * The {@link ViewPlan} instances for the child models for which 
+     * {@link #createStructuredValueView(StructuredValueModel)} is 
+     * currently called. This avoids re-computing the name path of
+     * the child models. 
+     */
+    private final Map<StructuredValueModel<?>, ViewPlan<C>> pendingViewPlans;
 
     /**
      * Protected default constructor
@@ -105,9 +154,14 @@ public abstract class AbstractValueViewBuilder<C>
             new LinkedHashMap<String, ValueViewFactory<?, ? extends C>>();
         this.factoriesByValueType = 
             new LinkedHashMap<Class<?>, ValueViewFactory<?, ? extends C>>();
+        this.resolvedFactoriesByValueType = createResolvedFactories();
         this.convertersByNamePath = 
             new LinkedHashMap<String, Converter<?, ?>>();
         this.labelProviders = new LinkedHashMap<String, LabelProvider>();
+        this.namePathPatterns = new NamePathPatterns<C>();
+        this.viewPlans = new HashMap<String, Map<Class<?>, ViewPlan<C>>>();
+        this.pendingViewPlans = 
+            new IdentityHashMap<StructuredValueModel<?>, ViewPlan<C>>();
     }
     
     /**
@@ -136,6 +190,29 @@ public abstract class AbstractValueViewBuilder<C>
     protected abstract <A, E> ArrayValueView<A, E, C>
         createArrayValueViewImpl(ArrayValueModel<A, E> arrayValueModel);
     
+    /**
+     * Implemented by subclasses in order to create an instance of a
+     * {@link ListValueView}
+     * 
+     * @param <E> The element type
+     * @param listValueModel The {@link ListValueModel}
+     * @return The {@link ListValueView}
+     */
+    protected abstract <E> ListValueView<E, C>
+        createListValueViewImpl(ListValueModel<E> listValueModel);
+    
+    /**
+     * Implemented by subclasses in order to create an instance of a
+     * {@link MapValueView}
+     * 
+     * @param <K> The key type
+     * @param <V> The value type
+     * @param mapValueModel The {@link MapValueModel}
+     * @return The {@link MapValueView}
+     */
+    protected abstract <K, V> MapValueView<K, V, C>
+        createMapValueViewImpl(MapValueModel<K, V> mapValueModel);
+    
     
     /**
      * Creates a {@link ValueView} that indicates an error, meaning that 
@@ -148,6 +225,25 @@ public abstract class AbstractValueViewBuilder<C>
      */
     protected abstract <T> ValueView<T, C> createErrorValueViewImpl(
         ValueModel<T> valueModel);
+    
+    /**
+     * Implemented by subclasses in order to create a {@link ValueView} for
+     * a {@link StructuredValueModel} that is 
+     * {@link StructuredValueModel#isExpandable() expandable}. The view 
+     * should offer a way for the user to expand the model, and then show 
+     * the {@link ValueView} that is obtained from the given supplier. 
+     * 
+     * @param <T> The value type
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @param expandedValueViewSupplier The supplier that expands the
+     * model and returns the {@link ValueView} for the expanded model
+     * @return The {@link ValueView}
+     */
+    protected abstract <T> ValueView<T, C> createExpandableValueViewImpl(
+        StructuredValueModel<T> structuredValueModel,
+        Supplier<? extends ValueView<T, ? extends C>> 
+            expandedValueViewSupplier);
 
     /**
      * Create an instance of a {@link MutableValueView}
@@ -161,7 +257,7 @@ public abstract class AbstractValueViewBuilder<C>
     private <T> MutableValueView<T, C> createMutableValueView(
             StructuredValueModel<T> structuredValueModel)
     {
-        logger.log(level, "createMutableValueView    for " 
+        logger.log(level, () -> "createMutableValueView    for " 
             + structuredValueModel.getNamePath()
             + " : " + structuredValueModel);
         return createMutableValueViewImpl(structuredValueModel);
@@ -178,10 +274,42 @@ public abstract class AbstractValueViewBuilder<C>
     private <A, E> ArrayValueView<A, E, C> createArrayValueView(
         ArrayValueModel<A, E> arrayValueModel)
     {
-        logger.log(level, "createArrayValueView      for " + arrayValueModel);
+        logger.log(level, () -> 
+            "createArrayValueView      for " + arrayValueModel);
         return createArrayValueViewImpl(arrayValueModel);
     }
     
+    /**
+     * Create an instance of a {@link ListValueView}
+     * 
+     * @param <E> The element type
+     * @param listValueModel The {@link ListValueModel}
+     * @return The {@link ListValueView}
+     */
+    private <E> ListValueView<E, C> createListValueView(
+        ListValueModel<E> listValueModel)
+    {
+        logger.log(level, () -> 
+            "createListValueView       for " + listValueModel);
+        return createListValueViewImpl(listValueModel);
+    }
+    
+    /**
+     * Create an instance of a {@link MapValueView}
+     * 
+     * @param <K> The key type
+     * @param <V> The value type
+     * @param mapValueModel The {@link MapValueModel}
+     * @return The {@link MapValueView}
+     */
+    private <K, V> MapValueView<K, V, C> createMapValueView(
+        MapValueModel<K, V> mapValueModel)
+    {
+        logger.log(level, () -> 
+            "createMapValueView        for " + mapValueModel);
+        return createMapValueViewImpl(mapValueModel);
+    }
+    
     
     /**
      * Creates a {@link ValueView} that indicates an error, meaning that 
@@ -195,10 +323,17 @@ public abstract class AbstractValueViewBuilder<C>
     private <T> ValueView<T, C> createErrorValueView(
         ValueModel<T> valueModel)
     {
-        logger.log(level, "createErrorValueView      for " + valueModel);
+        logger.log(level, () -> "createErrorValueView      for " + valueModel);
         return createErrorValueViewImpl(valueModel);
     }
 
+    @Override
+    public final ValueViewBuilder<C> weakListeners(boolean weakListeners)
+    {
+        this.weakListeners = weakListeners;
+        return this;
+    }
+    
     @Override
     public final ValueViewBuilder<C> sorting(
         String ... namePaths)
@@ -210,6 +345,7 @@ public abstract class AbstractValueViewBuilder<C>
         }
         this.namePathComparator = 
             Comparators.createOrderIgnoreCase(namePaths);
+        viewPlans.clear();
         return this;
     }
     
@@ -221,6 +357,13 @@ public abstract class AbstractValueViewBuilder<C>
     {
         Objects.requireNonNull(namePath, 
             "The namePath may not be null");
+        if (NamePathPatterns.isPattern(namePath))
+        {
+            namePathPatterns.putValueViewFactory(
+                namePath, valueViewFactory, converter);
+            viewPlans.clear();
+            return this;
+        }
         String lowerCaseNamePath = namePath.toLowerCase();
         
         factoriesByNamePath.put(
@@ -234,6 +377,7 @@ public abstract class AbstractValueViewBuilder<C>
             convertersByNamePath.put(
                 lowerCaseNamePath, converter);
         }
+        viewPlans.clear();
         return this;
     }
     
@@ -259,6 +403,8 @@ public abstract class AbstractValueViewBuilder<C>
         {
             factoriesByValueType.put(valueType, valueViewFactory);
         }
+        resolvedFactoriesByValueType = createResolvedFactories();
+        viewPlans.clear();
         return this;
     }
     
@@ -270,6 +416,12 @@ public abstract class AbstractValueViewBuilder<C>
     {
         Objects.requireNonNull(namePath, 
             "The namePath may not be null");
+        if (NamePathPatterns.isPattern(namePath))
+        {
+            namePathPatterns.putLabelProvider(namePath, labelProvider);
+            viewPlans.clear();
+            return this;
+        }
         String lowerCaseNamePath = namePath.toLowerCase();
         if (labelProvider == null)
         {
@@ -279,6 +431,7 @@ public abstract class AbstractValueViewBuilder<C>
         {
             labelProviders.put(lowerCaseNamePath, labelProvider);
         }
+        viewPlans.clear();
         return this;
     }
     
@@ -341,53 +494,267 @@ public abstract class AbstractValueViewBuilder<C>
         {
             StructuredValueModel<?> structuredValueModel = 
                 (StructuredValueModel<?>)valueModel;
+            return getViewPlan(structuredValueModel).getConverter();
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the {@link ViewPlan} for the given 
+     * {@link StructuredValueModel}. If there is a pending plan for the
+     * given model, then this plan is returned. Otherwise, the plan is 
+     * looked up based on the name path and value type of the model, 
+     * and created if necessary. Since the elements of arrays and lists
+     * have the same name path as the array or list itself, the plans
+     * are stored with a key that is computed with 
+     * {@link #computeViewPlanKey(StructuredValueModel)}. Models with
+     * the same key but different value types receive different plans.
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return The {@link ViewPlan}
+     */
+    ViewPlan<C> getViewPlan(
+        StructuredValueModel<?> structuredValueModel)
+    {
+        ViewPlan<C> pendingViewPlan = 
+            pendingViewPlans.get(structuredValueModel);
+        if (pendingViewPlan != null)
+        {
+            return pendingViewPlan;
+        }
+        String key = computeViewPlanKey(structuredValueModel);
+        Map<Class<?>, ViewPlan<C>> viewPlansByValueType = 
+            viewPlans.computeIfAbsent(key, 
+                k -> new HashMap<Class<?>, ViewPlan<C>>());
+        Class<?> valueType = structuredValueModel.getValueType();
+        ViewPlan<C> viewPlan = viewPlansByValueType.get(valueType);
+        if (viewPlan == null)
+        {
             String namePath = 
                 structuredValueModel.getNamePath().toLowerCase();
-            Converter<?, ?> result = 
-                convertersByNamePath.get(namePath);
-            return result;
+            NamePathPatterns.State<C> patternState = null;
+            if (!namePathPatterns.isEmpty())
+            {
+                patternState = computePatternState(structuredValueModel);
+            }
+            viewPlan = createViewPlan(namePath, valueType, 
+                structuredValueModel.getName(), patternState);
+            viewPlansByValueType.put(valueType, viewPlan);
         }
-        return null;
+        return viewPlan;
     }
     
+    /**
+     * Computes the key for the {@link ViewPlan} of the given model. This 
+     * is the lower case name path, where <code>"[]"</code> is appended to
+     * the name of each array or list for each level of elements along the
+     * path. For example, the key for the name of a room in an array of
+     * rooms in a list of houses is <code>".houses[].rooms[].name"</code>, 
+     * whereas the name path is only <code>".houses.rooms.name"</code>.
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return The key
+     */
+    private static String computeViewPlanKey(
+        StructuredValueModel<?> structuredValueModel)
+    {
+        List<String> segments = new ArrayList<String>();
+        StructuredValueModel<?> current = structuredValueModel;
+        while (current.getParent() != null)
+        {
+            if (isElement(current))
+            {
+                segments.add("[]");
+            }
+            else
+            {
+                segments.add("." + String.valueOf(current.getName()));
+            }
+            current = current.getParent();
+        }
+        StringBuilder sb = new StringBuilder(current.getNamePath());
+        for (int i = segments.size() - 1; i >= 0; i--)
+        {
+            sb.append(segments.get(i));
+        }
+        return sb.toString().toLowerCase();
+    }
+    
+    /**
+     * Returns whether the given model is an element of an array or list
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return Whether the model is an array or list element
+     */
+    private static boolean isElement(
+        StructuredValueModel<?> structuredValueModel)
+    {
+        StructuredValueModel<?> parent = structuredValueModel.getParent();
+        return parent instanceof StructuredArrayValueModel<?, ?> ||
+            parent instanceof StructuredListValueModel<?>;
+    }
     
     /**
-     * Returns the {@link LabelProvider}  that was stored for the
-     * given {@link StructuredValueModel}. If no dedicated
-     * {@link LabelProvider} was registered, then this will return a 
-     * default {@link LabelProvider} that provides a short description of
-     * the value, based on the name.
+     * Compute the state of matching the path from the root to the given
+     * model against the {@link NamePathPatterns}
      * 
      * @param structuredValueModel The {@link StructuredValueModel}
-     * @return The {@link LabelProvider}
+     * @return The state
      */
-    private LabelProvider getLabelProvider(
+    private NamePathPatterns.State<C> computePatternState(
         StructuredValueModel<?> structuredValueModel)
     {
-        String namePath = structuredValueModel.getNamePath().toLowerCase();
+        List<String> names = new ArrayList<String>();
+        List<Integer> elementDimensions = new ArrayList<Integer>();
+        int currentElementDimensions = 0;
+        StructuredValueModel<?> current = structuredValueModel;
+        while (current.getParent() != null)
+        {
+            if (isElement(current))
+            {
+                currentElementDimensions++;
+            }
+            else
+            {
+                names.add(String.valueOf(current.getName()).toLowerCase());
+                elementDimensions.add(currentElementDimensions);
+                currentElementDimensions = 0;
+            }
+            current = current.getParent();
+        }
+        NamePathPatterns.State<C> state = namePathPatterns.start();
+        for (int i = names.size() - 1; i >= 0; i--)
+        {
+            state = namePathPatterns.advance(
+                state, names.get(i), elementDimensions.get(i));
+        }
+        return state;
+    }
+    
+    /**
+     * Returns the {@link ViewPlan} for the child with the given name and
+     * value type of a model that has the given plan, creating it if 
+     * necessary
+     * 
+     * @param viewPlan The {@link ViewPlan} of the parent
+     * @param childName The name of the child
+     * @param childValueType The value type of the child
+     * @return The {@link ViewPlan} of the child
+     */
+    private ViewPlan<C> getChildViewPlan(ViewPlan<C> viewPlan, 
+        String childName, Class<?> childValueType)
+    {
+        ViewPlan<C> childViewPlan = 
+            viewPlan.getChildViewPlan(childName, childValueType);
+        if (childViewPlan == null)
+        {
+            String lowerCaseChildName = childName.toLowerCase();
+            String childNamePath = 
+                viewPlan.getNamePath() + "." + lowerCaseChildName;
+            NamePathPatterns.State<C> childPatternState = null;
+            if (viewPlan.getPatternState() != null)
+            {
+                childPatternState = namePathPatterns.advance(
+                    viewPlan.getPatternState(), lowerCaseChildName, 0);
+            }
+            childViewPlan = createViewPlan(childNamePath, 
+                childValueType, childName, childPatternState);
+            viewPlan.putChildViewPlan(childName, childViewPlan);
+        }
+        return childViewPlan;
+    }
+    
+    /**
+     * Create a new {@link ViewPlan}. It will contain the {@link Converter}
+     * and the {@link LabelProvider} that have been registered for the 
+     * given name path, or for a pattern that matches the name path. If 
+     * no dedicated {@link LabelProvider} was registered, then the plan 
+     * will contain a default {@link LabelProvider} that provides a short 
+     * description of the value, based on the name.
+     * 
+     * @param namePath The lower case name path
+     * @param valueType The value type
+     * @param name The name
+     * @param patternState The state of matching the name path against
+     * the {@link NamePathPatterns}, or <code>null</code>
+     * @return The {@link ViewPlan}
+     */
+    private ViewPlan<C> createViewPlan(String namePath, Class<?> valueType, 
+        String name, NamePathPatterns.State<C> patternState)
+    {
+        Converter<?, ?> converter = convertersByNamePath.get(namePath);
+        if (converter == null && patternState != null && 
+            !factoriesByNamePath.containsKey(namePath))
+        {
+            converter = namePathPatterns.getConverter(patternState);
+        }
         LabelProvider labelProvider = labelProviders.get(namePath);
+        if (labelProvider == null && patternState != null)
+        {
+            labelProvider = namePathPatterns.getLabelProvider(patternState);
+        }
         if (labelProvider == null)
         {
-            String label = BeanUtils.getDescription(
-                structuredValueModel.getName());
-            return p -> label;
+            String label = BeanUtils.getDescription(name);
+            labelProvider = p -> label;
+        }
+        return new ViewPlan<C>(
+            namePath, valueType, patternState, converter, labelProvider);
+    }
+    
+    /**
+     * Returns the names of the children of a model with the given 
+     * {@link ViewPlan}, sorted according to the 
+     * {@link #namePathComparator}
+     * 
+     * @param viewPlan The {@link ViewPlan}
+     * @param childNames The names of the children
+     * @return The sorted names
+     */
+    private List<String> getSortedChildNames(
+        ViewPlan<C> viewPlan, Set<String> childNames)
+    {
+        List<String> sortedChildNames = 
+            viewPlan.getSortedChildNames(childNames);
+        if (sortedChildNames == null)
+        {
+            sortedChildNames = 
+                computeSortedNames(viewPlan.getNamePath(), childNames);
+            viewPlan.setSortedChildNames(childNames, sortedChildNames);
         }
-        return labelProvider;
+        return sortedChildNames;
     }
 
     /**
      * Create a supplier for the label of the GUI component for the given
      * {@link StructuredValueModel}. This supplier will be created from
-     * the {@link #getLabelProvider(StructuredValueModel) label provider}
-     * for the given model.
+     * the {@link LabelProvider} that was registered for the given model,
+     * or a default one that provides a short description of the value, 
+     * based on the name.
      *  
      * @param structuredValueModel The {@link StructuredValueModel}
      * @return The label supplier
      */
-    private Supplier<String> createLabelSupplier(
+    protected final Supplier<String> createLabelSupplier(
         StructuredValueModel<?> structuredValueModel)
     {
-        LabelProvider labelProvider = getLabelProvider(structuredValueModel);
+        return createLabelSupplier(
+            structuredValueModel, getViewPlan(structuredValueModel));
+    }
+    
+    /**
+     * Create a supplier for the label of the GUI component for the given
+     * {@link StructuredValueModel}, using the {@link LabelProvider} from
+     * the given {@link ViewPlan}.
+     *  
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @param viewPlan The {@link ViewPlan}
+     * @return The label supplier
+     */
+    private static Supplier<String> createLabelSupplier(
+        StructuredValueModel<?> structuredValueModel, ViewPlan<?> viewPlan)
+    {
+        LabelProvider labelProvider = viewPlan.getLabelProvider();
         return () -> labelProvider.getLabel(structuredValueModel);
     }
     
@@ -403,21 +770,30 @@ public abstract class AbstractValueViewBuilder<C>
     protected final ValueViewFactory<?, ? extends C> getValueViewFactory(
         ValueModel<?> valueModel)
     {
+        Class<?> valueType = valueModel.getValueType();
         if (valueModel instanceof StructuredValueModel<?>)
         {
             StructuredValueModel<?> structuredValueModel = 
                 (StructuredValueModel<?>)valueModel;
-            String namePath = 
-                structuredValueModel.getNamePath().toLowerCase();
-            
-            ValueViewFactory<?, ? extends C> valueViewFactory = 
-                 getFactoryByNamePath(namePath);
-            if (valueViewFactory != null)
+            ViewPlan<C> viewPlan = getViewPlan(structuredValueModel);
+            if (!viewPlan.isValueViewFactoryResolved(valueType))
             {
-                return valueViewFactory;
+                ValueViewFactory<?, ? extends C> valueViewFactory = 
+                    getFactoryByNamePath(viewPlan.getNamePath());
+                if (valueViewFactory == null && 
+                    viewPlan.getPatternState() != null)
+                {
+                    valueViewFactory = namePathPatterns.getValueViewFactory(
+                        viewPlan.getPatternState());
+                }
+                if (valueViewFactory == null)
+                {
+                    valueViewFactory = getFactoryByValueType(valueType);
+                }
+                viewPlan.setValueViewFactory(valueType, valueViewFactory);
             }
+            return viewPlan.getValueViewFactory();
         }
-        Class<?> valueType = valueModel.getValueType();
         ValueViewFactory<?, ? extends C> valueViewFactory = 
             getFactoryByValueType(valueType);
         return valueViewFactory;
@@ -435,18 +811,64 @@ public abstract class AbstractValueViewBuilder<C>
         return factoriesByNamePath.get(namePath.toLowerCase());
     }
 
+    /**
+     * Create the cache for the results of resolving a 
+     * {@link ValueViewFactory} for a type
+     * 
+     * @return The cache
+     */
+    private ClassValue<Optional<ValueViewFactory<?, ? extends C>>> 
+        createResolvedFactories()
+    {
+        return new ClassValue<Optional<ValueViewFactory<?, ? extends C>>>()
+        {
+            @Override
+            protected Optional<ValueViewFactory<?, ? extends C>> 
+                computeValue(Class<?> type)
+            {
+                return Optional.ofNullable(resolveFactoryByValueType(type));
+            }
+        };
+    }
+    
     /**
      * Returns the {@link ValueViewFactory} for a certain type. If no factory
-     * has been registered for the given type, and the given type is an
-     * enum type, then {@link #getFactoryForEnumType(Class, Object[])} will
-     * be called. If no appropriate factory can be found, then 
-     * <code>null</code> is returned.
+     * has been registered for the given type, then the factory for the 
+     * nearest superclass (except for <code>Object</code>) will be returned.
+     * If there is none, and the given type is an enum type, or the type 
+     * of an enum constant with a body, then 
+     * {@link #getFactoryForEnumType(Class, Object[])} will be called with
+     * the enum type. Otherwise, the factory for the first interface that 
+     * is found in a breadth-first search through the interfaces of the 
+     * type and its superclasses will be returned. If no appropriate 
+     * factory can be found, then <code>null</code> is returned.<br>
+     * <br>
+     * A factory that has been registered for <code>Object</code> is only
+     * used for the type <code>Object</code> itself. It is not used as a 
+     * fallback for other types, because it would then replace the 
+     * structured views of all types that do not have a factory.<br>
+     * <br>
+     * The result is cached for each type, until the factories for types
+     * are changed.
      * 
      * @param valueType The value type
      * @return The {@link ValueViewFactory}
      */
     protected ValueViewFactory<?, ? extends C> getFactoryByValueType(
         Class<?> valueType)
+    {
+        return resolvedFactoriesByValueType.get(valueType).orElse(null);
+    }
+    
+    /**
+     * Resolve the {@link ValueViewFactory} for the given type, as 
+     * described in {@link #getFactoryByValueType(Class)}
+     * 
+     * @param valueType The value type
+     * @return The {@link ValueViewFactory}, or <code>null</code>
+     */
+    private ValueViewFactory<?, ? extends C> resolveFactoryByValueType(
+        Class<?> valueType)
     {
         ValueViewFactory<?, ? extends C> result =
             factoriesByValueType.get(valueType);
@@ -454,10 +876,65 @@ public abstract class AbstractValueViewBuilder<C>
         {
             return result;
         }
-        if (Enum.class.isAssignableFrom(valueType))
+        Class<?> superclass = valueType.getSuperclass();
+        while (superclass != null && superclass != Object.class)
+        {
+            result = factoriesByValueType.get(superclass);
+            if (result != null)
+            {
+                return result;
+            }
+            superclass = superclass.getSuperclass();
+        }
+        Class<?> enumType = getEnumType(valueType);
+        if (enumType != null)
+        {
+            return getFactoryForEnumType(
+                enumType, enumType.getEnumConstants());
+        }
+        Deque<Class<?>> interfaces = new ArrayDeque<Class<?>>();
+        for (Class<?> c = valueType; c != null; c = c.getSuperclass())
+        {
+            interfaces.addAll(Arrays.asList(c.getInterfaces()));
+        }
+        Set<Class<?>> visited = new HashSet<Class<?>>();
+        while (!interfaces.isEmpty())
+        {
+            Class<?> currentInterface = interfaces.removeFirst();
+            if (!visited.add(currentInterface))
+            {
+                continue;
+            }
+            result = factoriesByValueType.get(currentInterface);
+            if (result != null)
+            {
+                return result;
+            }
+            interfaces.addAll(Arrays.asList(currentInterface.getInterfaces()));
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the enum type for the given type. This is the given type 
+     * itself if it is an enum type. If the given type is the type of an
+     * enum constant with a body, then this is the enum type that declares
+     * the constant, which is the superclass of the given type. Otherwise,
+     * <code>null</code> is returned.
+     * 
+     * @param valueType The value type
+     * @return The enum type, or <code>null</code>
+     */
+    private static Class<?> getEnumType(Class<?> valueType)
+    {
+        if (valueType.isEnum())
+        {
+            return valueType;
+        }
+        Class<?> superclass = valueType.getSuperclass();
+        if (superclass != null && superclass.isEnum())
         {
-            Object[] enumConstants=valueType.getEnumConstants();
-            return getFactoryForEnumType(valueType, enumConstants);
+            return superclass;
         }
         return null;
     }
@@ -478,9 +955,13 @@ public abstract class AbstractValueViewBuilder<C>
     public final <T> ValueView<T, ? extends C> createValueView(
         Class<T> valueType)
     {
-        StructuredValueModel<T> structuredValueModel = 
-            ValueModels.createStructured(valueType);
-        return createStructuredValueView(structuredValueModel);
+        return callInWeakListenerMode(() ->
+        {
+            StructuredValueModel<T> structuredValueModel = 
+                ValueModels.createStructured(valueType);
+            return new ModelOwningValueView<T, C>(
+                createStructuredValueView(structuredValueModel));
+        });
     }
     
     @Override
@@ -495,13 +976,44 @@ public abstract class AbstractValueViewBuilder<C>
     public <T> ValueView<T, ? extends C> createValueView(
         ValueModel<T> valueModel)
     {
-        logger.log(level, "createValueView           for " + valueModel);
+        return callInWeakListenerMode(() -> 
+            createValueViewImpl(valueModel));
+    }
+    
+    /**
+     * Call the given supplier in the 
+     * {@link #weakListeners(boolean) weak listener mode} of this builder.
+     * This is used for all methods that may create models or views,
+     * because they may also be called later, for example, when a 
+     * model is expanded or when elements are added to an array.
+     * 
+     * @param <R> The result type
+     * @param supplier The supplier
+     * @return The result of the supplier
+     */
+    private <R> R callInWeakListenerMode(Supplier<? extends R> supplier)
+    {
+        return ValueModelsInternal.callInWeakListenerMode(
+            weakListeners, supplier);
+    }
+    
+    /**
+     * Implementation of {@link #createValueView(ValueModel)}
+     * 
+     * @param <T> The value type
+     * @param valueModel The {@link ValueModel}
+     * @return The {@link ValueView}
+     */
+    private <T> ValueView<T, ? extends C> createValueViewImpl(
+        ValueModel<T> valueModel)
+    {
+        logger.log(level, () -> "createValueView           for " + valueModel);
         
         ValueViewFactory<?, ? extends C> valueViewFactory = 
             getValueViewFactory(valueModel);
         if (valueViewFactory != null)
         {
-            logger.log(level, "Using factory " + valueViewFactory 
+            logger.log(level, () -> "Using factory " + valueViewFactory 
                 + " for " + valueModel);
 
             @SuppressWarnings("unchecked")
@@ -530,18 +1042,34 @@ public abstract class AbstractValueViewBuilder<C>
      * Create a {@link ValueView} for the given {@link StructuredValueModel}.
      * This will contain one {@link ValueView} for each of the
      * {@link StructuredValueModel#getChildren() children} of the given model.
+     * <br>
+     * <br>
+     * This method is called for all structured models for which no 
+     * {@link ValueViewFactory} was found. Subclasses may override it 
+     * in order to represent the whole subtree of the given model with
+     * a single {@link ValueView}.
      * 
      * @param <T> The value type
      * @param structuredValueModel The {@link StructuredValueModel}
      * @return The {@link ValueView}
      */
-    private <T> ValueView<T, ? extends C> createStructuredValueView(
+    protected <T> ValueView<T, ? extends C> createStructuredValueView(
         StructuredValueModel<T> structuredValueModel)
     {
-        logger.log(level, "createStructuredValueView for "
+        logger.log(level, () -> "createStructuredValueView for "
             + structuredValueModel.getNamePath() + " : "
             + structuredValueModel);
         
+        if (structuredValueModel.isExpandable())
+        {
+            return createExpandableValueViewImpl(structuredValueModel, () ->
+                callInWeakListenerMode(() ->
+                {
+                    structuredValueModel.expand();
+                    return createStructuredValueView(structuredValueModel);
+                }));
+        }
+        
         MutableValueView<T, C> mutableValueView = 
             createMutableValueView(structuredValueModel);
         
@@ -562,47 +1090,127 @@ public abstract class AbstractValueViewBuilder<C>
             return mutableValueView;
         }
         
-        // Compute the list of child names, and sort them based on the
-        // current sorting configuration of this builder
-        Collection<String> childNames = 
-            structuredValueModel.getChildren().keySet();
-        String namePath =  structuredValueModel.getNamePath().toLowerCase();
-        List<String> sortedChildNames = 
-            computeSortedNames(namePath, childNames);
+        // If the value type of the given model is a list, then create
+        // a ListValueView that will maintain its elements
+        if (structuredValueModel instanceof StructuredListValueModel<?>)
+        {
+            StructuredListValueModel<?> structuredListValueModel =
+                (StructuredListValueModel<?>) structuredValueModel;
+            ValueView<?, ? extends C> listValueView = 
+                createListValueView(structuredListValueModel);
+            mutableValueView.addChild(
+                () -> "", listValueView);
+            return mutableValueView;
+        }
+        
+        // If the value type of the given model is a map, then create
+        // a MapValueView that will maintain its entries
+        if (structuredValueModel instanceof StructuredMapValueModel<?, ?>)
+        {
+            StructuredMapValueModel<?, ?> structuredMapValueModel =
+                (StructuredMapValueModel<?, ?>) structuredValueModel;
+            ValueView<?, ? extends C> mapValueView = 
+                createMapValueView(structuredMapValueModel);
+            mutableValueView.addChild(
+                () -> "", mapValueView);
+            return mutableValueView;
+        }
         
         // Create one ValueView for each child, and add it to the
-        // MutableValueView that will be returned here.
-        for (String childName : sortedChildNames)
+        // MutableValueView that will be returned here. The plans of
+        // the children are pending while their views are created, 
+        // so that they do not have to be looked up by name path
+        ViewPlan<C> viewPlan = getViewPlan(structuredValueModel);
+        Map<String, StructuredValueModel<?>> children = 
+            structuredValueModel.getChildren();
+        for (String childName : 
+            getSortedChildNames(viewPlan, children.keySet()))
         {
-            StructuredValueModel<?> child = 
-                structuredValueModel.getChild(childName);
+            StructuredValueModel<?> child = children.get(childName);
+            ViewPlan<C> childViewPlan = getChildViewPlan(
+                viewPlan, childName, child.getValueType());
             StructuredValueModel<Object> convertedChild = 
-                createConverted(child);
+                createConverted(child, childViewPlan);
             
             Supplier<String> labelSupplier = 
-                createLabelSupplier(convertedChild);
-            ValueView<?, ? extends C> childValueView = 
-                createValueView(convertedChild);
-            mutableValueView.addChild(
-                labelSupplier, childValueView);
+                createLabelSupplier(convertedChild, childViewPlan);
+            pendingViewPlans.put(convertedChild, childViewPlan);
+            try
+            {
+                ValueView<Object, ? extends C> childValueView = 
+                    createValueView(convertedChild);
+                if (convertedChild != child)
+                {
+                    childValueView = 
+                        new ModelOwningValueView<Object, C>(childValueView);
+                }
+                mutableValueView.addChild(
+                    labelSupplier, childValueView);
+            }
+            finally
+            {
+                pendingViewPlans.remove(convertedChild);
+            }
         }
         return mutableValueView;
     }
 
+    /**
+     * Returns the {@link StructuredValueModel#getChildren() children} of
+     * the given {@link StructuredValueModel}, sorted based on the current
+     * sorting configuration of this builder, and with the 
+     * {@link #getConverter(ValueModel) converters} applied to them.
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return The sorted and converted children
+     */
+    protected final List<StructuredValueModel<Object>> getSortedChildren(
+        StructuredValueModel<?> structuredValueModel)
+    {
+        return callInWeakListenerMode(() -> 
+            getSortedChildrenImpl(structuredValueModel));
+    }
+    
+    /**
+     * Implementation of {@link #getSortedChildren(StructuredValueModel)}
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return The sorted and converted children
+     */
+    private List<StructuredValueModel<Object>> getSortedChildrenImpl(
+        StructuredValueModel<?> structuredValueModel)
+    {
+        ViewPlan<C> viewPlan = getViewPlan(structuredValueModel);
+        Map<String, StructuredValueModel<?>> children = 
+            structuredValueModel.getChildren();
+        List<StructuredValueModel<Object>> sortedChildren = 
+            new ArrayList<StructuredValueModel<Object>>();
+        for (String childName : 
+            getSortedChildNames(viewPlan, children.keySet()))
+        {
+            StructuredValueModel<?> child = children.get(childName);
+            ViewPlan<C> childViewPlan = getChildViewPlan(
+                viewPlan, childName, child.getValueType());
+            sortedChildren.add(createConverted(child, childViewPlan));
+        }
+        return sortedChildren;
+    }
+
     /**
      * Return a {@link StructuredValueModel} that was created by applying the 
-     * {@link #getConverter(ValueModel) converter} to the given 
+     * {@link Converter} from the given {@link ViewPlan} to the given 
      * model, or the value model itself if there is no converter.
      * 
      * @param structuredValueModel The {@link StructuredValueModel}
+     * @param viewPlan The {@link ViewPlan} for the model
      * @return The converted {@link StructuredValueModel}
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private StructuredValueModel<Object> createConverted(
-        StructuredValueModel<?> structuredValueModel)
+    private static StructuredValueModel<Object> createConverted(
+        StructuredValueModel<?> structuredValueModel, ViewPlan<?> viewPlan)
     {
         StructuredValueModel<?> converted = structuredValueModel;
-        Converter converter = getConverter(structuredValueModel);
+        Converter converter = viewPlan.getConverter();
         if (converter != null)
         {
             converted = ValueModelsInternal.createStructuredValueModel(
@@ -0,0 +1,71 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view;
+
+import java.util.List;
+
+import de.javagl.autogui.model.ListValueModel;
+import de.javagl.autogui.model.ValueModel;
+
+/**
+ * Interface for classes that serve as the view for a {@link ListValueModel}.
+ * This is a {@link ValueView} that additionally offers information about the
+ * {@link #getListSize() size} of the list value, and allows obtaining
+ * one {@link ValueView} for each list element.
+ *
+ * @param <E> The list element type
+ * @param <C> The GUI component type
+ */
+public interface ListValueView<E, C> extends ValueView<List<E>, C>
+{
+    /**
+     * {@inheritDoc}
+     * 
+     * This is a specialization that returns a {@link ListValueModel}
+     */
+    @Override
+    ListValueModel<E> getValueModel();
+    
+    /**
+     * Returns the size of the list, or <code>-1</code> if the list
+     * (that is the current {@link ValueModel#getValue() value of the 
+     * ValueModel}) is <code>null</code>.
+     *  
+     * @return The size of the list
+     */
+    int getListSize();
+    
+    /**
+     * Returns a {@link ValueView} for the element of the list with the
+     * given index. The returned view is only valid until the next 
+     * structural change of the list.
+     * 
+     * @param index The index
+     * @return The {@link ValueView}
+     */
+    ValueView<E, ? extends C> getElementValueView(int index);
+}
@@ -0,0 +1,71 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view;
+
+import java.util.Map;
+
+import de.javagl.autogui.model.MapValueModel;
+import de.javagl.autogui.model.ValueModel;
+
+/**
+ * Interface for classes that serve as the view for a {@link MapValueModel}.
+ * This is a {@link ValueView} that additionally offers information about the
+ * {@link #getMapSize() size} of the map value, and allows obtaining
+ * one {@link ValueView} for the value of each key.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ * @param <C> The GUI component type
+ */
+public interface MapValueView<K, V, C> extends ValueView<Map<K, V>, C>
+{
+    /**
+     * {@inheritDoc}
+     * 
+     * This is a specialization that returns a {@link MapValueModel}
+     */
+    @Override
+    MapValueModel<K, V> getValueModel();
+    
+    /**
+     * Returns the size of the map, or <code>-1</code> if the map
+     * (that is the current {@link ValueModel#getValue() value of the 
+     * ValueModel}) is <code>null</code>.
+     *  
+     * @return The size of the map
+     */
+    int getMapSize();
+    
+    /**
+     * Returns the {@link ValueView} for the value that is associated with
+     * the given key, or <code>null</code> if there is no such view.
+     * 
+     * @param key The key
+     * @return The {@link ValueView}
+     */
+    ValueView<V, ? extends C> getElementValueView(K key);
+}
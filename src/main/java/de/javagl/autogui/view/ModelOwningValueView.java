@@ -0,0 +1,87 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view;
+
+import java.util.Objects;
+
+import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+
+/**
+ * Package-private implementation of a {@link ValueView} that delegates
+ * to another {@link ValueView}, and that owns the model of this view. 
+ * This is used for views whose models have been created by the
+ * {@link AbstractValueViewBuilder}. When this view is disposed, then
+ * the model is {@link ValueModels#detach(ValueModel) detached}.
+ * 
+ * @param <T> The value type
+ * @param <C> The GUI component type
+ */
+final class ModelOwningValueView<T, C> implements ValueView<T, C>
+{
+    /**
+     * The delegate
+     */
+    private final ValueView<T, ? extends C> delegate;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param delegate The delegate
+     * @throws NullPointerException If the delegate is <code>null</code>
+     */
+    ModelOwningValueView(ValueView<T, ? extends C> delegate)
+    {
+        this.delegate = Objects.requireNonNull(
+            delegate, "The delegate may not be null");
+    }
+    
+    @Override
+    public C getComponent()
+    {
+        return delegate.getComponent();
+    }
+
+    @Override
+    public ValueModel<T> getValueModel()
+    {
+        return delegate.getValueModel();
+    }
+
+    @Override
+    public void updateView()
+    {
+        delegate.updateView();
+    }
+    
+    @Override
+    public void dispose()
+    {
+        delegate.dispose();
+        ValueModels.detach(delegate.getValueModel());
+    }
+}
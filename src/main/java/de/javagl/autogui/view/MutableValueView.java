@@ -29,7 +29,9 @@ package de.javagl.autogui.view;
 import java.util.function.Supplier;
 
 /**
- * Interface for a mutable {@link ValueView}
+ * Interface for a mutable {@link ValueView}. When it is 
+ * {@link #dispose() disposed}, then all children that have been 
+ * added to it are disposed as well.
  * 
  * @param <T> The value type
  * @param <C> The GUI component type
@@ -0,0 +1,452 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.javagl.autogui.Converter;
+
+/**
+ * Package-private class storing the {@link ValueViewFactory}, 
+ * {@link Converter} and {@link LabelProvider} instances that have 
+ * been registered in an {@link AbstractValueViewBuilder} for 
+ * name path patterns.<br>
+ * <br>
+ * A pattern consists of segments that are separated by <code>"."</code>.
+ * A segment may be
+ * <ul>
+ *   <li>A name, like <code>address</code>, which matches a value with 
+ *   this name, or the elements of such a value if it is an array or 
+ *   list</li>
+ *   <li>A name followed by one or more <code>"[]"</code>, like 
+ *   <code>rooms[]</code>, which only matches the elements of an
+ *   array or list value with the given name, with the given number
+ *   of dimensions</li>
+ *   <li>A <code>"*"</code>, which matches any single name, optionally
+ *   followed by <code>"[]"</code></li>
+ *   <li>A <code>"**"</code>, which matches any number of names, 
+ *   including zero</li>
+ * </ul>
+ * The patterns are stored in a trie of segments. A name path is matched 
+ * incrementally, one segment at a time, so that the {@link State} for a
+ * child can be computed from the {@link State} of its parent.<br>
+ * <br>
+ * When multiple patterns match a name path, the one that was 
+ * registered most recently is used.
+ * 
+ * @param <C> The component type
+ */
+final class NamePathPatterns<C>
+{
+    /**
+     * The marker for an array or list element in a pattern
+     */
+    private static final String ELEMENT_MARKER = "[]";
+    
+    /**
+     * The pattern segment that matches any single name
+     */
+    private static final String ANY_NAME = "*";
+    
+    /**
+     * The pattern segment that matches any number of names
+     */
+    private static final String ANY_NAMES = "**";
+    
+    /**
+     * Returns whether the given name path is a pattern, meaning that it
+     * contains a <code>"*"</code> or a <code>"[]"</code>
+     * 
+     * @param namePath The name path
+     * @return Whether the name path is a pattern
+     */
+    static boolean isPattern(String namePath)
+    {
+        return namePath.contains(ANY_NAME) || 
+            namePath.contains(ELEMENT_MARKER);
+    }
+    
+    /**
+     * The root node of the trie
+     */
+    private final Node<C> root;
+    
+    /**
+     * The counter for the registrations, used for determining the one
+     * that was registered most recently
+     */
+    private long registrationCounter;
+    
+    /**
+     * The {@link State} that contains only the root
+     */
+    private State<C> startState;
+    
+    /**
+     * Default constructor
+     */
+    NamePathPatterns()
+    {
+        this.root = new Node<C>(false);
+    }
+    
+    /**
+     * Returns whether no patterns have been registered
+     * 
+     * @return Whether this instance is empty
+     */
+    boolean isEmpty()
+    {
+        return root.children.isEmpty();
+    }
+    
+    /**
+     * Store the given {@link ValueViewFactory} and {@link Converter} 
+     * for the given pattern
+     * 
+     * @param pattern The pattern
+     * @param valueViewFactory The {@link ValueViewFactory}, or 
+     * <code>null</code> to remove the registration
+     * @param converter The {@link Converter}, or <code>null</code>
+     * @throws IllegalArgumentException If the pattern is not valid
+     */
+    void putValueViewFactory(String pattern, 
+        ValueViewFactory<?, ? extends C> valueViewFactory,
+        Converter<?, ?> converter)
+    {
+        Node<C> node = obtainNode(pattern);
+        node.valueViewFactory = valueViewFactory;
+        node.converter = converter;
+        node.valueViewFactoryRegistration = ++registrationCounter;
+    }
+    
+    /**
+     * Store the given {@link LabelProvider} for the given pattern
+     * 
+     * @param pattern The pattern
+     * @param labelProvider The {@link LabelProvider}, or 
+     * <code>null</code> to remove the registration
+     * @throws IllegalArgumentException If the pattern is not valid
+     */
+    void putLabelProvider(String pattern, LabelProvider labelProvider)
+    {
+        Node<C> node = obtainNode(pattern);
+        node.labelProvider = labelProvider;
+        node.labelProviderRegistration = ++registrationCounter;
+    }
+    
+    /**
+     * Returns the node for the given pattern, creating it and all 
+     * nodes along the path to it if necessary
+     * 
+     * @param pattern The pattern
+     * @return The node
+     * @throws IllegalArgumentException If the pattern is not valid
+     */
+    private Node<C> obtainNode(String pattern)
+    {
+        String normalized = pattern.toLowerCase();
+        if (normalized.startsWith("."))
+        {
+            normalized = normalized.substring(1);
+        }
+        Node<C> node = root;
+        for (String segment : normalized.split("\\.", -1))
+        {
+            validateSegment(pattern, segment);
+            Node<C> child = node.children.get(segment);
+            if (child == null)
+            {
+                child = new Node<C>(segment.equals(ANY_NAMES));
+                node.children.put(segment, child);
+            }
+            node = child;
+        }
+        startState = null;
+        return node;
+    }
+    
+    /**
+     * Validate the given segment of the given pattern
+     * 
+     * @param pattern The pattern
+     * @param segment The segment
+     * @throws IllegalArgumentException If the segment is not valid
+     */
+    private static void validateSegment(String pattern, String segment)
+    {
+        if (segment.equals(ANY_NAMES))
+        {
+            return;
+        }
+        String name = segment;
+        while (name.endsWith(ELEMENT_MARKER))
+        {
+            name = name.substring(0, name.length() - ELEMENT_MARKER.length());
+        }
+        boolean valid = !name.isEmpty() && 
+            (name.equals(ANY_NAME) || !name.contains(ANY_NAME)) &&
+            !name.contains("[") && !name.contains("]");
+        if (!valid)
+        {
+            throw new IllegalArgumentException(
+                "Invalid segment '" + segment + "' in pattern " + pattern);
+        }
+    }
+    
+    /**
+     * Returns the {@link State} for the root of a name path
+     * 
+     * @return The {@link State}
+     */
+    State<C> start()
+    {
+        if (startState == null)
+        {
+            Set<Node<C>> nodes = new LinkedHashSet<Node<C>>();
+            addWithClosure(root, nodes);
+            startState = new State<C>(nodes);
+        }
+        return startState;
+    }
+    
+    /**
+     * Returns the {@link State} that results from appending the segment
+     * with the given name and element dimensions to the name path that
+     * led to the given state.
+     * 
+     * @param state The {@link State}
+     * @param name The lower case name
+     * @param elementDimensions The number of array or list levels that
+     * the value is nested in, below the value with the given name. 
+     * @return The new {@link State}
+     */
+    State<C> advance(State<C> state, String name, int elementDimensions)
+    {
+        if (state.nodes.isEmpty())
+        {
+            return state;
+        }
+        String elementSuffix = "";
+        for (int i = 0; i < elementDimensions; i++)
+        {
+            elementSuffix += ELEMENT_MARKER;
+        }
+        Set<Node<C>> nodes = new LinkedHashSet<Node<C>>();
+        for (Node<C> node : state.nodes)
+        {
+            if (node.anyNames)
+            {
+                nodes.add(node);
+            }
+            addWithClosure(node.children.get(name), nodes);
+            addWithClosure(node.children.get(ANY_NAME), nodes);
+            if (elementDimensions > 0)
+            {
+                addWithClosure(
+                    node.children.get(name + elementSuffix), nodes);
+                addWithClosure(
+                    node.children.get(ANY_NAME + elementSuffix), nodes);
+            }
+        }
+        return new State<C>(nodes);
+    }
+    
+    /**
+     * Add the given node to the given set, together with all nodes 
+     * that can be reached from it via <code>"**"</code> segments that
+     * match zero names
+     * 
+     * @param node The node. If this is <code>null</code>, then nothing 
+     * is done.
+     * @param nodes The set of nodes
+     */
+    private static <C> void addWithClosure(Node<C> node, Set<Node<C>> nodes)
+    {
+        if (node == null || !nodes.add(node))
+        {
+            return;
+        }
+        addWithClosure(node.children.get(ANY_NAMES), nodes);
+    }
+    
+    /**
+     * Returns the {@link ValueViewFactory} of the most recent registration
+     * that matches the given {@link State}, or <code>null</code> if there 
+     * is none
+     * 
+     * @param state The {@link State}
+     * @return The {@link ValueViewFactory}
+     */
+    ValueViewFactory<?, ? extends C> getValueViewFactory(State<C> state)
+    {
+        Node<C> node = findValueViewFactoryNode(state);
+        return node == null ? null : node.valueViewFactory;
+    }
+    
+    /**
+     * Returns the {@link Converter} of the most recent registration
+     * of a {@link ValueViewFactory} that matches the given {@link State}, 
+     * or <code>null</code> if there is none
+     * 
+     * @param state The {@link State}
+     * @return The {@link Converter}
+     */
+    Converter<?, ?> getConverter(State<C> state)
+    {
+        Node<C> node = findValueViewFactoryNode(state);
+        return node == null ? null : node.converter;
+    }
+    
+    /**
+     * Returns the node of the given state that contains the most recent
+     * registration of a {@link ValueViewFactory}, or <code>null</code>
+     * 
+     * @param state The {@link State}
+     * @return The node
+     */
+    private static <C> Node<C> findValueViewFactoryNode(State<C> state)
+    {
+        Node<C> result = null;
+        for (Node<C> node : state.nodes)
+        {
+            if (node.valueViewFactory != null && (result == null ||
+                node.valueViewFactoryRegistration > 
+                result.valueViewFactoryRegistration))
+            {
+                result = node;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the {@link LabelProvider} of the most recent registration
+     * that matches the given {@link State}, or <code>null</code> if there 
+     * is none
+     * 
+     * @param state The {@link State}
+     * @return The {@link LabelProvider}
+     */
+    LabelProvider getLabelProvider(State<C> state)
+    {
+        Node<C> result = null;
+        for (Node<C> node : state.nodes)
+        {
+            if (node.labelProvider != null && (result == null ||
+                node.labelProviderRegistration > 
+                result.labelProviderRegistration))
+            {
+                result = node;
+            }
+        }
+        return result == null ? null : result.labelProvider;
+    }
+    
+    /**
+     * The state of matching a name path against the patterns. This 
+     * is the set of nodes of the trie that are reached by the name path.
+     *
+     * @param <C> The component type
+     */
+    static final class State<C>
+    {
+        /**
+         * The nodes
+         */
+        private final Set<Node<C>> nodes;
+        
+        /**
+         * Creates a new state
+         * 
+         * @param nodes The nodes
+         */
+        private State(Set<Node<C>> nodes)
+        {
+            this.nodes = Collections.unmodifiableSet(nodes);
+        }
+    }
+    
+    /**
+     * A node of the trie
+     *
+     * @param <C> The component type
+     */
+    private static final class Node<C>
+    {
+        /**
+         * Whether this node was reached with a <code>"**"</code> segment
+         */
+        private final boolean anyNames;
+        
+        /**
+         * The children, by their segment
+         */
+        private final Map<String, Node<C>> children;
+        
+        /**
+         * The {@link ValueViewFactory}, or <code>null</code>
+         */
+        private ValueViewFactory<?, ? extends C> valueViewFactory;
+        
+        /**
+         * The {@link Converter}, or <code>null</code>
+         */
+        private Converter<?, ?> converter;
+        
+        /**
+         * The registration number of the {@link #valueViewFactory}
+         */
+        private long valueViewFactoryRegistration;
+        
+        /**
+         * The {@link LabelProvider}, or <code>null</code>
+         */
+        private LabelProvider labelProvider;
+        
+        /**
+         * The registration number of the {@link #labelProvider}
+         */
+        private long labelProviderRegistration;
+        
+        /**
+         * Creates a new node
+         * 
+         * @param anyNames Whether this node was reached with a 
+         * <code>"**"</code> segment
+         */
+        Node(boolean anyNames)
+        {
+            this.anyNames = anyNames;
+            this.children = new HashMap<String, Node<C>>();
+        }
+    }
+}
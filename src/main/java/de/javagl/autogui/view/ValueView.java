@@ -54,4 +54,17 @@ public interface ValueView<T, C> extends ComponentOwner<C>
      * with property change listeners.
      */
     void updateView();
+    
+    /**
+     * Dispose this view. This will remove all listeners that this view 
+     * (and all views that it contains) attached to models, and detach 
+     * the models that have been created for this view while it was 
+     * built. The view should not be used any more afterwards.<br>
+     * <br>
+     * The default implementation does nothing.
+     */
+    default void dispose()
+    {
+        // Empty default implementation
+    }
 }
@@ -67,7 +67,29 @@ import de.javagl.autogui.model.ValueModel;
  * Thus, for example, <br>
  * <code>.birth<b>P</b>lace.<b>C</b>ity</code> and <br>
  * <code>.birth<b>p</b>lace.<b>c</b>ity</code> <br>
- * are treated equally. 
+ * are treated equally. <br>
+ * <br>
+ * <a name="namePathPattern">Name path patterns</a>:
+ * <br>
+ * <br>
+ * The name paths that are given to the <code>using</code> and 
+ * <code>label</code> methods may also be <i>patterns</i> that apply to
+ * many values. In a pattern, <br>
+ * <code>*</code> matches any single name, <br>
+ * <code>**</code> matches any sequence of names (including an empty one),
+ * and <br>
+ * <code>name[]</code> matches the elements of the array or list with 
+ * the given name. <br>
+ * For example, <br>
+ * <code>*.address.city</code> matches the city in the address of any 
+ * value, <br>
+ * <code>**.id</code> matches all values that are called <code>id</code>,
+ * <br>
+ * <code>rooms[].area</code> matches the area of all elements of the
+ * <code>rooms</code> array.<br>
+ * An exact name path takes precedence over a pattern. When several
+ * patterns match the same value, then the one that was registered
+ * last is used. Patterns are case-insensitive as well.
  * 
  * @param <C> The component type
  */
@@ -115,7 +137,10 @@ public interface ValueViewBuilder<C>
     /**
      * Instruct this builder to use a {@link ValueView} that is created
      * using the given {@link ValueViewFactory} for values with the
-     * given type.
+     * given type. If no factory was registered for the exact type of a
+     * value, then the factory for its nearest superclass (except for
+     * <code>Object</code>) or one of its interfaces will be used.
+     * Passing a <code>null</code> factory removes the registration.
      * 
      * @param valueType The value type
      * @param valueViewFactory The {@link ValueViewFactory}
@@ -147,6 +172,32 @@ public interface ValueViewBuilder<C>
      * @return This instance
      */
     ValueViewBuilder<C> label(String namePath, String label);
+    
+    /**
+     * Set whether the views that are created by this builder should use
+     * the <i>weak listener mode</i>.<br>
+     * <br>
+     * By default, the listeners that connect models, beans and views are
+     * strong references. As long as a bean or a model is reachable, all 
+     * views that have ever been created for it are reachable as well.
+     * <br>
+     * <br>
+     * In the weak listener mode, the views and the models that are 
+     * created for them only keep weak references to the listeners that
+     * they attach to beans and to the models that they observe. The 
+     * listeners are kept by the models and views that registered them,
+     * so that discarded views may be garbage collected, even if the bean
+     * or model that they show is still reachable. Views that are no 
+     * longer reachable stop receiving updates, so applications should 
+     * keep a reference to each view that is still displayed, or to its
+     * component.<br>
+     * <br>
+     * This only affects views that are created afterwards.
+     * 
+     * @param weakListeners Whether the weak listener mode should be used
+     * @return This instance
+     */
+    ValueViewBuilder<C> weakListeners(boolean weakListeners);
 
     /**
      * Build the {@link ValueView} for the given value type, based
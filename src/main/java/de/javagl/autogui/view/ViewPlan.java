@@ -0,0 +1,281 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.javagl.autogui.Converter;
+
+/**
+ * Package-private class summarizing the information that an
+ * {@link AbstractValueViewBuilder} needs for creating the view for a
+ * model with a certain name path and value type. This information is
+ * resolved once, and re-used for all views that are created for models
+ * with the same name path and value type, as long as the configuration
+ * of the builder does not change.
+ *
+ * @param <C> The component type
+ */
+final class ViewPlan<C>
+{
+    /**
+     * The lower case name path
+     */
+    private final String namePath;
+    
+    /**
+     * The value type
+     */
+    private final Class<?> valueType;
+    
+    /**
+     * The state of matching the name path against the 
+     * {@link NamePathPatterns}, or <code>null</code> if no patterns 
+     * have been registered
+     */
+    private final NamePathPatterns.State<C> patternState;
+    
+    /**
+     * The {@link Converter}, or <code>null</code>
+     */
+    private final Converter<?, ?> converter;
+    
+    /**
+     * The {@link LabelProvider}
+     */
+    private final LabelProvider labelProvider;
+    
+    /**
+     * The value type for which the {@link #valueViewFactory} was 
+     * resolved, or <code>null</code> if it was not resolved yet
+     */
+    private Class<?> factoryValueType;
+    
+    /**
+     * The {@link ValueViewFactory}, or <code>null</code>
+     */
+    private ValueViewFactory<?, ? extends C> valueViewFactory;
+    
+    /**
+     * The names of the children for which the {@link #sortedChildNames}
+     * have been computed
+     */
+    private Set<String> childNames;
+    
+    /**
+     * The sorted names of the children
+     */
+    private List<String> sortedChildNames;
+    
+    /**
+     * The plans for the children, by their name and value type
+     */
+    private final Map<String, Map<Class<?>, ViewPlan<C>>> childViewPlans;
+    
+    /**
+     * Creates a new plan
+     * 
+     * @param namePath The lower case name path
+     * @param valueType The value type
+     * @param patternState The state of matching the name path against
+     * the {@link NamePathPatterns}, or <code>null</code> 
+     * @param converter The {@link Converter}, or <code>null</code>
+     * @param labelProvider The {@link LabelProvider}
+     */
+    ViewPlan(String namePath, Class<?> valueType, 
+        NamePathPatterns.State<C> patternState,
+        Converter<?, ?> converter, LabelProvider labelProvider)
+    {
+        this.namePath = namePath;
+        this.valueType = valueType;
+        this.patternState = patternState;
+        this.converter = converter;
+        this.labelProvider = labelProvider;
+        this.childViewPlans = 
+            new HashMap<String, Map<Class<?>, ViewPlan<C>>>();
+    }
+    
+    /**
+     * Returns the lower case name path
+     * 
+     * @return The name path
+     */
+    String getNamePath()
+    {
+        return namePath;
+    }
+    
+    /**
+     * Returns the value type
+     * 
+     * @return The value type
+     */
+    Class<?> getValueType()
+    {
+        return valueType;
+    }
+    
+    /**
+     * Returns the state of matching the name path against the 
+     * {@link NamePathPatterns}
+     * 
+     * @return The state, or <code>null</code> if no patterns have been
+     * registered
+     */
+    NamePathPatterns.State<C> getPatternState()
+    {
+        return patternState;
+    }
+    
+    /**
+     * Returns the {@link Converter}
+     * 
+     * @return The {@link Converter}, or <code>null</code>
+     */
+    Converter<?, ?> getConverter()
+    {
+        return converter;
+    }
+    
+    /**
+     * Returns the {@link LabelProvider}
+     * 
+     * @return The {@link LabelProvider}
+     */
+    LabelProvider getLabelProvider()
+    {
+        return labelProvider;
+    }
+    
+    /**
+     * Returns whether the {@link ValueViewFactory} has already been
+     * resolved for the given value type. The value type may differ from
+     * the {@link #getValueType() value type} of this plan when a 
+     * {@link Converter} is used.
+     * 
+     * @param factoryValueType The value type
+     * @return Whether the factory was resolved
+     */
+    boolean isValueViewFactoryResolved(Class<?> factoryValueType)
+    {
+        return this.factoryValueType == factoryValueType;
+    }
+    
+    /**
+     * Returns the {@link ValueViewFactory} that was resolved most recently
+     * 
+     * @return The {@link ValueViewFactory}, or <code>null</code>
+     */
+    ValueViewFactory<?, ? extends C> getValueViewFactory()
+    {
+        return valueViewFactory;
+    }
+    
+    /**
+     * Store the {@link ValueViewFactory} that was resolved for the given
+     * value type
+     * 
+     * @param factoryValueType The value type
+     * @param valueViewFactory The {@link ValueViewFactory}, or 
+     * <code>null</code>
+     */
+    void setValueViewFactory(Class<?> factoryValueType, 
+        ValueViewFactory<?, ? extends C> valueViewFactory)
+    {
+        this.factoryValueType = factoryValueType;
+        this.valueViewFactory = valueViewFactory;
+    }
+    
+    /**
+     * Returns the sorted child names, if they have been computed for
+     * the given set of child names, or <code>null</code> otherwise
+     * 
+     * @param currentChildNames The current child names
+     * @return The sorted child names
+     */
+    List<String> getSortedChildNames(Set<String> currentChildNames)
+    {
+        if (childNames != null && childNames.equals(currentChildNames))
+        {
+            return sortedChildNames;
+        }
+        return null;
+    }
+    
+    /**
+     * Store the sorted child names that have been computed for the given
+     * set of child names
+     * 
+     * @param currentChildNames The current child names
+     * @param currentSortedChildNames The sorted child names
+     */
+    void setSortedChildNames(Set<String> currentChildNames, 
+        List<String> currentSortedChildNames)
+    {
+        this.childNames = new HashSet<String>(currentChildNames);
+        this.sortedChildNames = currentSortedChildNames;
+    }
+    
+    /**
+     * Returns the plan for the child with the given name and value type,
+     * or <code>null</code> if there is no such plan
+     * 
+     * @param childName The name of the child
+     * @param childValueType The value type of the child
+     * @return The plan
+     */
+    ViewPlan<C> getChildViewPlan(String childName, Class<?> childValueType)
+    {
+        Map<Class<?>, ViewPlan<C>> childViewPlansByValueType = 
+            childViewPlans.get(childName);
+        if (childViewPlansByValueType == null)
+        {
+            return null;
+        }
+        return childViewPlansByValueType.get(childValueType);
+    }
+    
+    /**
+     * Store the plan for the child with the given name. It will be 
+     * returned by {@link #getChildViewPlan(String, Class)} for the 
+     * value type of the given plan.
+     * 
+     * @param childName The name of the child
+     * @param childViewPlan The plan
+     */
+    void putChildViewPlan(String childName, ViewPlan<C> childViewPlan)
+    {
+        childViewPlans.computeIfAbsent(childName, 
+            k -> new HashMap<Class<?>, ViewPlan<C>>())
+            .put(childViewPlan.getValueType(), childViewPlan);
+    }
+    
+}
@@ -32,6 +32,7 @@ import javax.swing.JComponent;
 import javax.swing.SwingUtilities;
 
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModelsInternal;
 import de.javagl.autogui.view.ValueView;
 
 /**
@@ -68,6 +69,16 @@ public abstract class AbstractSwingValueView<T, C extends JComponent>
      */
     private final SwingValueModel<T> swingValueModel;
     
+    /**
+     * The connection between the {@link #valueModel} and the 
+     * {@link #swingValueModel}. This is stored here, so that it remains 
+     * reachable as long as this view is reachable, in the
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode}.
+     * This is <code>null</code> if the view is not connected to the 
+     * internal model.
+     */
+    private final ValueModelConnection<T> connection;
+    
     /**
      * Creates a component with the given value type
      * 
@@ -75,15 +86,42 @@ public abstract class AbstractSwingValueView<T, C extends JComponent>
      */
     protected AbstractSwingValueView(
         ValueModel<T> valueModel)
+    {
+        this(valueModel, true);
+    }
+    
+    /**
+     * Creates a component with the given value type.<br>
+     * <br>
+     * If <code>connected</code> is <code>false</code>, then the given 
+     * {@link ValueModel} will not be connected to the 
+     * {@link #getSwingValueModel() internal value model}. This may be 
+     * used by implementations that keep the component and the model 
+     * in sync on their own, for example, through the primitive 
+     * listeners of an <code>IntValueModel</code>.
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @param connected Whether the model should be connected to the
+     * internal value model
+     */
+    protected AbstractSwingValueView(
+        ValueModel<T> valueModel, boolean connected)
     {
         this.valueModel = Objects.requireNonNull(valueModel,
             "The valueModel may not be null");
 
         swingValueModel = new SwingValueModel<T>(
             valueModel.getValueType(), this);
-        ValueModelConnection<T> connection = 
-            new ValueModelConnection<T>();
-        connection.attach(valueModel, swingValueModel);
+        if (connected)
+        {
+            connection = new ValueModelConnection<T>(
+                ValueModelsInternal.isWeakListenerMode());
+            connection.attach(valueModel, swingValueModel);
+        }
+        else
+        {
+            connection = null;
+        }
     }
     
     /**
@@ -117,4 +155,21 @@ public abstract class AbstractSwingValueView<T, C extends JComponent>
         
     }
     
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This will disconnect the {@link ValueModel} of this view from the
+     * model that is backed by the Swing component. Subclasses that attach
+     * listeners to other models should override this method, and call
+     * the implementation of this class.
+     */
+    @Override
+    public void dispose()
+    {
+        if (connection != null)
+        {
+            connection.detach();
+        }
+    }
+    
 }
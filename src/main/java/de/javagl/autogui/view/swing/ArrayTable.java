@@ -0,0 +1,457 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Insets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableColumn;
+
+import de.javagl.autogui.model.ArrayListener;
+import de.javagl.autogui.model.ArrayValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
+
+/**
+ * Package-private class that shows the elements of an 
+ * {@link ArrayValueModel} in a JTable. The first column of the table
+ * contains the index of the element. The remaining columns are given
+ * by {@link ArrayTableColumn} instances. The table only paints the rows 
+ * that are visible, using one renderer for each column, and editors 
+ * are only used for the cell that is currently edited. Buttons for 
+ * adding and removing elements are shown below the table.
+ * 
+ * @param <A> The array type 
+ * @param <E> The element/component type
+ */
+final class ArrayTable<A, E>
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(ArrayTable.class.getName());
+    
+    /**
+     * The maximum number of rows for which the table will request 
+     * space in the layout
+     */
+    private static final int MAX_VISIBLE_ROWS = 10;
+    
+    /**
+     * The {@link ArrayValueModel}
+     */
+    private final ArrayValueModel<A, E> arrayValueModel;
+    
+    /**
+     * The {@link ArrayTableColumn} instances for the columns after the
+     * index column
+     */
+    private final List<ArrayTableColumn> columns;
+    
+    /**
+     * The panel that contains the table and the controls
+     */
+    private final JPanel mainPanel;
+    
+    /**
+     * The table model that provides the array elements
+     */
+    private final ArrayTableModel tableModel;
+    
+    /**
+     * The table that shows the array elements
+     */
+    private final JTable table;
+    
+    /**
+     * The listener that is attached to the {@link ArrayValueModel}
+     */
+    private final ArrayListener<A, E> arrayListener;
+    
+    /**
+     * The listener that has actually been added to the 
+     * {@link ArrayValueModel}. In the 
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode},
+     * this only refers weakly to the {@link #arrayListener}.
+     */
+    private final ArrayListener<A, E> attachedArrayListener;
+    
+    /**
+     * Creates a new array table
+     * 
+     * @param arrayValueModel The {@link ArrayValueModel}
+     * @param columns The {@link ArrayTableColumn} instances for the 
+     * columns after the index column
+     */
+    ArrayTable(ArrayValueModel<A, E> arrayValueModel, 
+        List<? extends ArrayTableColumn> columns)
+    {
+        this.arrayValueModel = arrayValueModel;
+        this.columns = new ArrayList<ArrayTableColumn>(columns);
+        
+        tableModel = new ArrayTableModel();
+        table = new JTable(tableModel);
+        table.setSelectionMode(
+            ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        
+        TableColumn indexColumn = table.getColumnModel().getColumn(0);
+        indexColumn.setPreferredWidth(50);
+        indexColumn.setMaxWidth(100);
+        
+        for (int i = 0; i < this.columns.size(); i++)
+        {
+            ArrayTableColumn column = this.columns.get(i);
+            TableColumn tableColumn = 
+                table.getColumnModel().getColumn(i + 1);
+            tableColumn.setPreferredWidth(200);
+            TableCellEditor cellEditor = column.createCellEditor();
+            if (cellEditor != null)
+            {
+                tableColumn.setCellEditor(cellEditor);
+            }
+        }
+        
+        mainPanel = new JPanel(new BorderLayout());
+        JScrollPane scrollPane = new JScrollPane(table);
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        
+        JPanel buttonsPanel = new JPanel(
+            new FlowLayout(FlowLayout.LEFT, 0, 0));
+        JButton addButton = createButton(" + ");
+        addButton.addActionListener(ae -> addRow());
+        buttonsPanel.add(addButton);
+        JButton removeButton = createButton(" - ");
+        removeButton.addActionListener(ae -> removeSelectedRows());
+        buttonsPanel.add(removeButton);
+        mainPanel.add(buttonsPanel, BorderLayout.SOUTH);
+        
+        updatePreferredViewportSize();
+        
+        arrayListener = new ArrayListener<A, E>()
+        {
+            @Override
+            public void arrayElementChanged(
+                int index, E oldElement, E newElement)
+            {
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> tableModel.fireTableRowsUpdated(index, index));
+            }
+            
+            @Override
+            public void arrayRangeChanged(
+                int fromIndex, int toIndex, A oldElements, A array)
+            {
+                SwingUtils.invokeOnEventDispatchThread(() -> 
+                    tableModel.fireTableRowsUpdated(fromIndex, toIndex - 1));
+            }
+            
+            @Override
+            public void arrayReplaced(A oldArray, A newArray)
+            {
+                updateView();
+            }
+            
+            @Override
+            public void arrayElementsInserted(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                SwingUtils.invokeOnEventDispatchThread(() -> 
+                {
+                    cancelEditing();
+                    tableModel.fireTableRowsInserted(fromIndex, toIndex - 1);
+                    updatePreferredViewportSize();
+                });
+            }
+            
+            @Override
+            public void arrayElementsRemoved(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                SwingUtils.invokeOnEventDispatchThread(() -> 
+                {
+                    cancelEditing();
+                    tableModel.fireTableRowsDeleted(fromIndex, toIndex - 1);
+                    updatePreferredViewportSize();
+                });
+            }
+            
+            @Override
+            public void arrayElementMoved(
+                int fromIndex, int toIndex, A array)
+            {
+                SwingUtils.invokeOnEventDispatchThread(() -> 
+                {
+                    cancelEditing();
+                    tableModel.fireTableRowsUpdated(
+                        Math.min(fromIndex, toIndex), 
+                        Math.max(fromIndex, toIndex));
+                });
+            }
+        };
+        if (ValueModelsInternal.isWeakListenerMode())
+        {
+            attachedArrayListener = ValueModels.addWeakArrayListener(
+                arrayValueModel, arrayListener);
+        }
+        else
+        {
+            arrayValueModel.addArrayListener(arrayListener);
+            attachedArrayListener = arrayListener;
+        }
+    }
+    
+    /**
+     * Remove the listener that this table attached to the
+     * {@link ArrayValueModel}, and cancel the current editing operation,
+     * which disposes the view of the editor. This is called when this 
+     * table is no longer used.
+     */
+    void detach()
+    {
+        arrayValueModel.removeArrayListener(attachedArrayListener);
+        cancelEditing();
+    }
+    
+    /**
+     * Returns the component that contains the table and the controls
+     * 
+     * @return The component
+     */
+    JComponent getComponent()
+    {
+        return mainPanel;
+    }
+    
+    /**
+     * Update the table so that it reflects the current state of the
+     * {@link ArrayValueModel}
+     */
+    void updateView()
+    {
+        SwingUtils.invokeOnEventDispatchThread(() -> 
+        {
+            cancelEditing();
+            tableModel.fireTableDataChanged();
+            updatePreferredViewportSize();
+        });
+    }
+    
+    /**
+     * Repaint the cell in the given row and column, because the value 
+     * that is shown in the cell has changed. The column index includes
+     * the index column, so the first {@link ArrayTableColumn} has the
+     * index 1.
+     * 
+     * @param row The row
+     * @param column The column
+     */
+    void updateCell(int row, int column)
+    {
+        SwingUtils.invokeOnEventDispatchThread(() -> 
+        {
+            if (row < tableModel.getRowCount())
+            {
+                tableModel.fireTableCellUpdated(row, column);
+            }
+        });
+    }
+    
+    /**
+     * Create a small button with the given text
+     * 
+     * @param text The text
+     * @return The button
+     */
+    private static JButton createButton(String text)
+    {
+        JButton button = new JButton(text);
+        button.setMargin(new Insets(0,0,0,0));
+        button.setFont(new Font("Monospaced", Font.BOLD, 12));
+        return button;
+    }
+    
+    /**
+     * Update the preferred size of the viewport of the table, so that
+     * it shows up to {@link #MAX_VISIBLE_ROWS} rows
+     */
+    private void updatePreferredViewportSize()
+    {
+        int rows = Math.max(1, Math.min(
+            MAX_VISIBLE_ROWS, tableModel.getRowCount()));
+        Dimension size = table.getPreferredScrollableViewportSize();
+        table.setPreferredScrollableViewportSize(
+            new Dimension(size.width, rows * table.getRowHeight()));
+        mainPanel.revalidate();
+    }
+    
+    /**
+     * Cancel the current editing operation of the table, if there is one
+     */
+    private void cancelEditing()
+    {
+        TableCellEditor cellEditor = table.getCellEditor();
+        if (cellEditor != null)
+        {
+            cellEditor.cancelCellEditing();
+        }
+    }
+    
+    /**
+     * Add a new element at the end of the array of the 
+     * {@link ArrayValueModel}
+     */
+    private void addRow()
+    {
+        int oldLength = Math.max(0, arrayValueModel.getArrayLength());
+        Class<?> elementType = arrayValueModel.getElementValueType();
+        E newValue = null;
+        if (!elementType.isPrimitive())
+        {
+            try
+            {
+                @SuppressWarnings("unchecked")
+                E instance = (E) elementType.newInstance();
+                newValue = instance;
+            } 
+            catch (InstantiationException | IllegalAccessException e)
+            {
+                logger.warning("Could not instantiate: " + e.getMessage());
+            }
+        }
+        arrayValueModel.insertElement(oldLength, newValue);
+    }
+    
+    /**
+     * Remove the elements for the rows that are selected in the table
+     * from the array of the {@link ArrayValueModel}
+     */
+    private void removeSelectedRows()
+    {
+        cancelEditing();
+        int[] selectedRows = table.getSelectedRows();
+        int end = selectedRows.length;
+        while (end > 0)
+        {
+            int start = end - 1;
+            while (start > 0 && 
+                selectedRows[start - 1] == selectedRows[start] - 1)
+            {
+                start--;
+            }
+            arrayValueModel.removeElements(
+                selectedRows[start], selectedRows[end - 1] + 1);
+            end = start;
+        }
+    }
+    
+    /**
+     * The table model that provides the index of each array element, 
+     * and the values of the {@link ArrayTableColumn} instances
+     */
+    private final class ArrayTableModel extends AbstractTableModel
+    {
+        /**
+         * Serial UID
+         */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int getRowCount()
+        {
+            return Math.max(0, arrayValueModel.getArrayLength());
+        }
+
+        @Override
+        public int getColumnCount()
+        {
+            return columns.size() + 1;
+        }
+        
+        @Override
+        public String getColumnName(int column)
+        {
+            if (column == 0)
+            {
+                return "Index";
+            }
+            return columns.get(column - 1).getName();
+        }
+        
+        @Override
+        public Class<?> getColumnClass(int column)
+        {
+            if (column == 0)
+            {
+                return Integer.class;
+            }
+            return columns.get(column - 1).getColumnClass();
+        }
+        
+        @Override
+        public boolean isCellEditable(int row, int column)
+        {
+            return column != 0;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column)
+        {
+            if (column == 0)
+            {
+                return row;
+            }
+            return columns.get(column - 1).getValue(row);
+        }
+        
+        @Override
+        public void setValueAt(Object value, int row, int column)
+        {
+            if (column == 0 || row >= getRowCount())
+            {
+                return;
+            }
+            columns.get(column - 1).setValue(row, value);
+            fireTableRowsUpdated(row, row);
+        }
+    }
+    
+}
@@ -0,0 +1,78 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import javax.swing.table.TableCellEditor;
+
+/**
+ * Package-private interface for a column of an {@link ArrayTable}. 
+ * Each column provides one value for each element of the array.
+ */
+interface ArrayTableColumn
+{
+    /**
+     * Returns the name of this column
+     * 
+     * @return The name
+     */
+    String getName();
+    
+    /**
+     * Returns the class of the values in this column. This determines
+     * the default renderer and editor that the table uses for the column.
+     * 
+     * @return The column class
+     */
+    Class<?> getColumnClass();
+    
+    /**
+     * Returns the value of this column for the array element at the 
+     * given index
+     * 
+     * @param index The index of the array element
+     * @return The value
+     */
+    Object getValue(int index);
+    
+    /**
+     * Set the value of this column for the array element at the 
+     * given index
+     * 
+     * @param index The index of the array element
+     * @param value The value
+     */
+    void setValue(int index, Object value);
+    
+    /**
+     * Create the editor for this column. If this returns <code>null</code>,
+     * then the default editor of the table for the 
+     * {@link #getColumnClass() column class} will be used.
+     * 
+     * @return The editor, or <code>null</code>
+     */
+    TableCellEditor createCellEditor();
+}
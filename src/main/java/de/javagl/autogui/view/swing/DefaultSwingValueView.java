@@ -43,6 +43,8 @@ import javax.swing.JPanel;
 import de.javagl.autogui.model.StructuredValueModel;
 import de.javagl.autogui.model.ValueListener;
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
 import de.javagl.autogui.view.ComponentOwner;
 import de.javagl.autogui.view.MutableValueView;
 import de.javagl.autogui.view.ValueView;
@@ -80,6 +82,26 @@ public final class DefaultSwingValueView<T>
      */
     private final List<ValueView<?, ?>> children;
     
+    /**
+     * The listeners that update the labels of the children. These are 
+     * stored here, so that they remain reachable as long as this view
+     * is reachable, in the {@link #weakListenerMode weak listener mode}
+     */
+    private final List<ValueListener<?>> labelListeners;
+    
+    /**
+     * The listeners that have actually been added to the models of the 
+     * children, for updating the labels. These may be listeners that 
+     * only refer weakly to the {@link #labelListeners}.
+     */
+    private final List<ValueListener<?>> attachedLabelListeners;
+    
+    /**
+     * Whether this view was created in the
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode}
+     */
+    private final boolean weakListenerMode;
+    
     /**
      * Default constructor
      * 
@@ -92,6 +114,10 @@ public final class DefaultSwingValueView<T>
         this.container = new JPanel(new GridBagLayout());
         this.component.add(container, BorderLayout.NORTH);
         this.children = new ArrayList<ValueView<?,?>>();
+        this.labelListeners = new ArrayList<ValueListener<?>>();
+        this.attachedLabelListeners = new ArrayList<ValueListener<?>>();
+        this.weakListenerMode = ValueModelsInternal.isWeakListenerMode();
+        SwingUtils.setValueView(component, this);
     }
     
     @Override
@@ -112,7 +138,18 @@ public final class DefaultSwingValueView<T>
         };
         @SuppressWarnings("unchecked")
         ValueModel<Object> model = (ValueModel<Object>)child.getValueModel();
-        model.addValueListener(listener);
+        if (weakListenerMode)
+        {
+            attachedLabelListeners.add(
+                ValueModels.addWeakValueListener(model, listener));
+        }
+        else
+        {
+            model.addValueListener(listener);
+            attachedLabelListeners.add(listener);
+        }
+        labelListeners.add(listener);
+        SwingUtils.setValueView(child.getComponent(), child);
         add(label, child);
         
         children.add(child);
@@ -172,4 +209,19 @@ public final class DefaultSwingValueView<T>
         }
     }
     
+    @Override
+    public void dispose()
+    {
+        for (int i = 0; i < children.size(); i++)
+        {
+            ValueView<?, ?> child = children.get(i);
+            child.getValueModel().removeValueListener(
+                attachedLabelListeners.get(i));
+            child.dispose();
+        }
+        children.clear();
+        labelListeners.clear();
+        attachedLabelListeners.clear();
+    }
+    
 }
\ No newline at end of file
@@ -29,9 +29,12 @@ package de.javagl.autogui.view.swing;
 import javax.swing.JFormattedTextField;
 import javax.swing.JSpinner;
 import javax.swing.JSpinner.DefaultEditor;
+import javax.swing.SwingUtilities;
 
 import de.javagl.autogui.Numbers;
+import de.javagl.autogui.model.DoubleValueModel;
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
 import de.javagl.autogui.view.ValueView;
 import de.javagl.common.ui.JSpinners;
 
@@ -56,6 +59,18 @@ public final class DoubleSpinnerValueView<T extends Number>
      */
     private final double defaultValue;
     
+    /**
+     * The {@link DoubleValueModel} that backs the {@link ValueModel}, if 
+     * it is backed by one. Otherwise, this is <code>null</code>.
+     */
+    private final DoubleValueModel doubleValueModel;
+    
+    /**
+     * The connection to the {@link #doubleValueModel}, if the model is
+     * backed by one. Otherwise, this is <code>null</code>.
+     */
+    private final PrimitiveValueModelConnection doubleValueModelConnection;
+    
     /**
      * Creates a new spinner
      * 
@@ -67,20 +82,45 @@ public final class DoubleSpinnerValueView<T extends Number>
     DoubleSpinnerValueView(ValueModel<T> valueModel, 
         double minimum, double maximum, double stepSize)
     {
-        super(valueModel);
+        super(valueModel, ValueModels.asDoubleValueModel(valueModel) == null);
         SpinnerNumberModel spinnerNumberModel = 
             new SpinnerNumberModel(0.0, 0.0, 0.0, 0.0);
         spinnerNumberModel.setMinimum(minimum);
         spinnerNumberModel.setMaximum(maximum);
         spinnerNumberModel.setStepSize(stepSize);
 
-        Number value = valueModel.getValue();
-        defaultValue = value == null ? 0.0 : value.doubleValue();
+        doubleValueModel = ValueModels.asDoubleValueModel(valueModel);
+        if (doubleValueModel != null)
+        {
+            defaultValue = doubleValueModel.getDouble();
+        }
+        else
+        {
+            Number value = valueModel.getValue();
+            defaultValue = value == null ? 0.0 : value.doubleValue();
+        }
         spinnerNumberModel.setValue(defaultValue);
 
         spinner = new JSpinner(spinnerNumberModel);
-        spinner.addChangeListener(e ->
-            getSwingValueModel().setValue(getValueFromComponent()));
+        
+        // If the model is backed by an DoubleValueModel, then the values
+        // are passed between the model and the spinner without boxing 
+        // them in the model or in its listeners
+        if (doubleValueModel != null)
+        {
+            spinner.addChangeListener(e -> doubleValueModel.setDouble(
+                ((Number) spinner.getValue()).doubleValue()));
+            doubleValueModelConnection = PrimitiveValueModelConnection.attach(
+                doubleValueModel, value -> 
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> spinner.setValue(value)));
+        }
+        else
+        {
+            spinner.addChangeListener(e ->
+                getSwingValueModel().setValue(getValueFromComponent()));
+            doubleValueModelConnection = null;
+        }
         JSpinners.setSpinnerDraggingEnabled(spinner, true);
         
         DefaultEditor editor = (DefaultEditor) spinner.getEditor();
@@ -115,6 +155,25 @@ public final class DoubleSpinnerValueView<T extends Number>
         }
     }
     
+    @Override
+    public void updateView()
+    {
+        if (doubleValueModel == null)
+        {
+            super.updateView();
+            return;
+        }
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            spinner.setValue(doubleValueModel.getDouble());
+        }
+        else
+        {
+            SwingUtilities.invokeLater(() -> 
+                spinner.setValue(doubleValueModel.getDouble()));
+        }
+    }
+    
     @Override
     public T getValueFromComponent()
     {
@@ -126,6 +185,16 @@ public final class DoubleSpinnerValueView<T extends Number>
     {
         return spinner;
     }
+    
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        if (doubleValueModelConnection != null)
+        {
+            doubleValueModelConnection.detach();
+        }
+    }
 
 
     
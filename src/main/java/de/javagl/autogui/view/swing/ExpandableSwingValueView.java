@@ -0,0 +1,143 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.view.ValueView;
+
+/**
+ * Implementation of a {@link ValueView} for a {@link StructuredValueModel}
+ * that is {@link StructuredValueModel#isExpandable() expandable}. It
+ * initially only shows a button. When the button is pressed, the 
+ * {@link ValueView} for the expanded model is created and shown instead.
+ * 
+ * @param <T> The value type
+ */
+final class ExpandableSwingValueView<T> implements ValueView<T, JComponent>
+{
+    /**
+     * The main component
+     */
+    private final JComponent component;
+    
+    /**
+     * The {@link StructuredValueModel}
+     */
+    private final StructuredValueModel<T> structuredValueModel;
+    
+    /**
+     * The supplier for the {@link ValueView} of the expanded model
+     */
+    private final Supplier<? extends ValueView<T, ? extends JComponent>> 
+        expandedValueViewSupplier;
+    
+    /**
+     * The {@link ValueView} for the expanded model. This is 
+     * <code>null</code> as long as the model was not expanded.
+     */
+    private ValueView<T, ? extends JComponent> expandedValueView;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @param expandedValueViewSupplier The supplier that expands the
+     * model and returns the {@link ValueView} for the expanded model
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    ExpandableSwingValueView(StructuredValueModel<T> structuredValueModel,
+        Supplier<? extends ValueView<T, ? extends JComponent>> 
+            expandedValueViewSupplier)
+    {
+        this.structuredValueModel = Objects.requireNonNull(
+            structuredValueModel, "The structuredValueModel may not be null");
+        this.expandedValueViewSupplier = Objects.requireNonNull(
+            expandedValueViewSupplier, 
+            "The expandedValueViewSupplier may not be null");
+        this.component = new JPanel(new BorderLayout());
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        JButton expandButton = new JButton("...");
+        expandButton.setToolTipText("Show the properties of " 
+            + structuredValueModel.getNamePath());
+        expandButton.addActionListener(e -> expand());
+        buttonPanel.add(expandButton);
+        component.add(buttonPanel, BorderLayout.NORTH);
+    }
+    
+    /**
+     * Create the {@link ValueView} for the expanded model, and show its
+     * component instead of the expand button
+     */
+    private void expand()
+    {
+        expandedValueView = expandedValueViewSupplier.get();
+        component.removeAll();
+        component.add(expandedValueView.getComponent(), BorderLayout.NORTH);
+        component.revalidate();
+        component.repaint();
+    }
+    
+    @Override
+    public StructuredValueModel<T> getValueModel()
+    {
+        return structuredValueModel;
+    }
+
+    @Override
+    public JComponent getComponent()
+    {
+        return component;
+    }
+
+    @Override
+    public void updateView()
+    {
+        if (expandedValueView != null)
+        {
+            expandedValueView.updateView();
+        }
+    }
+    
+    @Override
+    public void dispose()
+    {
+        if (expandedValueView != null)
+        {
+            expandedValueView.dispose();
+        }
+    }
+}
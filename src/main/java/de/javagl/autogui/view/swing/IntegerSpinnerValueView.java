@@ -29,9 +29,12 @@ package de.javagl.autogui.view.swing;
 import javax.swing.JFormattedTextField;
 import javax.swing.JSpinner;
 import javax.swing.JSpinner.DefaultEditor;
+import javax.swing.SwingUtilities;
 
 import de.javagl.autogui.Numbers;
+import de.javagl.autogui.model.IntValueModel;
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
 import de.javagl.autogui.view.ValueView;
 import de.javagl.common.ui.JSpinners;
 
@@ -56,6 +59,18 @@ public final class IntegerSpinnerValueView<T extends Number>
      */
     private final int defaultValue;
     
+    /**
+     * The {@link IntValueModel} that backs the {@link ValueModel}, if 
+     * it is backed by one. Otherwise, this is <code>null</code>.
+     */
+    private final IntValueModel intValueModel;
+    
+    /**
+     * The connection to the {@link #intValueModel}, if the model is
+     * backed by one. Otherwise, this is <code>null</code>.
+     */
+    private final PrimitiveValueModelConnection intValueModelConnection;
+    
     /**
      * Creates a new spinner
      * 
@@ -67,20 +82,45 @@ public final class IntegerSpinnerValueView<T extends Number>
     IntegerSpinnerValueView(ValueModel<T> valueModel, 
         int minimum, int maximum, int stepSize)
     {
-        super(valueModel);
+        super(valueModel, ValueModels.asIntValueModel(valueModel) == null);
         SpinnerNumberModel spinnerNumberModel = 
             new SpinnerNumberModel(0, 0, 0, 0);
         spinnerNumberModel.setMinimum(minimum);
         spinnerNumberModel.setMaximum(maximum);
         spinnerNumberModel.setStepSize(stepSize);
         
-        Number value = valueModel.getValue();
-        defaultValue = value == null ? 0 : value.intValue();
+        intValueModel = ValueModels.asIntValueModel(valueModel);
+        if (intValueModel != null)
+        {
+            defaultValue = intValueModel.getInt();
+        }
+        else
+        {
+            Number value = valueModel.getValue();
+            defaultValue = value == null ? 0 : value.intValue();
+        }
         spinnerNumberModel.setValue(defaultValue);
         
         spinner = new JSpinner(spinnerNumberModel);
-        spinner.addChangeListener(e ->
-            getSwingValueModel().setValue(getValueFromComponent()));
+        
+        // If the model is backed by an IntValueModel, then the values
+        // are passed between the model and the spinner without boxing 
+        // them in the model or in its listeners
+        if (intValueModel != null)
+        {
+            spinner.addChangeListener(e -> intValueModel.setInt(
+                ((Number) spinner.getValue()).intValue()));
+            intValueModelConnection = PrimitiveValueModelConnection.attach(
+                intValueModel, value -> 
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> spinner.setValue(value)));
+        }
+        else
+        {
+            spinner.addChangeListener(e ->
+                getSwingValueModel().setValue(getValueFromComponent()));
+            intValueModelConnection = null;
+        }
         JSpinners.setSpinnerDraggingEnabled(spinner, true);
         
         DefaultEditor editor = (DefaultEditor) spinner.getEditor();
@@ -115,6 +155,25 @@ public final class IntegerSpinnerValueView<T extends Number>
         }
     }
     
+    @Override
+    public void updateView()
+    {
+        if (intValueModel == null)
+        {
+            super.updateView();
+            return;
+        }
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            spinner.setValue(intValueModel.getInt());
+        }
+        else
+        {
+            SwingUtilities.invokeLater(() -> 
+                spinner.setValue(intValueModel.getInt()));
+        }
+    }
+    
     @Override
     public T getValueFromComponent()
     {
@@ -126,6 +185,16 @@ public final class IntegerSpinnerValueView<T extends Number>
     {
         return spinner;
     }
+    
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        if (intValueModelConnection != null)
+        {
+            intValueModelConnection.detach();
+        }
+    }
 
 
     
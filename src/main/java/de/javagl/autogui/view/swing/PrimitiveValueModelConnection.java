@@ -0,0 +1,143 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+
+import de.javagl.autogui.model.DoubleValueListener;
+import de.javagl.autogui.model.DoubleValueModel;
+import de.javagl.autogui.model.IntValueListener;
+import de.javagl.autogui.model.IntValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
+
+/**
+ * A connection that passes the values of an {@link IntValueModel} or 
+ * a {@link DoubleValueModel} to a consumer, without boxing them. This 
+ * is used by views that are connected to such a model instead of 
+ * using a {@link ValueModelConnection}.<br>
+ * <br>
+ * In the {@link ValueModelsInternal#isWeakListenerMode() weak listener
+ * mode}, the model only refers weakly to the listener of this connection.
+ * The connection then has to be kept reachable by the view.
+ */
+final class PrimitiveValueModelConnection
+{
+    /**
+     * The listener that was created for the model. This is stored here,
+     * so that it remains reachable as long as this connection is 
+     * reachable, in the weak listener mode.
+     */
+    private Object listener;
+    
+    /**
+     * The task that removes the listener from the model
+     */
+    private final Runnable removal;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param listener The listener
+     * @param removal The task that removes the listener from the model
+     */
+    private PrimitiveValueModelConnection(Object listener, Runnable removal)
+    {
+        this.listener = listener;
+        this.removal = removal;
+    }
+    
+    /**
+     * Create a connection that passes each new value of the given 
+     * {@link IntValueModel} to the given consumer
+     * 
+     * @param intValueModel The {@link IntValueModel}
+     * @param consumer The consumer
+     * @return The connection
+     */
+    static PrimitiveValueModelConnection attach(
+        IntValueModel intValueModel, IntConsumer consumer)
+    {
+        IntValueListener intValueListener = 
+            (oldValue, newValue) -> consumer.accept(newValue);
+        IntValueListener attachedListener;
+        if (ValueModelsInternal.isWeakListenerMode())
+        {
+            attachedListener = ValueModels.addWeakIntValueListener(
+                intValueModel, intValueListener);
+        }
+        else
+        {
+            intValueModel.addIntValueListener(intValueListener);
+            attachedListener = intValueListener;
+        }
+        return new PrimitiveValueModelConnection(intValueListener, 
+            () -> intValueModel.removeIntValueListener(attachedListener));
+    }
+    
+    /**
+     * Create a connection that passes each new value of the given 
+     * {@link DoubleValueModel} to the given consumer
+     * 
+     * @param doubleValueModel The {@link DoubleValueModel}
+     * @param consumer The consumer
+     * @return The connection
+     */
+    static PrimitiveValueModelConnection attach(
+        DoubleValueModel doubleValueModel, DoubleConsumer consumer)
+    {
+        DoubleValueListener doubleValueListener = 
+            (oldValue, newValue) -> consumer.accept(newValue);
+        DoubleValueListener attachedListener;
+        if (ValueModelsInternal.isWeakListenerMode())
+        {
+            attachedListener = ValueModels.addWeakDoubleValueListener(
+                doubleValueModel, doubleValueListener);
+        }
+        else
+        {
+            doubleValueModel.addDoubleValueListener(doubleValueListener);
+            attachedListener = doubleValueListener;
+        }
+        return new PrimitiveValueModelConnection(doubleValueListener, 
+            () -> doubleValueModel.removeDoubleValueListener(
+                attachedListener));
+    }
+    
+    /**
+     * Remove the listener of this connection from the model
+     */
+    void detach()
+    {
+        if (listener != null)
+        {
+            removal.run();
+            listener = null;
+        }
+    }
+}
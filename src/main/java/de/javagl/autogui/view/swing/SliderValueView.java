@@ -27,9 +27,13 @@
 package de.javagl.autogui.view.swing;
 
 import javax.swing.JSlider;
+import javax.swing.SwingUtilities;
 
 import de.javagl.autogui.Numbers;
+import de.javagl.autogui.model.DoubleValueModel;
+import de.javagl.autogui.model.IntValueModel;
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
 import de.javagl.autogui.view.ValueView;
 
 /**
@@ -51,6 +55,35 @@ public final class SliderValueView<T extends Number>
      */
     private final T maximum;
     
+    /**
+     * The minimum, as a double value
+     */
+    private final double minimumValue;
+    
+    /**
+     * The maximum, as a double value
+     */
+    private final double maximumValue;
+    
+    /**
+     * The {@link IntValueModel} that backs the {@link ValueModel}, if 
+     * it is backed by one. Otherwise, this is <code>null</code>.
+     */
+    private final IntValueModel intValueModel;
+
+    /**
+     * The {@link DoubleValueModel} that backs the {@link ValueModel}, if 
+     * it is backed by one. Otherwise, this is <code>null</code>.
+     */
+    private final DoubleValueModel doubleValueModel;
+    
+    /**
+     * The connection to the {@link #intValueModel} or the
+     * {@link #doubleValueModel}, if the model is backed by one of them.
+     * Otherwise, this is <code>null</code>.
+     */
+    private final PrimitiveValueModelConnection primitiveValueModelConnection;
+    
     /**
      * The number of steps
      */
@@ -72,16 +105,58 @@ public final class SliderValueView<T extends Number>
     SliderValueView(ValueModel<T> valueModel, 
         T minimum, T maximum, int steps)
     {
-        super(valueModel);
+        super(valueModel, 
+            ValueModels.asIntValueModel(valueModel) == null &&
+            ValueModels.asDoubleValueModel(valueModel) == null);
         this.minimum = minimum;
         this.maximum = maximum;
         this.steps = steps;
+        this.minimumValue = minimum.doubleValue();
+        this.maximumValue = maximum.doubleValue();
+        this.intValueModel = ValueModels.asIntValueModel(valueModel);
+        this.doubleValueModel = ValueModels.asDoubleValueModel(valueModel);
         
-        T value = valueModel.getValue();
-        int sliderValue = computeSliderValue(value);
-        slider = new JSlider(0, steps, sliderValue);
-        slider.addChangeListener(e -> 
-            getSwingValueModel().setValue(getValueFromComponent()));
+        slider = new JSlider(0, steps, computeSliderValue());
+        
+        // If the model is backed by an IntValueModel or a DoubleValueModel,
+        // then the values are passed between the model and the slider 
+        // without boxing them
+        if (intValueModel != null)
+        {
+            slider.addChangeListener(e -> 
+                intValueModel.setInt((int) Math.round(computeModelValue())));
+            primitiveValueModelConnection = 
+                PrimitiveValueModelConnection.attach(intValueModel, 
+                    value -> SwingUtils.invokeOnEventDispatchThread(
+                        () -> slider.setValue(computeSliderValue(value))));
+        }
+        else if (doubleValueModel != null)
+        {
+            slider.addChangeListener(e -> 
+                doubleValueModel.setDouble(computeModelValue()));
+            primitiveValueModelConnection = 
+                PrimitiveValueModelConnection.attach(doubleValueModel, 
+                    value -> SwingUtils.invokeOnEventDispatchThread(
+                        () -> slider.setValue(computeSliderValue(value))));
+        }
+        else
+        {
+            slider.addChangeListener(e -> 
+                getSwingValueModel().setValue(getValueFromComponent()));
+            primitiveValueModelConnection = null;
+        }
+    }
+    
+    /**
+     * Compute the model value for the current value of the slider, 
+     * as a double value
+     * 
+     * @return The model value
+     */
+    private double computeModelValue()
+    {
+        double alpha = (double) slider.getValue() / steps;
+        return minimumValue + (maximumValue - minimumValue) * alpha;
     }
     
     /**
@@ -96,8 +171,40 @@ public final class SliderValueView<T extends Number>
         {
             return 0;
         }
-        double alpha = Numbers.computeAlpha(minimum, maximum, value);
-        return Numbers.interpolate(0, steps, alpha);
+        return computeSliderValue(value.doubleValue());
+    }
+    
+    /**
+     * Compute the value that the slider must have for the given value
+     * 
+     * @param value The value
+     * @return The slider value
+     */
+    private int computeSliderValue(double value)
+    {
+        double alpha = (value - minimumValue) / (maximumValue - minimumValue);
+        return (int) Math.round(steps * alpha);
+    }
+    
+    /**
+     * Compute the value that the slider must have for the current value
+     * of the model. If the model is backed by an {@link IntValueModel} or
+     * a {@link DoubleValueModel}, then the value will be read from these
+     * without boxing it.
+     * 
+     * @return The slider value
+     */
+    private int computeSliderValue()
+    {
+        if (intValueModel != null)
+        {
+            return computeSliderValue(intValueModel.getInt());
+        }
+        if (doubleValueModel != null)
+        {
+            return computeSliderValue(doubleValueModel.getDouble());
+        }
+        return computeSliderValue(getValueModel().getValue());
     }
 
     @Override
@@ -106,6 +213,20 @@ public final class SliderValueView<T extends Number>
         slider.setValue(computeSliderValue(valueForComponent));
     }
     
+    @Override
+    public void updateView()
+    {
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            slider.setValue(computeSliderValue());
+        }
+        else
+        {
+            SwingUtilities.invokeLater(() -> 
+                slider.setValue(computeSliderValue()));
+        }
+    }
+    
     @Override
     public T getValueFromComponent()
     {
@@ -118,6 +239,16 @@ public final class SliderValueView<T extends Number>
     {
         return slider;
     }
+    
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        if (primitiveValueModelConnection != null)
+        {
+            primitiveValueModelConnection.detach();
+        }
+    }
 
 
 
@@ -27,6 +27,7 @@
 package de.javagl.autogui.view.swing;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.Insets;
@@ -38,17 +39,24 @@ import java.util.logging.Logger;
 import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
+import de.javagl.autogui.model.ArrayListener;
 import de.javagl.autogui.model.ArrayValueModel;
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
 import de.javagl.autogui.view.ArrayValueView;
 import de.javagl.autogui.view.ValueView;
 import de.javagl.autogui.view.ValueViewBuilder;
 
 /**
  * A {@link ValueView} that uses a other {@link ValueView} instances for
- * the elements of a array.
+ * the elements of a array.<br>
+ * <br>
+ * When the length of the array reaches the threshold that was given in 
+ * the constructor, then the elements are shown with a 
+ * {@link SwingVirtualArrayValueView} instead, which only creates 
+ * components for the visible elements.
  * 
  * @param <A> The array type 
  * @param <E> The element/component type
@@ -87,6 +95,38 @@ public final class SwingArrayValueView<A, E>
      */
     private final List<ValueView<E, ? extends JComponent>> elementValueViews;
     
+    /**
+     * The panel that contains the button for adding elements
+     */
+    private final JPanel addButtonPanel;
+    
+    /**
+     * The array length at which the {@link #virtualArrayValueView}
+     * will be used
+     */
+    private final int virtualArrayThreshold;
+    
+    /**
+     * The {@link SwingVirtualArrayValueView} that is used when the array
+     * length is not smaller than the {@link #virtualArrayThreshold}. 
+     * This is <code>null</code> when the rows are shown.
+     */
+    private SwingVirtualArrayValueView<A, E> virtualArrayValueView;
+    
+    /**
+     * The {@link ArrayListener} that is attached to the 
+     * {@link ArrayValueModel}
+     */
+    private final ArrayListener<A, E> arrayListener;
+    
+    /**
+     * The listener that has actually been added to the 
+     * {@link ArrayValueModel}. In the 
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode},
+     * this only refers weakly to the {@link #arrayListener}.
+     */
+    private final ArrayListener<A, E> attachedArrayListener;
+    
     /**
      * Creates a new array value view
      * 
@@ -97,9 +137,27 @@ public final class SwingArrayValueView<A, E>
     public SwingArrayValueView(
         ArrayValueModel<A, E> arrayValueModel, 
         ValueViewBuilder<? extends JComponent> valueViewBuilder)
+    {
+        this(arrayValueModel, valueViewBuilder, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Creates a new array value view
+     * 
+     * @param arrayValueModel The {@link ArrayValueModel}
+     * @param valueViewBuilder The {@link ValueViewBuilder} for the 
+     * array elements
+     * @param virtualArrayThreshold The array length at which the 
+     * elements will be shown with a {@link SwingVirtualArrayValueView}
+     */
+    public SwingArrayValueView(
+        ArrayValueModel<A, E> arrayValueModel, 
+        ValueViewBuilder<? extends JComponent> valueViewBuilder,
+        int virtualArrayThreshold)
     {
         this.arrayValueModel = arrayValueModel;
         this.valueViewBuilder = valueViewBuilder;
+        this.virtualArrayThreshold = virtualArrayThreshold;
         
         this.elementValueViews = 
             new ArrayList<ValueView<E, ? extends JComponent>>();
@@ -113,100 +171,238 @@ public final class SwingArrayValueView<A, E>
         addButton.setMargin(new Insets(0,0,0,0));
         addButton.setFont(new Font("Monospaced", Font.BOLD, 12));
         addButton.addActionListener(ae -> addRow());
-        JPanel addButtonPanel = new JPanel(new BorderLayout());
+        addButtonPanel = new JPanel(new BorderLayout());
         addButtonPanel.add(addButton, BorderLayout.WEST);
         mainPanel.add(addButtonPanel, BorderLayout.SOUTH);
         
-        int arrayLength = arrayValueModel.getArrayLength();
-        for (int i=0; i<arrayLength; i++)
+        if (!updateVirtualMode())
         {
-            addRowPanel(i);
+            int arrayLength = arrayValueModel.getArrayLength();
+            for (int i=0; i<arrayLength; i++)
+            {
+                addRowPanel(i);
+            }
         }
         
-        arrayValueModel.addValueListener((oldArray, newArray) -> 
+        arrayListener = new ArrayListener<A, E>()
         {
-            if (SwingUtilities.isEventDispatchThread())
+            @Override
+            public void arrayElementChanged(
+                int index, E oldElement, E newElement)
             {
-                updateView(newArray);
+                // The element views are updated by their element models
             }
-            else
+            
+            @Override
+            public void arrayRangeChanged(
+                int fromIndex, int toIndex, A oldElements, A array)
             {
-                SwingUtilities.invokeLater(() -> updateView(newArray));
+                // The element views are updated by their element models
             }
-        });
+            
+            @Override
+            public void arrayLengthChanged(int oldLength, int newLength)
+            {
+                updateView();
+            }
+            
+            @Override
+            public void arrayReplaced(A oldArray, A newArray)
+            {
+                // The element views are updated by their element models,
+                // and length changes are handled in arrayLengthChanged
+            }
+            
+            @Override
+            public void arrayElementsInserted(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> insertRows(fromIndex, toIndex));
+            }
+            
+            @Override
+            public void arrayElementsRemoved(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> removeRows(fromIndex, toIndex));
+            }
+            
+            @Override
+            public void arrayElementMoved(
+                int fromIndex, int toIndex, A array)
+            {
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> moveRow(fromIndex, toIndex));
+            }
+        };
+        if (ValueModelsInternal.isWeakListenerMode())
+        {
+            attachedArrayListener = ValueModels.addWeakArrayListener(
+                arrayValueModel, arrayListener);
+        }
+        else
+        {
+            arrayValueModel.addArrayListener(arrayListener);
+            attachedArrayListener = arrayListener;
+        }
     }
     
     /**
-     * Add a row in the UI, creating a new array that is passed as the
-     * new value to the {@link ArrayValueModel}
+     * Add a new element at the end of the array of the 
+     * {@link ArrayValueModel}
      */
     private void addRow()
     {
-        int oldLength = 0;
-        A oldArray = getValueModel().getValue();
-        if (oldArray != null)
-        {
-            oldLength = Array.getLength(oldArray);
-        }
-        int newLength = oldLength + 1;
+        int oldLength = Math.max(0, arrayValueModel.getArrayLength());
         Class<?> elementType = arrayValueModel.getElementValueType();
-        @SuppressWarnings("unchecked")
-        A newArray = (A) Array.newInstance(elementType, newLength);
-        
-        if (oldArray != null)
-        {
-            System.arraycopy(oldArray, 0, newArray, 0, oldLength);
-        }
-        
+        E newValue = null;
         if (!elementType.isPrimitive())
         {
             try
             {
-                Object newValue = elementType.newInstance();
-                Array.set(newArray, newLength - 1, newValue);
+                @SuppressWarnings("unchecked")
+                E instance = (E) elementType.newInstance();
+                newValue = instance;
             } 
             catch (InstantiationException | IllegalAccessException e)
             {
                 logger.warning("Could not instantiate: " + e.getMessage());
             }
         }
-        
-        arrayValueModel.setValue(newArray);
-        
-        // This update is needed for properties that are
-        // not observed with PropertyChangeListeners
-        updateView(newArray);
+        arrayValueModel.insertElement(oldLength, newValue);
     }
     
     /**
-     * Remove the row with the specified index from the UI, passing the
-     * resulting new array to the {@link ArrayValueModel}
+     * Remove the element that is shown with the given {@link ValueView}
+     * from the array of the {@link ArrayValueModel}
      * 
-     * @param index The index
+     * @param elementValueView The {@link ValueView}
      */
-    private void removeRow(int index)
+    private void removeRow(ValueView<E, ? extends JComponent> elementValueView)
     {
-        A oldArray = getValueModel().getValue();
-        int oldLength = Array.getLength(oldArray);
-
-        int newLength = oldLength - 1;
-        Class<?> elementType = arrayValueModel.getElementValueType();
-        @SuppressWarnings("unchecked")
-        A newArray = (A) Array.newInstance(elementType, newLength);
-        
-        System.arraycopy(oldArray, 0, newArray, 0, index);
-        System.arraycopy(
-            oldArray, index + 1, newArray, index, newLength - index);
-        
-        arrayValueModel.setValue(newArray);
-        
-        // This update is needed for properties that are
-        // not observed with PropertyChangeListeners
-        updateView(newArray);
+        int index = elementValueViews.indexOf(elementValueView);
+        if (index != -1)
+        {
+            arrayValueModel.removeElements(index, index + 1);
+        }
     }
     
     /**
-     * Update the view for the given new (array) value
+     * Switch between showing the rows and showing the 
+     * {@link #virtualArrayValueView}, depending on the current array
+     * length. When switching back to showing the rows, then all rows
+     * will be created. 
+     * 
+     * @return Whether the rows are up to date or not shown, meaning 
+     * that the caller must not update the rows
+     */
+    private boolean updateVirtualMode()
+    {
+        int length = Math.max(0, arrayValueModel.getArrayLength());
+        if (length >= virtualArrayThreshold)
+        {
+            if (virtualArrayValueView == null)
+            {
+                clearRows();
+                virtualArrayValueView = new SwingVirtualArrayValueView<A, E>(
+                    arrayValueModel, valueViewBuilder);
+                mainPanel.remove(rowsPanel);
+                mainPanel.add(virtualArrayValueView.getComponent(), 
+                    BorderLayout.CENTER);
+                addButtonPanel.setVisible(false);
+                mainPanel.revalidate();
+                mainPanel.repaint();
+            }
+            return true;
+        }
+        if (virtualArrayValueView != null)
+        {
+            virtualArrayValueView.dispose();
+            mainPanel.remove(virtualArrayValueView.getComponent());
+            virtualArrayValueView = null;
+            mainPanel.add(rowsPanel, BorderLayout.CENTER);
+            addButtonPanel.setVisible(true);
+            for (int i=0; i<length; i++)
+            {
+                insertRowPanel(i);
+            }
+            mainPanel.revalidate();
+            mainPanel.repaint();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Insert rows for the elements in the given range
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     */
+    private void insertRows(int fromIndex, int toIndex)
+    {
+        if (updateVirtualMode())
+        {
+            return;
+        }
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            insertRowPanel(i);
+        }
+        rowsPanel.revalidate();
+        rowsPanel.repaint();
+    }
+    
+    /**
+     * Remove the rows for the elements in the given range
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     */
+    private void removeRows(int fromIndex, int toIndex)
+    {
+        if (updateVirtualMode())
+        {
+            return;
+        }
+        int end = Math.min(toIndex, elementValueViews.size());
+        for (int i = end - 1; i >= fromIndex; i--)
+        {
+            rowsPanel.remove(i);
+            elementValueViews.remove(i).dispose();
+        }
+        rowsPanel.revalidate();
+        rowsPanel.repaint();
+    }
+    
+    /**
+     * Move the row for the element at the given source index to the
+     * given target index
+     * 
+     * @param fromIndex The source index
+     * @param toIndex The target index
+     */
+    private void moveRow(int fromIndex, int toIndex)
+    {
+        if (virtualArrayValueView != null)
+        {
+            return;
+        }
+        Component rowPanel = rowsPanel.getComponent(fromIndex);
+        rowsPanel.remove(fromIndex);
+        rowsPanel.add(rowPanel, toIndex);
+        elementValueViews.add(toIndex, elementValueViews.remove(fromIndex));
+        rowsPanel.revalidate();
+        rowsPanel.repaint();
+    }
+    
+    /**
+     * Update the view for the given new (array) value. If the length of 
+     * the given array is equal to the current number of rows, then only
+     * the views of the elements will be updated. Otherwise, the rows will
+     * be rebuilt.
      * 
      * @param newValue The new value
      */
@@ -214,8 +410,26 @@ public final class SwingArrayValueView<A, E>
     {
         SwingUtils.validateEventDispathThread();
         
-        rowsPanel.removeAll();
-        elementValueViews.clear();
+        if (updateVirtualMode())
+        {
+            if (virtualArrayValueView != null)
+            {
+                virtualArrayValueView.updateView();
+            }
+            return;
+        }
+        int newLength = newValue == null ? 0 : Array.getLength(newValue);
+        if (newLength == elementValueViews.size())
+        {
+            for (ValueView<E, ? extends JComponent> elementValueView : 
+                elementValueViews)
+            {
+                elementValueView.updateView();
+            }
+            return;
+        }
+        
+        clearRows();
         
         if (newValue != null)
         {
@@ -228,6 +442,21 @@ public final class SwingArrayValueView<A, E>
         rowsPanel.revalidate();
     }
     
+    /**
+     * Remove all rows, and dispose the {@link ValueView} instances of
+     * the array elements
+     */
+    private void clearRows()
+    {
+        rowsPanel.removeAll();
+        for (ValueView<E, ? extends JComponent> elementValueView : 
+            elementValueViews)
+        {
+            elementValueView.dispose();
+        }
+        elementValueViews.clear();
+    }
+    
     /**
      * Add a new row containing the {@link ValueView} for the array element
      * with the given index
@@ -235,6 +464,18 @@ public final class SwingArrayValueView<A, E>
      * @param index The index
      */
     private void addRowPanel(int index)
+    {
+        insertRowPanel(index);
+        rowsPanel.revalidate();
+    }
+    
+    /**
+     * Insert a new row containing the {@link ValueView} for the array 
+     * element with the given index, at the position of this index
+     * 
+     * @param index The index
+     */
+    private void insertRowPanel(int index)
     {
         ValueModel<E> elementValueModel = 
             arrayValueModel.getElementValueModel(index);
@@ -242,7 +483,7 @@ public final class SwingArrayValueView<A, E>
         ValueView<E, ? extends JComponent> elementValueView = 
             valueViewBuilder.createValueView(elementValueModel);
         
-        elementValueViews.add(elementValueView);
+        elementValueViews.add(index, elementValueView);
         
         JPanel rowPanel = new JPanel(new BorderLayout());
         rowPanel.add(elementValueView.getComponent(), BorderLayout.CENTER);
@@ -254,10 +495,9 @@ public final class SwingArrayValueView<A, E>
         removeButtonPanel.add(removeButton, BorderLayout.NORTH);
         rowPanel.add(removeButtonPanel, BorderLayout.WEST);
 
-        removeButton.addActionListener(re -> removeRow(index));
+        removeButton.addActionListener(re -> removeRow(elementValueView));
         
-        rowsPanel.add(rowPanel);
-        rowsPanel.revalidate();
+        rowsPanel.add(rowPanel, index);
     }
     
     @Override
@@ -275,15 +515,20 @@ public final class SwingArrayValueView<A, E>
     @Override
     public void updateView()
     {
-        if (SwingUtilities.isEventDispatchThread())
-        {
-            updateView(arrayValueModel.getValue());
-        }
-        else
+        SwingUtils.invokeOnEventDispatchThread(() -> 
+            updateView(arrayValueModel.getValue()));
+    }
+
+    @Override
+    public void dispose()
+    {
+        arrayValueModel.removeArrayListener(attachedArrayListener);
+        if (virtualArrayValueView != null)
         {
-            SwingUtilities.invokeLater(() -> 
-                updateView(arrayValueModel.getValue()));
+            virtualArrayValueView.dispose();
+            virtualArrayValueView = null;
         }
+        clearRows();
     }
 
     @Override
@@ -295,6 +540,10 @@ public final class SwingArrayValueView<A, E>
     @Override
     public ValueView<E, ? extends JComponent> getElementValueView(int index)
     {
+        if (virtualArrayValueView != null)
+        {
+            return virtualArrayValueView.getElementValueView(index);
+        }
         return elementValueViews.get(index);
     }
 }
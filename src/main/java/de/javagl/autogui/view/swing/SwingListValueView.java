@@ -0,0 +1,365 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.awt.Insets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import de.javagl.autogui.model.ListListener;
+import de.javagl.autogui.model.ListValueModel;
+import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
+import de.javagl.autogui.view.ListValueView;
+import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
+
+/**
+ * A {@link ValueView} that uses other {@link ValueView} instances for
+ * the elements of a list. When elements are inserted into or removed 
+ * from the list, then only the rows for these elements are added or
+ * removed.
+ * 
+ * @param <E> The element type
+ */
+public final class SwingListValueView<E> 
+    implements ListValueView<E, JComponent>
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(SwingListValueView.class.getName());
+    
+    /**
+     * The {@link ListValueModel}
+     */
+    private final ListValueModel<E> listValueModel;
+    
+    /**
+     * The panel that contains the controls and other components
+     */
+    private final JPanel mainPanel;
+    
+    /**
+     * The panel that contains the rows, one for each list element
+     */
+    private final JPanel rowsPanel;
+    
+    /**
+     * The {@link ValueViewBuilder} for the list elements
+     */
+    private final ValueViewBuilder<? extends JComponent> valueViewBuilder;
+    
+    /**
+     * The current list of {@link ValueView} instances for the list elements
+     */
+    private final List<ValueView<E, ? extends JComponent>> elementValueViews;
+    
+    /**
+     * The {@link ListListener} that is attached to the 
+     * {@link ListValueModel}
+     */
+    private final ListListener<E> listListener;
+    
+    /**
+     * The listener that has actually been added to the 
+     * {@link ListValueModel}. In the 
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode},
+     * this only refers weakly to the {@link #listListener}.
+     */
+    private final ListListener<E> attachedListListener;
+    
+    /**
+     * Creates a new list value view
+     * 
+     * @param listValueModel The {@link ListValueModel}
+     * @param valueViewBuilder The {@link ValueViewBuilder} for the 
+     * list elements
+     */
+    public SwingListValueView(
+        ListValueModel<E> listValueModel, 
+        ValueViewBuilder<? extends JComponent> valueViewBuilder)
+    {
+        this.listValueModel = listValueModel;
+        this.valueViewBuilder = valueViewBuilder;
+        
+        this.elementValueViews = 
+            new ArrayList<ValueView<E, ? extends JComponent>>();
+        
+        mainPanel = new JPanel(new BorderLayout());
+
+        rowsPanel = new JPanel(new GridLayout(0,1));
+        mainPanel.add(rowsPanel, BorderLayout.CENTER);
+        
+        JButton addButton = new JButton(" + ");
+        addButton.setMargin(new Insets(0,0,0,0));
+        addButton.setFont(new Font("Monospaced", Font.BOLD, 12));
+        addButton.addActionListener(ae -> addRow());
+        JPanel addButtonPanel = new JPanel(new BorderLayout());
+        addButtonPanel.add(addButton, BorderLayout.WEST);
+        mainPanel.add(addButtonPanel, BorderLayout.SOUTH);
+        
+        int listSize = listValueModel.getListSize();
+        for (int i=0; i<listSize; i++)
+        {
+            insertRowPanel(i);
+        }
+        
+        listListener = new ListListener<E>()
+        {
+            @Override
+            public void listElementChanged(
+                int index, E oldElement, E newElement)
+            {
+                // The element views are updated by their element models
+            }
+            
+            @Override
+            public void listElementsInserted(int fromIndex, int toIndex)
+            {
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> insertRows(fromIndex, toIndex));
+            }
+            
+            @Override
+            public void listElementsRemoved(int fromIndex, int toIndex)
+            {
+                SwingUtils.invokeOnEventDispatchThread(
+                    () -> removeRows(fromIndex, toIndex));
+            }
+            
+            @Override
+            public void listReplaced(List<E> oldList, List<E> newList)
+            {
+                updateView();
+            }
+        };
+        if (ValueModelsInternal.isWeakListenerMode())
+        {
+            attachedListListener = ValueModels.addWeakListListener(
+                listValueModel, listListener);
+        }
+        else
+        {
+            listValueModel.addListListener(listListener);
+            attachedListListener = listListener;
+        }
+    }
+    
+    /**
+     * Add a new element at the end of the list of the 
+     * {@link ListValueModel}
+     */
+    private void addRow()
+    {
+        int oldSize = Math.max(0, listValueModel.getListSize());
+        Class<?> elementType = listValueModel.getElementValueType();
+        E newValue = null;
+        try
+        {
+            @SuppressWarnings("unchecked")
+            E instance = (E) elementType.newInstance();
+            newValue = instance;
+        } 
+        catch (InstantiationException | IllegalAccessException e)
+        {
+            logger.warning("Could not instantiate: " + e.getMessage());
+        }
+        listValueModel.insertElement(oldSize, newValue);
+    }
+    
+    /**
+     * Remove the element that is shown with the given {@link ValueView}
+     * from the list of the {@link ListValueModel}
+     * 
+     * @param elementValueView The {@link ValueView}
+     */
+    private void removeRow(ValueView<E, ? extends JComponent> elementValueView)
+    {
+        int index = elementValueViews.indexOf(elementValueView);
+        if (index != -1)
+        {
+            listValueModel.removeElements(index, index + 1);
+        }
+    }
+    
+    /**
+     * Insert rows for the elements in the given range
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     */
+    private void insertRows(int fromIndex, int toIndex)
+    {
+        for (int i = fromIndex; i < toIndex; i++)
+        {
+            insertRowPanel(i);
+        }
+        rowsPanel.revalidate();
+        rowsPanel.repaint();
+    }
+    
+    /**
+     * Remove the rows for the elements in the given range
+     * 
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     */
+    private void removeRows(int fromIndex, int toIndex)
+    {
+        int end = Math.min(toIndex, elementValueViews.size());
+        for (int i = end - 1; i >= fromIndex; i--)
+        {
+            rowsPanel.remove(i);
+            elementValueViews.remove(i).dispose();
+        }
+        rowsPanel.revalidate();
+        rowsPanel.repaint();
+    }
+    
+    /**
+     * Update the view for the current list. If the size of the list is
+     * equal to the current number of rows, then only the views of the
+     * elements will be updated. Otherwise, the rows will be rebuilt.
+     */
+    private void updateRows()
+    {
+        SwingUtils.validateEventDispathThread();
+        
+        int newSize = Math.max(0, listValueModel.getListSize());
+        if (newSize == elementValueViews.size())
+        {
+            for (ValueView<E, ? extends JComponent> elementValueView : 
+                elementValueViews)
+            {
+                elementValueView.updateView();
+            }
+            return;
+        }
+        
+        clearRows();
+        for (int i=0; i<newSize; i++)
+        {
+            insertRowPanel(i);
+        }
+        rowsPanel.revalidate();
+        rowsPanel.repaint();
+    }
+    
+    /**
+     * Remove all rows, and dispose the {@link ValueView} instances of
+     * the list elements
+     */
+    private void clearRows()
+    {
+        rowsPanel.removeAll();
+        for (ValueView<E, ? extends JComponent> elementValueView : 
+            elementValueViews)
+        {
+            elementValueView.dispose();
+        }
+        elementValueViews.clear();
+    }
+    
+    /**
+     * Insert a new row containing the {@link ValueView} for the list 
+     * element with the given index, at the position of this index
+     * 
+     * @param index The index
+     */
+    private void insertRowPanel(int index)
+    {
+        ValueModel<E> elementValueModel = 
+            listValueModel.getElementValueModel(index);
+        
+        ValueView<E, ? extends JComponent> elementValueView = 
+            valueViewBuilder.createValueView(elementValueModel);
+        
+        elementValueViews.add(index, elementValueView);
+        
+        JPanel rowPanel = new JPanel(new BorderLayout());
+        rowPanel.add(elementValueView.getComponent(), BorderLayout.CENTER);
+        
+        JButton removeButton = new JButton(" - ");
+        removeButton.setMargin(new Insets(0,0,0,0));
+        removeButton.setFont(new Font("Monospaced", Font.BOLD, 12));
+        JPanel removeButtonPanel = new JPanel(new BorderLayout());
+        removeButtonPanel.add(removeButton, BorderLayout.NORTH);
+        rowPanel.add(removeButtonPanel, BorderLayout.WEST);
+
+        removeButton.addActionListener(re -> removeRow(elementValueView));
+        
+        rowsPanel.add(rowPanel, index);
+    }
+    
+    @Override
+    public final JPanel getComponent()
+    {
+        return mainPanel;
+    }
+
+    @Override
+    public ListValueModel<E> getValueModel()
+    {
+        return listValueModel;
+    }
+    
+    @Override
+    public void updateView()
+    {
+        SwingUtils.invokeOnEventDispatchThread(() -> updateRows());
+    }
+
+    @Override
+    public void dispose()
+    {
+        listValueModel.removeListListener(attachedListListener);
+        clearRows();
+    }
+
+    @Override
+    public int getListSize()
+    {
+        return listValueModel.getListSize();
+    }
+
+    @Override
+    public ValueView<E, ? extends JComponent> getElementValueView(int index)
+    {
+        return elementValueViews.get(index);
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.awt.Insets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+
+import de.javagl.autogui.model.MapListener;
+import de.javagl.autogui.model.MapValueModel;
+import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
+import de.javagl.autogui.view.MapValueView;
+import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
+
+/**
+ * A {@link ValueView} that uses other {@link ValueView} instances for
+ * the values of a map. There is one row for each key. When keys are
+ * put into or removed from the map, then only the rows for these keys
+ * are added or removed. New entries can be added in the view when the
+ * keys of the map are strings.
+ * 
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class SwingMapValueView<K, V> 
+    implements MapValueView<K, V, JComponent>
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(SwingMapValueView.class.getName());
+    
+    /**
+     * The {@link MapValueModel}
+     */
+    private final MapValueModel<K, V> mapValueModel;
+    
+    /**
+     * The panel that contains the controls and other components
+     */
+    private final JPanel mainPanel;
+    
+    /**
+     * The panel that contains the rows, one for each key
+     */
+    private final JPanel rowsPanel;
+    
+    /**
+     * The {@link ValueViewBuilder} for the map values
+     */
+    private final ValueViewBuilder<? extends JComponent> valueViewBuilder;
+    
+    /**
+     * The row panels for the keys
+     */
+    private final Map<K, JPanel> rowPanels;
+    
+    /**
+     * The {@link ValueView} instances for the values of the keys
+     */
+    private final Map<K, ValueView<V, ? extends JComponent>> 
+        elementValueViews;
+    
+    /**
+     * The {@link MapListener} that is attached to the 
+     * {@link MapValueModel}
+     */
+    private final MapListener<K, V> mapListener;
+    
+    /**
+     * The listener that has actually been added to the 
+     * {@link MapValueModel}. In the 
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode},
+     * this only refers weakly to the {@link #mapListener}.
+     */
+    private final MapListener<K, V> attachedMapListener;
+    
+    /**
+     * Creates a new map value view
+     * 
+     * @param mapValueModel The {@link MapValueModel}
+     * @param valueViewBuilder The {@link ValueViewBuilder} for the 
+     * map values
+     */
+    public SwingMapValueView(
+        MapValueModel<K, V> mapValueModel, 
+        ValueViewBuilder<? extends JComponent> valueViewBuilder)
+    {
+        this.mapValueModel = mapValueModel;
+        this.valueViewBuilder = valueViewBuilder;
+        
+        this.rowPanels = new HashMap<K, JPanel>();
+        this.elementValueViews = 
+            new HashMap<K, ValueView<V, ? extends JComponent>>();
+        
+        mainPanel = new JPanel(new BorderLayout());
+
+        rowsPanel = new JPanel(new GridLayout(0,1));
+        mainPanel.add(rowsPanel, BorderLayout.CENTER);
+        
+        if (mapValueModel.getKeyType() == String.class)
+        {
+            mainPanel.add(createAddPanel(), BorderLayout.SOUTH);
+        }
+        
+        Map<K, V> map = mapValueModel.getValue();
+        if (map != null)
+        {
+            for (K key : map.keySet())
+            {
+                addRowPanel(key);
+            }
+        }
+        
+        mapListener = new MapListener<K, V>()
+        {
+            @Override
+            public void mapElementReplaced(K key, V oldValue, V newValue)
+            {
+                // The element views are updated by their element models
+            }
+            
+            @Override
+            public void mapElementPut(K key, V value)
+            {
+                SwingUtils.invokeOnEventDispatchThread(() -> addRow(key));
+            }
+            
+            @Override
+            public void mapElementRemoved(K key, V value)
+            {
+                SwingUtils.invokeOnEventDispatchThread(() -> removeRow(key));
+            }
+            
+            @Override
+            public void mapReplaced(Map<K, V> oldMap, Map<K, V> newMap)
+            {
+                updateView();
+            }
+        };
+        if (ValueModelsInternal.isWeakListenerMode())
+        {
+            attachedMapListener = ValueModels.addWeakMapListener(
+                mapValueModel, mapListener);
+        }
+        else
+        {
+            mapValueModel.addMapListener(mapListener);
+            attachedMapListener = mapListener;
+        }
+    }
+    
+    /**
+     * Create the panel that allows adding an entry with a string key
+     * 
+     * @return The panel
+     */
+    private JPanel createAddPanel()
+    {
+        JTextField keyTextField = new JTextField(10);
+        JButton addButton = new JButton(" + ");
+        addButton.setMargin(new Insets(0,0,0,0));
+        addButton.setFont(new Font("Monospaced", Font.BOLD, 12));
+        addButton.addActionListener(ae -> 
+        {
+            String key = keyTextField.getText();
+            @SuppressWarnings("unchecked")
+            K typedKey = (K) key;
+            if (!key.isEmpty() && !mapValueModel.containsKey(typedKey))
+            {
+                addEntry(typedKey);
+                keyTextField.setText("");
+            }
+        });
+        JPanel addPanel = new JPanel(new BorderLayout());
+        addPanel.add(addButton, BorderLayout.WEST);
+        addPanel.add(keyTextField, BorderLayout.CENTER);
+        JPanel addButtonPanel = new JPanel(new BorderLayout());
+        addButtonPanel.add(addPanel, BorderLayout.WEST);
+        return addButtonPanel;
+    }
+    
+    /**
+     * Put the given key into the map of the {@link MapValueModel}, with
+     * a new instance of the value type as its value
+     * 
+     * @param key The key
+     */
+    private void addEntry(K key)
+    {
+        Class<?> elementType = mapValueModel.getElementValueType();
+        V newValue = null;
+        try
+        {
+            @SuppressWarnings("unchecked")
+            V instance = (V) elementType.newInstance();
+            newValue = instance;
+        } 
+        catch (InstantiationException | IllegalAccessException e)
+        {
+            logger.warning("Could not instantiate: " + e.getMessage());
+        }
+        mapValueModel.putElement(key, newValue);
+    }
+    
+    /**
+     * Add the row for the given key, if it does not exist yet
+     * 
+     * @param key The key
+     */
+    private void addRow(K key)
+    {
+        if (!rowPanels.containsKey(key) && mapValueModel.containsKey(key))
+        {
+            addRowPanel(key);
+            rowsPanel.revalidate();
+            rowsPanel.repaint();
+        }
+    }
+    
+    /**
+     * Remove the row for the given key, if it exists
+     * 
+     * @param key The key
+     */
+    private void removeRow(K key)
+    {
+        JPanel rowPanel = rowPanels.remove(key);
+        disposeElementValueView(key);
+        if (rowPanel != null)
+        {
+            rowsPanel.remove(rowPanel);
+            rowsPanel.revalidate();
+            rowsPanel.repaint();
+        }
+    }
+    
+    /**
+     * Remove the {@link ValueView} for the value of the given key, and
+     * dispose it, if it exists
+     * 
+     * @param key The key
+     */
+    private void disposeElementValueView(K key)
+    {
+        ValueView<V, ? extends JComponent> elementValueView = 
+            elementValueViews.remove(key);
+        if (elementValueView != null)
+        {
+            elementValueView.dispose();
+        }
+    }
+    
+    /**
+     * Update the rows for the current map. The rows for keys that are
+     * no longer contained in the map will be removed, rows for new keys
+     * will be added, and the views of the other rows will be updated.
+     */
+    private void updateRows()
+    {
+        SwingUtils.validateEventDispathThread();
+        
+        Map<K, V> map = mapValueModel.getValue();
+        List<K> keys = new ArrayList<K>(rowPanels.keySet());
+        for (K key : keys)
+        {
+            if (map == null || !map.containsKey(key))
+            {
+                rowsPanel.remove(rowPanels.remove(key));
+                disposeElementValueView(key);
+            }
+        }
+        if (map != null)
+        {
+            for (K key : map.keySet())
+            {
+                ValueView<V, ? extends JComponent> elementValueView = 
+                    elementValueViews.get(key);
+                if (elementValueView == null)
+                {
+                    addRowPanel(key);
+                }
+                else
+                {
+                    elementValueView.updateView();
+                }
+            }
+        }
+        rowsPanel.revalidate();
+        rowsPanel.repaint();
+    }
+    
+    /**
+     * Add a new row containing the {@link ValueView} for the value
+     * of the given key
+     * 
+     * @param key The key
+     */
+    private void addRowPanel(K key)
+    {
+        ValueModel<V> elementValueModel = 
+            mapValueModel.getElementValueModel(key);
+        
+        ValueView<V, ? extends JComponent> elementValueView = 
+            valueViewBuilder.createValueView(elementValueModel);
+        
+        elementValueViews.put(key, elementValueView);
+        
+        JPanel rowPanel = new JPanel(new BorderLayout());
+        rowPanel.add(elementValueView.getComponent(), BorderLayout.CENTER);
+        
+        JButton removeButton = new JButton(" - ");
+        removeButton.setMargin(new Insets(0,0,0,0));
+        removeButton.setFont(new Font("Monospaced", Font.BOLD, 12));
+        JPanel removeButtonPanel = new JPanel(new BorderLayout());
+        removeButtonPanel.add(removeButton, BorderLayout.NORTH);
+        JPanel keyPanel = new JPanel(new BorderLayout());
+        keyPanel.add(removeButtonPanel, BorderLayout.WEST);
+        JPanel keyLabelPanel = new JPanel(new BorderLayout());
+        keyLabelPanel.add(new JLabel(String.valueOf(key)), BorderLayout.NORTH);
+        keyPanel.add(keyLabelPanel, BorderLayout.CENTER);
+        rowPanel.add(keyPanel, BorderLayout.WEST);
+
+        removeButton.addActionListener(
+            re -> mapValueModel.removeElement(key));
+        
+        rowPanels.put(key, rowPanel);
+        rowsPanel.add(rowPanel);
+    }
+    
+    @Override
+    public final JPanel getComponent()
+    {
+        return mainPanel;
+    }
+
+    @Override
+    public MapValueModel<K, V> getValueModel()
+    {
+        return mapValueModel;
+    }
+    
+    @Override
+    public void updateView()
+    {
+        SwingUtils.invokeOnEventDispatchThread(() -> updateRows());
+    }
+
+    @Override
+    public void dispose()
+    {
+        mapValueModel.removeMapListener(attachedMapListener);
+        rowsPanel.removeAll();
+        rowPanels.clear();
+        for (ValueView<V, ? extends JComponent> elementValueView : 
+            elementValueViews.values())
+        {
+            elementValueView.dispose();
+        }
+        elementValueViews.clear();
+    }
+
+    @Override
+    public int getMapSize()
+    {
+        return mapValueModel.getMapSize();
+    }
+
+    @Override
+    public ValueView<V, ? extends JComponent> getElementValueView(K key)
+    {
+        return elementValueViews.get(key);
+    }
+}
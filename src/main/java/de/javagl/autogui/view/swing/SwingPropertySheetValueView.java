@@ -0,0 +1,1105 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.awt.Component;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import javax.swing.BorderFactory;
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.UIManager;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
+
+import de.javagl.autogui.model.ArrayListener;
+import de.javagl.autogui.model.ListListener;
+import de.javagl.autogui.model.MapListener;
+import de.javagl.autogui.model.StructuredArrayValueModel;
+import de.javagl.autogui.model.StructuredListValueModel;
+import de.javagl.autogui.model.StructuredMapValueModel;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueListener;
+import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
+import de.javagl.autogui.view.ValueView;
+
+/**
+ * Implementation of a {@link ValueView} that shows the tree of a 
+ * {@link StructuredValueModel} in a single table, which is used by the
+ * {@link SwingPropertySheetValueViewBuilder}.<br>
+ * <br>
+ * The table contains one row for each visible node of the tree. The 
+ * first column contains the label of the node, and can be clicked 
+ * to expand or collapse the node. The nodes for the children of a 
+ * node are only created when the node is expanded for the first time. 
+ * The second column contains the value of the node. For models for 
+ * which the builder has a factory, the value is painted with the 
+ * default renderer of the table, and the editor is created with the 
+ * builder when the cell is edited.<br>
+ * <br>
+ * Each node listens to its model. When the value of a node changes, 
+ * or the structure of the array, list or map of a node changes, then
+ * the children of this node are invalidated, and re-computed when
+ * they are needed for the next time. In the weak listener mode, the
+ * models only refer weakly to these listeners, which are kept by the 
+ * nodes.
+ * 
+ * @param <T> The value type
+ */
+final class SwingPropertySheetValueView<T> implements ValueView<T, JComponent>
+{
+    /**
+     * The indentation, in pixels, for each level of the tree
+     */
+    private static final int INDENTATION = 16;
+    
+    /**
+     * The {@link StructuredValueModel}
+     */
+    private final StructuredValueModel<T> structuredValueModel;
+    
+    /**
+     * The builder that provides the children, labels and editors
+     */
+    private final SwingPropertySheetValueViewBuilder valueViewBuilder;
+    
+    /**
+     * The invisible root node of the tree
+     */
+    private final Node root;
+    
+    /**
+     * The nodes that are currently visible, in the order of the rows
+     */
+    private final List<Node> rows;
+    
+    /**
+     * The table model that provides the rows
+     */
+    private final PropertySheetTableModel tableModel;
+    
+    /**
+     * The table that shows the rows
+     */
+    private final JTable table;
+    
+    /**
+     * The main component
+     */
+    private final JComponent component;
+    
+    /**
+     * The editor for the value column
+     */
+    private final TableCellEditor valueCellEditor;
+    
+    /**
+     * Whether this view was created in the
+     * {@link ValueModelsInternal#isWeakListenerMode() weak listener mode}
+     */
+    private final boolean weakListenerMode;
+    
+    /**
+     * Creates a new property sheet
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @param valueViewBuilder The builder that provides the children,
+     * labels and editors
+     */
+    SwingPropertySheetValueView(
+        StructuredValueModel<T> structuredValueModel,
+        SwingPropertySheetValueViewBuilder valueViewBuilder)
+    {
+        this.structuredValueModel = structuredValueModel;
+        this.valueViewBuilder = valueViewBuilder;
+        this.weakListenerMode = ValueModelsInternal.isWeakListenerMode();
+        this.root = new Node(null, structuredValueModel, () -> "", false);
+        this.root.expanded = true;
+        this.rows = new ArrayList<Node>();
+        
+        this.tableModel = new PropertySheetTableModel();
+        this.valueCellEditor = new ValueViewCellEditor(row -> 
+            valueViewBuilder.createValueView(rows.get(row).valueModel));
+        this.table = new JTable(tableModel)
+        {
+            /**
+             * Serial UID
+             */
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public TableCellRenderer getCellRenderer(int row, int column)
+            {
+                if (column == 1 && rows.get(row).editable)
+                {
+                    Class<?> valueType = 
+                        rows.get(row).valueModel.getValueType();
+                    if (ValueModelsInternal.isLeafType(valueType))
+                    {
+                        return getDefaultRenderer(
+                            SwingUtils.boxed(valueType));
+                    }
+                }
+                return super.getCellRenderer(row, column);
+            }
+            
+            @Override
+            public TableCellEditor getCellEditor(int row, int column)
+            {
+                if (column == 1)
+                {
+                    return valueCellEditor;
+                }
+                return super.getCellEditor(row, column);
+            }
+        };
+        table.getColumnModel().getColumn(0).setCellRenderer(
+            new NodeCellRenderer());
+        table.addMouseListener(new MouseAdapter()
+        {
+            @Override
+            public void mousePressed(MouseEvent e)
+            {
+                int row = table.rowAtPoint(e.getPoint());
+                int column = table.columnAtPoint(e.getPoint());
+                if (row >= 0 && column == 0)
+                {
+                    toggle(row);
+                }
+            }
+        });
+        this.component = new JScrollPane(table);
+        
+        updateRows();
+    }
+    
+    @Override
+    public void dispose()
+    {
+        cancelEditing();
+        release(root);
+        rows.clear();
+    }
+    
+    /**
+     * Expand or collapse the node in the given row
+     * 
+     * @param row The row
+     */
+    private void toggle(int row)
+    {
+        Node node = rows.get(row);
+        if (!node.hasChildren())
+        {
+            return;
+        }
+        cancelEditing();
+        node.expanded = !node.expanded;
+        updateRows();
+    }
+    
+    /**
+     * Cancel the current editing operation of the table, if there is one
+     */
+    private void cancelEditing()
+    {
+        TableCellEditor cellEditor = table.getCellEditor();
+        if (cellEditor != null)
+        {
+            cellEditor.cancelCellEditing();
+        }
+    }
+    
+    /**
+     * Update the list of visible rows, and notify the table about
+     * the change
+     */
+    private void updateRows()
+    {
+        rows.clear();
+        collectRows(root);
+        tableModel.fireTableDataChanged();
+    }
+    
+    /**
+     * Add the visible descendants of the given node to the list of rows,
+     * in depth-first order
+     * 
+     * @param node The node
+     */
+    private void collectRows(Node node)
+    {
+        if (!node.expanded)
+        {
+            return;
+        }
+        for (Node child : node.getChildren())
+        {
+            rows.add(child);
+            collectRows(child);
+        }
+    }
+    
+    /**
+     * Will be called on the event dispatch thread when the model of the
+     * given node changed. If the children of the node have already been
+     * computed, then they are invalidated, and the rows are updated. 
+     * Otherwise, only the row of the node is updated.
+     * 
+     * @param node The node
+     */
+    private void nodeChanged(Node node)
+    {
+        if (node.released)
+        {
+            return;
+        }
+        if (node.children != null)
+        {
+            cancelEditing();
+            invalidate(node);
+            updateRows();
+        }
+        else
+        {
+            int row = rows.indexOf(node);
+            if (row != -1)
+            {
+                tableModel.fireTableRowsUpdated(row, row);
+            }
+        }
+    }
+    
+    /**
+     * Will be called on the event dispatch thread when an element of 
+     * the array, list or map of the given node changed, and notify the
+     * table about the change of the visible rows
+     * 
+     * @param node The node
+     */
+    private void nodeElementChanged(Node node)
+    {
+        if (node.released || rows.isEmpty())
+        {
+            return;
+        }
+        tableModel.fireTableRowsUpdated(0, rows.size() - 1);
+    }
+    
+    /**
+     * Invalidate the children of the given node and all its expanded
+     * descendants, so that they are re-computed when they are needed
+     * for the next time. The nodes for child models that did not 
+     * change are kept.
+     * 
+     * @param node The node
+     */
+    private void invalidate(Node node)
+    {
+        if (node.children == null)
+        {
+            return;
+        }
+        node.invalidChildren = node.children;
+        node.children = null;
+        for (Node child : node.invalidChildren)
+        {
+            invalidate(child);
+        }
+    }
+    
+    /**
+     * Release the given node and all its descendants, removing their
+     * listeners, and detaching the models that have been created for them
+     * 
+     * @param node The node
+     */
+    private void release(Node node)
+    {
+        node.detach();
+        if (node.children != null)
+        {
+            for (Node child : node.children)
+            {
+                release(child);
+            }
+            node.children = null;
+        }
+        if (node.invalidChildren != null)
+        {
+            for (Node child : node.invalidChildren)
+            {
+                release(child);
+            }
+            node.invalidChildren = null;
+        }
+        if (node.ownsValueModel)
+        {
+            ValueModels.detach(node.valueModel);
+        }
+    }
+    
+    @Override
+    public StructuredValueModel<T> getValueModel()
+    {
+        return structuredValueModel;
+    }
+
+    @Override
+    public JComponent getComponent()
+    {
+        return component;
+    }
+
+    @Override
+    public void updateView()
+    {
+        SwingUtils.invokeOnEventDispatchThread(() -> 
+        {
+            cancelEditing();
+            invalidate(root);
+            updateRows();
+        });
+    }
+    
+    /**
+     * Add the given listener to a model, and return a task that removes
+     * it again. In the {@link #weakListenerMode weak listener mode}, 
+     * the listener is added with the given weak function, which returns 
+     * the listener that was actually added to the model.
+     * 
+     * @param <L> The listener type
+     * @param listener The listener
+     * @param add The function that adds a listener
+     * @param addWeak The function that adds a weak listener
+     * @param remove The function that removes a listener
+     * @return The task that removes the listener
+     */
+    private <L> Runnable addListener(L listener, Consumer<L> add, 
+        UnaryOperator<L> addWeak, Consumer<L> remove)
+    {
+        L attachedListener;
+        if (weakListenerMode)
+        {
+            attachedListener = addWeak.apply(listener);
+        }
+        else
+        {
+            add.accept(listener);
+            attachedListener = listener;
+        }
+        return () -> remove.accept(attachedListener);
+    }
+    
+    /**
+     * A node in the tree of the property sheet
+     */
+    private final class Node
+    {
+        /**
+         * The {@link StructuredValueModel} of this node
+         */
+        private final StructuredValueModel<?> valueModel;
+        
+        /**
+         * The supplier for the label of this node
+         */
+        private Supplier<String> labelSupplier;
+        
+        /**
+         * The depth of this node. The children of the root have depth 0.
+         */
+        private final int depth;
+        
+        /**
+         * Whether the builder has a factory for the model of this node,
+         * meaning that it is shown as a single, editable row
+         */
+        private final boolean editable;
+        
+        /**
+         * Whether the model of this node has been created for this view,
+         * by applying a converter, and has to be detached when the node
+         * is no longer used
+         */
+        private final boolean ownsValueModel;
+        
+        /**
+         * Whether this node is expanded
+         */
+        private boolean expanded;
+        
+        /**
+         * The child nodes, or <code>null</code> if they have not been
+         * computed yet
+         */
+        private List<Node> children;
+        
+        /**
+         * The child nodes that have been invalidated, and that may be
+         * re-used when the children are computed for the next time
+         */
+        private List<Node> invalidChildren;
+        
+        /**
+         * Whether this node has been released
+         */
+        private boolean released;
+        
+        /**
+         * The listener that is attached to the model of this node
+         */
+        private final ValueListener<Object> nodeValueListener;
+        
+        /**
+         * The listener that is attached to the model of this node if it
+         * is a {@link StructuredArrayValueModel}, or <code>null</code>
+         */
+        private final ArrayListener<Object, Object> nodeArrayListener;
+        
+        /**
+         * The listener that is attached to the model of this node if it
+         * is a {@link StructuredListValueModel}, or <code>null</code>
+         */
+        private final ListListener<Object> nodeListListener;
+        
+        /**
+         * The listener that is attached to the model of this node if it
+         * is a {@link StructuredMapValueModel}, or <code>null</code>
+         */
+        private final MapListener<Object, Object> nodeMapListener;
+        
+        /**
+         * The tasks that remove the listeners from the model of this node
+         */
+        private final List<Runnable> listenerRemovals;
+        
+        /**
+         * Creates a new node
+         * 
+         * @param parent The parent node, or <code>null</code> for the root
+         * @param valueModel The {@link StructuredValueModel}
+         * @param labelSupplier The supplier for the label
+         * @param ownsValueModel Whether the node owns the model
+         */
+        Node(Node parent, StructuredValueModel<?> valueModel, 
+            Supplier<String> labelSupplier, boolean ownsValueModel)
+        {
+            this.valueModel = valueModel;
+            this.ownsValueModel = ownsValueModel;
+            this.labelSupplier = labelSupplier;
+            this.depth = parent == null ? -1 : parent.depth + 1;
+            this.editable = parent != null && 
+                valueViewBuilder.hasValueViewFactory(valueModel);
+            
+            this.listenerRemovals = new ArrayList<Runnable>();
+            this.nodeValueListener = (oldValue, newValue) -> changed();
+            StructuredValueModel<Object> model = getModel();
+            listenerRemovals.add(addListener(nodeValueListener, 
+                model::addValueListener, 
+                l -> ValueModels.addWeakValueListener(model, l),
+                model::removeValueListener));
+            if (valueModel instanceof StructuredArrayValueModel<?, ?>)
+            {
+                this.nodeArrayListener = createArrayListener();
+                StructuredArrayValueModel<Object, Object> arrayModel =
+                    getArrayModel();
+                listenerRemovals.add(addListener(nodeArrayListener, 
+                    arrayModel::addArrayListener, 
+                    l -> ValueModels.addWeakArrayListener(arrayModel, l),
+                    arrayModel::removeArrayListener));
+            }
+            else
+            {
+                this.nodeArrayListener = null;
+            }
+            if (valueModel instanceof StructuredListValueModel<?>)
+            {
+                this.nodeListListener = createListListener();
+                StructuredListValueModel<Object> listModel = getListModel();
+                listenerRemovals.add(addListener(nodeListListener, 
+                    listModel::addListListener, 
+                    l -> ValueModels.addWeakListListener(listModel, l),
+                    listModel::removeListListener));
+            }
+            else
+            {
+                this.nodeListListener = null;
+            }
+            if (valueModel instanceof StructuredMapValueModel<?, ?>)
+            {
+                this.nodeMapListener = createMapListener();
+                StructuredMapValueModel<Object, Object> mapModel = 
+                    getMapModel();
+                listenerRemovals.add(addListener(nodeMapListener, 
+                    mapModel::addMapListener, 
+                    l -> ValueModels.addWeakMapListener(mapModel, l),
+                    mapModel::removeMapListener));
+            }
+            else
+            {
+                this.nodeMapListener = null;
+            }
+        }
+        
+        /**
+         * Remove all listeners from the model of this node, and mark it 
+         * as being released
+         */
+        void detach()
+        {
+            released = true;
+            for (Runnable listenerRemoval : listenerRemovals)
+            {
+                listenerRemoval.run();
+            }
+            listenerRemovals.clear();
+        }
+        
+        /**
+         * Will be called when the model of this node changed
+         */
+        private void changed()
+        {
+            SwingUtils.invokeOnEventDispatchThread(() -> nodeChanged(this));
+        }
+        
+        /**
+         * Will be called when an element of the array, list or map of 
+         * this node changed
+         */
+        private void elementChanged()
+        {
+            SwingUtils.invokeOnEventDispatchThread(
+                () -> nodeElementChanged(this));
+        }
+        
+        /**
+         * Create the listener for the array model of this node
+         * 
+         * @return The listener
+         */
+        private ArrayListener<Object, Object> createArrayListener()
+        {
+            return new ArrayListener<Object, Object>()
+            {
+                @Override
+                public void arrayElementChanged(
+                    int index, Object oldElement, Object newElement)
+                {
+                    elementChanged();
+                }
+                
+                @Override
+                public void arrayRangeChanged(
+                    int fromIndex, int toIndex, 
+                    Object oldElements, Object array)
+                {
+                    elementChanged();
+                }
+                
+                @Override
+                public void arrayLengthChanged(int oldLength, int newLength)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void arrayElementsInserted(
+                    int fromIndex, int toIndex, 
+                    Object oldArray, Object newArray)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void arrayElementsRemoved(
+                    int fromIndex, int toIndex, 
+                    Object oldArray, Object newArray)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void arrayElementMoved(
+                    int fromIndex, int toIndex, Object array)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void arrayReplaced(Object oldArray, Object newArray)
+                {
+                    changed();
+                }
+            };
+        }
+        
+        /**
+         * Create the listener for the list model of this node
+         * 
+         * @return The listener
+         */
+        private ListListener<Object> createListListener()
+        {
+            return new ListListener<Object>()
+            {
+                @Override
+                public void listElementChanged(
+                    int index, Object oldElement, Object newElement)
+                {
+                    elementChanged();
+                }
+                
+                @Override
+                public void listElementsInserted(int fromIndex, int toIndex)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void listElementsRemoved(int fromIndex, int toIndex)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void listReplaced(
+                    List<Object> oldList, List<Object> newList)
+                {
+                    changed();
+                }
+            };
+        }
+        
+        /**
+         * Create the listener for the map model of this node
+         * 
+         * @return The listener
+         */
+        private MapListener<Object, Object> createMapListener()
+        {
+            return new MapListener<Object, Object>()
+            {
+                @Override
+                public void mapElementReplaced(
+                    Object key, Object oldValue, Object newValue)
+                {
+                    elementChanged();
+                }
+                
+                @Override
+                public void mapElementPut(Object key, Object value)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void mapElementRemoved(Object key, Object value)
+                {
+                    changed();
+                }
+                
+                @Override
+                public void mapReplaced(
+                    Map<Object, Object> oldMap, Map<Object, Object> newMap)
+                {
+                    changed();
+                }
+            };
+        }
+        
+        /**
+         * Returns the model of this node, as a model of objects
+         * 
+         * @return The model
+         */
+        @SuppressWarnings("unchecked")
+        private StructuredValueModel<Object> getModel()
+        {
+            return (StructuredValueModel<Object>) valueModel;
+        }
+        
+        /**
+         * Returns the model of this node, as an array model of objects
+         * 
+         * @return The model
+         */
+        @SuppressWarnings("unchecked")
+        private StructuredArrayValueModel<Object, Object> getArrayModel()
+        {
+            return (StructuredArrayValueModel<Object, Object>) valueModel;
+        }
+        
+        /**
+         * Returns the model of this node, as a list model of objects
+         * 
+         * @return The model
+         */
+        @SuppressWarnings("unchecked")
+        private StructuredListValueModel<Object> getListModel()
+        {
+            return (StructuredListValueModel<Object>) valueModel;
+        }
+        
+        /**
+         * Returns the model of this node, as a map model of objects
+         * 
+         * @return The model
+         */
+        @SuppressWarnings("unchecked")
+        private StructuredMapValueModel<Object, Object> getMapModel()
+        {
+            return (StructuredMapValueModel<Object, Object>) valueModel;
+        }
+        
+        /**
+         * Returns whether this node has children, without computing them
+         * 
+         * @return Whether this node has children
+         */
+        boolean hasChildren()
+        {
+            if (editable)
+            {
+                return false;
+            }
+            if (children != null)
+            {
+                return !children.isEmpty();
+            }
+            int size = getSize();
+            if (size >= 0)
+            {
+                return size > 0;
+            }
+            return valueModel.isExpandable() || 
+                !valueModel.getChildren().isEmpty();
+        }
+        
+        /**
+         * Returns the number of elements if the model of this node is
+         * an array, list or map model, or -1 otherwise
+         * 
+         * @return The size
+         */
+        int getSize()
+        {
+            if (valueModel instanceof StructuredArrayValueModel<?, ?>)
+            {
+                StructuredArrayValueModel<?, ?> arrayValueModel = 
+                    (StructuredArrayValueModel<?, ?>) valueModel;
+                return Math.max(0, arrayValueModel.getArrayLength());
+            }
+            if (valueModel instanceof StructuredListValueModel<?>)
+            {
+                StructuredListValueModel<?> listValueModel = 
+                    (StructuredListValueModel<?>) valueModel;
+                return Math.max(0, listValueModel.getListSize());
+            }
+            if (valueModel instanceof StructuredMapValueModel<?, ?>)
+            {
+                StructuredMapValueModel<?, ?> mapValueModel = 
+                    (StructuredMapValueModel<?, ?>) valueModel;
+                return Math.max(0, mapValueModel.getMapSize());
+            }
+            return -1;
+        }
+        
+        /**
+         * Returns the child nodes, computing them if necessary
+         * 
+         * @return The child nodes
+         */
+        List<Node> getChildren()
+        {
+            if (children == null)
+            {
+                children = computeChildren();
+                invalidChildren = null;
+            }
+            return children;
+        }
+        
+        /**
+         * Compute the child nodes. Nodes from the list of invalidated 
+         * children are re-used if their model is still a child model.
+         * 
+         * @return The child nodes
+         */
+        private List<Node> computeChildren()
+        {
+            if (editable)
+            {
+                return Collections.emptyList();
+            }
+            Map<StructuredValueModel<?>, Node> oldNodes = 
+                new IdentityHashMap<StructuredValueModel<?>, Node>();
+            if (invalidChildren != null)
+            {
+                for (Node oldNode : invalidChildren)
+                {
+                    oldNodes.put(oldNode.valueModel, oldNode);
+                }
+            }
+            List<Node> result = new ArrayList<Node>();
+            if (valueModel instanceof StructuredArrayValueModel<?, ?>)
+            {
+                StructuredArrayValueModel<?, ?> arrayValueModel = 
+                    (StructuredArrayValueModel<?, ?>) valueModel;
+                for (int i = 0; i < getSize(); i++)
+                {
+                    String label = "[" + i + "]";
+                    result.add(obtainNode(oldNodes, 
+                        arrayValueModel.getElementValueModel(i), 
+                        () -> label, false));
+                }
+            }
+            else if (valueModel instanceof StructuredListValueModel<?>)
+            {
+                StructuredListValueModel<?> listValueModel = 
+                    (StructuredListValueModel<?>) valueModel;
+                for (int i = 0; i < getSize(); i++)
+                {
+                    String label = "[" + i + "]";
+                    result.add(obtainNode(oldNodes, 
+                        listValueModel.getElementValueModel(i), 
+                        () -> label, false));
+                }
+            }
+            else if (valueModel instanceof StructuredMapValueModel<?, ?>)
+            {
+                @SuppressWarnings("unchecked")
+                StructuredMapValueModel<Object, ?> mapValueModel = 
+                    (StructuredMapValueModel<Object, ?>) valueModel;
+                Object value = mapValueModel.getValue();
+                if (value instanceof Map<?, ?>)
+                {
+                    Map<?, ?> map = (Map<?, ?>) value;
+                    for (Object key : new ArrayList<Object>(map.keySet()))
+                    {
+                        String label = String.valueOf(key);
+                        result.add(obtainNode(oldNodes, 
+                            mapValueModel.getElementValueModel(key), 
+                            () -> label, false));
+                    }
+                }
+            }
+            else
+            {
+                if (valueModel.isExpandable())
+                {
+                    valueModel.expand();
+                }
+                for (StructuredValueModel<?> child : 
+                    valueViewBuilder.getPropertyChildren(valueModel))
+                {
+                    boolean converted = 
+                        child != valueModel.getChild(child.getName());
+                    result.add(obtainNode(oldNodes, child, 
+                        valueViewBuilder.createPropertyLabelSupplier(child),
+                        converted));
+                }
+            }
+            for (Node oldNode : oldNodes.values())
+            {
+                release(oldNode);
+            }
+            return result;
+        }
+        
+        /**
+         * Returns the node from the given map for the given model, or a 
+         * new node for the given model if there is no such node. The
+         * label of an existing node is updated, because the index of 
+         * an element may have changed.
+         * 
+         * @param oldNodes The old nodes
+         * @param childValueModel The model of the child
+         * @param childLabelSupplier The supplier for the label of the child
+         * @param ownsChildValueModel Whether the child owns its model
+         * @return The node
+         */
+        private Node obtainNode(Map<StructuredValueModel<?>, Node> oldNodes,
+            StructuredValueModel<?> childValueModel, 
+            Supplier<String> childLabelSupplier, boolean ownsChildValueModel)
+        {
+            Node oldNode = oldNodes.remove(childValueModel);
+            if (oldNode != null)
+            {
+                oldNode.labelSupplier = childLabelSupplier;
+                return oldNode;
+            }
+            return new Node(this, childValueModel, childLabelSupplier, 
+                ownsChildValueModel);
+        }
+        
+        /**
+         * Returns the value that is shown in the value column for 
+         * this node
+         * 
+         * @return The value
+         */
+        Object getDisplayedValue()
+        {
+            int size = getSize();
+            if (!editable && size >= 0)
+            {
+                return "[" + size + "]";
+            }
+            if (!editable && hasChildren())
+            {
+                return null;
+            }
+            return valueModel.getValue();
+        }
+    }
+    
+    /**
+     * The table model that provides the visible nodes as rows
+     */
+    private final class PropertySheetTableModel extends AbstractTableModel
+    {
+        /**
+         * Serial UID
+         */
+        private static final long serialVersionUID = 1L;
+        
+        @Override
+        public int getRowCount()
+        {
+            return rows.size();
+        }
+        
+        @Override
+        public int getColumnCount()
+        {
+            return 2;
+        }
+        
+        @Override
+        public String getColumnName(int column)
+        {
+            if (column == 0)
+            {
+                return "Property";
+            }
+            return "Value";
+        }
+        
+        @Override
+        public boolean isCellEditable(int row, int column)
+        {
+            return column == 1 && rows.get(row).editable;
+        }
+        
+        @Override
+        public Object getValueAt(int row, int column)
+        {
+            Node node = rows.get(row);
+            if (column == 0)
+            {
+                return node.labelSupplier.get();
+            }
+            return node.getDisplayedValue();
+        }
+        
+        @Override
+        public void setValueAt(Object value, int row, int column)
+        {
+            if (column != 1 || row >= rows.size())
+            {
+                return;
+            }
+            Node node = rows.get(row);
+            @SuppressWarnings("unchecked")
+            ValueModel<Object> valueModel = 
+                (ValueModel<Object>) node.valueModel;
+            if (value == null && valueModel.getValueType().isPrimitive())
+            {
+                return;
+            }
+            if (!Objects.equals(valueModel.getValue(), value))
+            {
+                valueModel.setValue(value);
+            }
+            fireTableRowsUpdated(row, row);
+        }
+    }
+    
+    /**
+     * The renderer for the first column, which shows the label of a 
+     * node, indented according to its depth, and with an icon that 
+     * indicates whether it is expanded
+     */
+    private final class NodeCellRenderer extends DefaultTableCellRenderer
+    {
+        /**
+         * Serial UID
+         */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table,
+            Object value, boolean isSelected, boolean hasFocus, 
+            int row, int column)
+        {
+            super.getTableCellRendererComponent(
+                table, value, isSelected, hasFocus, row, column);
+            Node node = rows.get(row);
+            Icon icon = null;
+            if (node.hasChildren())
+            {
+                icon = UIManager.getIcon(node.expanded ? 
+                    "Tree.expandedIcon" : "Tree.collapsedIcon");
+            }
+            setIcon(icon);
+            setHorizontalAlignment(JLabel.LEADING);
+            int iconWidth = icon == null ? INDENTATION : 0;
+            setBorder(BorderFactory.createEmptyBorder(
+                0, 2 + node.depth * INDENTATION + iconWidth, 0, 0));
+            return this;
+        }
+    }
+}
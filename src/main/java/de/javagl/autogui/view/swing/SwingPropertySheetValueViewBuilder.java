@@ -0,0 +1,211 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.swing.JComponent;
+
+import de.javagl.autogui.model.ArrayValueModel;
+import de.javagl.autogui.model.ListValueModel;
+import de.javagl.autogui.model.MapValueModel;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.view.AbstractValueViewBuilder;
+import de.javagl.autogui.view.ArrayValueView;
+import de.javagl.autogui.view.ListValueView;
+import de.javagl.autogui.view.MapValueView;
+import de.javagl.autogui.view.MutableValueView;
+import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
+import de.javagl.autogui.view.ValueViewFactory;
+
+/**
+ * Implementation of a {@link ValueViewBuilder} for Swing that shows 
+ * structured values in a property sheet.<br>
+ * <br>
+ * In contrast to the {@link SwingValueViewBuilder}, it does not create
+ * one component for each property. Instead, the whole tree of a 
+ * {@link StructuredValueModel} is shown in a single tree table. The
+ * rows for the children of a node are only created when the node is
+ * expanded, the values are painted with the default renderers of the
+ * table, and an editor is only created for the cell that is currently 
+ * edited. The editors are created with the {@link ValueViewFactory} 
+ * instances that have been registered in this builder, or the default 
+ * ones from {@link SwingValueViewFactories}.
+ */
+public final class SwingPropertySheetValueViewBuilder 
+    extends AbstractValueViewBuilder<JComponent>
+{
+    /**
+     * Default constructor
+     */
+    public SwingPropertySheetValueViewBuilder()
+    {
+        SwingValueViewBuilderInitializer initializer = 
+            new SwingValueViewBuilderInitializer();
+        initializer.initialize(this);
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This implementation returns a view that shows the whole subtree
+     * of the given model in a single property sheet.
+     */
+    @Override
+    protected <T> ValueView<T, ? extends JComponent> 
+        createStructuredValueView(
+            StructuredValueModel<T> structuredValueModel)
+    {
+        return new SwingPropertySheetValueView<T>(structuredValueModel, this);
+    }
+    
+    /**
+     * Returns whether there is a {@link ValueViewFactory} for the given
+     * {@link ValueModel}. If this is the case, then the model is shown 
+     * as a single row of the property sheet, which can be edited with 
+     * the view that is created by the factory.
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @return Whether there is a {@link ValueViewFactory} for the model
+     */
+    boolean hasValueViewFactory(ValueModel<?> valueModel)
+    {
+        return getValueViewFactory(valueModel) != null;
+    }
+    
+    /**
+     * Returns the sorted and converted children of the given model, 
+     * as described in {@link #getSortedChildren(StructuredValueModel)}
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return The children
+     */
+    List<StructuredValueModel<Object>> getPropertyChildren(
+        StructuredValueModel<?> structuredValueModel)
+    {
+        return getSortedChildren(structuredValueModel);
+    }
+    
+    /**
+     * Returns a supplier for the label of the given model, as described
+     * in {@link #createLabelSupplier(StructuredValueModel)}
+     * 
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return The label supplier
+     */
+    Supplier<String> createPropertyLabelSupplier(
+        StructuredValueModel<?> structuredValueModel)
+    {
+        return createLabelSupplier(structuredValueModel);
+    }
+    
+    @Override
+    protected ValueViewFactory<?, ? extends JComponent>
+        getFactoryForEnumType(Class<?> valueType, Object[] enumConstants)
+    {
+        return SwingValueViewFactories.comboBox(enumConstants);
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This is not used by this builder, because structured models are
+     * shown in a property sheet. It returns a {@link DefaultSwingValueView}.
+     */
+    @Override
+    protected <T> MutableValueView<T, JComponent> 
+        createMutableValueViewImpl(StructuredValueModel<T> structuredValueModel)
+    {
+        return new DefaultSwingValueView<T>(structuredValueModel);
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This is not used by this builder, because structured models are
+     * shown in a property sheet. It returns a {@link SwingArrayValueView}.
+     */
+    @Override
+    protected <A, E> ArrayValueView<A, E, JComponent>
+        createArrayValueViewImpl(ArrayValueModel<A, E> arrayValueModel)
+    {
+        return new SwingArrayValueView<A, E>(arrayValueModel, this);
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This is not used by this builder, because structured models are
+     * shown in a property sheet. It returns a {@link SwingListValueView}.
+     */
+    @Override
+    protected <E> ListValueView<E, JComponent>
+        createListValueViewImpl(ListValueModel<E> listValueModel)
+    {
+        return new SwingListValueView<E>(listValueModel, this);
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This is not used by this builder, because structured models are
+     * shown in a property sheet. It returns a {@link SwingMapValueView}.
+     */
+    @Override
+    protected <K, V> MapValueView<K, V, JComponent>
+        createMapValueViewImpl(MapValueModel<K, V> mapValueModel)
+    {
+        return new SwingMapValueView<K, V>(mapValueModel, this);
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * This is not used by this builder, because expandable models are
+     * expanded in the property sheet.
+     */
+    @Override
+    protected <T> ValueView<T, JComponent> createExpandableValueViewImpl(
+        StructuredValueModel<T> structuredValueModel,
+        Supplier<? extends ValueView<T, ? extends JComponent>> 
+            expandedValueViewSupplier)
+    {
+        return new ExpandableSwingValueView<T>(
+            structuredValueModel, expandedValueViewSupplier);
+    }
+    
+    @Override
+    protected <T> ValueView<T, JComponent> createErrorValueViewImpl(
+        ValueModel<T> valueModel)
+    {
+        return SwingValueViewBuilder.createErrorValueView(valueModel);
+    }
+    
+}
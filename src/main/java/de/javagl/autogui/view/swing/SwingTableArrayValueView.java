@@ -0,0 +1,547 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import javax.swing.JComponent;
+import javax.swing.table.TableCellEditor;
+
+import de.javagl.autogui.model.ArrayListener;
+import de.javagl.autogui.model.ArrayValueModel;
+import de.javagl.autogui.model.StructuredArrayValueModel;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueListener;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.model.ValueModelsInternal;
+import de.javagl.autogui.model.properties.PropertyAccessor;
+import de.javagl.autogui.model.properties.PropertyExtractor;
+import de.javagl.autogui.model.properties.PropertyExtractors;
+import de.javagl.autogui.view.ArrayValueView;
+import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
+import de.javagl.common.beans.BeanUtils;
+
+/**
+ * An {@link ArrayValueView} for arrays of structured elements, like
+ * beans. In contrast to the {@link SwingArrayValueView}, it does not 
+ * create one component for each array element. Instead, the elements 
+ * are shown in a JTable that contains one row for each element and 
+ * one column for each property of the element type. The cells are 
+ * painted with the default renderers of the table, which are shared 
+ * by all cells of one column.<br>
+ * <br>
+ * The editor for a cell is a {@link ValueView} that is created with 
+ * the {@link ValueViewBuilder} when the cell is edited. So the factories 
+ * that have been registered in the builder (for example, the ones from 
+ * {@link SwingValueViewFactories}) are used for editing the cell. When 
+ * the {@link ArrayValueModel} is a {@link StructuredArrayValueModel}, 
+ * then the editor is created for the model of the property of the 
+ * element that is edited. Otherwise, it is created for the type of 
+ * the property.<br>
+ * <br>
+ * When the {@link ArrayValueModel} is a {@link StructuredArrayValueModel},
+ * then this view listens to the models of the properties of all elements,
+ * and repaints a cell when the value of its property changes, for example,
+ * because the property of the element bean was changed by another view. 
+ * Otherwise, the cells are only repainted when the array changes.
+ * 
+ * @param <A> The array type 
+ * @param <E> The element/component type
+ */
+public final class SwingTableArrayValueView<A, E> 
+    implements ArrayValueView<A, E, JComponent>
+{
+    /**
+     * The {@link ArrayValueModel}
+     */
+    private final ArrayValueModel<A, E> arrayValueModel;
+    
+    /**
+     * The {@link ValueViewBuilder} for the array elements and properties
+     */
+    private final ValueViewBuilder<? extends JComponent> valueViewBuilder;
+    
+    /**
+     * The {@link ArrayTable} that shows the array elements
+     */
+    private final ArrayTable<A, E> arrayTable;
+    
+    /**
+     * The {@link PropertyColumn} instances of the {@link #arrayTable}
+     */
+    private final List<PropertyColumn> columns;
+    
+    /**
+     * Whether this view uses the weak listener mode. See
+     * {@link ValueModelsInternal#isWeakListenerMode()}
+     */
+    private final boolean weakListenerMode;
+    
+    /**
+     * The listener that is attached to the {@link ArrayValueModel}, to
+     * attach the {@link #propertyListeners} to the property models of 
+     * the elements when the structure of the array changes, or 
+     * <code>null</code> if the model is not a 
+     * {@link StructuredArrayValueModel}
+     */
+    private final ArrayListener<A, E> arrayListener;
+    
+    /**
+     * The task that removes the {@link #arrayListener}
+     */
+    private final Runnable arrayListenerRemoval;
+    
+    /**
+     * The listeners that are attached to the property models of the 
+     * elements, to update the respective cells of the table
+     */
+    private final List<ValueListener<Object>> propertyListeners;
+    
+    /**
+     * The tasks that remove the {@link #propertyListeners}
+     */
+    private final List<Runnable> propertyListenerRemovals;
+    
+    /**
+     * The {@link ValueView} that was most recently returned by 
+     * {@link #getElementValueView(int)}, or <code>null</code>
+     */
+    private ValueView<E, ? extends JComponent> elementValueView;
+    
+    /**
+     * Creates a new array value view
+     * 
+     * @param arrayValueModel The {@link ArrayValueModel}
+     * @param valueViewBuilder The {@link ValueViewBuilder} for the 
+     * array elements and their properties
+     */
+    public SwingTableArrayValueView(
+        ArrayValueModel<A, E> arrayValueModel, 
+        ValueViewBuilder<? extends JComponent> valueViewBuilder)
+    {
+        this.arrayValueModel = arrayValueModel;
+        this.valueViewBuilder = valueViewBuilder;
+        
+        PropertyExtractor propertyExtractor = null;
+        if (arrayValueModel instanceof StructuredValueModel<?>)
+        {
+            StructuredValueModel<?> structuredValueModel = 
+                (StructuredValueModel<?>) arrayValueModel;
+            propertyExtractor = structuredValueModel.getPropertyExtractor();
+        }
+        else
+        {
+            propertyExtractor = PropertyExtractors.createDefault();
+        }
+        List<PropertyAccessor> propertyAccessors = 
+            propertyExtractor.getPropertyAccessors(
+                arrayValueModel.getElementValueType());
+        this.columns = new ArrayList<PropertyColumn>();
+        for (PropertyAccessor propertyAccessor : propertyAccessors)
+        {
+            columns.add(new PropertyColumn(propertyAccessor));
+        }
+        this.arrayTable = new ArrayTable<A, E>(arrayValueModel, columns);
+        
+        this.weakListenerMode = ValueModelsInternal.isWeakListenerMode();
+        this.propertyListeners = new ArrayList<ValueListener<Object>>();
+        this.propertyListenerRemovals = new ArrayList<Runnable>();
+        if (arrayValueModel instanceof StructuredArrayValueModel<?, ?>)
+        {
+            this.arrayListener = createArrayListener();
+            this.arrayListenerRemoval = addListener(arrayListener, 
+                arrayValueModel::addArrayListener, 
+                l -> ValueModels.addWeakArrayListener(arrayValueModel, l),
+                arrayValueModel::removeArrayListener);
+            attachPropertyListeners();
+        }
+        else
+        {
+            this.arrayListener = null;
+            this.arrayListenerRemoval = null;
+        }
+    }
+    
+    /**
+     * Create the listener that attaches the {@link #propertyListeners}
+     * to the property models of the elements whenever the structure 
+     * of the array changes
+     * 
+     * @return The listener
+     */
+    private ArrayListener<A, E> createArrayListener()
+    {
+        return new ArrayListener<A, E>()
+        {
+            @Override
+            public void arrayElementChanged(
+                int index, E oldElement, E newElement)
+            {
+                // The element models remain the same
+            }
+            
+            @Override
+            public void arrayRangeChanged(
+                int fromIndex, int toIndex, A oldElements, A array)
+            {
+                // The element models remain the same
+            }
+            
+            @Override
+            public void arrayReplaced(A oldArray, A newArray)
+            {
+                attachPropertyListeners();
+            }
+            
+            @Override
+            public void arrayElementsInserted(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                attachPropertyListeners();
+            }
+            
+            @Override
+            public void arrayElementsRemoved(
+                int fromIndex, int toIndex, A oldArray, A newArray)
+            {
+                attachPropertyListeners();
+            }
+            
+            @Override
+            public void arrayElementMoved(
+                int fromIndex, int toIndex, A array)
+            {
+                attachPropertyListeners();
+            }
+        };
+    }
+    
+    /**
+     * Attach the {@link #propertyListeners} to the models of the 
+     * properties of all elements of the {@link StructuredArrayValueModel},
+     * after removing the ones that have been attached previously. Each
+     * listener updates the cell for the property in the row of the 
+     * element.
+     */
+    private void attachPropertyListeners()
+    {
+        detachPropertyListeners();
+        StructuredArrayValueModel<?, ?> structuredArrayValueModel = 
+            (StructuredArrayValueModel<?, ?>) arrayValueModel;
+        int length = Math.max(0, structuredArrayValueModel.getArrayLength());
+        for (int i = 0; i < length; i++)
+        {
+            StructuredValueModel<?> elementValueModel = 
+                structuredArrayValueModel.getElementValueModel(i);
+            for (int c = 0; c < columns.size(); c++)
+            {
+                String name = columns.get(c).propertyAccessor.getName();
+                @SuppressWarnings("unchecked")
+                StructuredValueModel<Object> propertyValueModel = 
+                    (StructuredValueModel<Object>) 
+                    elementValueModel.getChild(name);
+                if (propertyValueModel == null)
+                {
+                    continue;
+                }
+                int row = i;
+                int column = c + 1;
+                ValueListener<Object> propertyListener = 
+                    (oldValue, newValue) -> arrayTable.updateCell(row, column);
+                propertyListeners.add(propertyListener);
+                propertyListenerRemovals.add(addListener(propertyListener, 
+                    propertyValueModel::addValueListener, 
+                    l -> ValueModels.addWeakValueListener(
+                        propertyValueModel, l),
+                    propertyValueModel::removeValueListener));
+            }
+        }
+    }
+    
+    /**
+     * Remove the {@link #propertyListeners} from the models of the 
+     * properties of the elements
+     */
+    private void detachPropertyListeners()
+    {
+        for (Runnable propertyListenerRemoval : propertyListenerRemovals)
+        {
+            propertyListenerRemoval.run();
+        }
+        propertyListenerRemovals.clear();
+        propertyListeners.clear();
+    }
+    
+    /**
+     * Add the given listener to a model, and return a task that removes
+     * it again. In the {@link #weakListenerMode weak listener mode}, 
+     * the listener is added with the given weak function, which returns 
+     * the listener that was actually added to the model.
+     * 
+     * @param <L> The listener type
+     * @param listener The listener
+     * @param add The function that adds a listener
+     * @param addWeak The function that adds a weak listener
+     * @param remove The function that removes a listener
+     * @return The task that removes the listener
+     */
+    private <L> Runnable addListener(L listener, Consumer<L> add, 
+        UnaryOperator<L> addWeak, Consumer<L> remove)
+    {
+        L attachedListener;
+        if (weakListenerMode)
+        {
+            attachedListener = addWeak.apply(listener);
+        }
+        else
+        {
+            add.accept(listener);
+            attachedListener = listener;
+        }
+        return () -> remove.accept(attachedListener);
+    }
+    
+    @Override
+    public void dispose()
+    {
+        if (arrayListenerRemoval != null)
+        {
+            arrayListenerRemoval.run();
+        }
+        detachPropertyListeners();
+        arrayTable.detach();
+        disposeElementValueView();
+    }
+    
+    @Override
+    public JComponent getComponent()
+    {
+        return arrayTable.getComponent();
+    }
+
+    @Override
+    public ArrayValueModel<A, E> getValueModel()
+    {
+        return arrayValueModel;
+    }
+
+    @Override
+    public void updateView()
+    {
+        arrayTable.updateView();
+    }
+
+    @Override
+    public int getArrayLength()
+    {
+        return arrayValueModel.getArrayLength();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * The element views are not part of this view. The returned view
+     * is created for the element when this method is called. It is only
+     * valid until this method is called again, or this view is disposed.
+     * Then, the returned view is disposed, so that at most one element 
+     * view exists at any time.
+     */
+    @Override
+    public ValueView<E, ? extends JComponent> getElementValueView(int index)
+    {
+        disposeElementValueView();
+        elementValueView = valueViewBuilder.createValueView(
+            arrayValueModel.getElementValueModel(index));
+        return elementValueView;
+    }
+    
+    /**
+     * Dispose the {@link #elementValueView}, if there is one
+     */
+    private void disposeElementValueView()
+    {
+        if (elementValueView != null)
+        {
+            elementValueView.dispose();
+            elementValueView = null;
+        }
+    }
+    
+    /**
+     * Returns the {@link StructuredValueModel} for the property with the
+     * given name of the element at the given index, or <code>null</code>
+     * if the {@link ArrayValueModel} is not a 
+     * {@link StructuredArrayValueModel}, or the element model does not
+     * have such a child
+     * 
+     * @param index The index of the element
+     * @param name The name of the property
+     * @return The {@link StructuredValueModel}
+     */
+    private StructuredValueModel<?> getPropertyValueModel(
+        int index, String name)
+    {
+        if (!(arrayValueModel instanceof StructuredArrayValueModel<?, ?>))
+        {
+            return null;
+        }
+        StructuredArrayValueModel<?, ?> structuredArrayValueModel = 
+            (StructuredArrayValueModel<?, ?>) arrayValueModel;
+        return structuredArrayValueModel.getElementValueModel(index)
+            .getChild(name);
+    }
+    
+    /**
+     * Set the given value in the model of the given {@link ValueView}
+     * 
+     * @param valueView The {@link ValueView}
+     * @param value The value
+     */
+    private static void setViewValue(
+        ValueView<?, ? extends JComponent> valueView, Object value)
+    {
+        @SuppressWarnings("unchecked")
+        ValueView<Object, ? extends JComponent> typedValueView = 
+            (ValueView<Object, ? extends JComponent>) valueView;
+        typedValueView.getValueModel().setValue(value);
+    }
+    
+    /**
+     * The {@link ArrayTableColumn} that contains the values of one 
+     * property of the array elements
+     */
+    private final class PropertyColumn implements ArrayTableColumn
+    {
+        /**
+         * The {@link PropertyAccessor} for the property
+         */
+        private final PropertyAccessor propertyAccessor;
+        
+        /**
+         * Creates a new column for the given property
+         * 
+         * @param propertyAccessor The {@link PropertyAccessor}
+         */
+        PropertyColumn(PropertyAccessor propertyAccessor)
+        {
+            this.propertyAccessor = propertyAccessor;
+        }
+        
+        @Override
+        public String getName()
+        {
+            return BeanUtils.getDescription(propertyAccessor.getName());
+        }
+        
+        @Override
+        public Class<?> getColumnClass()
+        {
+            Class<?> type = propertyAccessor.getType();
+            if (ValueModelsInternal.isLeafType(type))
+            {
+                return SwingUtils.boxed(type);
+            }
+            return Object.class;
+        }
+        
+        @Override
+        public Object getValue(int index)
+        {
+            E element = arrayValueModel.getElementValue(index);
+            if (element == null)
+            {
+                return null;
+            }
+            return propertyAccessor.getReadMethod().apply(element);
+        }
+        
+        @Override
+        public void setValue(int index, Object value)
+        {
+            if (value == null && propertyAccessor.getType().isPrimitive())
+            {
+                return;
+            }
+            if (Objects.equals(getValue(index), value))
+            {
+                return;
+            }
+            StructuredValueModel<?> propertyValueModel = 
+                getPropertyValueModel(index, propertyAccessor.getName());
+            if (propertyValueModel != null)
+            {
+                @SuppressWarnings("unchecked")
+                StructuredValueModel<Object> typedValueModel = 
+                    (StructuredValueModel<Object>) propertyValueModel;
+                typedValueModel.setValue(value);
+                return;
+            }
+            E element = arrayValueModel.getElementValue(index);
+            if (element != null)
+            {
+                propertyAccessor.getWriteMethod().accept(element, value);
+            }
+        }
+        
+        @Override
+        public TableCellEditor createCellEditor()
+        {
+            return new ValueViewCellEditor(index -> createValueView(index));
+        }
+        
+        /**
+         * Create the {@link ValueView} that serves as the editor for the
+         * property of the element at the given index. If there is no 
+         * model for this property, then the view will be created for 
+         * the type of the property. Its value will then be written into 
+         * the element when the editing is stopped.
+         * 
+         * @param index The index of the element
+         * @return The {@link ValueView}
+         */
+        private ValueView<?, ? extends JComponent> createValueView(int index)
+        {
+            StructuredValueModel<?> propertyValueModel = 
+                getPropertyValueModel(index, propertyAccessor.getName());
+            if (propertyValueModel == null)
+            {
+                ValueView<?, ? extends JComponent> valueView = 
+                    valueViewBuilder.createValueView(
+                        propertyAccessor.getType());
+                setViewValue(valueView, getValue(index));
+                return valueView;
+            }
+            return valueViewBuilder.createValueView(propertyValueModel);
+        }
+    }
+    
+}
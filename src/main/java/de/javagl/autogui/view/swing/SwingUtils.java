@@ -28,8 +28,11 @@ package de.javagl.autogui.view.swing;
 
 import java.util.logging.Logger;
 
+import javax.swing.JComponent;
 import javax.swing.SwingUtilities;
 
+import de.javagl.autogui.view.ValueView;
+
 /**
  * Internal utility methods related to Swing 
  */
@@ -41,6 +44,31 @@ class SwingUtils
     private static final Logger logger = 
         Logger.getLogger(SwingUtils.class.getName());
     
+    /**
+     * The client property key under which a component stores the 
+     * {@link ValueView} that it belongs to
+     */
+    private static final String VALUE_VIEW_KEY = 
+        "de.javagl.autogui.valueView";
+    
+    /**
+     * Store the given {@link ValueView} as a client property of the given 
+     * component. This makes sure that the view (and the listeners that
+     * it keeps) remain reachable as long as the component is reachable, 
+     * even if the view is only referred to weakly by its model. If the
+     * given component is <code>null</code>, then nothing is done.
+     * 
+     * @param component The component
+     * @param valueView The {@link ValueView}
+     */
+    static void setValueView(JComponent component, ValueView<?, ?> valueView)
+    {
+        if (component != null)
+        {
+            component.putClientProperty(VALUE_VIEW_KEY, valueView);
+        }
+    }
+    
     /**
      * Validate that the current thread is the Event Dispatch Thread, and
      * print a warning otherwise.
@@ -53,6 +81,49 @@ class SwingUtils
         }
     }
     
+    /**
+     * Execute the given runnable on the Event Dispatch Thread. If this 
+     * method is called on the Event Dispatch Thread, then the runnable 
+     * will be executed immediately.
+     * 
+     * @param runnable The runnable
+     */
+    static void invokeOnEventDispatchThread(Runnable runnable)
+    {
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            runnable.run();
+        }
+        else
+        {
+            SwingUtilities.invokeLater(runnable);
+        }
+    }
+    
+    /**
+     * Returns the wrapper type for the given type, if it is a primitive
+     * type, and the given type otherwise
+     * 
+     * @param type The type
+     * @return The wrapper type
+     */
+    static Class<?> boxed(Class<?> type)
+    {
+        if (!type.isPrimitive())
+        {
+            return type;
+        }
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == float.class) return Float.class;
+        if (type == double.class) return Double.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == byte.class) return Byte.class;
+        if (type == short.class) return Short.class;
+        if (type == char.class) return Character.class;
+        return type;
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
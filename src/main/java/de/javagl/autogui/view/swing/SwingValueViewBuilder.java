@@ -27,17 +27,22 @@
 package de.javagl.autogui.view.swing;
 
 import java.awt.Color;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 
 import de.javagl.autogui.model.ArrayValueModel;
+import de.javagl.autogui.model.ListValueModel;
+import de.javagl.autogui.model.MapValueModel;
 import de.javagl.autogui.model.StructuredValueModel;
 import de.javagl.autogui.model.ValueModel;
 import de.javagl.autogui.model.ValueModels;
 import de.javagl.autogui.view.AbstractValueViewBuilder;
 import de.javagl.autogui.view.ArrayValueView;
+import de.javagl.autogui.view.ListValueView;
+import de.javagl.autogui.view.MapValueView;
 import de.javagl.autogui.view.MutableValueView;
 import de.javagl.autogui.view.ValueView;
 import de.javagl.autogui.view.ValueViewBuilder;
@@ -55,6 +60,13 @@ public final class SwingValueViewBuilder
     private static final Logger logger = 
         Logger.getLogger(SwingValueViewBuilder.class.getName());
     
+    /**
+     * The array length at which array views will show their elements
+     * with a {@link SwingVirtualArrayValueView}. By default, the virtual
+     * representation is not used.
+     */
+    private int virtualArrayThreshold = Integer.MAX_VALUE;
+    
     /**
      * Default constructor
      */
@@ -65,6 +77,39 @@ public final class SwingValueViewBuilder
         initializer.initialize(this);
     }
     
+    /**
+     * Set the array length at which the array views that are created
+     * by this builder will show their elements with a 
+     * {@link SwingVirtualArrayValueView}, which only creates components
+     * for the visible elements. The views will switch between both 
+     * representations when the array length changes. A value of 
+     * <code>Integer.MAX_VALUE</code> disables the virtual representation.
+     * This is the default value, so that the virtual representation has
+     * to be enabled explicitly, for example, with a threshold of 
+     * <code>1000</code>.<br>
+     * <br>
+     * In order to always use the virtual representation for a certain 
+     * array, a factory from
+     * {@link SwingValueViewFactories#virtualArray(ValueViewBuilder)} may 
+     * be registered for its name path or type.
+     * 
+     * @param virtualArrayThreshold The threshold
+     * @return This builder
+     * @throws IllegalArgumentException If the threshold is negative
+     */
+    public SwingValueViewBuilder virtualArrayThreshold(
+        int virtualArrayThreshold)
+    {
+        if (virtualArrayThreshold < 0)
+        {
+            throw new IllegalArgumentException(
+                "The threshold may not be negative, but is " 
+                + virtualArrayThreshold);
+        }
+        this.virtualArrayThreshold = virtualArrayThreshold;
+        return this;
+    }
+    
     @Override
     protected ValueViewFactory<?, ? extends JComponent>
         getFactoryForEnumType(Class<?> valueType, Object[] enumConstants)
@@ -84,13 +129,58 @@ public final class SwingValueViewBuilder
         createArrayValueViewImpl(ArrayValueModel<A, E> arrayValueModel)
     {
         SwingArrayValueView<A, E> valueView = 
-            new SwingArrayValueView<A, E>(arrayValueModel, this);
+            new SwingArrayValueView<A, E>(
+                arrayValueModel, this, virtualArrayThreshold);
+        return valueView;
+    }
+    
+    @Override
+    protected final <E> ListValueView<E, JComponent>
+        createListValueViewImpl(ListValueModel<E> listValueModel)
+    {
+        SwingListValueView<E> valueView = 
+            new SwingListValueView<E>(listValueModel, this);
         return valueView;
     }
     
+    @Override
+    protected final <K, V> MapValueView<K, V, JComponent>
+        createMapValueViewImpl(MapValueModel<K, V> mapValueModel)
+    {
+        SwingMapValueView<K, V> valueView = 
+            new SwingMapValueView<K, V>(mapValueModel, this);
+        return valueView;
+    }
+    
+    @Override
+    protected final <T> ValueView<T, JComponent> createExpandableValueViewImpl(
+        StructuredValueModel<T> structuredValueModel,
+        Supplier<? extends ValueView<T, ? extends JComponent>> 
+            expandedValueViewSupplier)
+    {
+        return new ExpandableSwingValueView<T>(
+            structuredValueModel, expandedValueViewSupplier);
+    }
+    
     @Override
     protected final <T> ValueView<T, JComponent> createErrorValueViewImpl(
         ValueModel<T> valueModel)
+    {
+        return createErrorValueView(valueModel);
+    }
+    
+    /**
+     * Creates a {@link ValueView} that indicates an error, meaning that 
+     * no proper {@link ValueView} could be created. It only shows the
+     * value type of the given model in a label.
+     * 
+     * @param <T> The value type
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @return The {@link ValueView}
+     */
+    static <T> ValueView<T, JComponent> createErrorValueView(
+        ValueModel<T> valueModel)
     {
         logger.warning("createErrorValueView for " + valueModel);
         
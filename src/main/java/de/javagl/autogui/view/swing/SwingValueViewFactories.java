@@ -31,8 +31,11 @@ import java.util.Date;
 
 import javax.swing.JComponent;
 
+import de.javagl.autogui.model.ArrayValueModel;
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
 import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
 import de.javagl.autogui.view.ValueViewFactory;
 
 /**
@@ -298,6 +301,115 @@ public class SwingValueViewFactories
     }
     
 
+    /**
+     * Provides a {@link ValueViewFactory} that creates
+     * {@link ValueView} instances that show the elements of an array 
+     * in a table, creating components only for the visible elements.
+     * This is intended for large arrays. The factory may be registered 
+     * for the name path or the type of an array, for example<br>
+     * <pre><code>
+     * builder.using(".samples", 
+     *     SwingValueViewFactories.virtualArray(builder));
+     * </code></pre>
+     * The {@link ValueModel} that is passed to the factory must be an 
+     * {@link ArrayValueModel}, or be backed by one.
+     *  
+     * @param valueViewBuilder The {@link ValueViewBuilder} that will be
+     * used for creating the editors of elements that are not primitive 
+     * values or strings
+     * @return The {@link ValueViewFactory}
+     */
+    public static ValueViewFactory<Object, JComponent> virtualArray(
+        ValueViewBuilder<? extends JComponent> valueViewBuilder)
+    {
+        return new ValueViewFactory<Object, JComponent>()
+        {
+            @Override
+            public ValueView<Object, ? extends JComponent> create(
+                ValueModel<Object> valueModel)
+            {
+                return new SwingVirtualArrayValueView<Object, Object>(
+                    asArrayValueModel(valueModel), valueViewBuilder);
+            }
+            
+            @Override
+            public String toString()
+            {
+                return "ValueViewFactory[virtualArray]";
+            }
+        };
+    }
+    
+    /**
+     * Provides a {@link ValueViewFactory} that creates
+     * {@link ValueView} instances that show the elements of an array 
+     * of structured elements (like beans) in a table, with one row for 
+     * each element and one column for each property of the element type.
+     * The factory may be registered for the name path or the type of 
+     * an array, for example<br>
+     * <pre><code>
+     * builder.using(".pets", SwingValueViewFactories.table(builder));
+     * </code></pre>
+     * The {@link ValueModel} that is passed to the factory must be an 
+     * {@link ArrayValueModel}, or be backed by one.
+     *  
+     * @param valueViewBuilder The {@link ValueViewBuilder} that will be
+     * used for creating the editors of the table cells
+     * @return The {@link ValueViewFactory}
+     */
+    public static ValueViewFactory<Object, JComponent> table(
+        ValueViewBuilder<? extends JComponent> valueViewBuilder)
+    {
+        return new ValueViewFactory<Object, JComponent>()
+        {
+            @Override
+            public ValueView<Object, ? extends JComponent> create(
+                ValueModel<Object> valueModel)
+            {
+                return new SwingTableArrayValueView<Object, Object>(
+                    asArrayValueModel(valueModel), valueViewBuilder);
+            }
+            
+            @Override
+            public String toString()
+            {
+                return "ValueViewFactory[table]";
+            }
+        };
+    }
+    
+    /**
+     * Returns the given {@link ValueModel} as an {@link ArrayValueModel}.
+     * If the given model is not an {@link ArrayValueModel}, then the 
+     * {@link ArrayValueModel} that it is backed by will be returned.
+     * 
+     * @param valueModel The {@link ValueModel}
+     * @return The {@link ArrayValueModel}
+     * @throws IllegalArgumentException If the given model is not 
+     * an {@link ArrayValueModel} and not backed by one
+     */
+    private static ArrayValueModel<Object, Object> asArrayValueModel(
+        ValueModel<Object> valueModel)
+    {
+        if (valueModel instanceof ArrayValueModel<?, ?>)
+        {
+            @SuppressWarnings("unchecked")
+            ArrayValueModel<Object, Object> typedValueModel = 
+                (ArrayValueModel<Object, Object>) valueModel;
+            return typedValueModel;
+        }
+        @SuppressWarnings("unchecked")
+        ArrayValueModel<Object, Object> arrayValueModel = 
+            ValueModels.asArrayValueModel(
+                valueModel, ArrayValueModel.class);
+        if (arrayValueModel == null)
+        {
+            throw new IllegalArgumentException(
+                "Not an array value model: " + valueModel);
+        }
+        return arrayValueModel;
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
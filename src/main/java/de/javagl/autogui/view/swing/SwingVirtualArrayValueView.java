@@ -0,0 +1,220 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.util.Collections;
+
+import javax.swing.DefaultCellEditor;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.table.TableCellEditor;
+
+import de.javagl.autogui.model.ArrayValueModel;
+import de.javagl.autogui.model.ValueModelsInternal;
+import de.javagl.autogui.view.ArrayValueView;
+import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
+
+/**
+ * An {@link ArrayValueView} for large arrays. In contrast to the 
+ * {@link SwingArrayValueView}, it does not create one component for
+ * each array element. Instead, the elements are shown in a JTable, 
+ * which only paints the rows that are visible, using one renderer 
+ * for all rows. An editor is only created for the element that is 
+ * currently edited.<br>
+ * <br>
+ * Elements of primitive types, their wrapper types, <code>String</code>
+ * and enums are edited with the default editors of the table. For other
+ * element types, the editor is a {@link ValueView} that is created with
+ * the {@link ValueViewBuilder} for the element that is edited.
+ * 
+ * @param <A> The array type 
+ * @param <E> The element/component type
+ */
+public final class SwingVirtualArrayValueView<A, E> 
+    implements ArrayValueView<A, E, JComponent>
+{
+    /**
+     * The {@link ArrayValueModel}
+     */
+    private final ArrayValueModel<A, E> arrayValueModel;
+    
+    /**
+     * The {@link ValueViewBuilder} for the array elements
+     */
+    private final ValueViewBuilder<? extends JComponent> valueViewBuilder;
+    
+    /**
+     * The {@link ArrayTable} that shows the array elements
+     */
+    private final ArrayTable<A, E> arrayTable;
+    
+    /**
+     * The {@link ValueView} that was most recently returned by 
+     * {@link #getElementValueView(int)}, or <code>null</code>
+     */
+    private ValueView<E, ? extends JComponent> elementValueView;
+    
+    /**
+     * Creates a new array value view
+     * 
+     * @param arrayValueModel The {@link ArrayValueModel}
+     * @param valueViewBuilder The {@link ValueViewBuilder} for the 
+     * array elements
+     */
+    public SwingVirtualArrayValueView(
+        ArrayValueModel<A, E> arrayValueModel, 
+        ValueViewBuilder<? extends JComponent> valueViewBuilder)
+    {
+        this.arrayValueModel = arrayValueModel;
+        this.valueViewBuilder = valueViewBuilder;
+        this.arrayTable = new ArrayTable<A, E>(arrayValueModel, 
+            Collections.singletonList(new ElementColumn()));
+    }
+    
+    @Override
+    public void dispose()
+    {
+        arrayTable.detach();
+        disposeElementValueView();
+    }
+    
+    @Override
+    public JComponent getComponent()
+    {
+        return arrayTable.getComponent();
+    }
+
+    @Override
+    public ArrayValueModel<A, E> getValueModel()
+    {
+        return arrayValueModel;
+    }
+
+    @Override
+    public void updateView()
+    {
+        arrayTable.updateView();
+    }
+
+    @Override
+    public int getArrayLength()
+    {
+        return arrayValueModel.getArrayLength();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * The element views are not part of this view. The returned view
+     * is created for the element when this method is called. It is only
+     * valid until this method is called again, or this view is disposed.
+     * Then, the returned view is disposed, so that at most one element 
+     * view exists at any time.
+     */
+    @Override
+    public ValueView<E, ? extends JComponent> getElementValueView(int index)
+    {
+        disposeElementValueView();
+        elementValueView = valueViewBuilder.createValueView(
+            arrayValueModel.getElementValueModel(index));
+        return elementValueView;
+    }
+    
+    /**
+     * Dispose the {@link #elementValueView}, if there is one
+     */
+    private void disposeElementValueView()
+    {
+        if (elementValueView != null)
+        {
+            elementValueView.dispose();
+            elementValueView = null;
+        }
+    }
+    
+    /**
+     * The {@link ArrayTableColumn} that contains the array elements
+     */
+    private final class ElementColumn implements ArrayTableColumn
+    {
+        @Override
+        public String getName()
+        {
+            return "Value";
+        }
+        
+        @Override
+        public Class<?> getColumnClass()
+        {
+            Class<?> elementType = arrayValueModel.getElementValueType();
+            if (ValueModelsInternal.isLeafType(elementType))
+            {
+                return SwingUtils.boxed(elementType);
+            }
+            return Object.class;
+        }
+        
+        @Override
+        public Object getValue(int index)
+        {
+            return arrayValueModel.getElementValue(index);
+        }
+        
+        @Override
+        public void setValue(int index, Object value)
+        {
+            if (value == null && 
+                arrayValueModel.getElementValueType().isPrimitive())
+            {
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            E element = (E) value;
+            arrayValueModel.setElementValue(index, element);
+        }
+        
+        @Override
+        public TableCellEditor createCellEditor()
+        {
+            Class<?> elementType = arrayValueModel.getElementValueType();
+            if (elementType.isEnum())
+            {
+                return new DefaultCellEditor(
+                    new JComboBox<Object>(elementType.getEnumConstants()));
+            }
+            if (ValueModelsInternal.isLeafType(elementType))
+            {
+                return null;
+            }
+            return new ValueViewCellEditor(index -> 
+                valueViewBuilder.createValueView(
+                    arrayValueModel.getElementValueModel(index)));
+        }
+    }
+    
+}
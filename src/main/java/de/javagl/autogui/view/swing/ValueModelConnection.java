@@ -31,9 +31,16 @@ import java.util.logging.Logger;
 
 import de.javagl.autogui.model.ValueListener;
 import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
 
 /**
- * A connection between two {@link ValueModel} instances
+ * A connection between two {@link ValueModel} instances.<br>
+ * <br>
+ * If the connection is <i>weak</i>, then the listener that is attached
+ * to the first model only is referred to weakly by this model. The
+ * connection then has to be kept reachable by the owner of the second
+ * model, so that a long-lived first model does not keep the second
+ * model reachable.
  *
  * @param <T> The value type
  */
@@ -71,12 +78,28 @@ class ValueModelConnection<T>
      * to the first {@link ValueModel}
      */
     private final ValueListener<T> listenerBtoA;
+    
+    /**
+     * Whether the connection is weak
+     */
+    private final boolean weak;
+    
+    /**
+     * The listener that was actually added to the first 
+     * {@link ValueModel}. This is either the {@link #listenerAtoB},
+     * or a listener that only keeps a weak reference to it.
+     */
+    private ValueListener<T> attachedListenerAtoB;
 
     /**
-     * Default constructor
+     * Creates a new connection
+     * 
+     * @param weak Whether the connection is weak
      */
-    ValueModelConnection()
+    ValueModelConnection(boolean weak)
     {
+        this.weak = weak;
+
         // Implementation note: These listeners COULD cause an endless
         // chain of mutual notifications. But ValueListeners are only
         // supposed to be notified when the value actually changed,
@@ -108,8 +131,9 @@ class ValueModelConnection<T>
     {
         if (valueModelA != null)
         {
-            valueModelA.removeValueListener(listenerAtoB);
+            valueModelA.removeValueListener(attachedListenerAtoB);
             valueModelA = null;
+            attachedListenerAtoB = null;
         }
         if (valueModelB != null)
         {
@@ -144,7 +168,16 @@ class ValueModelConnection<T>
         valueModelB = newValueModelB;
         if (valueModelA != null && valueModelB != null)
         {
-            valueModelA.addValueListener(listenerAtoB);
+            if (weak)
+            {
+                attachedListenerAtoB = ValueModels.addWeakValueListener(
+                    valueModelA, listenerAtoB);
+            }
+            else
+            {
+                attachedListenerAtoB = listenerAtoB;
+                valueModelA.addValueListener(listenerAtoB);
+            }
             valueModelB.addValueListener(listenerBtoA);
         }
     }
@@ -0,0 +1,175 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.autogui.view.swing;
+
+import java.awt.Component;
+import java.awt.event.MouseEvent;
+import java.util.EventObject;
+import java.util.function.IntFunction;
+
+import javax.swing.AbstractCellEditor;
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.table.TableCellEditor;
+
+import de.javagl.autogui.view.ValueView;
+
+/**
+ * A table cell editor that uses a {@link ValueView} that is created
+ * for the row that is edited. The view is only created when the editing
+ * starts, and the height of the row is increased while it is edited, 
+ * if necessary.<br>
+ * <br>
+ * The {@link ValueView} writes into its value model directly. The 
+ * {@link #getCellEditorValue() value of the editor} is the current 
+ * value of this model. The {@link ValueView} is disposed when the
+ * editing is stopped or cancelled.
+ */
+final class ValueViewCellEditor 
+    extends AbstractCellEditor implements TableCellEditor
+{
+    /**
+     * Serial UID
+     */
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The function that creates the {@link ValueView} for a row
+     */
+    private final IntFunction<? extends ValueView<?, ? extends JComponent>> 
+        valueViewFactory;
+    
+    /**
+     * The table that is currently or was most recently edited
+     */
+    private JTable table;
+    
+    /**
+     * The row that is currently or was most recently edited, or -1
+     */
+    private int editedRow = -1;
+    
+    /**
+     * The {@link ValueView} that is currently or was most recently used
+     */
+    private ValueView<?, ? extends JComponent> valueView;
+    
+    /**
+     * Creates a new cell editor
+     * 
+     * @param valueViewFactory The function that creates the 
+     * {@link ValueView} for the row with the given index
+     */
+    ValueViewCellEditor(
+        IntFunction<? extends ValueView<?, ? extends JComponent>> 
+            valueViewFactory)
+    {
+        this.valueViewFactory = valueViewFactory;
+    }
+    
+    @Override
+    public boolean isCellEditable(EventObject event)
+    {
+        if (event instanceof MouseEvent)
+        {
+            MouseEvent mouseEvent = (MouseEvent) event;
+            return mouseEvent.getClickCount() >= 2;
+        }
+        return true;
+    }
+
+    @Override
+    public Component getTableCellEditorComponent(JTable table,
+        Object value, boolean isSelected, int row, int column)
+    {
+        disposeValueView();
+        valueView = valueViewFactory.apply(row);
+        JComponent component = valueView.getComponent();
+        int height = component.getPreferredSize().height;
+        if (height > table.getRowHeight(row))
+        {
+            table.setRowHeight(row, height);
+        }
+        this.table = table;
+        editedRow = row;
+        return component;
+    }
+
+    @Override
+    public Object getCellEditorValue()
+    {
+        if (valueView == null)
+        {
+            return null;
+        }
+        return valueView.getValueModel().getValue();
+    }
+    
+    @Override
+    public boolean stopCellEditing()
+    {
+        resetRowHeight();
+        boolean stopped = super.stopCellEditing();
+        if (stopped)
+        {
+            disposeValueView();
+        }
+        return stopped;
+    }
+    
+    @Override
+    public void cancelCellEditing()
+    {
+        resetRowHeight();
+        super.cancelCellEditing();
+        disposeValueView();
+    }
+    
+    /**
+     * Dispose the current {@link ValueView}, if there is one
+     */
+    private void disposeValueView()
+    {
+        if (valueView != null)
+        {
+            valueView.dispose();
+            valueView = null;
+        }
+    }
+    
+    /**
+     * Reset the height of the row that was edited
+     */
+    private void resetRowHeight()
+    {
+        if (table != null && editedRow >= 0 && 
+            editedRow < table.getRowCount())
+        {
+            table.setRowHeight(editedRow, table.getRowHeight());
+        }
+    }
+}
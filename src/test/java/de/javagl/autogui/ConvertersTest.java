@@ -0,0 +1,92 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link Converters} class
+ */
+@SuppressWarnings("javadoc")
+public class ConvertersTest
+{
+    @Test
+    public void testCachingEvictsLeastRecentlyUsed()
+    {
+        AtomicInteger counter = new AtomicInteger();
+        Converter<Integer, String> converter = Converters.caching(
+            Converters.fromFunctions(Integer.class, String.class, 
+                i -> 
+                {
+                    counter.incrementAndGet();
+                    return String.valueOf(i);
+                }, 
+                s -> Integer.valueOf(s)), 2);
+        
+        assertEquals("1", converter.forward().apply(1));
+        assertEquals("2", converter.forward().apply(2));
+        assertEquals("1", converter.forward().apply(1));
+        assertEquals(2, counter.get());
+        
+        // Evicts 2, which was used least recently
+        assertEquals("3", converter.forward().apply(3));
+        assertEquals(3, counter.get());
+        assertEquals("1", converter.forward().apply(1));
+        assertEquals(3, counter.get());
+        assertEquals("2", converter.forward().apply(2));
+        assertEquals(4, counter.get());
+    }
+    
+    @Test
+    public void testCachingDoesNotCacheMutableValues()
+    {
+        AtomicInteger counter = new AtomicInteger();
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Converter<List<String>, Integer> converter = (Converter) 
+            Converters.caching(Converters.fromFunctions(
+                List.class, Integer.class, 
+                l -> 
+                {
+                    counter.incrementAndGet();
+                    return l.size();
+                }, 
+                i -> new ArrayList<Object>()), 2);
+        
+        List<String> list = new ArrayList<String>();
+        assertEquals(Integer.valueOf(0), converter.forward().apply(list));
+        list.add("a");
+        assertEquals(Integer.valueOf(1), converter.forward().apply(list));
+        assertEquals(2, counter.get());
+    }
+    
+    @Test
+    public void testCachingDoesNotShareMutableResults()
+    {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Converter<List<String>, Integer> converter = (Converter) 
+            Converters.caching(Converters.fromFunctions(
+                List.class, Integer.class, l -> l.size(), 
+                i -> new ArrayList<Object>()), 2);
+        
+        List<String> list = converter.backward().apply(0);
+        list.add("a");
+        assertEquals(0, converter.backward().apply(0).size());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testCachingWithInvalidSize()
+    {
+        Converters.caching(Converters.fromFunctions(
+            Integer.class, String.class, 
+            i -> String.valueOf(i), s -> Integer.valueOf(s)), 0);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.List;
+
+/**
+ * Beans that are used in the tests
+ */
+@SuppressWarnings("javadoc")
+public class TestBeans
+{
+    /**
+     * Base class for beans that support property change listeners
+     */
+    public static class Bean
+    {
+        private final PropertyChangeSupport propertyChangeSupport = 
+            new PropertyChangeSupport(this);
+        
+        public void addPropertyChangeListener(
+            PropertyChangeListener listener)
+        {
+            propertyChangeSupport.addPropertyChangeListener(listener);
+        }
+        
+        public void removePropertyChangeListener(
+            PropertyChangeListener listener)
+        {
+            propertyChangeSupport.removePropertyChangeListener(listener);
+        }
+        
+        public void addPropertyChangeListener(
+            String propertyName, PropertyChangeListener listener)
+        {
+            propertyChangeSupport.addPropertyChangeListener(
+                propertyName, listener);
+        }
+        
+        public void removePropertyChangeListener(
+            String propertyName, PropertyChangeListener listener)
+        {
+            propertyChangeSupport.removePropertyChangeListener(
+                propertyName, listener);
+        }
+        
+        protected void firePropertyChange(
+            String propertyName, Object oldValue, Object newValue)
+        {
+            propertyChangeSupport.firePropertyChange(
+                propertyName, oldValue, newValue);
+        }
+    }
+    
+    /**
+     * Returns the number of property change listeners that are 
+     * attached to the given bean
+     * 
+     * @param bean The bean
+     * @return The number of listeners
+     */
+    public static int countListeners(Bean bean)
+    {
+        return bean.propertyChangeSupport.getPropertyChangeListeners().length;
+    }
+    
+    public static class Address extends Bean
+    {
+        private String city;
+        private String street;
+        
+        public String getCity()
+        {
+            return city;
+        }
+        
+        public void setCity(String city)
+        {
+            firePropertyChange("city", this.city, this.city = city);
+        }
+        
+        public String getStreet()
+        {
+            return street;
+        }
+        
+        public void setStreet(String street)
+        {
+            firePropertyChange("street", this.street, this.street = street);
+        }
+    }
+    
+    public static class Room extends Bean
+    {
+        private double area;
+        
+        public double getArea()
+        {
+            return area;
+        }
+        
+        public void setArea(double area)
+        {
+            firePropertyChange("area", this.area, this.area = area);
+        }
+    }
+    
+    public static class House extends Bean
+    {
+        private String name;
+        private Address address = new Address();
+        private Room[] rooms = { new Room(), new Room() };
+        private List<String> tags;
+        
+        public String getName()
+        {
+            return name;
+        }
+        
+        public void setName(String name)
+        {
+            firePropertyChange("name", this.name, this.name = name);
+        }
+        
+        public Address getAddress()
+        {
+            return address;
+        }
+        
+        public void setAddress(Address address)
+        {
+            firePropertyChange("address", this.address, 
+                this.address = address);
+        }
+        
+        public Room[] getRooms()
+        {
+            return rooms;
+        }
+        
+        public void setRooms(Room[] rooms)
+        {
+            firePropertyChange("rooms", this.rooms, this.rooms = rooms);
+        }
+        
+        public List<String> getTags()
+        {
+            return tags;
+        }
+        
+        public void setTags(List<String> tags)
+        {
+            firePropertyChange("tags", this.tags, this.tags = tags);
+        }
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    public static class Item extends Bean
+    {
+        private int count;
+        private double weight;
+        
+        public int getCount()
+        {
+            return count;
+        }
+        
+        public void setCount(int count)
+        {
+            firePropertyChange("count", this.count, this.count = count);
+        }
+        
+        public double getWeight()
+        {
+            return weight;
+        }
+        
+        public void setWeight(double weight)
+        {
+            firePropertyChange("weight", this.weight, this.weight = weight);
+        }
+    }
+    
+    private TestBeans()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ValueListener} handling of the 
+ * {@link AbstractValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class AbstractValueModelTest
+{
+    private static final int THREADS = 8;
+    private static final int LISTENERS_PER_THREAD = 500;
+    
+    @Test
+    public void testConcurrentAddAndRemove() throws InterruptedException
+    {
+        ValueModel<Integer> valueModel = ValueModels.create(Integer.class);
+        AtomicInteger calls = new AtomicInteger();
+        
+        List<List<ValueListener<Integer>>> listeners = 
+            new ArrayList<List<ValueListener<Integer>>>();
+        for (int t = 0; t < THREADS; t++)
+        {
+            List<ValueListener<Integer>> threadListeners = 
+                new ArrayList<ValueListener<Integer>>();
+            for (int i = 0; i < LISTENERS_PER_THREAD; i++)
+            {
+                threadListeners.add((o, n) -> calls.incrementAndGet());
+            }
+            listeners.add(threadListeners);
+        }
+        
+        runConcurrently(t -> 
+        {
+            for (ValueListener<Integer> listener : listeners.get(t))
+            {
+                valueModel.addValueListener(listener);
+            }
+        });
+        valueModel.setValue(1);
+        assertEquals(THREADS * LISTENERS_PER_THREAD, calls.get());
+        
+        calls.set(0);
+        runConcurrently(t -> 
+        {
+            for (ValueListener<Integer> listener : listeners.get(t))
+            {
+                valueModel.removeValueListener(listener);
+            }
+        });
+        valueModel.setValue(2);
+        assertEquals(0, calls.get());
+    }
+    
+    @Test
+    public void testConcurrentAddAndRemoveOfArrayListeners() 
+        throws InterruptedException
+    {
+        DefaultArrayValueModel<String[], String> arrayValueModel = 
+            new DefaultArrayValueModel<String[], String>(
+                ValueModels.create(String[].class));
+        arrayValueModel.setValue(new String[1]);
+        AtomicInteger calls = new AtomicInteger();
+        
+        List<List<ArrayListener<String[], String>>> listeners = 
+            new ArrayList<List<ArrayListener<String[], String>>>();
+        for (int t = 0; t < THREADS; t++)
+        {
+            List<ArrayListener<String[], String>> threadListeners = 
+                new ArrayList<ArrayListener<String[], String>>();
+            for (int i = 0; i < LISTENERS_PER_THREAD; i++)
+            {
+                threadListeners.add((index, o, n) -> calls.incrementAndGet());
+            }
+            listeners.add(threadListeners);
+        }
+        
+        runConcurrently(t -> 
+        {
+            for (ArrayListener<String[], String> listener : listeners.get(t))
+            {
+                arrayValueModel.addArrayListener(listener);
+            }
+        });
+        arrayValueModel.setElementValue(0, "a");
+        assertEquals(THREADS * LISTENERS_PER_THREAD, calls.get());
+        
+        calls.set(0);
+        runConcurrently(t -> 
+        {
+            for (ArrayListener<String[], String> listener : listeners.get(t))
+            {
+                arrayValueModel.removeArrayListener(listener);
+            }
+        });
+        arrayValueModel.setElementValue(0, "b");
+        assertEquals(0, calls.get());
+    }
+    
+    /**
+     * Run the given task with {@link #THREADS} threads, each receiving
+     * its thread index, starting them at the same time, and wait until 
+     * all of them are finished
+     * 
+     * @param task The task
+     * @throws InterruptedException If the thread is interrupted
+     */
+    private static void runConcurrently(IntTask task) 
+        throws InterruptedException
+    {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < THREADS; t++)
+        {
+            int index = t;
+            Thread thread = new Thread(() -> 
+            {
+                try
+                {
+                    start.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                task.run(index);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+    }
+    
+    /**
+     * A task that receives an index
+     */
+    private static interface IntTask
+    {
+        void run(int index);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the default methods of the {@link ArrayValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class ArrayValueModelTest
+{
+    /**
+     * A minimal {@link ArrayValueModel} for <code>int[]</code> arrays that 
+     * only implements the abstract methods, and records the values that 
+     * are passed to {@link #setValue(int[])}
+     */
+    private static class MinimalArrayValueModel 
+        implements ArrayValueModel<int[], Integer>
+    {
+        private int[] value;
+        private final List<int[]> setValues = new ArrayList<int[]>();
+        
+        MinimalArrayValueModel(int ... value)
+        {
+            this.value = value;
+        }
+        
+        @Override
+        public int[] getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public void setValue(int[] newValue)
+        {
+            setValues.add(newValue);
+            value = newValue;
+        }
+
+        @Override
+        public Class<?> getValueType()
+        {
+            return int[].class;
+        }
+
+        @Override
+        public void addValueListener(ValueListener<int[]> valueListener)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeValueListener(ValueListener<?> valueListener)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getArrayLength()
+        {
+            return value == null ? -1 : value.length;
+        }
+
+        @Override
+        public Class<?> getElementValueType()
+        {
+            return int.class;
+        }
+
+        @Override
+        public ValueModel<Integer> getElementValueModel(int index)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Integer getElementValue(int index)
+        {
+            return value[index];
+        }
+
+        @Override
+        public void setElementValue(int index, Integer elementValue)
+        {
+            value[index] = elementValue;
+        }
+
+        @Override
+        public void addArrayListener(
+            ArrayListener<int[], Integer> arrayListener)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeArrayListener(
+            ArrayListener<int[], Integer> arrayListener)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+    
+    @Test
+    public void testDefaultMethodsReplaceTheArray()
+    {
+        int[] initialArray = { 1, 2, 3 };
+        MinimalArrayValueModel arrayValueModel = 
+            new MinimalArrayValueModel(initialArray);
+        
+        arrayValueModel.setElementValues(1, new int[] { 4, 5 });
+        arrayValueModel.insertElement(0, 6);
+        arrayValueModel.moveElement(0, 3);
+        arrayValueModel.removeElements(0, 2);
+        
+        assertArrayEquals(new int[] { 1, 2, 3 }, initialArray);
+        List<String> setValues = new ArrayList<String>();
+        for (int[] setValue : arrayValueModel.setValues)
+        {
+            setValues.add(Arrays.toString(setValue));
+        }
+        assertEquals(Arrays.asList("[1, 4, 5]", "[6, 1, 4, 5]", 
+            "[1, 4, 5, 6]", "[5, 6]"), setValues);
+    }
+    
+    @Test
+    public void testDefaultInsertTreatsNullLikeEmptyArray()
+    {
+        MinimalArrayValueModel arrayValueModel = 
+            new MinimalArrayValueModel((int[]) null);
+        arrayValueModel.insertElement(0, 1);
+        assertArrayEquals(new int[] { 1 }, arrayValueModel.getValue());
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDefaultSetElementValuesChecksRange()
+    {
+        MinimalArrayValueModel arrayValueModel = 
+            new MinimalArrayValueModel(1, 2);
+        arrayValueModel.setElementValues(1, new int[] { 3, 4 });
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testDefaultRemoveFailsForNullArray()
+    {
+        MinimalArrayValueModel arrayValueModel = 
+            new MinimalArrayValueModel((int[]) null);
+        arrayValueModel.removeElements(0, 0);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.javagl.autogui.Converter;
+import de.javagl.autogui.Converters;
+
+/**
+ * Tests for the caching of the {@link ConvertingValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class ConvertingValueModelTest
+{
+    @Test
+    public void testConversionIsCached()
+    {
+        AtomicInteger counter = new AtomicInteger();
+        ValueModel<Integer> delegate = ValueModels.create(Integer.class, 1);
+        ValueModel<String> valueModel = ValueModels.converting(
+            delegate, createCountingConverter(counter));
+        int conversions = counter.get();
+        
+        assertEquals("1", valueModel.getValue());
+        assertEquals("1", valueModel.getValue());
+        assertEquals("1", valueModel.getValue());
+        assertEquals(conversions, counter.get());
+    }
+    
+    @Test
+    public void testCacheIsInvalidatedByChange()
+    {
+        AtomicInteger counter = new AtomicInteger();
+        ValueModel<Integer> delegate = ValueModels.create(Integer.class, 1);
+        ValueModel<String> valueModel = ValueModels.converting(
+            delegate, createCountingConverter(counter));
+        int conversions = counter.get();
+        
+        delegate.setValue(2);
+        assertEquals("2", valueModel.getValue());
+        int conversionsAfterChange = counter.get();
+        assertEquals(conversions + 1, conversionsAfterChange);
+        
+        assertEquals("2", valueModel.getValue());
+        assertEquals(conversionsAfterChange, counter.get());
+    }
+    
+    @Test
+    public void testMutableValueIsConvertedAgain()
+    {
+        List<String> list = new ArrayList<String>();
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ValueModel<List<String>> delegate = 
+            (ValueModel) ValueModels.create(List.class, list);
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Converter<List<String>, Integer> converter = 
+            (Converter) Converters.fromFunctions(
+                List.class, Integer.class, l -> l.size(), 
+                i -> new ArrayList<Object>());
+        ValueModel<Integer> valueModel = 
+            ValueModels.converting(delegate, converter);
+        assertEquals(Integer.valueOf(0), valueModel.getValue());
+        
+        // The list is modified in place, without a notification
+        list.add("a");
+        assertEquals(Integer.valueOf(1), valueModel.getValue());
+    }
+    
+    @Test
+    public void testMutableTargetIsNotCached()
+    {
+        ValueModel<Integer> delegate = ValueModels.create(Integer.class, 1);
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Converter<Integer, List<String>> converter = 
+            (Converter) Converters.fromFunctions(
+                Integer.class, List.class, 
+                i -> new ArrayList<String>(Collections.nCopies(i, "a")), 
+                l -> l.size());
+        ValueModel<List<String>> valueModel = 
+            ValueModels.converting(delegate, converter);
+        
+        List<String> list = valueModel.getValue();
+        list.add("b");
+        assertEquals(Arrays.asList("a"), valueModel.getValue());
+        assertNotSame(list, valueModel.getValue());
+    }
+    
+    /**
+     * Create a converter from integers to strings that increments the
+     * given counter for each forward conversion
+     * 
+     * @param counter The counter
+     * @return The converter
+     */
+    private static Converter<Integer, String> createCountingConverter(
+        AtomicInteger counter)
+    {
+        return Converters.fromFunctions(Integer.class, String.class, 
+            i -> 
+            {
+                counter.incrementAndGet();
+                return String.valueOf(i);
+            }, 
+            s -> Integer.valueOf(s));
+    }
+}
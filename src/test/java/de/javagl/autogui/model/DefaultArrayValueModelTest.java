@@ -0,0 +1,238 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DefaultArrayValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class DefaultArrayValueModelTest
+{
+    @Test
+    public void testValueListenersSeeUpdatedElementModels()
+    {
+        DefaultArrayValueModel<String[], String> arrayValueModel = 
+            createArrayValueModel("a", "b", "c");
+        List<ValueModel<String>> elementValueModels = 
+            new ArrayList<ValueModel<String>>();
+        for (int i = 0; i < 3; i++)
+        {
+            elementValueModels.add(arrayValueModel.getElementValueModel(i));
+        }
+        List<String> seen = new ArrayList<String>();
+        arrayValueModel.addValueListener((oldValue, newValue) -> 
+        {
+            for (int i = 0; i < arrayValueModel.getArrayLength(); i++)
+            {
+                seen.add(arrayValueModel.getElementValueModel(i).getValue());
+            }
+        });
+        
+        arrayValueModel.removeElements(0, 2);
+        assertEquals(Arrays.asList("c"), seen);
+        assertEquals(elementValueModels.get(2), 
+            arrayValueModel.getElementValueModel(0));
+        
+        seen.clear();
+        arrayValueModel.insertElement(0, "x");
+        assertEquals(Arrays.asList("x", "c"), seen);
+        assertEquals(elementValueModels.get(2), 
+            arrayValueModel.getElementValueModel(1));
+        assertArrayEquals(new String[] { "x", "c" }, 
+            arrayValueModel.getValue());
+    }
+    
+    @Test
+    public void testElementModelsAreUpdatedBeforeNotificationsInBatch()
+    {
+        DefaultArrayValueModel<String[], String> arrayValueModel = 
+            createArrayValueModel("a", "b");
+        ValueModel<String> elementValueModel = 
+            arrayValueModel.getElementValueModel(0);
+        List<String> events = new ArrayList<String>();
+        arrayValueModel.addValueListener(new ImmediateValueListener<String[]>()
+        {
+            @Override
+            public void valueChanged(String[] oldValue, String[] newValue)
+            {
+                events.add("immediate " + 
+                    indexOf(arrayValueModel, elementValueModel));
+            }
+        });
+        arrayValueModel.addValueListener((oldValue, newValue) -> 
+            events.add("value " + 
+                indexOf(arrayValueModel, elementValueModel)));
+        arrayValueModel.addArrayListener(new ArrayListener<String[], String>()
+        {
+            @Override
+            public void arrayElementChanged(
+                int index, String oldElement, String newElement)
+            {
+                events.add("changed");
+            }
+            
+            @Override
+            public void arrayElementsInserted(int fromIndex, int toIndex,
+                String[] oldArray, String[] newArray)
+            {
+                events.add("inserted " + 
+                    indexOf(arrayValueModel, elementValueModel));
+            }
+            
+            @Override
+            public void arrayElementsRemoved(int fromIndex, int toIndex,
+                String[] oldArray, String[] newArray)
+            {
+                events.add("removed " + 
+                    indexOf(arrayValueModel, elementValueModel));
+            }
+        });
+        
+        ValueModels.runBatched(() -> arrayValueModel.insertElement(0, "x"));
+        assertEquals(Arrays.asList("immediate 1", "inserted 1", "value 1"), 
+            events);
+        
+        events.clear();
+        ValueModels.runBatched(() -> arrayValueModel.removeElements(0, 1));
+        assertEquals(Arrays.asList("immediate 0", "removed 0", "value 0"), 
+            events);
+        
+        events.clear();
+        arrayValueModel.insertElement(0, "y");
+        assertEquals(Arrays.asList("immediate 1", "value 1", "inserted 1"), 
+            events);
+    }
+    
+    @Test
+    public void testStructuralChangesAreReported()
+    {
+        DefaultArrayValueModel<String[], String> arrayValueModel = 
+            createArrayValueModel("a", "b", "c");
+        List<String> events = new ArrayList<String>();
+        arrayValueModel.addArrayListener(new ArrayListener<String[], String>()
+        {
+            @Override
+            public void arrayElementChanged(
+                int index, String oldElement, String newElement)
+            {
+                events.add("changed " + index);
+            }
+            
+            @Override
+            public void arrayRangeChanged(int fromIndex, int toIndex, 
+                String[] oldElements, String[] array)
+            {
+                events.add("range " + fromIndex + " " + toIndex + " " 
+                    + Arrays.toString(oldElements));
+            }
+            
+            @Override
+            public void arrayElementsInserted(int fromIndex, int toIndex, 
+                String[] oldArray, String[] newArray)
+            {
+                events.add("inserted " + fromIndex + " " + toIndex);
+            }
+            
+            @Override
+            public void arrayElementsRemoved(int fromIndex, int toIndex, 
+                String[] oldArray, String[] newArray)
+            {
+                events.add("removed " + fromIndex + " " + toIndex);
+            }
+            
+            @Override
+            public void arrayElementMoved(
+                int fromIndex, int toIndex, String[] array)
+            {
+                events.add("moved " + fromIndex + " " + toIndex);
+            }
+        });
+        
+        arrayValueModel.setElementValues(1, new String[] { "x", "y" });
+        arrayValueModel.insertElement(1, "z");
+        arrayValueModel.moveElement(0, 2);
+        arrayValueModel.removeElements(0, 2);
+        
+        assertEquals(Arrays.asList("range 1 3 [b, c]", "inserted 1 2", 
+            "moved 0 2", "removed 0 2"), events);
+        assertArrayEquals(new String[] { "a", "y" }, 
+            arrayValueModel.getValue());
+    }
+    
+    @Test
+    public void testBulkChangesAreForwardedToElementChanges()
+    {
+        DefaultArrayValueModel<String[], String> arrayValueModel = 
+            createArrayValueModel("a", "b", "c");
+        List<String> events = new ArrayList<String>();
+        arrayValueModel.addArrayListener((index, oldElement, newElement) -> 
+            events.add(index + " " + oldElement + " " + newElement));
+        
+        arrayValueModel.setElementValues(1, new String[] { "b", "x" });
+        assertEquals(Arrays.asList("2 c x"), events);
+        
+        events.clear();
+        arrayValueModel.insertElement(1, "y");
+        assertEquals(Arrays.asList("1 b y", "2 x b", "3 null x"), events);
+        
+        events.clear();
+        arrayValueModel.moveElement(3, 0);
+        assertEquals(Arrays.asList("0 a x", "1 y a", "2 b y", "3 x b"), 
+            events);
+        
+        events.clear();
+        arrayValueModel.removeElements(0, 1);
+        assertEquals(Arrays.asList("0 x a", "1 a y", "2 y b"), events);
+        assertArrayEquals(new String[] { "a", "y", "b" }, 
+            arrayValueModel.getValue());
+    }
+    
+    /**
+     * Returns the index of the given element model in the given array 
+     * model, or -1 if it is not one of its element models
+     * 
+     * @param arrayValueModel The array model
+     * @param elementValueModel The element model
+     * @return The index
+     */
+    private static int indexOf(ArrayValueModel<?, ?> arrayValueModel, 
+        ValueModel<?> elementValueModel)
+    {
+        for (int i = 0; i < arrayValueModel.getArrayLength(); i++)
+        {
+            if (arrayValueModel.getElementValueModel(i) == elementValueModel)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Create an array model with the given elements
+     * 
+     * @param elements The elements
+     * @return The model
+     */
+    static DefaultArrayValueModel<String[], String> createArrayValueModel(
+        String ... elements)
+    {
+        DefaultArrayValueModel<String[], String> arrayValueModel = 
+            new DefaultArrayValueModel<String[], String>(
+                ValueModels.create(String[].class));
+        arrayValueModel.setValue(elements);
+        return arrayValueModel;
+    }
+}
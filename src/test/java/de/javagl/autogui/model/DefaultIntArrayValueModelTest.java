@@ -0,0 +1,137 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DefaultIntArrayValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class DefaultIntArrayValueModelTest
+{
+    @Test
+    public void testSetElementsReportsSingleRangeChange()
+    {
+        DefaultIntArrayValueModel arrayValueModel = 
+            createArrayValueModel(1, 2, 3, 4);
+        List<String> events = addRecordingListener(arrayValueModel);
+        List<String> elementEvents = new ArrayList<String>();
+        arrayValueModel.getElementValueModel(2).addValueListener(
+            (oldValue, newValue) -> 
+                elementEvents.add(oldValue + " " + newValue));
+        
+        arrayValueModel.setElements(1, new int[] { 9, 7, 8 }, 1, 2);
+        
+        assertEquals(Arrays.asList("range 1 3 [2, 3]"), events);
+        assertEquals(Arrays.asList("3 8"), elementEvents);
+        assertArrayEquals(new int[] { 1, 7, 8, 4 }, 
+            arrayValueModel.getValue());
+    }
+    
+    @Test
+    public void testSetIntReportsElementChange()
+    {
+        DefaultIntArrayValueModel arrayValueModel = 
+            createArrayValueModel(1, 2, 3);
+        List<String> events = addRecordingListener(arrayValueModel);
+        
+        arrayValueModel.setInt(1, 5);
+        arrayValueModel.setInt(2, 3);
+        
+        assertEquals(Arrays.asList("changed 1 2 5"), events);
+        assertEquals(5, arrayValueModel.getInt(1));
+    }
+    
+    @Test
+    public void testRangeChangesAreForwardedToElementChanges()
+    {
+        DefaultIntArrayValueModel arrayValueModel = 
+            createArrayValueModel(1, 2, 3);
+        List<String> events = new ArrayList<String>();
+        arrayValueModel.addArrayListener((index, oldElement, newElement) -> 
+            events.add(index + " " + oldElement + " " + newElement));
+        
+        arrayValueModel.setElements(0, new int[] { 1, 5, 6 }, 0, 3);
+        arrayValueModel.setInt(0, 4);
+        
+        assertEquals(Arrays.asList("1 2 5", "2 3 6", "0 1 4"), events);
+    }
+    
+    @Test
+    public void testSetElementsWithInvalidRangeDoesNotModifyArray()
+    {
+        DefaultIntArrayValueModel arrayValueModel = 
+            createArrayValueModel(1, 2, 3);
+        List<String> events = addRecordingListener(arrayValueModel);
+        try
+        {
+            arrayValueModel.setElements(2, new int[] { 7, 8 }, 0, 2);
+            fail("Expected an IndexOutOfBoundsException");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // Expected
+        }
+        assertEquals(Arrays.asList(), events);
+        assertArrayEquals(new int[] { 1, 2, 3 }, arrayValueModel.getValue());
+    }
+    
+    /**
+     * Create an array model with the given elements
+     * 
+     * @param elements The elements
+     * @return The model
+     */
+    private static DefaultIntArrayValueModel createArrayValueModel(
+        int ... elements)
+    {
+        DefaultIntArrayValueModel arrayValueModel = 
+            new DefaultIntArrayValueModel(ValueModels.create(int[].class));
+        arrayValueModel.setValue(elements);
+        return arrayValueModel;
+    }
+    
+    /**
+     * Add an {@link ArrayListener} to the given model that records the
+     * element and range changes in the returned list
+     * 
+     * @param arrayValueModel The model
+     * @return The list of events
+     */
+    private static List<String> addRecordingListener(
+        DefaultIntArrayValueModel arrayValueModel)
+    {
+        List<String> events = new ArrayList<String>();
+        arrayValueModel.addArrayListener(new ArrayListener<int[], Integer>()
+        {
+            @Override
+            public void arrayElementChanged(
+                int index, Integer oldElement, Integer newElement)
+            {
+                events.add("changed " + index + " " 
+                    + oldElement + " " + newElement);
+            }
+            
+            @Override
+            public void arrayRangeChanged(int fromIndex, int toIndex, 
+                int[] oldElements, int[] array)
+            {
+                events.add("range " + fromIndex + " " + toIndex + " " 
+                    + Arrays.toString(oldElements));
+            }
+        });
+        return events;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.AbstractSequentialList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.javagl.autogui.model.properties.PropertyAccessors;
+
+/**
+ * Tests for the {@link DefaultListValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class DefaultListValueModelTest
+{
+    @Test
+    public void testStructuralChangesAreReported()
+    {
+        ListValueModel<String> listValueModel = createListValueModel(
+            List.class, new ArrayList<String>(Arrays.asList("a", "b", "c")));
+        ValueModel<String> elementValueModel = 
+            listValueModel.getElementValueModel(2);
+        List<String> events = new ArrayList<String>();
+        listValueModel.addListListener(createRecordingListener(events));
+        
+        listValueModel.insertElement(1, "x");
+        listValueModel.setElementValue(0, "y");
+        listValueModel.removeElements(0, 2);
+        
+        assertEquals(Arrays.asList("inserted 1 2", "changed 0 a y", 
+            "removed 0 2"), events);
+        assertEquals(Arrays.asList("b", "c"), listValueModel.getValue());
+        assertSame(elementValueModel, listValueModel.getElementValueModel(1));
+        assertEquals("c", elementValueModel.getValue());
+    }
+    
+    @Test
+    public void testInsertIntoNullListCreatesArrayListForInterface()
+    {
+        ListValueModel<String> listValueModel = 
+            createListValueModel(List.class, null);
+        List<String> events = new ArrayList<String>();
+        listValueModel.addListListener(createRecordingListener(events));
+        
+        listValueModel.insertElement(0, "a");
+        
+        assertEquals(ArrayList.class, listValueModel.getValue().getClass());
+        assertEquals(Arrays.asList("a"), listValueModel.getValue());
+        assertEquals(Arrays.asList("replaced null [a]"), events);
+    }
+    
+    @Test
+    public void testInsertIntoNullListIsReportedOnlyAsReplacement()
+    {
+        ListValueModel<String> listValueModel = 
+            createListValueModel(List.class, null);
+        List<String> events = new ArrayList<String>();
+        listValueModel.addValueListener((oldValue, newValue) -> 
+            events.add("value " + oldValue + " " + newValue));
+        listValueModel.addListListener(createRecordingListener(events));
+        
+        listValueModel.insertElement(0, "a");
+        listValueModel.insertElement(1, "b");
+        
+        assertEquals(Arrays.asList("value null [a]", "replaced null [a]", 
+            "inserted 1 2"), events);
+    }
+    
+    @Test
+    public void testInsertIntoNullListCreatesDeclaredType()
+    {
+        ListValueModel<String> listValueModel = 
+            createListValueModel(LinkedList.class, null);
+        
+        listValueModel.insertElement(0, "a");
+        
+        assertEquals(LinkedList.class, listValueModel.getValue().getClass());
+        assertEquals(Arrays.asList("a"), listValueModel.getValue());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testInsertIntoNullListFailsForAbstractType()
+    {
+        ListValueModel<String> listValueModel = 
+            createListValueModel(AbstractSequentialList.class, null);
+        listValueModel.insertElement(0, "a");
+    }
+    
+    /**
+     * Create a list model for the given list type and initial list
+     * 
+     * @param listType The list type
+     * @param list The initial list
+     * @return The list model
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ListValueModel<String> createListValueModel(
+        Class<?> listType, List<String> list)
+    {
+        ValueModel<List<String>> valueModel = 
+            ValueModels.create((Class) listType);
+        valueModel.setValue(list);
+        return ValueModelsInternal.createListValueModel(valueModel, 
+            PropertyAccessors.createParameterizedType(
+                List.class, String.class));
+    }
+    
+    /**
+     * Create a list listener that adds a string describing each event
+     * to the given list
+     * 
+     * @param events The list of event descriptions
+     * @return The listener
+     */
+    private static ListListener<String> createRecordingListener(
+        List<String> events)
+    {
+        return new ListListener<String>()
+        {
+            @Override
+            public void listElementChanged(
+                int index, String oldElement, String newElement)
+            {
+                events.add("changed " + index + " " 
+                    + oldElement + " " + newElement);
+            }
+            
+            @Override
+            public void listElementsInserted(int fromIndex, int toIndex)
+            {
+                events.add("inserted " + fromIndex + " " + toIndex);
+            }
+            
+            @Override
+            public void listElementsRemoved(int fromIndex, int toIndex)
+            {
+                events.add("removed " + fromIndex + " " + toIndex);
+            }
+            
+            @Override
+            public void listReplaced(List<String> oldList, 
+                List<String> newList)
+            {
+                events.add("replaced " + oldList + " " + newList);
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.Test;
+
+import de.javagl.autogui.model.properties.PropertyAccessors;
+
+/**
+ * Tests for the {@link DefaultMapValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class DefaultMapValueModelTest
+{
+    @Test
+    public void testStructuralChangesAreReported()
+    {
+        Map<String, String> map = new LinkedHashMap<String, String>();
+        map.put("a", "x");
+        MapValueModel<String, String> mapValueModel = 
+            createMapValueModel(Map.class, String.class, map);
+        ValueModel<String> elementValueModel = 
+            mapValueModel.getElementValueModel("a");
+        List<String> events = new ArrayList<String>();
+        mapValueModel.addMapListener(createRecordingListener(events));
+        
+        mapValueModel.putElement("b", "y");
+        mapValueModel.putElement("a", "z");
+        mapValueModel.putElement("a", "z");
+        mapValueModel.removeElement("b");
+        mapValueModel.removeElement("c");
+        
+        assertEquals(Arrays.asList("put b y", "replaced a x z", 
+            "removed b y"), events);
+        assertSame(elementValueModel, mapValueModel.getElementValueModel("a"));
+        assertEquals("z", elementValueModel.getValue());
+    }
+    
+    @Test
+    public void testPutIntoNullMapCreatesLinkedHashMapForInterface()
+    {
+        MapValueModel<String, String> mapValueModel = 
+            createMapValueModel(Map.class, String.class, null);
+        List<String> events = new ArrayList<String>();
+        mapValueModel.addMapListener(createRecordingListener(events));
+        
+        mapValueModel.putElement("a", "x");
+        
+        assertEquals(LinkedHashMap.class, 
+            mapValueModel.getValue().getClass());
+        assertEquals("x", mapValueModel.getValue().get("a"));
+        assertEquals(Arrays.asList("map replaced null {a=x}"), events);
+    }
+    
+    @Test
+    public void testPutIntoNullMapCreatesTreeMapForSortedMap()
+    {
+        MapValueModel<String, String> mapValueModel = 
+            createMapValueModel(SortedMap.class, String.class, null);
+        mapValueModel.putElement("a", "x");
+        assertEquals(TreeMap.class, mapValueModel.getValue().getClass());
+    }
+    
+    @Test
+    public void testPutIntoNullMapCreatesDeclaredType()
+    {
+        MapValueModel<String, String> mapValueModel = 
+            createMapValueModel(TreeMap.class, String.class, null);
+        mapValueModel.putElement("a", "x");
+        assertEquals(TreeMap.class, mapValueModel.getValue().getClass());
+    }
+    
+    @Test
+    public void testPutIntoNullMapCreatesEnumMap()
+    {
+        MapValueModel<RetentionPolicy, String> mapValueModel = 
+            createMapValueModel(EnumMap.class, RetentionPolicy.class, null);
+        mapValueModel.putElement(RetentionPolicy.RUNTIME, "x");
+        assertEquals(EnumMap.class, mapValueModel.getValue().getClass());
+        assertEquals("x", 
+            mapValueModel.getValue().get(RetentionPolicy.RUNTIME));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testPutIntoNullMapFailsForEnumMapWithoutEnumKeys()
+    {
+        MapValueModel<String, String> mapValueModel = 
+            createMapValueModel(EnumMap.class, String.class, null);
+        mapValueModel.putElement("a", "x");
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testPutIntoNullMapFailsForInterface()
+    {
+        MapValueModel<String, String> mapValueModel = 
+            createMapValueModel(ConcurrentMap.class, String.class, null);
+        mapValueModel.putElement("a", "x");
+    }
+    
+    /**
+     * Create a map model for the given map type, key type and initial map
+     * 
+     * @param <K> The key type
+     * @param mapType The map type
+     * @param keyType The key type
+     * @param map The initial map
+     * @return The map model
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <K> MapValueModel<K, String> createMapValueModel(
+        Class<?> mapType, Class<K> keyType, Map<K, String> map)
+    {
+        ValueModel<Map<K, String>> valueModel = 
+            ValueModels.create((Class) mapType);
+        valueModel.setValue(map);
+        return ValueModelsInternal.createMapValueModel(valueModel, 
+            PropertyAccessors.createParameterizedType(
+                Map.class, keyType, String.class));
+    }
+    
+    /**
+     * Create a map listener that adds a string describing each event
+     * to the given list
+     * 
+     * @param <K> The key type
+     * @param events The list of event descriptions
+     * @return The listener
+     */
+    private static <K> MapListener<K, String> createRecordingListener(
+        List<String> events)
+    {
+        return new MapListener<K, String>()
+        {
+            @Override
+            public void mapElementReplaced(
+                K key, String oldValue, String newValue)
+            {
+                events.add("replaced " + key + " " 
+                    + oldValue + " " + newValue);
+            }
+            
+            @Override
+            public void mapElementPut(K key, String value)
+            {
+                events.add("put " + key + " " + value);
+            }
+            
+            @Override
+            public void mapElementRemoved(K key, String value)
+            {
+                events.add("removed " + key + " " + value);
+            }
+            
+            @Override
+            public void mapReplaced(Map<K, String> oldMap, 
+                Map<K, String> newMap)
+            {
+                events.add("map replaced " + oldMap + " " + newMap);
+            }
+        };
+    }
+}
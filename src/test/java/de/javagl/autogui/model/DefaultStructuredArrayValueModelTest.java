@@ -0,0 +1,96 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.House;
+import de.javagl.autogui.TestBeans.Room;
+
+/**
+ * Tests for the {@link DefaultStructuredArrayValueModel}
+ */
+@SuppressWarnings("javadoc")
+public class DefaultStructuredArrayValueModelTest
+{
+    @Test
+    public void testElementModelsAreCached()
+    {
+        StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+            createRoomsValueModel(new Room(), new Room());
+        
+        StructuredValueModel<Room> elementValueModel = 
+            roomsValueModel.getElementValueModel(0);
+        assertSame(elementValueModel, roomsValueModel.getElementValueModel(0));
+        
+        assertEquals(1, roomsValueModel.getCachedElementValueModelCount());
+        assertEquals(1, roomsValueModel.getCreatedElementValueModelCount());
+        assertEquals(0, roomsValueModel.getDetachedElementValueModelCount());
+    }
+    
+    @Test
+    public void testShrinkingDetachesElementModels()
+    {
+        StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+            createRoomsValueModel(new Room(), new Room(), new Room());
+        for (int i = 0; i < 3; i++)
+        {
+            roomsValueModel.getElementValueModel(i);
+        }
+        assertEquals(3, roomsValueModel.getCachedElementValueModelCount());
+        
+        roomsValueModel.removeElements(1, 3);
+        assertEquals(1, roomsValueModel.getCachedElementValueModelCount());
+        assertEquals(2, roomsValueModel.getDetachedElementValueModelCount());
+        
+        roomsValueModel.setValue(new Room[0]);
+        assertEquals(0, roomsValueModel.getCachedElementValueModelCount());
+        assertEquals(3, roomsValueModel.getDetachedElementValueModelCount());
+        assertEquals(3, roomsValueModel.getCreatedElementValueModelCount());
+    }
+    
+    @Test
+    public void testInsertionKeepsElementModelsAtTheirElements()
+    {
+        StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+            createRoomsValueModel(new Room(), new Room());
+        StructuredValueModel<Room> elementValueModel = 
+            roomsValueModel.getElementValueModel(1);
+        
+        roomsValueModel.insertElement(0, new Room());
+        
+        assertSame(elementValueModel, roomsValueModel.getElementValueModel(2));
+        assertNotSame(elementValueModel, 
+            roomsValueModel.getElementValueModel(1));
+        assertEquals(0, roomsValueModel.getDetachedElementValueModelCount());
+    }
+    
+    /**
+     * Create the structured model for the rooms of a house with the 
+     * given rooms
+     * 
+     * @param rooms The rooms
+     * @return The model
+     */
+    private static StructuredArrayValueModel<Room[], Room> 
+        createRoomsValueModel(Room ... rooms)
+    {
+        House house = new House();
+        house.setRooms(rooms);
+        StructuredValueModel<House> valueModel = 
+            ValueModels.createStructured(House.class);
+        valueModel.setValue(house);
+        @SuppressWarnings("unchecked")
+        StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+            (StructuredArrayValueModel<Room[], Room>) 
+            valueModel.getChild("rooms");
+        return roomsValueModel;
+    }
+}
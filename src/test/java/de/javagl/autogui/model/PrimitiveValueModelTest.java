@@ -0,0 +1,159 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.Item;
+
+/**
+ * Tests for the {@link IntValueModel} and {@link DoubleValueModel}
+ * implementations
+ */
+@SuppressWarnings("javadoc")
+public class PrimitiveValueModelTest
+{
+    @Test
+    public void testCreatedModelsHaveNullInitialValue()
+    {
+        ValueModel<Integer> intValueModel = ValueModels.create(int.class);
+        assertNull(intValueModel.getValue());
+        assertEquals(0, ValueModels.asIntValueModel(intValueModel).getInt());
+        
+        ValueModel<Double> doubleValueModel = 
+            ValueModels.create(double.class);
+        assertNull(doubleValueModel.getValue());
+        assertEquals(0.0, 
+            ValueModels.asDoubleValueModel(doubleValueModel).getDouble(), 
+            0.0);
+    }
+    
+    @Test
+    public void testSettingZeroInitiallyInformsValueListeners()
+    {
+        ValueModel<Integer> valueModel = ValueModels.create(int.class);
+        List<Object> values = new ArrayList<Object>();
+        valueModel.addValueListener((oldValue, newValue) -> 
+            values.addAll(Arrays.asList(oldValue, newValue)));
+        
+        ValueModels.asIntValueModel(valueModel).setInt(0);
+        assertEquals(Arrays.asList(null, 0), values);
+        
+        values.clear();
+        valueModel.setValue(null);
+        assertEquals(Arrays.asList(0, null), values);
+    }
+    
+    @Test
+    public void testIntPropertyListenersAreInformedOnce()
+    {
+        Item item = new Item();
+        StructuredValueModel<Item> itemValueModel = 
+            ValueModels.createStructured(Item.class);
+        itemValueModel.setValue(item);
+        IntValueModel countValueModel = 
+            ValueModels.asIntValueModel(itemValueModel.getChild("count"));
+        assertNotNull(countValueModel);
+        
+        List<Integer> values = new ArrayList<Integer>();
+        countValueModel.addIntValueListener((oldValue, newValue) -> 
+        {
+            values.add(oldValue);
+            values.add(newValue);
+        });
+        
+        countValueModel.setInt(3);
+        assertEquals(3, item.getCount());
+        assertEquals(Arrays.asList(0, 3), values);
+        
+        values.clear();
+        item.setCount(4);
+        assertEquals(Arrays.asList(3, 4), values);
+        
+        values.clear();
+        countValueModel.setInt(4);
+        assertEquals(Arrays.asList(), values);
+        
+        ValueModels.detach(itemValueModel);
+    }
+    
+    @Test
+    public void testIntPropertyListenersAreCoalescedInBatch()
+    {
+        Item item = new Item();
+        StructuredValueModel<Item> itemValueModel = 
+            ValueModels.createStructured(Item.class);
+        itemValueModel.setValue(item);
+        IntValueModel countValueModel = 
+            ValueModels.asIntValueModel(itemValueModel.getChild("count"));
+        
+        List<Integer> values = new ArrayList<Integer>();
+        countValueModel.addIntValueListener((oldValue, newValue) -> 
+        {
+            values.add(oldValue);
+            values.add(newValue);
+        });
+        List<Object> boxedValues = new ArrayList<Object>();
+        countValueModel.addValueListener((oldValue, newValue) -> 
+            boxedValues.addAll(Arrays.asList(oldValue, newValue)));
+        
+        ValueModels.runBatched(() -> 
+        {
+            countValueModel.setInt(3);
+            countValueModel.setInt(5);
+            assertEquals(Arrays.asList(), values);
+        });
+        assertEquals(Arrays.asList(0, 5), values);
+        assertEquals(Arrays.asList(0, 5), boxedValues);
+        
+        values.clear();
+        ValueModels.runBatched(() -> 
+        {
+            countValueModel.setInt(7);
+            countValueModel.setInt(5);
+        });
+        assertEquals(Arrays.asList(), values);
+        
+        ValueModels.detach(itemValueModel);
+    }
+    
+    @Test
+    public void testDoublePropertyListenersAreInformedOnce()
+    {
+        Item item = new Item();
+        StructuredValueModel<Item> itemValueModel = 
+            ValueModels.createStructured(Item.class);
+        itemValueModel.setValue(item);
+        DoubleValueModel weightValueModel = ValueModels.asDoubleValueModel(
+            itemValueModel.getChild("weight"));
+        assertNotNull(weightValueModel);
+        
+        List<Double> values = new ArrayList<Double>();
+        weightValueModel.addDoubleValueListener((oldValue, newValue) -> 
+        {
+            values.add(oldValue);
+            values.add(newValue);
+        });
+        
+        weightValueModel.setDouble(1.5);
+        assertEquals(1.5, item.getWeight(), 0.0);
+        assertEquals(Arrays.asList(0.0, 1.5), values);
+        
+        values.clear();
+        item.setWeight(2.5);
+        assertEquals(Arrays.asList(1.5, 2.5), values);
+        
+        ValueModels.detach(itemValueModel);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.Address;
+import de.javagl.autogui.TestBeans.House;
+
+/**
+ * Tests for the batching of notifications in {@link ValueModels}
+ */
+@SuppressWarnings("javadoc")
+public class ValueModelBatchTest
+{
+    @Test
+    public void testChangesAreCoalesced()
+    {
+        ValueModel<Integer> valueModel = ValueModels.create(Integer.class, 1);
+        List<String> events = new ArrayList<String>();
+        valueModel.addValueListener((oldValue, newValue) -> 
+            events.add(oldValue + " " + newValue));
+        
+        ValueModels.runBatched(() -> 
+        {
+            valueModel.setValue(2);
+            valueModel.setValue(3);
+            assertEquals(Collections.emptyList(), events);
+        });
+        
+        assertEquals(Arrays.asList("1 3"), events);
+    }
+    
+    @Test
+    public void testRevertedChangesAreNotReported()
+    {
+        ValueModel<Integer> valueModel = ValueModels.create(Integer.class, 1);
+        List<String> events = new ArrayList<String>();
+        valueModel.addValueListener((oldValue, newValue) -> 
+            events.add(oldValue + " " + newValue));
+        
+        ValueModels.runBatched(() -> 
+        {
+            valueModel.setValue(2);
+            valueModel.setValue(1);
+        });
+        
+        assertEquals(Collections.emptyList(), events);
+    }
+    
+    @Test
+    public void testNestedBatchesAreCommittedByTheOutermostBatch()
+    {
+        ValueModel<Integer> valueModel = ValueModels.create(Integer.class, 1);
+        List<String> events = new ArrayList<String>();
+        valueModel.addValueListener((oldValue, newValue) -> 
+            events.add(oldValue + " " + newValue));
+        
+        ValueModels.beginBatch();
+        ValueModels.runBatched(() -> valueModel.setValue(2));
+        assertEquals(Collections.emptyList(), events);
+        valueModel.setValue(3);
+        ValueModels.commit();
+        
+        assertEquals(Arrays.asList("1 3"), events);
+    }
+    
+    @Test
+    public void testImmediateListenersAreInformedAboutEachChange()
+    {
+        ValueModel<Integer> valueModel = ValueModels.create(Integer.class, 1);
+        List<String> events = new ArrayList<String>();
+        valueModel.addValueListener(new ImmediateValueListener<Integer>()
+        {
+            @Override
+            public void valueChanged(Integer oldValue, Integer newValue)
+            {
+                events.add(oldValue + " " + newValue);
+            }
+        });
+        
+        ValueModels.runBatched(() -> 
+        {
+            valueModel.setValue(2);
+            valueModel.setValue(1);
+        });
+        
+        assertEquals(Arrays.asList("1 2", "2 1"), events);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testCommitWithoutBatchFails()
+    {
+        ValueModels.commit();
+    }
+    
+    @Test
+    public void testSetValuesIgnoresCase()
+    {
+        House house = new House();
+        house.setAddress(new Address());
+        StructuredValueModel<House> valueModel = 
+            ValueModels.createStructured(House.class);
+        valueModel.setValue(house);
+        
+        Map<String, Object> valuesByNamePath = 
+            new LinkedHashMap<String, Object>();
+        valuesByNamePath.put(".NAME", "house");
+        valuesByNamePath.put("address.City", "city");
+        ValueModels.setValues(valueModel, valuesByNamePath);
+        
+        assertEquals("house", house.getName());
+        assertEquals("city", house.getAddress().getCity());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetValuesFailsForUnknownNamePath()
+    {
+        StructuredValueModel<House> valueModel = 
+            ValueModels.createStructured(House.class);
+        valueModel.setValue(new House());
+        ValueModels.setValues(valueModel, 
+            Collections.singletonMap(".address.country", "x"));
+    }
+}
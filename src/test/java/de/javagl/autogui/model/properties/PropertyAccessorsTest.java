@@ -0,0 +1,82 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model.properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link PropertyAccessors}
+ */
+@SuppressWarnings("javadoc")
+public class PropertyAccessorsTest
+{
+    public static class TestBean
+    {
+        int count = 3;
+        double weight = 1.5;
+        boolean active = true;
+    }
+    
+    @Test
+    public void testWritingNullIntIsHandled()
+    {
+        TestBean bean = new TestBean();
+        IntPropertyAccessor accessor = PropertyAccessors.createInt("count",
+            object -> ((TestBean) object).count, 
+            (object, value) -> ((TestBean) object).count = value);
+        
+        accessor.getWriteMethod().accept(bean, null);
+        assertEquals(3, bean.count);
+        
+        accessor.getWriteMethod().accept(bean, 4);
+        assertEquals(4, accessor.getInt(bean));
+    }
+    
+    @Test
+    public void testWritingNullDoubleIsHandled()
+    {
+        TestBean bean = new TestBean();
+        DoublePropertyAccessor accessor = PropertyAccessors.createDouble(
+            "weight", object -> ((TestBean) object).weight, 
+            (object, value) -> ((TestBean) object).weight = value);
+        
+        accessor.getWriteMethod().accept(bean, null);
+        assertEquals(1.5, bean.weight, 0.0);
+    }
+    
+    @Test
+    public void testWritingNullBooleanIsHandled()
+    {
+        TestBean bean = new TestBean();
+        PropertyAccessor accessor = PropertyAccessors.create(
+            "active", boolean.class, object -> ((TestBean) object).active, 
+            (object, value) -> ((TestBean) object).active = (Boolean) value);
+        
+        accessor.getWriteMethod().accept(bean, null);
+        assertEquals(Boolean.TRUE, accessor.getReadMethod().apply(bean));
+    }
+    
+    @Test
+    public void testExceptionsOfAccessMethodsAreHandled()
+    {
+        PropertyAccessor accessor = PropertyAccessors.create(
+            "name", String.class, 
+            object -> { throw new IllegalStateException("Test"); }, 
+            (object, value) -> { throw new IllegalStateException("Test"); });
+        assertNull(accessor.getReadMethod().apply(new TestBean()));
+        accessor.getWriteMethod().accept(new TestBean(), "example");
+        
+        IntPropertyAccessor intAccessor = PropertyAccessors.createInt(
+            "count", 
+            object -> { throw new IllegalStateException("Test"); }, 
+            (object, value) -> { throw new IllegalStateException("Test"); });
+        assertEquals(0, intAccessor.getInt(new TestBean()));
+        intAccessor.setInt(new TestBean(), 1);
+    }
+}
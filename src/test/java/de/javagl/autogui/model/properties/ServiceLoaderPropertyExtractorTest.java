@@ -0,0 +1,123 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.model.properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ServiceLoaderPropertyExtractor}
+ */
+@SuppressWarnings("javadoc")
+public class ServiceLoaderPropertyExtractorTest
+{
+    public static class TestBean
+    {
+        // A type for which an extractor is registered
+    }
+    
+    public static class TestGeneratedExtractor 
+        implements GeneratedPropertyExtractor
+    {
+        static final AtomicInteger instances = new AtomicInteger();
+        
+        public TestGeneratedExtractor()
+        {
+            instances.incrementAndGet();
+        }
+        
+        @Override
+        public List<PropertyAccessor> getPropertyAccessors(Class<?> type)
+        {
+            return Collections.emptyList();
+        }
+        
+        @Override
+        public Class<?> getType()
+        {
+            return TestBean.class;
+        }
+    }
+    
+    @Test
+    public void testExtractorsAreLoadedOncePerClassLoader() 
+        throws IOException
+    {
+        try (URLClassLoader classLoader = createClassLoader(
+            TestGeneratedExtractor.class.getName()))
+        {
+            int instances = TestGeneratedExtractor.instances.get();
+            
+            Map<Class<?>, GeneratedPropertyExtractor> generated = 
+                ServiceLoaderPropertyExtractor.getGenerated(classLoader);
+            assertEquals(1, generated.size());
+            assertTrue(generated.get(TestBean.class) 
+                instanceof TestGeneratedExtractor);
+            assertNull(generated.get(Object.class));
+            
+            assertSame(generated, 
+                ServiceLoaderPropertyExtractor.getGenerated(classLoader));
+            assertEquals(instances + 1, 
+                TestGeneratedExtractor.instances.get());
+        }
+    }
+    
+    @Test
+    public void testInvalidEntriesAreSkipped() throws IOException
+    {
+        try (URLClassLoader classLoader = createClassLoader(
+            "example.MissingExtractor", 
+            TestGeneratedExtractor.class.getName()))
+        {
+            Map<Class<?>, GeneratedPropertyExtractor> generated = 
+                ServiceLoaderPropertyExtractor.getGenerated(classLoader);
+            assertEquals(1, generated.size());
+            assertTrue(generated.get(TestBean.class) 
+                instanceof TestGeneratedExtractor);
+        }
+    }
+    
+    /**
+     * Create a class loader that delegates to the class loader of this
+     * class, and additionally offers a service file that registers the 
+     * given generated extractor classes
+     * 
+     * @param classNames The names of the extractor classes
+     * @return The class loader
+     * @throws IOException If the service file cannot be written
+     */
+    private static URLClassLoader createClassLoader(String ... classNames) 
+        throws IOException
+    {
+        Path directory = Files.createTempDirectory("services");
+        Path servicesDirectory = 
+            directory.resolve("META-INF").resolve("services");
+        Files.createDirectories(servicesDirectory);
+        Path serviceFile = servicesDirectory.resolve(
+            GeneratedPropertyExtractor.class.getName());
+        Files.write(serviceFile, 
+            Arrays.asList(classNames), StandardCharsets.UTF_8);
+        URL url = directory.toUri().toURL();
+        return new URLClassLoader(new URL[] { url }, 
+            ServiceLoaderPropertyExtractorTest.class.getClassLoader());
+    }
+}
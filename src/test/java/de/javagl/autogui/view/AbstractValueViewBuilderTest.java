@@ -0,0 +1,300 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.House;
+import de.javagl.autogui.TestBeans.Room;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.view.swing.SwingValueViewBuilder;
+
+/**
+ * Tests for the {@link AbstractValueViewBuilder}
+ */
+@SuppressWarnings("javadoc")
+public class AbstractValueViewBuilderTest
+{
+    private interface Shape
+    {
+        // Marker interface for the factory resolution tests
+    }
+    
+    private static class Base implements Shape
+    {
+        // Base class for the factory resolution tests
+    }
+    
+    private static class Derived extends Base
+    {
+        // Derived class for the factory resolution tests
+    }
+    
+    private enum Operation
+    {
+        PLUS
+        {
+            @Override
+            int apply(int a, int b)
+            {
+                return a + b;
+            }
+        },
+        MINUS
+        {
+            @Override
+            int apply(int a, int b)
+            {
+                return a - b;
+            }
+        };
+        
+        abstract int apply(int a, int b);
+    }
+    
+    @Test
+    public void testUsingNamePathInvalidatesViewPlans()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        StructuredValueModel<?> name = 
+            ValueModels.createStructured(House.class).getChild("name");
+        ValueViewFactory<?, ? extends JComponent> defaultFactory = 
+            builder.getValueViewFactory(name);
+        assertNotNull(defaultFactory);
+        
+        ValueViewFactory<Object, JComponent> factory = createFactory();
+        builder.using(".NAME", factory);
+        assertSame(factory, builder.getValueViewFactory(name));
+        
+        ValueViewFactory<Object, JComponent> patternFactory = createFactory();
+        builder.using(".name", null);
+        builder.using("**.name", patternFactory);
+        assertSame(patternFactory, builder.getValueViewFactory(name));
+    }
+    
+    @Test
+    public void testLabelInvalidatesViewPlans()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        StructuredValueModel<?> city = ValueModels.createStructured(
+            House.class).getChild("address").getChild("city");
+        String defaultLabel = builder.createLabelSupplier(city).get();
+        
+        builder.label("*.city", "Place");
+        assertEquals("Place", builder.createLabelSupplier(city).get());
+        
+        builder.label(".address.city", "Town");
+        assertEquals("Town", builder.createLabelSupplier(city).get());
+        
+        builder.label("*.city", (LabelProvider) null);
+        builder.label(".address.city", (LabelProvider) null);
+        assertEquals(defaultLabel, builder.createLabelSupplier(city).get());
+    }
+    
+    @Test
+    public void testSortingInvalidatesViewPlans()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        StructuredValueModel<House> house = 
+            ValueModels.createStructured(House.class);
+        List<String> defaultNames = getSortedChildNames(builder, house);
+        
+        builder.sorting(".tags", ".rooms");
+        List<String> sortedNames = getSortedChildNames(builder, house);
+        assertEquals(Arrays.asList("tags", "rooms"), 
+            sortedNames.subList(0, 2));
+        assertEquals(defaultNames.size(), sortedNames.size());
+        
+        builder.sorting();
+        assertEquals(defaultNames, getSortedChildNames(builder, house));
+    }
+    
+    @Test
+    public void testViewPlansAreSharedBetweenModelsOfSameType()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        ValueViewFactory<Object, JComponent> factory = createFactory();
+        builder.using(".address.city", factory);
+        for (int i = 0; i < 3; i++)
+        {
+            StructuredValueModel<?> city = ValueModels.createStructured(
+                House.class).getChild("address").getChild("city");
+            assertSame(factory, builder.getValueViewFactory(city));
+        }
+    }
+    
+    @Test
+    public void testViewPlansAreKeptForDifferentValueTypes()
+    {
+        AbstractValueViewBuilder<JComponent> builder = 
+            new SwingValueViewBuilder();
+        StructuredValueModel<House> house = 
+            ValueModels.createStructured(House.class);
+        StructuredValueModel<Room> room = 
+            ValueModels.createStructured(Room.class);
+        
+        ViewPlan<JComponent> houseViewPlan = builder.getViewPlan(house);
+        ViewPlan<JComponent> roomViewPlan = builder.getViewPlan(room);
+        assertNotSame(houseViewPlan, roomViewPlan);
+        assertSame(houseViewPlan, builder.getViewPlan(house));
+        assertSame(roomViewPlan, builder.getViewPlan(room));
+    }
+    
+    @Test
+    public void testFactoryIsResolvedAlongSuperclasses()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        ValueViewFactory<Object, JComponent> numberFactory = createFactory();
+        builder.using(Number.class, numberFactory);
+        
+        assertSame(numberFactory, 
+            builder.getFactoryByValueType(AtomicLong.class));
+        assertNotSame(numberFactory, 
+            builder.getFactoryByValueType(Integer.class));
+    }
+    
+    @Test
+    public void testFactoryIsResolvedAlongInterfaces()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        assertNull(builder.getFactoryByValueType(Derived.class));
+        
+        ValueViewFactory<Object, JComponent> shapeFactory = createFactory();
+        builder.using(Shape.class, shapeFactory);
+        assertSame(shapeFactory, builder.getFactoryByValueType(Derived.class));
+    }
+    
+    @Test
+    public void testRegistrationsInvalidateResolvedFactories()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        ValueViewFactory<Object, JComponent> shapeFactory = createFactory();
+        ValueViewFactory<Object, JComponent> baseFactory = createFactory();
+        builder.using(Shape.class, shapeFactory);
+        assertSame(shapeFactory, builder.getFactoryByValueType(Derived.class));
+        
+        builder.using(Base.class, baseFactory);
+        assertSame(baseFactory, builder.getFactoryByValueType(Derived.class));
+        
+        builder.using(Base.class, null);
+        assertSame(shapeFactory, builder.getFactoryByValueType(Derived.class));
+    }
+    
+    @Test
+    public void testEnumFactoryIsCached()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        ValueViewFactory<?, ? extends JComponent> enumFactory = 
+            builder.getFactoryByValueType(RetentionPolicy.class);
+        assertNotNull(enumFactory);
+        assertSame(enumFactory, 
+            builder.getFactoryByValueType(RetentionPolicy.class));
+    }
+    
+    @Test
+    public void testEnumFactoryIsResolvedForConstantsWithBodies()
+        throws Exception
+    {
+        Class<?> constantType = Operation.PLUS.getClass();
+        assertNotSame(Operation.class, constantType);
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            ValueView<?, ? extends JComponent> valueView = 
+                new SwingValueViewBuilder().createValueView(
+                    ValueModels.create(constantType));
+            JComboBox<?> comboBox = findComboBox(valueView.getComponent());
+            assertEquals(2, comboBox.getItemCount());
+            valueView.dispose();
+        });
+    }
+    
+    @Test
+    public void testObjectFactoryIsNotUsedAsFallback()
+    {
+        SwingValueViewBuilder builder = new SwingValueViewBuilder();
+        ValueViewFactory<Object, JComponent> objectFactory = createFactory();
+        builder.using(Object.class, objectFactory);
+        assertSame(objectFactory, builder.getFactoryByValueType(Object.class));
+        assertNull(builder.getFactoryByValueType(Derived.class));
+    }
+    
+    /**
+     * Create a {@link ValueViewFactory} that is only used for checking
+     * which factory was resolved
+     * 
+     * @return The {@link ValueViewFactory}
+     */
+    private static ValueViewFactory<Object, JComponent> createFactory()
+    {
+        return valueModel -> null;
+    }
+    
+    /**
+     * Returns the first combo box in the given component hierarchy, or
+     * <code>null</code> if there is none
+     * 
+     * @param component The component
+     * @return The combo box
+     */
+    private static JComboBox<?> findComboBox(Component component)
+    {
+        if (component instanceof JComboBox<?>)
+        {
+            return (JComboBox<?>) component;
+        }
+        if (component instanceof Container)
+        {
+            for (Component child : ((Container) component).getComponents())
+            {
+                JComboBox<?> comboBox = findComboBox(child);
+                if (comboBox != null)
+                {
+                    return comboBox;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the names of the sorted children of the given model
+     * 
+     * @param builder The builder
+     * @param structuredValueModel The {@link StructuredValueModel}
+     * @return The names
+     */
+    private static List<String> getSortedChildNames(
+        AbstractValueViewBuilder<?> builder, 
+        StructuredValueModel<?> structuredValueModel)
+    {
+        List<String> names = new ArrayList<String>();
+        for (StructuredValueModel<Object> child : 
+            builder.getSortedChildren(structuredValueModel))
+        {
+            names.add(child.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.javagl.autogui.model.StructuredValueModel;
+
+/**
+ * Tests for the {@link NamePathPatterns}
+ */
+@SuppressWarnings("javadoc")
+public class NamePathPatternsTest
+{
+    @Test
+    public void testExactNameMatchesOnlyThisPath()
+    {
+        NamePathPatterns<Object> patterns = new NamePathPatterns<Object>();
+        LabelProvider labelProvider = createLabelProvider();
+        patterns.putLabelProvider("address.city", labelProvider);
+        
+        assertSame(labelProvider, resolve(patterns, "address", "city"));
+        assertSame(labelProvider, resolve(patterns, "ADDRESS", "City"));
+        assertNull(resolve(patterns, "address"));
+        assertNull(resolve(patterns, "city"));
+        assertNull(resolve(patterns, "other", "city"));
+        assertNull(resolve(patterns, "address", "city", "name"));
+    }
+    
+    @Test
+    public void testAnyNameMatchesExactlyOneName()
+    {
+        NamePathPatterns<Object> patterns = new NamePathPatterns<Object>();
+        LabelProvider labelProvider = createLabelProvider();
+        patterns.putLabelProvider("*.city", labelProvider);
+        
+        assertSame(labelProvider, resolve(patterns, "address", "city"));
+        assertSame(labelProvider, resolve(patterns, "office", "city"));
+        assertSame(labelProvider, resolve(patterns, "rooms[]", "city"));
+        assertNull(resolve(patterns, "city"));
+        assertNull(resolve(patterns, "a", "b", "city"));
+    }
+    
+    @Test
+    public void testAnyNamesMatchesAnyNumberOfNames()
+    {
+        NamePathPatterns<Object> patterns = new NamePathPatterns<Object>();
+        LabelProvider labelProvider = createLabelProvider();
+        patterns.putLabelProvider("**.city", labelProvider);
+        
+        assertSame(labelProvider, resolve(patterns, "city"));
+        assertSame(labelProvider, resolve(patterns, "address", "city"));
+        assertSame(labelProvider, 
+            resolve(patterns, "houses[]", "address", "city"));
+        assertNull(resolve(patterns, "address"));
+        assertNull(resolve(patterns, "city", "name"));
+    }
+    
+    @Test
+    public void testElementMarkerMatchesOnlyElements()
+    {
+        NamePathPatterns<Object> patterns = new NamePathPatterns<Object>();
+        LabelProvider elementLabelProvider = createLabelProvider();
+        LabelProvider matrixLabelProvider = createLabelProvider();
+        patterns.putLabelProvider("rooms[]", elementLabelProvider);
+        patterns.putLabelProvider("matrix[][]", matrixLabelProvider);
+        
+        assertSame(elementLabelProvider, resolve(patterns, "rooms[]"));
+        assertNull(resolve(patterns, "rooms"));
+        assertNull(resolve(patterns, "rooms[][]"));
+        
+        assertSame(matrixLabelProvider, resolve(patterns, "matrix[][]"));
+        assertNull(resolve(patterns, "matrix[]"));
+        assertNull(resolve(patterns, "matrix"));
+    }
+    
+    @Test
+    public void testNameWithoutElementMarkerMatchesElements()
+    {
+        NamePathPatterns<Object> patterns = new NamePathPatterns<Object>();
+        LabelProvider labelProvider = createLabelProvider();
+        patterns.putLabelProvider("rooms", labelProvider);
+        
+        assertSame(labelProvider, resolve(patterns, "rooms"));
+        assertSame(labelProvider, resolve(patterns, "rooms[]"));
+        assertSame(labelProvider, resolve(patterns, "rooms[][]"));
+    }
+    
+    @Test
+    public void testLastRegisteredPatternWins()
+    {
+        NamePathPatterns<Object> patterns = new NamePathPatterns<Object>();
+        LabelProvider first = createLabelProvider();
+        LabelProvider second = createLabelProvider();
+        LabelProvider third = createLabelProvider();
+        patterns.putLabelProvider("**.name", first);
+        patterns.putLabelProvider("*.name", second);
+        
+        assertSame(second, resolve(patterns, "person", "name"));
+        assertSame(first, resolve(patterns, "name"));
+        
+        patterns.putLabelProvider("**.name", third);
+        assertSame(third, resolve(patterns, "person", "name"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPatternIsRejected()
+    {
+        NamePathPatterns<Object> patterns = new NamePathPatterns<Object>();
+        patterns.putLabelProvider("address.ci*ty", createLabelProvider());
+    }
+    
+    /**
+     * Creates a new {@link LabelProvider} instance
+     * 
+     * @return The {@link LabelProvider}
+     */
+    private static LabelProvider createLabelProvider()
+    {
+        return new LabelProvider()
+        {
+            @Override
+            public String getLabel(StructuredValueModel<?> model)
+            {
+                return "label";
+            }
+        };
+    }
+    
+    /**
+     * Returns the {@link LabelProvider} that the given patterns contain
+     * for the name path consisting of the given segments. Each segment
+     * is a name, followed by one <code>"[]"</code> for each element
+     * dimension.
+     * 
+     * @param patterns The {@link NamePathPatterns}
+     * @param segments The segments
+     * @return The {@link LabelProvider}
+     */
+    private static LabelProvider resolve(
+        NamePathPatterns<Object> patterns, String ... segments)
+    {
+        NamePathPatterns.State<Object> state = patterns.start();
+        for (String segment : segments)
+        {
+            String name = segment;
+            int elementDimensions = 0;
+            while (name.endsWith("[]"))
+            {
+                name = name.substring(0, name.length() - 2);
+                elementDimensions++;
+            }
+            state = patterns.advance(
+                state, name.toLowerCase(), elementDimensions);
+        }
+        return patterns.getLabelProvider(state);
+    }
+}
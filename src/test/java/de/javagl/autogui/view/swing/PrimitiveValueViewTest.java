@@ -0,0 +1,134 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view.swing;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.swing.JSlider;
+import javax.swing.JSpinner;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.Item;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+
+/**
+ * Tests for the views that are connected to the primitive value models
+ */
+@SuppressWarnings("javadoc")
+public class PrimitiveValueViewTest
+{
+    @Test
+    public void testIntegerSpinner() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            Item item = new Item();
+            StructuredValueModel<Item> itemValueModel = 
+                createItemValueModel(item);
+            IntegerSpinnerValueView<Integer> valueView = 
+                new IntegerSpinnerValueView<Integer>(
+                    getChild(itemValueModel, "count"), 0, 100, 1);
+            JSpinner spinner = valueView.getComponent();
+            
+            item.setCount(5);
+            assertEquals(5, spinner.getValue());
+            
+            spinner.setValue(7);
+            assertEquals(7, item.getCount());
+            
+            valueView.dispose();
+            item.setCount(9);
+            assertEquals(7, spinner.getValue());
+            ValueModels.detach(itemValueModel);
+        });
+    }
+    
+    @Test
+    public void testDoubleSpinner() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            Item item = new Item();
+            StructuredValueModel<Item> itemValueModel = 
+                createItemValueModel(item);
+            DoubleSpinnerValueView<Double> valueView = 
+                new DoubleSpinnerValueView<Double>(
+                    getChild(itemValueModel, "weight"), 0.0, 100.0, 0.5);
+            JSpinner spinner = valueView.getComponent();
+            
+            item.setWeight(1.5);
+            assertEquals(1.5, spinner.getValue());
+            
+            spinner.setValue(2.5);
+            assertEquals(2.5, item.getWeight(), 0.0);
+            
+            valueView.dispose();
+            item.setWeight(3.5);
+            assertEquals(2.5, spinner.getValue());
+            ValueModels.detach(itemValueModel);
+        });
+    }
+    
+    @Test
+    public void testSlider() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            Item item = new Item();
+            StructuredValueModel<Item> itemValueModel = 
+                createItemValueModel(item);
+            SliderValueView<Integer> valueView = 
+                new SliderValueView<Integer>(
+                    getChild(itemValueModel, "count"), 0, 10, 10);
+            JSlider slider = valueView.getComponent();
+            
+            item.setCount(4);
+            assertEquals(4, slider.getValue());
+            
+            slider.setValue(6);
+            assertEquals(6, item.getCount());
+            
+            valueView.dispose();
+            item.setCount(8);
+            assertEquals(6, slider.getValue());
+            ValueModels.detach(itemValueModel);
+        });
+    }
+    
+    /**
+     * Create a structured model for the given item
+     * 
+     * @param item The item
+     * @return The model
+     */
+    private static StructuredValueModel<Item> createItemValueModel(
+        Item item)
+    {
+        StructuredValueModel<Item> itemValueModel = 
+            ValueModels.createStructured(Item.class);
+        itemValueModel.setValue(item);
+        return itemValueModel;
+    }
+    
+    /**
+     * Returns the child with the given name of the given model
+     * 
+     * @param <T> The value type
+     * @param valueModel The model
+     * @param name The name
+     * @return The child
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ValueModel<T> getChild(
+        StructuredValueModel<?> valueModel, String name)
+    {
+        return (ValueModel<T>) valueModel.getChild(name);
+    }
+}
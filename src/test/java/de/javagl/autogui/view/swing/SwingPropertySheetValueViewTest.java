@@ -0,0 +1,209 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.House;
+import de.javagl.autogui.TestBeans.Room;
+import de.javagl.autogui.model.StructuredArrayValueModel;
+import de.javagl.autogui.model.StructuredListValueModel;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.view.ValueView;
+
+/**
+ * Tests for the {@link SwingPropertySheetValueView}
+ */
+@SuppressWarnings("javadoc")
+public class SwingPropertySheetValueViewTest
+{
+    @Test
+    public void testNestedPropertyChangeUpdatesRow() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            ValueView<House, ? extends JComponent> valueView = 
+                createValueView(house);
+            JTable table = getTable(valueView);
+            toggle(table, "address");
+            int cityRow = findRow(table, "city");
+            
+            List<TableModelEvent> events = new ArrayList<TableModelEvent>();
+            table.getModel().addTableModelListener(e -> events.add(e));
+            house.getAddress().setCity("B");
+            
+            assertTrue(events.stream().anyMatch(e -> 
+                e.getFirstRow() <= cityRow && cityRow <= e.getLastRow()));
+            assertEquals("B", table.getValueAt(cityRow, 1));
+        });
+    }
+    
+    @Test
+    public void testReplacedArrayInvalidatesChildren() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            ValueView<House, ? extends JComponent> valueView = 
+                createValueView(house);
+            JTable table = getTable(valueView);
+            toggle(table, "rooms");
+            assertEquals(Arrays.asList("address", "name", "rooms", 
+                "[0]", "[1]", "tags"), getLabels(table));
+            
+            house.setRooms(new Room[] { new Room() });
+            
+            assertEquals(Arrays.asList("address", "name", "rooms", 
+                "[0]", "tags"), getLabels(table));
+            assertEquals("[1]", table.getValueAt(findRow(table, "rooms"), 1));
+        });
+    }
+    
+    @Test
+    public void testArrayStructureChangeInvalidatesChildren() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            ValueView<House, ? extends JComponent> valueView = 
+                createValueView(house);
+            JTable table = getTable(valueView);
+            toggle(table, "rooms");
+            
+            StructuredValueModel<House> valueModel = 
+                (StructuredValueModel<House>) valueView.getValueModel();
+            @SuppressWarnings("unchecked")
+            StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+                (StructuredArrayValueModel<Room[], Room>) 
+                valueModel.getChild("rooms");
+            roomsValueModel.insertElement(0, new Room());
+            
+            assertEquals(Arrays.asList("address", "name", "rooms", 
+                "[0]", "[1]", "[2]", "tags"), getLabels(table));
+            
+            roomsValueModel.removeElements(0, 2);
+            
+            assertEquals(Arrays.asList("address", "name", "rooms", 
+                "[0]", "tags"), getLabels(table));
+        });
+    }
+    
+    @Test
+    public void testListStructureChangeInvalidatesChildren() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            house.setTags(new ArrayList<String>(Arrays.asList("x", "y")));
+            ValueView<House, ? extends JComponent> valueView = 
+                createValueView(house);
+            JTable table = getTable(valueView);
+            toggle(table, "tags");
+            
+            StructuredValueModel<House> valueModel = 
+                (StructuredValueModel<House>) valueView.getValueModel();
+            @SuppressWarnings("unchecked")
+            StructuredListValueModel<String> tagsValueModel = 
+                (StructuredListValueModel<String>) 
+                valueModel.getChild("tags");
+            tagsValueModel.insertElement(2, "z");
+            
+            assertEquals(Arrays.asList("address", "name", "rooms", 
+                "tags", "[0]", "[1]", "[2]"), getLabels(table));
+            assertEquals("z", table.getValueAt(6, 1));
+        });
+    }
+    
+    /**
+     * Create a property sheet for the given house
+     * 
+     * @param house The house
+     * @return The view
+     */
+    private static ValueView<House, ? extends JComponent> createValueView(
+        House house)
+    {
+        ValueView<House, ? extends JComponent> valueView = 
+            new SwingPropertySheetValueViewBuilder().createValueView(
+                House.class);
+        valueView.getValueModel().setValue(house);
+        return valueView;
+    }
+    
+    /**
+     * Returns the table of the given property sheet
+     * 
+     * @param valueView The property sheet
+     * @return The table
+     */
+    static JTable getTable(ValueView<?, ? extends JComponent> valueView)
+    {
+        JScrollPane scrollPane = (JScrollPane) valueView.getComponent();
+        return (JTable) scrollPane.getViewport().getView();
+    }
+    
+    /**
+     * Expand or collapse the row with the given label, by clicking on it
+     * 
+     * @param table The table
+     * @param label The label
+     */
+    static void toggle(JTable table, String label)
+    {
+        Rectangle cell = table.getCellRect(findRow(table, label), 0, true);
+        MouseEvent event = new MouseEvent(table, MouseEvent.MOUSE_PRESSED, 
+            0, 0, cell.x + 1, cell.y + 1, 1, false);
+        for (MouseListener mouseListener : table.getMouseListeners())
+        {
+            mouseListener.mousePressed(event);
+        }
+    }
+    
+    /**
+     * Returns the first row with the given label
+     * 
+     * @param table The table
+     * @param label The label
+     * @return The row
+     */
+    static int findRow(JTable table, String label)
+    {
+        return getLabels(table).indexOf(label);
+    }
+    
+    /**
+     * Returns the labels of all rows
+     * 
+     * @param table The table
+     * @return The labels
+     */
+    private static List<String> getLabels(JTable table)
+    {
+        List<String> labels = new ArrayList<String>();
+        for (int row = 0; row < table.getRowCount(); row++)
+        {
+            labels.add(String.valueOf(table.getValueAt(row, 0)));
+        }
+        return labels;
+    }
+}
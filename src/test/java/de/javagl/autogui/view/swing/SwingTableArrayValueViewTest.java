@@ -0,0 +1,104 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.House;
+import de.javagl.autogui.TestBeans.Room;
+import de.javagl.autogui.model.StructuredArrayValueModel;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueModels;
+
+/**
+ * Tests for the {@link SwingTableArrayValueView}
+ */
+@SuppressWarnings("javadoc")
+public class SwingTableArrayValueViewTest
+{
+    @Test
+    public void testCellIsUpdatedWhenElementPropertyChanges() 
+        throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            StructuredValueModel<House> houseValueModel = 
+                ValueModels.createStructured(House.class);
+            houseValueModel.setValue(house);
+            StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+                getRoomsValueModel(houseValueModel);
+            SwingTableArrayValueView<Room[], Room> arrayValueView = 
+                new SwingTableArrayValueView<Room[], Room>(
+                    roomsValueModel, new SwingValueViewBuilder());
+            JTable table = ValueViewDisposeTest.find(
+                arrayValueView.getComponent(), JTable.class);
+            List<TableModelEvent> events = new ArrayList<TableModelEvent>();
+            table.getModel().addTableModelListener(events::add);
+            
+            house.getRooms()[1].setArea(12.0);
+            assertCellUpdated(events, 1, 1);
+            assertEquals(12.0, table.getValueAt(1, 1));
+            
+            roomsValueModel.insertElement(0, new Room());
+            events.clear();
+            house.getRooms()[2].setArea(13.0);
+            assertCellUpdated(events, 2, 1);
+            
+            arrayValueView.dispose();
+            events.clear();
+            house.getRooms()[2].setArea(14.0);
+            assertTrue(events.isEmpty());
+            
+            ValueModels.detach(houseValueModel);
+        });
+    }
+    
+    /**
+     * Returns the model for the rooms of the given house model
+     * 
+     * @param houseValueModel The house model
+     * @return The rooms model
+     */
+    private static StructuredArrayValueModel<Room[], Room> getRoomsValueModel(
+        StructuredValueModel<House> houseValueModel)
+    {
+        @SuppressWarnings("unchecked")
+        StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+            (StructuredArrayValueModel<Room[], Room>) 
+            houseValueModel.getChild("rooms");
+        return roomsValueModel;
+    }
+    
+    /**
+     * Assert that the given events consist of a single event that 
+     * updated the given cell
+     * 
+     * @param events The events
+     * @param row The row
+     * @param column The column
+     */
+    private static void assertCellUpdated(
+        List<TableModelEvent> events, int row, int column)
+    {
+        assertEquals(1, events.size());
+        TableModelEvent event = events.get(0);
+        assertEquals(TableModelEvent.UPDATE, event.getType());
+        assertEquals(row, event.getFirstRow());
+        assertEquals(row, event.getLastRow());
+        assertEquals(column, event.getColumn());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import javax.swing.JComponent;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.House;
+import de.javagl.autogui.TestBeans.Room;
+import de.javagl.autogui.model.StructuredArrayValueModel;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.view.ValueView;
+
+/**
+ * Tests for the {@link SwingVirtualArrayValueView}
+ */
+@SuppressWarnings("javadoc")
+public class SwingVirtualArrayValueViewTest
+{
+    @Test
+    public void testElementValueViewIsDisposedOnNextCall() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            StructuredValueModel<House> houseValueModel = 
+                ValueModels.createStructured(House.class);
+            houseValueModel.setValue(house);
+            @SuppressWarnings("unchecked")
+            StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+                (StructuredArrayValueModel<Room[], Room>) 
+                houseValueModel.getChild("rooms");
+            SwingVirtualArrayValueView<Room[], Room> arrayValueView = 
+                new SwingVirtualArrayValueView<Room[], Room>(
+                    roomsValueModel, new SwingValueViewBuilder());
+            Room room0 = house.getRooms()[0];
+            Room room1 = house.getRooms()[1];
+            
+            JSpinner spinner0 = ValueViewDisposeTest.find(
+                arrayValueView.getElementValueView(0).getComponent(), 
+                JSpinner.class);
+            room0.setArea(1.0);
+            assertEquals(1.0, spinner0.getValue());
+            
+            JSpinner spinner1 = ValueViewDisposeTest.find(
+                arrayValueView.getElementValueView(1).getComponent(), 
+                JSpinner.class);
+            room0.setArea(2.0);
+            assertEquals(1.0, spinner0.getValue());
+            room1.setArea(3.0);
+            assertEquals(3.0, spinner1.getValue());
+            
+            arrayValueView.dispose();
+            room1.setArea(4.0);
+            assertEquals(3.0, spinner1.getValue());
+            
+            ValueModels.detach(houseValueModel);
+        });
+    }
+    
+    @Test
+    public void testVirtualRepresentationIsOptIn() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            Room[] rooms = new Room[1000];
+            Arrays.fill(rooms, new Room());
+            House house = new House();
+            house.setRooms(rooms);
+            ValueModel<House> valueModel = 
+                ValueModels.createStructured(House.class);
+            valueModel.setValue(house);
+            
+            ValueView<House, ? extends JComponent> valueView = 
+                new SwingValueViewBuilder().createValueView(valueModel);
+            assertNull(ValueViewDisposeTest.find(
+                valueView.getComponent(), JTable.class));
+            valueView.dispose();
+            
+            ValueView<House, ? extends JComponent> virtualValueView = 
+                new SwingValueViewBuilder().virtualArrayThreshold(1000)
+                    .createValueView(valueModel);
+            assertNotNull(ValueViewDisposeTest.find(
+                virtualValueView.getComponent(), JTable.class));
+            virtualValueView.dispose();
+        });
+    }
+}
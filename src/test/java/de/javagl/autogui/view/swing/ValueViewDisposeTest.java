@@ -0,0 +1,238 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view.swing;
+
+import static de.javagl.autogui.TestBeans.countListeners;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Component;
+import java.awt.Container;
+
+import javax.swing.JComponent;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.House;
+import de.javagl.autogui.TestBeans.Room;
+import de.javagl.autogui.model.StructuredArrayValueModel;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
+
+/**
+ * Tests that disposing views removes all listeners from the beans
+ */
+@SuppressWarnings("javadoc")
+public class ValueViewDisposeTest
+{
+    @Test
+    public void testDisposeDefaultView() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            ValueView<House, ? extends JComponent> valueView = 
+                createValueView(new SwingValueViewBuilder(), house);
+            assertTrue(countListeners(house) > 0);
+            
+            valueView.dispose();
+            
+            assertNoListeners(house);
+        });
+    }
+    
+    @Test
+    public void testDisposePropertySheetWhileEditing() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            ValueView<House, ? extends JComponent> valueView = 
+                createValueView(
+                    new SwingPropertySheetValueViewBuilder(), house);
+            JTable table = SwingPropertySheetValueViewTest.getTable(
+                valueView);
+            SwingPropertySheetValueViewTest.toggle(table, "address");
+            SwingPropertySheetValueViewTest.toggle(table, "rooms");
+            assertTrue(countListeners(house.getAddress()) > 0);
+            
+            int cityRow = SwingPropertySheetValueViewTest.findRow(
+                table, "city");
+            assertTrue(table.editCellAt(cityRow, 1));
+            
+            valueView.dispose();
+            
+            assertNoListeners(house);
+        });
+    }
+    
+    @Test
+    public void testDisposeArrayTableWhileEditing() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            StructuredValueModel<House> houseValueModel = 
+                ValueModels.createStructured(House.class);
+            houseValueModel.setValue(house);
+            SwingVirtualArrayValueView<Room[], Room> arrayValueView = 
+                createRoomsValueView(houseValueModel);
+            JTable table = findTable(arrayValueView.getComponent());
+            Room room = house.getRooms()[0];
+            
+            assertTrue(table.editCellAt(0, 1));
+            JSpinner spinner = findSpinner(table.getEditorComponent());
+            room.setArea(1.0);
+            assertEquals(1.0, spinner.getValue());
+            
+            arrayValueView.dispose();
+            room.setArea(2.0);
+            assertEquals(1.0, spinner.getValue());
+            
+            ValueModels.detach(houseValueModel);
+            assertNoListeners(house);
+        });
+    }
+    
+    @Test
+    public void testStopEditingDisposesEditorView() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            House house = new House();
+            StructuredValueModel<House> houseValueModel = 
+                ValueModels.createStructured(House.class);
+            houseValueModel.setValue(house);
+            SwingVirtualArrayValueView<Room[], Room> arrayValueView = 
+                createRoomsValueView(houseValueModel);
+            JTable table = findTable(arrayValueView.getComponent());
+            Room room = house.getRooms()[0];
+            
+            assertTrue(table.editCellAt(0, 1));
+            JSpinner spinner = findSpinner(table.getEditorComponent());
+            assertTrue(table.getCellEditor().stopCellEditing());
+            room.setArea(1.0);
+            assertEquals(0.0, spinner.getValue());
+            
+            assertTrue(table.editCellAt(0, 1));
+            spinner = findSpinner(table.getEditorComponent());
+            table.getCellEditor().cancelCellEditing();
+            room.setArea(2.0);
+            assertEquals(1.0, spinner.getValue());
+            
+            arrayValueView.dispose();
+            ValueModels.detach(houseValueModel);
+        });
+    }
+    
+    /**
+     * Create a {@link SwingVirtualArrayValueView} for the rooms of 
+     * the given model
+     * 
+     * @param houseValueModel The model of the house
+     * @return The view
+     */
+    private static SwingVirtualArrayValueView<Room[], Room> 
+        createRoomsValueView(StructuredValueModel<House> houseValueModel)
+    {
+        @SuppressWarnings("unchecked")
+        StructuredArrayValueModel<Room[], Room> roomsValueModel = 
+            (StructuredArrayValueModel<Room[], Room>) 
+            houseValueModel.getChild("rooms");
+        return new SwingVirtualArrayValueView<Room[], Room>(
+            roomsValueModel, new SwingValueViewBuilder());
+    }
+    
+    /**
+     * Returns the first table in the given component hierarchy
+     * 
+     * @param component The component
+     * @return The table, or <code>null</code>
+     */
+    private static JTable findTable(Component component)
+    {
+        return find(component, JTable.class);
+    }
+    
+    /**
+     * Returns the first spinner in the given component hierarchy
+     * 
+     * @param component The component
+     * @return The spinner, or <code>null</code>
+     */
+    private static JSpinner findSpinner(Component component)
+    {
+        return find(component, JSpinner.class);
+    }
+    
+    /**
+     * Returns the first component of the given type in the given 
+     * component hierarchy
+     * 
+     * @param component The component
+     * @param type The type
+     * @return The component, or <code>null</code>
+     */
+    static <C> C find(Component component, Class<C> type)
+    {
+        if (type.isInstance(component))
+        {
+            return type.cast(component);
+        }
+        if (component instanceof Container)
+        {
+            Container container = (Container) component;
+            for (Component child : container.getComponents())
+            {
+                C result = find(child, type);
+                if (result != null)
+                {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Create a view for the given house with the given builder
+     * 
+     * @param valueViewBuilder The builder
+     * @param house The house
+     * @return The view
+     */
+    static ValueView<House, ? extends JComponent> createValueView(
+        ValueViewBuilder<? extends JComponent> valueViewBuilder, 
+        House house)
+    {
+        ValueView<House, ? extends JComponent> valueView = 
+            valueViewBuilder.createValueView(House.class);
+        valueView.getValueModel().setValue(house);
+        valueView.getComponent();
+        return valueView;
+    }
+    
+    /**
+     * Assert that no listeners are attached to the given house or 
+     * any of its nested beans
+     * 
+     * @param house The house
+     */
+    private static void assertNoListeners(House house)
+    {
+        assertEquals(0, countListeners(house));
+        assertEquals(0, countListeners(house.getAddress()));
+        for (Room room : house.getRooms())
+        {
+            assertEquals(0, countListeners(room));
+        }
+    }
+}
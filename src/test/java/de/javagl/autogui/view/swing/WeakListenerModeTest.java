@@ -0,0 +1,263 @@
+/*
+ * www.javagl.de - AutoGUI
+ *
+ * Copyright (c) 2014-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.autogui.view.swing;
+
+import static de.javagl.autogui.TestBeans.countListeners;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import de.javagl.autogui.TestBeans.Address;
+import de.javagl.autogui.TestBeans.House;
+import de.javagl.autogui.TestBeans.Room;
+import de.javagl.autogui.model.StructuredValueModel;
+import de.javagl.autogui.model.ValueModels;
+import de.javagl.autogui.view.ValueView;
+import de.javagl.autogui.view.ValueViewBuilder;
+
+/**
+ * Tests for the weak listener mode of the view builders
+ */
+@SuppressWarnings("javadoc")
+public class WeakListenerModeTest
+{
+    private static final int NUM_VIEWS = 20;
+    
+    @Test
+    public void testViewsForLongLivedBeanAreCollected() throws Exception
+    {
+        House house = new House();
+        List<WeakReference<JComponent>> references = 
+            new ArrayList<WeakReference<JComponent>>();
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            ValueViewBuilder<JComponent> valueViewBuilder = 
+                new SwingValueViewBuilder().weakListeners(true);
+            for (int i = 0; i < NUM_VIEWS; i++)
+            {
+                ValueView<House, ? extends JComponent> valueView = 
+                    ValueViewDisposeTest.createValueView(
+                        valueViewBuilder, house);
+                references.add(createReference(valueView));
+            }
+        });
+        assertTrue(countListeners(house) > 0);
+        
+        collectGarbage(references);
+        assertCleared(references);
+        
+        // The weak listeners remove themselves when they are notified
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            house.setName("name");
+            house.setAddress(new Address());
+            house.setRooms(new Room[0]);
+            house.setTags(Arrays.asList("tag"));
+        });
+        assertEquals(0, countListeners(house));
+    }
+    
+    @Test
+    public void testViewsForLongLivedModelAreCollected() throws Exception
+    {
+        House house = new House();
+        StructuredValueModel<House> houseValueModel = 
+            ValueModels.createStructured(House.class);
+        houseValueModel.setValue(house);
+        List<WeakReference<JComponent>> references = 
+            new ArrayList<WeakReference<JComponent>>();
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            ValueViewBuilder<JComponent> valueViewBuilder = 
+                new SwingValueViewBuilder().weakListeners(true);
+            for (int i = 0; i < NUM_VIEWS; i++)
+            {
+                references.add(createReference(
+                    valueViewBuilder.createValueView(houseValueModel)));
+            }
+        });
+        
+        collectGarbage(references);
+        assertCleared(references);
+        
+        ValueModels.detach(houseValueModel);
+    }
+    
+    @Test
+    public void testPropertySheetsForLongLivedModelAreCollected() 
+        throws Exception
+    {
+        House house = new House();
+        StructuredValueModel<House> houseValueModel = 
+            ValueModels.createStructured(House.class);
+        houseValueModel.setValue(house);
+        List<WeakReference<JComponent>> references = 
+            new ArrayList<WeakReference<JComponent>>();
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            ValueViewBuilder<JComponent> valueViewBuilder = 
+                new SwingPropertySheetValueViewBuilder().weakListeners(true);
+            for (int i = 0; i < NUM_VIEWS; i++)
+            {
+                ValueView<House, ? extends JComponent> valueView = 
+                    valueViewBuilder.createValueView(houseValueModel);
+                JTable table = 
+                    SwingPropertySheetValueViewTest.getTable(valueView);
+                SwingPropertySheetValueViewTest.toggle(table, "address");
+                SwingPropertySheetValueViewTest.toggle(table, "rooms");
+                references.add(createReference(valueView));
+            }
+        });
+        
+        collectGarbage(references);
+        assertCleared(references);
+        
+        ValueModels.detach(houseValueModel);
+    }
+    
+    @Test
+    public void testViewsAreNotCollectedByDefault() throws Exception
+    {
+        House house = new House();
+        List<WeakReference<JComponent>> references = 
+            new ArrayList<WeakReference<JComponent>>();
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            ValueViewBuilder<JComponent> valueViewBuilder = 
+                new SwingValueViewBuilder();
+            for (int i = 0; i < NUM_VIEWS; i++)
+            {
+                ValueView<House, ? extends JComponent> valueView = 
+                    ValueViewDisposeTest.createValueView(
+                        valueViewBuilder, house);
+                references.add(createReference(valueView));
+            }
+        });
+        
+        collectGarbage(references);
+        for (WeakReference<JComponent> reference : references)
+        {
+            assertNotNull(reference.get());
+        }
+    }
+    
+    @Test
+    public void testViewThatIsReachableFromComponentIsUpdated() 
+        throws Exception
+    {
+        House house = new House();
+        List<JComponent> components = new ArrayList<JComponent>();
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            ValueViewBuilder<JComponent> valueViewBuilder = 
+                new SwingValueViewBuilder().weakListeners(true);
+            components.add(ValueViewDisposeTest.createValueView(
+                valueViewBuilder, house).getComponent());
+        });
+        
+        collectGarbage(new ArrayList<WeakReference<JComponent>>());
+        
+        SwingUtilities.invokeAndWait(() -> 
+        {
+            house.setName("name");
+            assertTrue(containsText(components.get(0), "name"));
+        });
+        assertFalse(components.isEmpty());
+    }
+    
+    /**
+     * Returns whether the given component hierarchy contains a text 
+     * field with the given text
+     * 
+     * @param component The component
+     * @param text The text
+     * @return Whether the text was found
+     */
+    private static boolean containsText(Component component, String text)
+    {
+        if (component instanceof JTextField)
+        {
+            JTextField textField = (JTextField) component;
+            return text.equals(textField.getText());
+        }
+        if (component instanceof Container)
+        {
+            Container container = (Container) component;
+            for (Component child : container.getComponents())
+            {
+                if (containsText(child, text))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Create a weak reference to the component of the given view
+     * 
+     * @param valueView The view
+     * @return The reference
+     */
+    private static WeakReference<JComponent> createReference(
+        ValueView<?, ? extends JComponent> valueView)
+    {
+        return new WeakReference<JComponent>(valueView.getComponent());
+    }
+    
+    /**
+     * Run the garbage collector until all given references have been
+     * cleared, or a maximum number of attempts has been made
+     * 
+     * @param references The references
+     * @throws InterruptedException If the thread is interrupted
+     */
+    private static void collectGarbage(
+        List<WeakReference<JComponent>> references) 
+            throws InterruptedException
+    {
+        for (int i = 0; i < 20; i++)
+        {
+            System.gc();
+            Thread.sleep(10);
+            if (references.stream().allMatch(r -> r.get() == null))
+            {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Assert that all given references have been cleared
+     * 
+     * @param references The references
+     */
+    private static void assertCleared(
+        List<WeakReference<JComponent>> references)
+    {
+        for (WeakReference<JComponent> reference : references)
+        {
+            assertNull(reference.get());
+        }
+    }
+}